@@ -0,0 +1,70 @@
+package com.tagtraum.perf.gcviewer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Provides the gc logs used by the benchmarks: one of the sample files of the unittests is repeated as often as
+ * needed to reach the requested size.
+ */
+public final class BenchmarkLogs {
+
+    private static final String XML_ROOT_START = "<verbosegc";
+    private static final String XML_ROOT_END = "</verbosegc>";
+
+    private BenchmarkLogs() {
+    }
+
+    /**
+     * Reads the sample log <code>resourceName</code> from the test classpath and concatenates it
+     * <code>repetitions</code> times. Xml logs (IBM J9) are kept inside one <code>&lt;verbosegc&gt;</code> root
+     * element: only the content of the root element is repeated.
+     *
+     * @param resourceName name of the sample file relative to src/test/resources (e.g. "openjdk/SampleSun1_6_0CMS.txt")
+     * @param repetitions number of times the file is repeated
+     * @return content of the generated log
+     * @throws IOException resource could not be read
+     */
+    public static byte[] repeat(String resourceName, int repetitions) throws IOException {
+        byte[] sample = readResource(resourceName);
+        // ISO-8859-1 maps every byte to one char, so the indexes are valid for the bytes as well
+        String text = new String(sample, StandardCharsets.ISO_8859_1);
+        int bodyStart = 0;
+        int bodyEnd = sample.length;
+        int rootStart = text.indexOf(XML_ROOT_START);
+        if (rootStart >= 0) {
+            bodyStart = text.indexOf('>', rootStart) + 1;
+            int rootEnd = text.lastIndexOf(XML_ROOT_END);
+            bodyEnd = rootEnd >= bodyStart ? rootEnd : sample.length;
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(sample.length * repetitions);
+        out.write(sample, 0, bodyStart);
+        for (int i = 0; i < repetitions; ++i) {
+            out.write(sample, bodyStart, bodyEnd - bodyStart);
+        }
+        out.write(sample, bodyEnd, sample.length - bodyEnd);
+
+        return out.toByteArray();
+    }
+
+    private static byte[] readResource(String resourceName) throws IOException {
+        try (InputStream in = BenchmarkLogs.class.getClassLoader().getResourceAsStream(resourceName)) {
+            if (in == null) {
+                throw new IOException("resource not found: " + resourceName);
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, n);
+            }
+
+            return out.toByteArray();
+        }
+    }
+
+}
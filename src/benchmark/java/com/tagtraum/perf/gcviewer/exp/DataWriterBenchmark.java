@@ -0,0 +1,90 @@
+package com.tagtraum.perf.gcviewer.exp;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import com.tagtraum.perf.gcviewer.BenchmarkLogs;
+import com.tagtraum.perf.gcviewer.exp.impl.CSVDataWriter;
+import com.tagtraum.perf.gcviewer.exp.impl.SummaryDataWriter;
+import com.tagtraum.perf.gcviewer.imp.DataReaderFactory;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the export of a model with {@link SummaryDataWriter} and {@link CSVDataWriter}. The output is
+ * consumed by a {@link Blackhole} to keep I/O out of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataWriterBenchmark {
+
+    @Param({
+            "openjdk/SampleSun1_6_0CMS.txt",
+            "openjdk/unified-jvm-logging/sample-ujl-g1-gc-all,safepoint,os+cpu.txt"
+    })
+    private String sampleFile;
+
+    /** number of times the sample file is repeated */
+    @Param({"100"})
+    private int repetitions;
+
+    private GCModel model;
+
+    @Setup
+    public void setup() throws IOException {
+        model = new DataReaderFactory()
+                .getDataReader(new GcResourceFile(sampleFile), new ByteArrayInputStream(BenchmarkLogs.repeat(sampleFile, repetitions)))
+                .read();
+    }
+
+    @Benchmark
+    public void summary(Blackhole blackhole) throws IOException {
+        try (DataWriter writer = new SummaryDataWriter(new BlackholeOutputStream(blackhole))) {
+            writer.write(model);
+        }
+    }
+
+    @Benchmark
+    public void csv(Blackhole blackhole) throws IOException {
+        try (DataWriter writer = new CSVDataWriter(new BlackholeOutputStream(blackhole))) {
+            writer.write(model);
+        }
+    }
+
+    private static class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        public BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.tagtraum.perf.gcviewer.BenchmarkLogs;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.GCResource;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the time needed by the {@link DataReader} implementations to parse a gc log of a given size. The
+ * reader is chosen by {@link DataReaderFactory} as it would be for a real file.
+ *
+ * <p>All readers are covered except {@link DataReaderSun1_2_2} and {@link DataReaderSun1_3_1}: there is no sample
+ * log for them, that they can read.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataReaderBenchmark {
+
+    @Param({
+            "openjdk/SampleSun1_6_0CMS.txt", // DataReaderSun1_6_0
+            "openjdk/SampleSun1_8_0G1PrintHeapAtGc.txt", // DataReaderSun1_6_0G1
+            "openjdk/unified-jvm-logging/sample-ujl-g1-gc-all,safepoint,os+cpu.txt", // DataReaderUnifiedJvmLogging
+            "openjdk/SampleSun1_4_0PSPrintHeapAtGC.txt", // DataReaderSun1_6_0 (1.4 format)
+            "ibm/SampleIBMJ9_R28_af_global.txt", // DataReaderIBM_J9_R28
+            "ibm/SampleIBMJ9_5_0af-global-200811_07.txt", // DataReaderIBM_J9_5_0
+            "ibm/SampleIBM1_4_2.txt", // DataReaderIBM1_4_2
+            "ibm/SampleIBM1_3_1.txt", // DataReaderIBM1_3_1
+            "ibm/SampleIBM1_2_2.txt", // DataReaderIBM1_3_0
+            "ibm/SampleIBMi5OS1_4_2.txt", // DataReaderIBMi5OS1_4_2
+            "jrockit/SampleJRockit1_6_verbose_gc_mode_gencon.txt", // DataReaderJRockit1_6_0
+            "jrockit/SampleJRockit1_5_12_gencon.txt", // DataReaderJRockit1_5_0
+            "jrockit/SampleJRockit1_4_2ts-gcreport-gencon.txt", // DataReaderJRockit1_4_2
+            "hp/SampleHP-UX1_4_1.txt", // DataReaderHPUX1_4_1
+            "hp/SampleHP-UX1_3.txt", // DataReaderHPUX1_2
+            "go/go1.9.txt" // DataReaderGo
+    })
+    private String sampleFile;
+
+    /** number of times the sample file is repeated */
+    @Param({"100"})
+    private int repetitions;
+
+    private byte[] log;
+    private GCResource gcResource;
+
+    @Setup
+    public void setup() throws IOException {
+        log = BenchmarkLogs.repeat(sampleFile, repetitions);
+        gcResource = new GcResourceFile(sampleFile);
+    }
+
+    @Benchmark
+    public GCModel read() throws IOException {
+        DataReader reader = new DataReaderFactory().getDataReader(gcResource, new ByteArrayInputStream(log));
+        return reader.read();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import com.tagtraum.perf.gcviewer.GcLogGenerator;
+import com.tagtraum.perf.gcviewer.GcLogGenerator.Collector;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.GCResource;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the parsers with logs produced by {@link GcLogGenerator}, which allows to check, how they scale with
+ * the size of the log.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GeneratedLogReaderBenchmark {
+
+    /** &lt;GcLogType&gt;:&lt;Collector&gt; or UJL:&lt;Collector&gt; for unified jvm logging */
+    @Param({"SUN1_8:CMS", "SUN1_8:PARALLEL", "SUN1_8G1:G1", "UJL:G1", "UJL:SHENANDOAH"})
+    private String format;
+
+    @Param({"10"})
+    private int sizeInMB;
+
+    private byte[] log;
+    private GCResource gcResource;
+
+    @Setup
+    public void setup() throws IOException {
+        String[] parts = format.split(":");
+        Collector collector = Collector.valueOf(parts[1]);
+        GcLogGenerator generator = "UJL".equals(parts[0])
+                ? new GcLogGenerator(collector)
+                : new GcLogGenerator(GcLogType.valueOf(parts[0]), collector);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(sizeInMB * 1024 * 1024 + 64 * 1024);
+        generator.write(out, sizeInMB * 1024L * 1024L);
+        log = out.toByteArray();
+        gcResource = new GcResourceFile("generated-" + format);
+    }
+
+    @Benchmark
+    public GCModel read() throws IOException {
+        DataReader reader = new DataReaderFactory().getDataReader(gcResource, new ByteArrayInputStream(log));
+        return reader.read();
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.tagtraum.perf.gcviewer.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.tagtraum.perf.gcviewer.BenchmarkLogs;
+import com.tagtraum.perf.gcviewer.imp.DataReaderFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link GCModel#add(AbstractGCEvent)}: the events of a parsed log are added to a new model, which
+ * updates all statistics of the model.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GCModelBenchmark {
+
+    @Param({
+            "openjdk/SampleSun1_6_0CMS.txt",
+            "openjdk/unified-jvm-logging/sample-ujl-g1-gc-all,safepoint,os+cpu.txt"
+    })
+    private String sampleFile;
+
+    /** number of times the sample file is repeated */
+    @Param({"100"})
+    private int repetitions;
+
+    private List<AbstractGCEvent<?>> events;
+
+    @Setup
+    public void setup() throws IOException {
+        GCModel model = new DataReaderFactory()
+                .getDataReader(new GcResourceFile(sampleFile), new ByteArrayInputStream(BenchmarkLogs.repeat(sampleFile, repetitions)))
+                .read();
+
+        events = new ArrayList<>(model.size());
+        Iterator<AbstractGCEvent<?>> iterator = model.getEvents();
+        while (iterator.hasNext()) {
+            events.add(iterator.next());
+        }
+    }
+
+    @Benchmark
+    public GCModel add() {
+        GCModel model = new GCModel();
+        for (AbstractGCEvent<?> event : events) {
+            model.add(event);
+        }
+
+        return model;
+    }
+
+}
@@ -1,19 +1,23 @@
 package com.tagtraum.perf.gcviewer;
 
+import com.tagtraum.perf.gcviewer.ctrl.impl.BatchExporter;
 import com.tagtraum.perf.gcviewer.ctrl.impl.GCViewerGuiController;
 import com.tagtraum.perf.gcviewer.exp.DataWriter;
 import com.tagtraum.perf.gcviewer.exp.DataWriterType;
 import com.tagtraum.perf.gcviewer.exp.impl.DataWriterFactory;
 import com.tagtraum.perf.gcviewer.imp.DataReaderException;
 import com.tagtraum.perf.gcviewer.imp.DataReaderFacade;
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.model.GCResource;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 import com.tagtraum.perf.gcviewer.view.SimpleChartRenderer;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -57,7 +61,19 @@ public class GCViewer {
             return EXIT_ARGS_PARSE_FAILED;
         }
 
-        if (argsParser.getArgumentCount() > 3) {
+        if (argsParser.isBatchMode()) {
+            if (argsParser.getArgumentCount() != 2) {
+                usage();
+                return EXIT_ARGS_PARSE_FAILED;
+            }
+
+            LOGGER.info("GCViewer batch mode");
+            return exportBatch(argsParser.getBatchInputs(),
+                    argsParser.getSummaryFilePath(),
+                    argsParser.getType(),
+                    argsParser.getWorkerCount());
+        }
+        else if (argsParser.getArgumentCount() > 3) {
             usage();
             return EXIT_TOO_MANY_ARGS;
         }
@@ -89,6 +105,11 @@ public class GCViewer {
             throws IOException, DataReaderException {
         
         DataReaderFacade dataReaderFacade = new DataReaderFacade();
+        if (chartFilePath == null && gcResource instanceof GcResourceFile) {
+            exportStreaming(dataReaderFacade, (GcResourceFile) gcResource, summaryFilePath, type);
+            return;
+        }
+
         GCModel model = dataReaderFacade.loadModel(gcResource);
 
         exportType(model, summaryFilePath, type);
@@ -96,6 +117,64 @@ public class GCViewer {
             renderChart(model, chartFilePath);
     }
 
+    /**
+     * Writers, that are {@link GCEventSink}s, write the events while they are read without keeping them in
+     * memory; writers, that only need the statistics, get a model without events; all others get the complete
+     * model after reading. Since the export file is written while reading, it is deleted again, if reading fails.
+     */
+    private void exportStreaming(DataReaderFacade dataReaderFacade, GcResourceFile gcResource, String summaryFilePath, DataWriterType type)
+            throws IOException, DataReaderException {
+
+        File summaryFile = new File(summaryFilePath);
+        boolean isExported = false;
+        try {
+            try (DataWriter summaryWriter = DataWriterFactory.getDataWriter(summaryFile, type)) {
+                if (summaryWriter instanceof GCEventSink) {
+                    dataReaderFacade.loadModel(gcResource, (GCEventSink) summaryWriter);
+                }
+                else if (!summaryWriter.needsEvents()) {
+                    summaryWriter.write(dataReaderFacade.loadStatistics(gcResource));
+                }
+                else {
+                    summaryWriter.write(dataReaderFacade.loadModel(gcResource));
+                }
+            }
+            isExported = true;
+        }
+        finally {
+            if (!isExported && summaryFile.exists() && !summaryFile.delete()) {
+                LOGGER.warning("could not delete incomplete export " + summaryFile);
+            }
+        }
+    }
+
+    private int exportBatch(List<String> inputs, String outputDirectoryPath, DataWriterType type, int workerCount)
+            throws InterruptedException {
+
+        try {
+            BatchExporter batchExporter = new BatchExporter(workerCount);
+            List<File> files = BatchExporter.findFiles(inputs);
+            LOGGER.info("exporting " + files.size() + " files using " + batchExporter.getWorkerCount() + " threads");
+            File outputDirectory = new File(outputDirectoryPath);
+            List<BatchExporter.Result> results = batchExporter.export(files, outputDirectory, type);
+            batchExporter.writeSummary(results, new File(outputDirectory, BatchExporter.SUMMARY_FILE_NAME));
+
+            long failureCount = results.stream().filter(result -> !result.isSuccessful()).count();
+            if (failureCount > 0) {
+                LOGGER.warning(failureCount + " of " + results.size() + " exports failed; see "
+                        + BatchExporter.SUMMARY_FILE_NAME);
+                return EXIT_EXPORT_FAILED;
+            }
+
+            LOGGER.info("export of " + results.size() + " files completed successfully");
+            return EXIT_OK;
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error during batch export", e);
+            return EXIT_EXPORT_FAILED;
+        }
+    }
+
     private void exportType(GCModel model, String summaryFilePath, DataWriterType type) throws IOException {
         try (DataWriter summaryWriter = DataWriterFactory.getDataWriter(new File(summaryFilePath), type)) {
             summaryWriter.write(model);
@@ -111,12 +190,14 @@ public class GCViewer {
         System.out.println("Welcome to GCViewer with cmdline");
         System.out.println("java -jar gcviewer.jar [<gc-log-file|url>] -> opens gui and loads given file");
         System.out.println("java -jar gcviewer.jar [<gc-log-file|url>];[<gc-log-file|url>];[...] -> opens gui and loads given files as series of rotated logfiles");
+        System.out.println("java -jar gcviewer.jar [<-|stdin|named-pipe|tcp://host:port>] [<export.csv>] -> reads a gc log while it is written (gui shows the events as they arrive)");
         System.out.println("java -jar gcviewer.jar [<gc-log-file>] [<export.csv>] -> cmdline: writes report to <export.csv>");
         System.out.println("java -jar gcviewer.jar [<gc-log-file|url>];[<gc-log-file|url>];[...] [<export.csv>] -> cmdline: loads given files as series of rotated logfiles and writes report to <export.csv>");
         System.out.println("java -jar gcviewer.jar [<gc-log-file>] [<export.csv>] [<chart.png>] -> cmdline: writes report to <export.csv> and renders gc chart to <chart.png>");
         System.out.println("java -jar gcviewer.jar [<gc-log-file|url>];[<gc-log-file|url>];[...] [<export.csv>] [<chart.png>] -> cmdline: loads given files as series of rotated logfiles and writes report to <export.csv> and renders gc chart to <chart.png>");
         System.out.println("java -jar gcviewer.jar [<gc-log-file|url>] [<export.csv>] [<chart.png>] [-t <SUMMARY, CSV, CSV_TS, PLAIN, SIMPLE>]");
         System.out.println("java -jar gcviewer.jar [<gc-log-file|url>];[<gc-log-file|url>];[...] [<export.csv>] [<chart.png>] [-t <SUMMARY, CSV, CSV_TS, PLAIN, SIMPLE>]");
+        System.out.println("java -jar gcviewer.jar -b <directory|glob|gc-log-file>;[...] <export-directory> [-t <SUMMARY, CSV, CSV_TS, PLAIN, SIMPLE, PNG>] [-w <number of threads>] -> cmdline: writes one report per file to <export-directory> and a summary of all exports to " + BatchExporter.SUMMARY_FILE_NAME);
     }
 
 }
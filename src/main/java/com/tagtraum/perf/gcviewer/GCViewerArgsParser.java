@@ -4,6 +4,7 @@ import com.tagtraum.perf.gcviewer.exp.DataWriterType;
 import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 import com.tagtraum.perf.gcviewer.model.GcResourceSeries;
+import com.tagtraum.perf.gcviewer.model.GcResourceStream;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -25,6 +26,8 @@ public class GCViewerArgsParser {
     private String gcFile;
     private String summaryFilePath;
     private DataWriterType type = DataWriterType.SUMMARY;
+    private boolean batchMode;
+    private int workerCount;
     
     public int getArgumentCount() {
         return argumentCount;
@@ -36,7 +39,9 @@ public class GCViewerArgsParser {
 
     public GCResource getGcResource() {
         List<String> files = Arrays.asList(gcFile.split(";"));
-        List<GCResource> resources = files.stream().map(GcResourceFile::new).collect(Collectors.toList());
+        List<GCResource> resources = files.stream()
+                .map(file -> GcResourceStream.isStream(file) ? new GcResourceStream(file) : new GcResourceFile(file))
+                .collect(Collectors.toList());
         if (resources.isEmpty())
             throw new IllegalStateException("Found no valid resource!");
 
@@ -48,6 +53,20 @@ public class GCViewerArgsParser {
         }
     }
     
+    /**
+     * Returns the directories, glob patterns or files given as first argument in batch mode.
+     *
+     * @return inputs of batch mode
+     */
+    public List<String> getBatchInputs() {
+        return Arrays.asList(gcFile.split(";"));
+    }
+
+    /**
+     * Returns the path of the export file or - in batch mode - the directory, where all exports are written to.
+     *
+     * @return path of export file or directory
+     */
     public String getSummaryFilePath() {
         return summaryFilePath;
     }
@@ -56,6 +75,21 @@ public class GCViewerArgsParser {
         return type; 
     }
 
+    /**
+     * @return number of files to be read concurrently in batch mode; 0 if not set
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * @return <code>true</code>, if "-b" was given: all files found in the first argument are exported to the
+     * directory given as second argument
+     */
+    public boolean isBatchMode() {
+        return batchMode;
+    }
+
     /**
      * Parse arguments given in parameter. If an illegal argument is given, an exception is thrown.
      * 
@@ -78,6 +112,17 @@ public class GCViewerArgsParser {
             argsList.remove(typeIdx);
         }
 
+        batchMode = argsList.remove("-b");
+        int workerCountIdx = argsList.indexOf("-w");
+        if (workerCountIdx != -1 && argsList.size() > (workerCountIdx + 1)) {
+            workerCount = parseWorkerCount(argsList.get(workerCountIdx + 1));
+            argsList.remove(workerCountIdx);
+            argsList.remove(workerCountIdx);
+        }
+        else if (workerCountIdx != -1) {
+            argsList.remove(workerCountIdx);
+        }
+
         argumentCount = argsList.size();
         gcFile = safeGetArgument(argsList, ARG_POS_GCFILE);
         summaryFilePath = safeGetArgument(argsList, ARG_POS_SUMMARY_FILE);
@@ -93,6 +138,20 @@ public class GCViewerArgsParser {
         }
     }
     
+    private int parseWorkerCount(String workerCount) throws GCViewerArgsParserException {
+        try {
+            int count = Integer.parseInt(workerCount);
+            if (count > 0) {
+                return count;
+            }
+        }
+        catch (NumberFormatException e) {
+            // handled below
+        }
+
+        throw new GCViewerArgsParserException("-w", workerCount, "a positive number");
+    }
+
     private String safeGetArgument(List<String> arguments, int index) {
         if (arguments.size() > index) {
             return arguments.get(index);
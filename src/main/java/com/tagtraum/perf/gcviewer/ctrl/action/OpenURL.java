@@ -1,7 +1,9 @@
 package com.tagtraum.perf.gcviewer.ctrl.action;
 
 import com.tagtraum.perf.gcviewer.ctrl.GCModelLoaderController;
+import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.model.GcResourceFile;
+import com.tagtraum.perf.gcviewer.model.GcResourceStream;
 import com.tagtraum.perf.gcviewer.util.LocalisationHelper;
 import com.tagtraum.perf.gcviewer.view.ActionCommands;
 import com.tagtraum.perf.gcviewer.view.OpenUrlView;
@@ -39,11 +41,15 @@ public class OpenURL extends AbstractAction {
 
     public void actionPerformed(ActionEvent e) {
         if (view.showDialog()) {
+            String resourceName = view.getSelectedItem();
+            GCResource gcResource = GcResourceStream.isStream(resourceName)
+                    ? new GcResourceStream(resourceName)
+                    : new GcResourceFile(resourceName);
             if (view.isAddCheckBoxSelected()) {
-                controller.add(new GcResourceFile(view.getSelectedItem()));
+                controller.add(gcResource);
             }
             else {
-                controller.open(new GcResourceFile(view.getSelectedItem()));
+                controller.open(gcResource);
             }
         }
     }
@@ -0,0 +1,367 @@
+package com.tagtraum.perf.gcviewer.ctrl.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.tagtraum.perf.gcviewer.exp.DataWriter;
+import com.tagtraum.perf.gcviewer.exp.DataWriterType;
+import com.tagtraum.perf.gcviewer.exp.impl.DataWriterFactory;
+import com.tagtraum.perf.gcviewer.imp.DataReaderException;
+import com.tagtraum.perf.gcviewer.imp.DataReaderFacade;
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
+
+/**
+ * Reads many gc log files concurrently and writes one export per file. A file, that can't be read or exported,
+ * doesn't stop the others; the outcome for every file is collected in a {@link Result} and can be written to a
+ * summary file.
+ */
+public class BatchExporter {
+    private static final Logger LOGGER = Logger.getLogger(BatchExporter.class.getName());
+
+    /** name of the file in the output directory listing the outcome for every file */
+    public static final String SUMMARY_FILE_NAME = "batch-summary.csv";
+
+    private final int workerCount;
+
+    /**
+     * @param workerCount number of files read concurrently; &lt;= 0 for one per available processor
+     */
+    public BatchExporter(int workerCount) {
+        this.workerCount = workerCount > 0 ? workerCount : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Resolves <code>inputs</code> to a list of files. An input can be a directory (all files directly inside it),
+     * a glob pattern like <code>logs/**&#47;gc*.log</code> or a single file.
+     *
+     * @param inputs directories, glob patterns or files
+     * @return all files found in the order of <code>inputs</code> (sorted by path per input); no duplicates
+     * @throws IOException problem listing a directory
+     */
+    public static List<File> findFiles(List<String> inputs) throws IOException {
+        Set<File> files = new LinkedHashSet<>();
+        for (String input : inputs) {
+            if (hasGlob(input)) {
+                int separatorIndex = getBaseDirectoryEnd(input);
+                Path baseDirectory = Paths.get(separatorIndex > 0 ? input.substring(0, separatorIndex) : separatorIndex == 0 ? "/" : ".");
+                files.addAll(findMatchingFiles(baseDirectory, input.substring(separatorIndex + 1)));
+            }
+            else if (Files.isDirectory(Paths.get(input))) {
+                try (Stream<Path> children = Files.list(Paths.get(input))) {
+                    files.addAll(children.filter(Files::isRegularFile).sorted().map(Path::toFile).collect(Collectors.toList()));
+                }
+            }
+            else {
+                files.add(new File(input));
+            }
+        }
+
+        return new ArrayList<>(files);
+    }
+
+    private static boolean hasGlob(String input) {
+        return input.indexOf('*') >= 0 || input.indexOf('?') >= 0 || input.indexOf('[') >= 0 || input.indexOf('{') >= 0;
+    }
+
+    /**
+     * @return index of the separator before the first path element of <code>glob</code> containing a wildcard or
+     * -1, if there is none
+     */
+    private static int getBaseDirectoryEnd(String glob) {
+        int firstWildcard = glob.length();
+        for (char wildcard : new char[] {'*', '?', '[', '{'}) {
+            int index = glob.indexOf(wildcard);
+            if (index >= 0) {
+                firstWildcard = Math.min(firstWildcard, index);
+            }
+        }
+
+        return Math.max(glob.lastIndexOf('/', firstWildcard), glob.lastIndexOf('\\', firstWildcard));
+    }
+
+    private static List<File> findMatchingFiles(Path baseDirectory, String glob) throws IOException {
+        if (!Files.isDirectory(baseDirectory)) {
+            return new ArrayList<>();
+        }
+
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        try (Stream<Path> paths = Files.walk(baseDirectory)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(baseDirectory.relativize(path)))
+                    .sorted()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Reads all <code>files</code> concurrently and writes an export of type <code>type</code> for each of them
+     * into <code>outputDirectory</code> (named like the file with an extension depending on <code>type</code>).
+     *
+     * @param files gc log files to be exported
+     * @param outputDirectory directory, where the exports are written to (created, if it doesn't exist)
+     * @param type type of the exports
+     * @return outcome for every file in the order of <code>files</code>
+     * @throws IOException <code>outputDirectory</code> can't be created
+     * @throws InterruptedException waiting for the results was interrupted
+     */
+    public List<Result> export(List<File> files, File outputDirectory, DataWriterType type)
+            throws IOException, InterruptedException {
+
+        Files.createDirectories(outputDirectory.toPath());
+        List<File> exportFiles = getExportFiles(files, outputDirectory, type);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(workerCount, files.size())),
+                new BatchThreadFactory());
+        try {
+            List<Future<Result>> futures = new ArrayList<>(files.size());
+            for (int i = 0; i < files.size(); i++) {
+                File file = files.get(i);
+                File exportFile = exportFiles.get(i);
+                futures.add(executor.submit(() -> export(file, exportFile, type)));
+            }
+
+            List<Result> results = new ArrayList<>(files.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    results.add(futures.get(i).get());
+                }
+                catch (ExecutionException e) {
+                    results.add(new Result(files.get(i), exportFiles.get(i), 0, e.getCause()));
+                }
+            }
+
+            return results;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Exports <code>file</code> to a temporary file in the output directory, which is renamed to
+     * <code>exportFile</code> only if the export is complete; a failed export leaves no file behind.
+     */
+    private Result export(File file, File exportFile, DataWriterType type) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(exportFile.getParentFile().toPath(), exportFile.getName(), ".tmp");
+            int eventCount = write(file, tempFile.toFile(), type);
+            move(tempFile, exportFile.toPath());
+            return new Result(file, exportFile, eventCount, null);
+        }
+        catch (Exception e) {
+            LOGGER.log(Level.WARNING, "failed to export " + file + " (" + e.toString() + ")", e);
+            return new Result(file, exportFile, 0, e.getCause() != null ? e.getCause() : e);
+        }
+        finally {
+            deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * @return number of events exported
+     */
+    private int write(File file, File exportFile, DataWriterType type) throws IOException, DataReaderException {
+        try (DataWriter writer = DataWriterFactory.getDataWriter(exportFile, type)) {
+            if (writer instanceof GCEventSink) {
+                // events are written while they are read -> memory per worker doesn't depend on the file size
+                CountingEventSink eventSink = new CountingEventSink((GCEventSink) writer);
+                new DataReaderFacade().loadModel(new GcResourceFile(file), eventSink);
+                return eventSink.getEventCount();
+            }
+            if (!writer.needsEvents()) {
+                // only statistics are kept in memory
+                CountingEventSink eventSink = new CountingEventSink(GCEventSink.DISCARD);
+                writer.write(new DataReaderFacade().loadModel(new GcResourceFile(file), eventSink));
+                return eventSink.getEventCount();
+            }
+
+            GCModel model = new DataReaderFacade().loadModel(new GcResourceFile(file));
+            writer.write(model);
+            return model.size();
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteIfExists(Path path) {
+        if (path == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(path);
+        }
+        catch (IOException e) {
+            LOGGER.log(Level.WARNING, "failed to delete " + path + " (" + e.toString() + ")");
+        }
+    }
+
+    /**
+     * Determines a unique name for the export of every file (files with the same name in different directories
+     * get a number appended).
+     */
+    private List<File> getExportFiles(List<File> files, File outputDirectory, DataWriterType type) {
+        Set<String> usedNames = new HashSet<>();
+        List<File> exportFiles = new ArrayList<>(files.size());
+        for (File file : files) {
+            String name = file.getName();
+            for (int i = 2; !usedNames.add(name.toLowerCase()); i++) {
+                name = file.getName() + "-" + i;
+            }
+            exportFiles.add(new File(outputDirectory, name + getExtension(type)));
+        }
+
+        return exportFiles;
+    }
+
+    private String getExtension(DataWriterType type) {
+        switch (type) {
+            case PLAIN:
+            case SIMPLE:
+                return ".txt";
+            case PNG:
+                return ".png";
+            default:
+                return ".csv";
+        }
+    }
+
+    /**
+     * Writes one line per result to <code>summaryFile</code>: file, status (OK / FAILED), number of events,
+     * export file and the error message.
+     *
+     * @param results results of {@link #export(List, File, DataWriterType)}
+     * @param summaryFile file to be written
+     * @throws IOException problem writing the file
+     */
+    public void writeSummary(List<Result> results, File summaryFile) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(summaryFile.toPath(), StandardCharsets.UTF_8))) {
+            out.println("file;status;events;export;error");
+            for (Result result : results) {
+                out.println(result.getFile().getPath() + ";"
+                        + (result.isSuccessful() ? "OK" : "FAILED") + ";"
+                        + result.getEventCount() + ";"
+                        + (result.isSuccessful() ? result.getExportFile().getPath() : "") + ";"
+                        + (result.isSuccessful() ? "" : String.valueOf(result.getError()).replace('\n', ' ').replace(';', ',')));
+            }
+        }
+    }
+
+    /**
+     * Outcome of the export of one file.
+     */
+    public static class Result {
+        private final File file;
+        private final File exportFile;
+        private final int eventCount;
+        private final Throwable error;
+
+        public Result(File file, File exportFile, int eventCount, Throwable error) {
+            this.file = file;
+            this.exportFile = exportFile;
+            this.eventCount = eventCount;
+            this.error = error;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public File getExportFile() {
+            return exportFile;
+        }
+
+        public int getEventCount() {
+            return eventCount;
+        }
+
+        /**
+         * @return reason why the export failed or <code>null</code>, if it was successful
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        public boolean isSuccessful() {
+            return error == null;
+        }
+    }
+
+    /**
+     * Passes all events on to another sink counting them.
+     */
+    private static class CountingEventSink implements GCEventSink {
+        private final GCEventSink eventSink;
+        private int eventCount;
+
+        public CountingEventSink(GCEventSink eventSink) {
+            this.eventSink = eventSink;
+        }
+
+        @Override
+        public void setFormat(GCModel.Format format) {
+            eventSink.setFormat(format);
+        }
+
+        @Override
+        public void add(AbstractGCEvent<?> event) {
+            ++eventCount;
+            eventSink.add(event);
+        }
+
+        public int getEventCount() {
+            return eventCount;
+        }
+    }
+
+    private static class BatchThreadFactory implements ThreadFactory {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "gcviewer-batch-" + THREAD_NUMBER.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
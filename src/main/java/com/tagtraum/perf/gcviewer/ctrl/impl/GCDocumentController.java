@@ -48,6 +48,10 @@ public class GCDocumentController implements PropertyChangeListener {
             modelLoader.removePropertyChangeListener(this);
             removeTextAreaLogHandler(modelLoader);
         }
+        else if (GCModelStreamLoaderImpl.PROPERTY_INCREMENT.equals(evt.getPropertyName())) {
+            // a stream is still being read, but the chart must show the events, that have arrived
+            gcDocument.relayout();
+        }
 
     }
     
@@ -7,6 +7,7 @@ import com.tagtraum.perf.gcviewer.ctrl.impl.FileDropTargetListener.DropFlavor;
 import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.model.GcResourceSeries;
+import com.tagtraum.perf.gcviewer.model.GcResourceStream;
 import com.tagtraum.perf.gcviewer.view.GCDocument;
 import com.tagtraum.perf.gcviewer.view.GCViewerGui;
 import com.tagtraum.perf.gcviewer.view.GCViewerGuiMenuBar;
@@ -43,7 +44,7 @@ public class GCModelLoaderControllerImpl implements GCModelLoaderController {
     public void add(File[] files) {
         List<GCResource> gcResourceList = new ArrayList<>();
         for (File file : files) {
-            GCResource gcResource = new GcResourceFile(file.getAbsolutePath());
+            GCResource gcResource = getGcResource(file);
             gcResourceList.add(gcResource);
             
             addGCResource(gcResource);
@@ -134,13 +135,20 @@ public class GCModelLoaderControllerImpl implements GCModelLoaderController {
     public void open(File[] files) {
         List<GCResource> gcResourceList = new ArrayList<GCResource>();
         for (File file : files) {
-            GCResource gcResource = new GcResourceFile(file.getAbsolutePath());
+            GCResource gcResource = getGcResource(file);
             gcResourceList.add(gcResource);
         }
         
         open(gcResourceList);
     }
     
+    private GCResource getGcResource(File file) {
+        // named pipes can be chosen in the file dialog as well
+        return GcResourceStream.isStream(file.getAbsolutePath())
+                ? new GcResourceStream(file.getAbsolutePath())
+                : new GcResourceFile(file.getAbsolutePath());
+    }
+
     @Override
     public void open(GCResource gcResource) {
         gcResource.reset();
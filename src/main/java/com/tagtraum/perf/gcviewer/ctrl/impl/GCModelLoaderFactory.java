@@ -4,6 +4,7 @@ import com.tagtraum.perf.gcviewer.ctrl.GCModelLoader;
 import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 import com.tagtraum.perf.gcviewer.model.GcResourceSeries;
+import com.tagtraum.perf.gcviewer.model.GcResourceStream;
 
 /**
  * @author martin.geldmacher
@@ -22,6 +23,9 @@ public class GCModelLoaderFactory {
         else if (gcResource instanceof GcResourceSeries) {
             return new GCModelSeriesLoaderImpl((GcResourceSeries) gcResource);
         }
+        else if (gcResource instanceof GcResourceStream) {
+            return new GCModelStreamLoaderImpl((GcResourceStream) gcResource);
+        }
         else
             throw new IllegalArgumentException("Unknown GcResource: " + gcResource);
     }
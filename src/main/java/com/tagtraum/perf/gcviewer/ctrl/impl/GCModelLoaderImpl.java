@@ -1,9 +1,14 @@
 package com.tagtraum.perf.gcviewer.ctrl.impl;
 
+import java.util.concurrent.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 import com.tagtraum.perf.gcviewer.imp.DataReaderException;
 import com.tagtraum.perf.gcviewer.imp.DataReaderFacade;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.model.GCResource;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 
 /**
  * Loads the model in a background thread (progress can be tracked by propertyChangeListeners).
@@ -15,6 +20,8 @@ import com.tagtraum.perf.gcviewer.model.GCResource;
 public class GCModelLoaderImpl extends AbstractGCModelLoaderImpl {
     private final DataReaderFacade dataReaderFacade;
     private final GCResource gcResource;
+    /** <code>true</code>, if only the events appended to the file since the last load were read */
+    private volatile boolean isIncrement;
 
     public GCModelLoaderImpl(final GCResource gcResource) {
         super();
@@ -26,9 +33,40 @@ public class GCModelLoaderImpl extends AbstractGCModelLoaderImpl {
 
     @Override
     protected GCModel loadGcModel() throws DataReaderException {
+        if (gcResource.isReload() && gcResource instanceof GcResourceFile) {
+            GCModel increment = dataReaderFacade.loadModelIncrement((GcResourceFile) gcResource);
+            if (increment != null) {
+                isIncrement = true;
+                return increment;
+            }
+        }
+
         return dataReaderFacade.loadModel(gcResource);
     }
 
+    @Override
+    protected void done() {
+        if (!isIncrement) {
+            super.done();
+            return;
+        }
+
+        // the current model is displayed -> it may only be changed on the event dispatch thread
+        Logger logger = getGcResource().getLogger();
+        try {
+            GCModel model = getGcResource().getModel();
+            model.append(get());
+            getGcResource().setModel(model);
+        }
+        catch (InterruptedException e) {
+            logger.log(Level.FINE, "model get() interrupted", e);
+        }
+        catch (ExecutionException | RuntimeException e) {
+            if (logger.isLoggable(Level.WARNING))
+                logger.log(Level.WARNING, "Failed to append new events to GCModel from " + getGcResource().getResourceName(), e);
+        }
+    }
+
     @Override
     public GCResource getGcResource() {
         return gcResource;
@@ -0,0 +1,105 @@
+package com.tagtraum.perf.gcviewer.ctrl.impl;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.tagtraum.perf.gcviewer.imp.DataReaderException;
+import com.tagtraum.perf.gcviewer.imp.DataReaderFacade;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.GCResource;
+import com.tagtraum.perf.gcviewer.model.GcResourceStream;
+
+/**
+ * Reads a {@link GcResourceStream} in a background thread, until the stream is closed or reading is cancelled.
+ * The events are appended to the model of the resource on the event dispatch thread as soon as they arrive; after
+ * every increment, the property {@value #PROPERTY_INCREMENT} is fired.
+ *
+ * <p>At most {@value #MAX_PENDING_INCREMENTS} increments wait to be appended; if the event dispatch thread can't
+ * keep up, reading is paused, which slows down the writer of the log.</p>
+ */
+public class GCModelStreamLoaderImpl extends AbstractGCModelLoaderImpl {
+    public static final String PROPERTY_INCREMENT = "increment";
+    private static final int MAX_PENDING_INCREMENTS = 4;
+
+    private final DataReaderFacade dataReaderFacade;
+    private final GcResourceStream gcResource;
+    private final Semaphore pendingIncrements = new Semaphore(MAX_PENDING_INCREMENTS);
+    /** <code>true</code>, as soon as the first increment was set as model of the resource (event dispatch thread only) */
+    private boolean hasModel;
+
+    public GCModelStreamLoaderImpl(GcResourceStream gcResource) {
+        super();
+
+        this.gcResource = gcResource;
+        this.dataReaderFacade = new DataReaderFacade();
+    }
+
+    @Override
+    protected GCModel loadGcModel() throws DataReaderException {
+        dataReaderFacade.loadModelStream(gcResource, this::publishIncrement);
+
+        // all events were already added to the model of the resource
+        return null;
+    }
+
+    private void publishIncrement(GCModel increment) {
+        try {
+            pendingIncrements.acquire();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            gcResource.setIsReadCancelled(true);
+            return;
+        }
+
+        publish(increment);
+    }
+
+    @Override
+    protected void process(List<Object> increments) {
+        GCModel model = gcResource.getModel();
+        boolean hasNewEvents = false;
+        for (Object increment : increments) {
+            pendingIncrements.release();
+            GCModel modelIncrement = (GCModel) increment;
+            if (!hasModel) {
+                hasModel = true;
+                model = modelIncrement;
+                hasNewEvents = true;
+            }
+            else if (modelIncrement.size() > 0) {
+                model.append(modelIncrement);
+                hasNewEvents = true;
+            }
+        }
+
+        if (hasNewEvents) {
+            gcResource.setModel(model);
+            firePropertyChange(PROPERTY_INCREMENT, null, model);
+        }
+    }
+
+    @Override
+    protected void done() {
+        Logger logger = getGcResource().getLogger();
+        try {
+            get();
+            logger.info("end of stream");
+        }
+        catch (InterruptedException e) {
+            logger.log(Level.FINE, "model get() interrupted", e);
+        }
+        catch (ExecutionException | RuntimeException e) {
+            if (logger.isLoggable(Level.WARNING))
+                logger.log(Level.WARNING, "Failed to read GCModel from " + getGcResource().getResourceName(), e);
+        }
+    }
+
+    @Override
+    public GCResource getGcResource() {
+        return gcResource;
+    }
+}
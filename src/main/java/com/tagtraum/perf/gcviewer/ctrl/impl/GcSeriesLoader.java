@@ -11,6 +11,12 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -41,8 +47,11 @@ public class GcSeriesLoader {
 
     private Map<Timestamp, GCModel> determineStartTimePerGcModel(GcResourceSeries series) throws DataReaderException {
         Map<Timestamp, GCModel> startTimeToGcModel = new HashMap<>();
-        for (GCResource resource : series.getResourcesInOrder()) {
-            Optional<GCModel> model = loadGcModel(resource);
+        List<GCResource> resources = series.getResourcesInOrder();
+        List<Optional<GCModel>> models = loadGcModels(resources);
+        for (int i = 0; i < resources.size(); i++) {
+            GCResource resource = resources.get(i);
+            Optional<GCModel> model = models.get(i);
             if (model.isPresent()) {
                 Timestamp timeStamp = getCreationDate(model.get());
                 startTimeToGcModel.put(timeStamp, model.get());
@@ -108,6 +117,46 @@ public class GcSeriesLoader {
         }
     }
 
+    /**
+     * Loads all <code>resources</code> concurrently using at most one thread per processor. The readers only share
+     * the type lookup ({@link AbstractGCEvent.ExtendedType#lookup(AbstractGCEvent.Type, String)}), which is
+     * thread-safe.
+     *
+     * @param resources resources to be loaded
+     * @return models in the same order as <code>resources</code>; empty, if a resource couldn't be loaded
+     * @throws DataReaderException if loading was interrupted
+     */
+    private List<Optional<GCModel>> loadGcModels(List<GCResource> resources) throws DataReaderException {
+        if (resources.size() == 1) {
+            return Collections.singletonList(loadGcModel(resources.get(0)));
+        }
+
+        int threadCount = Math.min(resources.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, new LoaderThreadFactory());
+        try {
+            List<Future<Optional<GCModel>>> futures = new ArrayList<>();
+            for (GCResource resource : resources) {
+                futures.add(executor.submit(() -> loadGcModel(resource)));
+            }
+
+            List<Optional<GCModel>> models = new ArrayList<>();
+            for (Future<Optional<GCModel>> future : futures) {
+                models.add(future.get());
+            }
+            return models;
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DataReaderException("Loading of logfile series was interrupted", ex);
+        }
+        catch (ExecutionException ex) {
+            throw new DataReaderException("Failed to load logfile series", ex.getCause());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     private Optional<GCModel> loadGcModel(GCResource resource) {
         try {
             return Optional.of(dataReaderFacade.loadModel(resource));
@@ -120,6 +169,8 @@ public class GcSeriesLoader {
     }
 
     private GCModel mergeModels(List<GCModel> models) {
+        // the parts are appended in the order of their start times; merging them by the timestamps of the events
+        // would mix up parts of different jvm runs (timestamps start at 0 again after a restart)
         GCModel mergedModel = models.get(0);
         for (int i = 1; i < models.size(); i++) {
             GCModel model = models.get(i);
@@ -134,6 +185,20 @@ public class GcSeriesLoader {
         return mergedModel;
     }
 
+    /**
+     * Creates the daemon threads loading the parts of a series.
+     */
+    private static class LoaderThreadFactory implements ThreadFactory {
+        private static final AtomicInteger THREAD_NUMBER = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "gcviewer-series-loader-" + THREAD_NUMBER.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     interface Timestamp extends Comparable<Timestamp> {
     }
 
@@ -3,6 +3,7 @@ package com.tagtraum.perf.gcviewer.exp;
 import java.io.Closeable;
 import java.io.IOException;
 
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 
 /**
@@ -15,6 +16,14 @@ import com.tagtraum.perf.gcviewer.model.GCModel;
 public interface DataWriter extends Closeable {
     public void write(GCModel model) throws IOException;
 
+    /**
+     * @return <code>false</code>, if only the statistics of the model are written; the model passed to
+     * {@link #write(GCModel)} may then be one without events (see {@link GCEventSink#DISCARD})
+     */
+    public default boolean needsEvents() {
+        return true;
+    }
+
     /**
      * @see java.io.Closeable#close()
      */
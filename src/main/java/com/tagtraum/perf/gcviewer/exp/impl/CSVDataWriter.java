@@ -3,6 +3,7 @@ package com.tagtraum.perf.gcviewer.exp.impl;
 import com.tagtraum.perf.gcviewer.exp.AbstractDataWriter;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
 import com.tagtraum.perf.gcviewer.model.GCEvent;
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 
 import java.io.IOException;
@@ -13,60 +14,89 @@ import java.util.Iterator;
  * Write GC history with comma separated values.
  * <p>
  * It uses the {@literal "Timestamp(sec/#),Used(K),Total(K),Pause(sec),GC-Type"} format.
+ * <p>
+ * As a {@link GCEventSink}, it can write the events while they are read, without a model holding all of them.
  *
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
-public class CSVDataWriter extends AbstractDataWriter {
+public class CSVDataWriter extends AbstractDataWriter implements GCEventSink {
+
+    private boolean headerWritten;
+    private boolean hasCorrectTimestamp;
 
     public CSVDataWriter(OutputStream out) {
         super(out);
     }
 
     private void writeHeader() {
-        out.println("Timestamp(sec/#),Used(K),Total(K),Pause(sec),GC-Type");
+        if (!headerWritten) {
+            out.println("Timestamp(sec/#),Used(K),Total(K),Pause(sec),GC-Type");
+            headerWritten = true;
+        }
     }
 
     /**
      * Writes the model and flushes the internal PrintWriter.
      */
     public void write(GCModel model) throws IOException {
+        setFormat(model.getFormat());
         writeHeader();
-        
+
         Iterator<AbstractGCEvent<?>> i = model.getStopTheWorldEvents();
         while (i.hasNext()) {
-            AbstractGCEvent<?> abstractGCEvent = i.next();
-            // filter "application stopped" events
-            if (abstractGCEvent instanceof GCEvent) {
-                GCEvent event = (GCEvent) abstractGCEvent;
-                // write always two lines so that there is a nice used memory curve
-                if (model.hasCorrectTimestamp()) {
-                    // we have the timestamps therefore we can correct it with the pause time
-                    out.print((event.getTimestamp() - event.getPause()));
-                } else {
-                    out.print(event.getTimestamp());
-                }
-                out.print(',');
-                out.print(event.getPreUsed()); // pre
-                out.print(',');
-                out.print(event.getTotal());
-                out.print(',');
-                out.print(event.getPause());
-                out.print(',');
-                out.println(event.getExtendedType());
+            add(i.next());
+        }
+
+        out.flush();
+    }
+
+    @Override
+    public void setFormat(GCModel.Format format) {
+        hasCorrectTimestamp = format != null && format.hasCorrectTimestamp();
+    }
+
+    /**
+     * Writes the lines of one event, if it is a stop the world gc event.
+     */
+    @Override
+    public void add(AbstractGCEvent<?> abstractGCEvent) {
+        writeHeader();
 
+        // filter "application stopped" events
+        if (abstractGCEvent.isStopTheWorld() && abstractGCEvent instanceof GCEvent) {
+            GCEvent event = (GCEvent) abstractGCEvent;
+            // write always two lines so that there is a nice used memory curve
+            if (hasCorrectTimestamp) {
+                // we have the timestamps therefore we can correct it with the pause time
+                out.print((event.getTimestamp() - event.getPause()));
+            } else {
                 out.print(event.getTimestamp());
-                out.print(',');
-                out.print(event.getPostUsed()); // post
-                out.print(',');
-                out.print(event.getTotal());
-                out.print(',');
-                out.print(0);
-                out.print(',');
-                out.println("NONE");
             }
+            out.print(',');
+            out.print(event.getPreUsed()); // pre
+            out.print(',');
+            out.print(event.getTotal());
+            out.print(',');
+            out.print(event.getPause());
+            out.print(',');
+            out.println(event.getExtendedType());
+
+            out.print(event.getTimestamp());
+            out.print(',');
+            out.print(event.getPostUsed()); // post
+            out.print(',');
+            out.print(event.getTotal());
+            out.print(',');
+            out.print(0);
+            out.print(',');
+            out.println("NONE");
         }
+    }
 
-        out.flush();
+    @Override
+    public void close() throws IOException {
+        writeHeader();
+        super.close();
     }
 
 }
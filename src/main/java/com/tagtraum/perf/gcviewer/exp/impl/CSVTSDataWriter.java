@@ -3,6 +3,7 @@ package com.tagtraum.perf.gcviewer.exp.impl;
 import com.tagtraum.perf.gcviewer.exp.AbstractDataWriter;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
 import com.tagtraum.perf.gcviewer.model.GCEvent;
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 
 import java.io.IOException;
@@ -13,53 +14,89 @@ import java.util.Iterator;
  * Export GC history with comma separated values.
  * <p>
  * It uses the {@literal "Timestamp(unix/#),Used(K),Total(K),Pause(sec),GC-Type"} format.
+ * <p>
+ * As a {@link GCEventSink}, it can write the events while they are read, without a model holding all of them.
  *
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
-public class CSVTSDataWriter extends AbstractDataWriter {
+public class CSVTSDataWriter extends AbstractDataWriter implements GCEventSink {
+
+    private boolean headerWritten;
+    private boolean hasCorrectTimestamp;
+    /** <code>null</code> until the first event was added; see {@link GCModel#hasDateStamp()} */
+    private Boolean hasDateStamp;
 
     public CSVTSDataWriter(OutputStream out) {
         super(out);
     }
 
     private void writeHeader() {
-        out.println("Timestamp(unix/#),Used(K),Total(K),Pause(sec),GC-Type");
+        if (!headerWritten) {
+            out.println("Timestamp(unix/#),Used(K),Total(K),Pause(sec),GC-Type");
+            headerWritten = true;
+        }
     }
 
     /**
      * Writes the model and flushes the internal PrintWriter.
      */
     public void write(GCModel model) throws IOException {
+        setFormat(model.getFormat());
+        hasDateStamp = model.hasDateStamp();
         writeHeader();
-        
+
         Iterator<AbstractGCEvent<?>> i = model.getStopTheWorldEvents();
         while (i.hasNext()) {
-            AbstractGCEvent<?> abstractGCEvent = i.next();
-            // filter "application stopped" events
-            if (abstractGCEvent instanceof GCEvent) {
-                GCEvent event = (GCEvent) abstractGCEvent;
-                // Since this data writer is only concerned with one line per gc entry, don't write two like the others.
+            add(i.next());
+        }
+        out.flush();
+    }
 
-                // If the true timestamp is present, output the unix timestamp
-                if (model.hasDateStamp()) {
-                    out.print(event.getDatestamp().toInstant().getEpochSecond());
-                } else if (model.hasCorrectTimestamp()) {
-                    // we have the timestamps therefore we can correct it with the pause time
-                    out.print((event.getTimestamp() - event.getPause()));
-                } else {
-                    out.print(event.getTimestamp());
-                }
-                out.print(',');
-                out.print(event.getPreUsed()); // pre
-                out.print(',');
-                out.print(event.getTotal());
-                out.print(',');
-                out.print(event.getPause());
-                out.print(',');
-                out.println(event.getExtendedType());
+    @Override
+    public void setFormat(GCModel.Format format) {
+        hasCorrectTimestamp = format != null && format.hasCorrectTimestamp();
+    }
+
+    /**
+     * Writes the line of one event, if it is a stop the world gc event.
+     */
+    @Override
+    public void add(AbstractGCEvent<?> abstractGCEvent) {
+        writeHeader();
+        if (hasDateStamp == null) {
+            // like the model, decide by the first event
+            hasDateStamp = abstractGCEvent.hasDatestamp();
+        }
+
+        // filter "application stopped" events
+        if (abstractGCEvent.isStopTheWorld() && abstractGCEvent instanceof GCEvent) {
+            GCEvent event = (GCEvent) abstractGCEvent;
+            // Since this data writer is only concerned with one line per gc entry, don't write two like the others.
+
+            // If the true timestamp is present, output the unix timestamp
+            if (hasDateStamp) {
+                out.print(Math.floorDiv(event.getDatestampMillis(), 1000));
+            } else if (hasCorrectTimestamp) {
+                // we have the timestamps therefore we can correct it with the pause time
+                out.print((event.getTimestamp() - event.getPause()));
+            } else {
+                out.print(event.getTimestamp());
             }
+            out.print(',');
+            out.print(event.getPreUsed()); // pre
+            out.print(',');
+            out.print(event.getTotal());
+            out.print(',');
+            out.print(event.getPause());
+            out.print(',');
+            out.println(event.getExtendedType());
         }
-        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeHeader();
+        super.close();
     }
 
 }
@@ -7,6 +7,7 @@ import java.util.Iterator;
 import com.tagtraum.perf.gcviewer.exp.AbstractDataWriter;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
 import com.tagtraum.perf.gcviewer.model.GCEvent;
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 
 /**
@@ -16,7 +17,7 @@ import com.tagtraum.perf.gcviewer.model.GCModel;
  * Time: 9:58:11 AM
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
-public class PlainDataWriter extends AbstractDataWriter {
+public class PlainDataWriter extends AbstractDataWriter implements GCEventSink {
 
     public PlainDataWriter(OutputStream out) {
         super(out);
@@ -28,10 +29,20 @@ public class PlainDataWriter extends AbstractDataWriter {
     public void write(GCModel model) throws IOException {
         Iterator<AbstractGCEvent<?>> i = model.getEvents();
         while (i.hasNext()) {
-            out.println(i.next().toString());
+            add(i.next());
         }
         
         out.flush();
     }
 
+    @Override
+    public void setFormat(GCModel.Format format) {
+        // the format is not part of the output
+    }
+
+    @Override
+    public void add(AbstractGCEvent<?> event) {
+        out.println(event.toString());
+    }
+
 }
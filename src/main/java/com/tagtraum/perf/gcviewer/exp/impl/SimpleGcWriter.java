@@ -8,6 +8,7 @@ import java.util.Locale;
 import com.tagtraum.perf.gcviewer.exp.AbstractDataWriter;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Generation;
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 
 /**
@@ -23,7 +24,9 @@ import com.tagtraum.perf.gcviewer.model.GCModel;
  *
  * @author <a href="mailto:gcviewer@gmx.ch">Joerg Wuethrich</a>
  */
-public class SimpleGcWriter extends AbstractDataWriter {
+public class SimpleGcWriter extends AbstractDataWriter implements GCEventSink {
+
+    private static final Locale NO_LOCALE = null;
 
     public SimpleGcWriter(OutputStream outputStream) {
         super(outputStream);
@@ -35,21 +38,29 @@ public class SimpleGcWriter extends AbstractDataWriter {
     @Override
     public void write(GCModel model) throws IOException {
         Iterator<AbstractGCEvent<?>> i = model.getEvents();
-        final Locale NO_LOCALE = null;
         while (i.hasNext()) {
-            AbstractGCEvent<?> abstractEvent = i.next();
-            if (abstractEvent.isStopTheWorld()) {
-                out.printf(NO_LOCALE,
-                        "%s %f %f%n",
-                        getSimpleType(abstractEvent),
-                        abstractEvent.getTimestamp(),
-                        abstractEvent.getPause());
-            }
+            add(i.next());
         }
 
         out.flush();
     }
 
+    @Override
+    public void setFormat(GCModel.Format format) {
+        // the format is not part of the output
+    }
+
+    @Override
+    public void add(AbstractGCEvent<?> abstractEvent) {
+        if (abstractEvent.isStopTheWorld()) {
+            out.printf(NO_LOCALE,
+                    "%s %f %f%n",
+                    getSimpleType(abstractEvent),
+                    abstractEvent.getTimestamp(),
+                    abstractEvent.getPause());
+        }
+    }
+
     /**
      * Simple GC Logs GC_TYPE must not contain spaces. This method makes sure they don't.
      *
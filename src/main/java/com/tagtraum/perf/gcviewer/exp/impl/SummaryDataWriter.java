@@ -9,6 +9,7 @@ import java.util.Date;
 import java.util.Map;
 
 import com.tagtraum.perf.gcviewer.exp.AbstractDataWriter;
+import com.tagtraum.perf.gcviewer.math.DoubleData;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.util.FormattedValue;
 import com.tagtraum.perf.gcviewer.util.MemoryFormat;
@@ -25,6 +26,11 @@ import com.tagtraum.perf.gcviewer.util.TimeFormat;
  */
 public class SummaryDataWriter extends AbstractDataWriter {
 
+    /** percentiles exported for pauses */
+    private static final double[] PAUSE_PERCENTILES = {50, 90, 99, 99.9};
+    /** prefixes of the tags of {@link #PAUSE_PERCENTILES} */
+    private static final String[] PAUSE_PERCENTILE_TAGS = {"p50", "p90", "p99", "p999"};
+
     private ISummaryExportFormatter formatter;
 
     /*
@@ -101,13 +107,14 @@ public class SummaryDataWriter extends AbstractDataWriter {
         writer.println(strFormatted);
     }
 
+    @Override
+    public boolean needsEvents() {
+        return false;
+    }
+
     @Override
     public void write(GCModel model) throws IOException {
-        int lastIndexOfSlash = model.getURL().getFile().lastIndexOf('/');
-        exportValue(out,
-                "gcLogFile",
-                model.getURL().getFile().substring(lastIndexOfSlash >= 0 ? lastIndexOfSlash + 1 : 0),
-                "-");
+        exportValue(out, "gcLogFile", getLogFileName(model), "-");
 
         exportMemorySummary(out, model);
         exportPauseSummary(out, model);
@@ -116,15 +123,23 @@ public class SummaryDataWriter extends AbstractDataWriter {
         out.flush();
     }
 
+    /**
+     * @return name of the file <code>model</code> was read from without path or "-", if it was read from a stream
+     */
+    private String getLogFileName(GCModel model) {
+        if (model.getURL() == null) {
+            return "-";
+        }
+
+        String file = model.getURL().getFile();
+        return file.substring(file.lastIndexOf('/') + 1);
+    }
+
     public void exportSummaryFromModel(GCModel model, String filePath) throws IOException {
         FileWriter outFile = new FileWriter(filePath);
         PrintWriter out = new PrintWriter(outFile);
 
-        int lastIndexOfSlash = model.getURL().getFile().lastIndexOf('/');
-        exportValue(out,
-                "gcLogFile",
-                model.getURL().getFile().substring(lastIndexOfSlash >= 0 ? lastIndexOfSlash + 1 : 0),
-                "-");
+        exportValue(out, "gcLogFile", getLogFileName(model), "-");
 
         exportMemorySummary(out, model);
         exportPauseSummary(out, model);
@@ -189,6 +204,7 @@ public class SummaryDataWriter extends AbstractDataWriter {
 
             exportValue(out, "minPause", pauseFormatter.format(model.getPause().getMin()), "s");
             exportValue(out, "maxPause", pauseFormatter.format(model.getPause().getMax()), "s");
+            exportPercentiles(out, "Pause", model.getPause());
 
             if (gcDataAvailable) {
                 exportValue(out, "gcPauseCount", "" + model.getGCPause().getN(), "-");
@@ -196,6 +212,7 @@ public class SummaryDataWriter extends AbstractDataWriter {
                 exportValue(out, "avgGCPauseIsSig", isSignificant(model.getGCPause().average(), model.getGCPause().standardDeviation()) );
                 exportValue(out, "avgGCPause", pauseFormatter.format(model.getGCPause().average()), "s");
                 exportValue(out, "avgGCPause\u03c3", pauseFormatter.format(model.getGCPause().standardDeviation()), "s");
+                exportPercentiles(out, "GCPause", model.getGCPause());
             }
             else {
                 exportValue(out, "avgGCPause", "n.a.", "s");
@@ -210,6 +227,7 @@ public class SummaryDataWriter extends AbstractDataWriter {
 
                 exportValue(out, "minFullGCPause", pauseFormatter.format(model.getFullGCPause().getMin()), "s");
                 exportValue(out, "maxFullGCPause", pauseFormatter.format(model.getFullGCPause().getMax()), "s");
+                exportPercentiles(out, "FullGCPause", model.getFullGCPause());
             }
             else {
                 exportValue(out, "avgFullGCPause", "n.a.", "s");
@@ -229,6 +247,12 @@ public class SummaryDataWriter extends AbstractDataWriter {
         exportValue(out, "gcPausePc", percentFormatter.format(model.getGCPause().getSum()*100.0/model.getPause().getSum()), "%");
     }
 
+    private void exportPercentiles(PrintWriter out, String tag, DoubleData pauses) {
+        for (int i = 0; i < PAUSE_PERCENTILES.length; ++i) {
+            exportValue(out, PAUSE_PERCENTILE_TAGS[i] + tag, pauseFormatter.format(pauses.percentile(PAUSE_PERCENTILES[i])), "s");
+        }
+    }
+
     private boolean isSignificant(final double average, final double standardDeviation) {
         // at least 68.3% of all points are within 0.75 to 1.25 times the average value
         // Note: this may or may not be a good measure, but it at least helps to mark some bad data as such
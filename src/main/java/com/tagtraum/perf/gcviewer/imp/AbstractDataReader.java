@@ -2,12 +2,12 @@ package com.tagtraum.perf.gcviewer.imp;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.LineNumberReader;
 import java.io.UnsupportedEncodingException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.model.GCResource;
 
@@ -24,11 +24,17 @@ public abstract class AbstractDataReader implements DataReader {
     protected GCResource gcResource;
     /** the reader accessing the log file */
     protected LineNumberReader in;
+    /** receives the events read, if set */
+    private GCEventSink eventSink;
+    /** lines, that could not be parsed, since the last report */
+    private final ParseErrorAggregator parseErrors = new ParseErrorAggregator();
+    /** <code>true</code>, as soon as the format was logged by {@link #logFormat(String)} */
+    private boolean isFormatLogged;
 
     protected AbstractDataReader(GCResource gcResource, InputStream in) throws UnsupportedEncodingException {
         super();
 
-        this.in = new LineNumberReader(new InputStreamReader(in, "ASCII"), 64 * 1024);
+        this.in = new LineNumberReader(new AsciiInputStreamReader(in), 64 * 1024);
         this.gcResource = gcResource;
     }
 
@@ -56,6 +62,74 @@ public abstract class AbstractDataReader implements DataReader {
     @Override
     public abstract GCModel read() throws IOException;
 
+    /**
+     * Logs the format being read ("Reading &lt;format&gt; format..."). Only the first call logs at level INFO;
+     * readers reading incrementally call this once per increment, which is only logged at level FINE.
+     *
+     * @param format name of the format
+     */
+    protected void logFormat(String format) {
+        Level level = isFormatLogged ? Level.FINE : Level.INFO;
+        if (getLogger().isLoggable(level)) getLogger().log(level, "Reading " + format + " format...");
+        isFormatLogged = true;
+    }
+
+    /**
+     * Remembers a line, that could not be parsed; similar lines are reported together by
+     * {@link #reportParseErrors()} instead of one warning per line.
+     *
+     * @param e reason, why the line could not be parsed
+     * @param line the line (may be <code>null</code>)
+     */
+    protected void addParseError(Exception e, String line) {
+        addParseError(e, line, e.toString());
+    }
+
+    /**
+     * Same as {@link #addParseError(Exception, String)} with the message to be logged for the first line of a group.
+     *
+     * @param e reason, why the line could not be parsed
+     * @param line the line (may be <code>null</code>)
+     * @param message message to be logged
+     */
+    protected void addParseError(Exception e, String line, String message) {
+        if (getLogger().isLoggable(Level.FINE)) getLogger().log(Level.FINE, message, e);
+        parseErrors.add(e, line, message);
+    }
+
+    /**
+     * Same as {@link #addParseError(Exception, String)} for lines, that are skipped without an exception being thrown.
+     *
+     * @param message message to be logged
+     * @param line the line, that is skipped
+     */
+    protected void addParseError(String message, String line) {
+        addParseError(new ParseException(message, line), line, message);
+    }
+
+    /**
+     * Logs the lines added by {@link #addParseError(Exception, String)} since the last call as one warning per
+     * kind of line; to be called, when reading is done.
+     */
+    protected void reportParseErrors() {
+        parseErrors.report(getLogger());
+    }
+
+    @Override
+    public void setEventSink(GCEventSink eventSink) {
+        this.eventSink = eventSink;
+    }
+
+    /**
+     * Creates the model, the events read are added to. Every implementation must use this method instead of
+     * creating the model itself, so that the events are passed on to the sink, if one was set.
+     *
+     * @return new model
+     */
+    protected GCModel createModel() {
+        return eventSink != null ? new GCModel(eventSink) : new GCModel();
+    }
+
     /**
      * Returns <code>true</code> as long as read was not cancelled.
      * @return <code>true</code> as long as read was not cancelled
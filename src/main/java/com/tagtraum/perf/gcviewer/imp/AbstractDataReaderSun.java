@@ -1,12 +1,8 @@
 package com.tagtraum.perf.gcviewer.imp;
 
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.LineNumberReader;
 import java.io.UnsupportedEncodingException;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoUnit;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.logging.Level;
@@ -15,6 +11,7 @@ import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.ExtendedType;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.GcPattern;
 import com.tagtraum.perf.gcviewer.model.GCEvent;
+import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.util.DateHelper;
 import com.tagtraum.perf.gcviewer.util.NumberParser;
@@ -32,6 +29,8 @@ import com.tagtraum.perf.gcviewer.util.ParseInformation;
 public abstract class AbstractDataReaderSun extends AbstractDataReader {
 
     private static final int LENGTH_OF_DATESTAMP = 29;
+    /** returned by {@link #parseDatestamp(String, ParseInformation)}, if there is no datestamp */
+    protected static final long NO_DATESTAMP = Long.MIN_VALUE;
 
     private static final String CMS_PRINT_PROMOTION_FAILURE = "promotion failure size";
 
@@ -53,6 +52,8 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
 
     /** the log type allowing for small differences between different versions of the gc logs */
     protected GcLogType gcLogType;
+    /** last event read by a former call of <code>readIncrement()</code> */
+    private AbstractGCEvent<?> lastEventOfPreviousIncrements;
 
     /**
      * Create an instance of this class passing an inputStream and the type of the logfile.
@@ -67,6 +68,29 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
         this.gcLogType = gcLogType;
     }
 
+    /**
+     * Returns the last event added to <code>model</code> or - if <code>model</code> is an increment, which is still
+     * empty - the last event of the model, the increments are appended to (which is the last event read by a
+     * former increment, because {@link GCModel#append(GCModel)} adds the same instances).
+     *
+     * @param model model currently being read
+     * @return last event read or <code>null</code>, if there is none
+     */
+    protected AbstractGCEvent<?> getLastEventAdded(GCModel model) {
+        AbstractGCEvent<?> lastEvent = model.getLastEventAdded();
+        return lastEvent != null ? lastEvent : lastEventOfPreviousIncrements;
+    }
+
+    /**
+     * Remembers the last event of <code>model</code> for {@link #getLastEventAdded(GCModel)}; to be called at the
+     * end of every increment.
+     *
+     * @param model increment just read
+     */
+    protected void rememberLastEventAdded(GCModel model) {
+        lastEventOfPreviousIncrements = getLastEventAdded(model);
+    }
+
     /**
      * Returns the amount of memory in kilobyte. Depending on <code>memUnit</code>, input is
      * converted to kilobyte.
@@ -226,7 +250,7 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
         if (end < 0) {
         	end = line.indexOf(']', begin);
         }
-        double pause = NumberParser.parseDouble(line.substring(begin, end));
+        double pause = NumberParser.parseDouble(line, begin, end - begin);
 
         // ms...
         if (line.endsWith("ms]")) {
@@ -252,28 +276,34 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
     }
 
 
-    protected String parseTypeString(String line, ParseInformation pos) throws ParseException {
+    /**
+     * Parses the type of the event at <code>pos</code> in <code>line</code>. The type name is looked up in place;
+     * only type names containing "promotion failure size" details are copied to remove these details.
+     *
+     * @param line current line
+     * @param pos current parse position (set after the type name)
+     * @return type of the event
+     * @throws ParseException no type name found or unknown type
+     */
+    protected ExtendedType parseType(String line, ParseInformation pos) throws ParseException {
         int i = pos.getIndex();
         try {
             // consume all leading spaces and [
             final int lineLength = line.length();
-            final char[] lineChars = line.toCharArray();
-            char c = lineChars[i];
-            for (; i<lineLength; c = lineChars[++i]) {
+            for (; i < lineLength; ++i) {
+                char c = line.charAt(i);
                 if (c != ' ' && c != '[') break;
             }
-            if (i>=lineLength) throw new ParseException("Unexpected end of line.", line);
-            StringBuilder sb = new StringBuilder(20);
+            if (i >= lineLength) throw new ParseException("Unexpected end of line.", line);
             // check whether the type name starts with a number
             // e.g. 0.406: [GC [1 CMS-initial-mark: 7664K(12288K)] 7666K(16320K), 0.0006855 secs]
-            //final int startNumbers = i;
             // -> skip number
-            for (; Character.isDigit(c) && i<lineLength; c = lineChars[++i]);
-            //if (startNumbers != i) sb.append(lineChars, startNumbers, i);
-            // append all chars, but no numbers, colons, [ or ]
+            for (; i < lineLength && Character.isDigit(line.charAt(i)); ++i);
+            // all chars, but no numbers, colons, [ or ]
             final int startType = i;
             boolean isInParantesis = false;
-            for (; i<lineLength; c = lineChars[++i]) {
+            for (; i < lineLength; ++i) {
+                char c = line.charAt(i);
                 if (c == '(' || isInParantesis || c == ')') {
                     // option "-XX:+PrintPromotionFailure" inserts text in parentheses between "ParNew" and "(promotion failed)"
                     // [ParNew (0: promotion failure size = 4098)  (1: promotion failure size = 4098)  (2: promotion failure size = 4098) (promotion failed):
@@ -283,30 +313,31 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
                 }
                 if (c == ':' || c == '[' || c == ']' || c== ',' || Character.isDigit(c)) break;
             }
-            sb.append(lineChars, startType, i-startType);
-            if (sb.indexOf(CMS_PRINT_PROMOTION_FAILURE) > 0) {
+            final int endType = i;
+            for (; i < lineLength; ++i) {
+                char c = line.charAt(i);
+                if (c == '[' || c == ']' || Character.isDigit(c)) break;
+            }
+            if (i >= lineLength) throw new ParseException("Unexpected end of line.", line);
+
+            int promotionFailureIndex = line.indexOf(CMS_PRINT_PROMOTION_FAILURE, startType + 1);
+            if (promotionFailureIndex > 0 && promotionFailureIndex + CMS_PRINT_PROMOTION_FAILURE.length() <= endType) {
                 // ... now remove the "promotion failure size" parts inside parentheses
+                StringBuilder sb = new StringBuilder(endType - startType).append(line, startType, endType);
                 while (sb.indexOf(CMS_PRINT_PROMOTION_FAILURE) > 0) {
                     int firstParenthesis = sb.indexOf("(");
                     sb.delete(firstParenthesis, sb.indexOf(")", firstParenthesis) + 3);
                 }
+                return getDataReaderTools().parseType(sb.toString());
             }
-            for (; i<lineLength; c = lineChars[++i]) {
-                if (c == '[' || c == ']' || Character.isDigit(c)) break;
-            }
-            return sb.toString().trim();
+
+            return getDataReaderTools().parseType(line, startType, endType);
         }
         finally {
             pos.setIndex(i);
         }
     }
 
-    protected ExtendedType parseType(String line, ParseInformation pos) throws ParseException {
-        String typeString = parseTypeString(line, pos);
-        return getDataReaderTools().parseType(typeString);
-    }
-
-
     protected ExtendedType extractTypeFromParsedString(String typeName) {
         return getDataReaderTools().parseTypeWithCause(typeName);
     }
@@ -374,7 +405,7 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
         // look for end of timestamp, which is a colon ':'
         int endOfTimestamp = line.indexOf(':', pos.getIndex());
         if (endOfTimestamp == -1) throw new ParseException("Error parsing entry.", line, pos);
-        final double timestamp = NumberParser.parseDouble(line.substring(pos.getIndex(), endOfTimestamp));
+        final double timestamp = NumberParser.parseDouble(line, pos.getIndex(), endOfTimestamp - pos.getIndex());
         pos.setIndex(endOfTimestamp+1);
         return timestamp;
     }
@@ -385,20 +416,20 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
      *
      * @param line current line
      * @param pos current parse positition
-     * @param datestamp datestamp that may have been parsed
+     * @param datestamp datestamp that may have been parsed (milliseconds since 1970 or {@link #NO_DATESTAMP})
      * @return timestamp (either parsed or derived from datestamp)
      * @throws ParseException it seemed to be a timestamp but still couldn't be parsed
      */
-    protected double getTimestamp(final String line, final ParseInformation pos, final ZonedDateTime datestamp)
+    protected double getTimestamp(final String line, final ParseInformation pos, final long datestamp)
             throws ParseException {
 
         double timestamp = 0;
         if (nextIsTimestamp(line, pos)) {
             timestamp = parseTimestamp(line, pos);
         }
-        else if (datestamp != null && pos.getFirstDateStamp() != null) {
+        else if (datestamp != NO_DATESTAMP && pos.hasFirstDatestamp()) {
             // if no timestamp was present, calculate difference between last and this date
-            timestamp = pos.getFirstDateStamp().until(datestamp, ChronoUnit.MILLIS) / (double) 1000;
+            timestamp = (datestamp - pos.getFirstDatestampMillis()) / (double) 1000;
         }
         return timestamp;
     }
@@ -428,28 +459,42 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
 
     /**
      * Parses a datestamp in <code>line</code> at <code>pos</code>.
+     * The zone of the datestamp is available from {@link ParseInformation#getDatestampZone()} afterwards.
      *
      * @param line current line.
      * @param pos current parse position.
-     * @return returns parsed datestamp if found one, <code>null</code> otherwise.
+     * @return returns parsed datestamp in milliseconds since 1970 if found one, {@link #NO_DATESTAMP} otherwise.
      * @throws ParseException if line could not be parsed.
      */
-    protected ZonedDateTime parseDatestamp(String line, ParseInformation pos) throws ParseException {
-        ZonedDateTime zonedDateTime = null;
+    protected long parseDatestamp(String line, ParseInformation pos) throws ParseException {
+        long datestamp = NO_DATESTAMP;
         if (nextIsDatestamp(line, pos)) {
             try {
-                zonedDateTime = ZonedDateTime.parse(line.substring(pos.getIndex(), pos.getIndex() + LENGTH_OF_DATESTAMP - 1),
-                        DateHelper.DATE_TIME_FORMATTER);
+                datestamp = DateHelper.parseEpochMillis(line, pos.getIndex());
+                pos.setDatestampZone(DateHelper.parseOffset(line, pos.getIndex()));
                 pos.setIndex(pos.getIndex() + LENGTH_OF_DATESTAMP);
-                if (pos.getFirstDateStamp() == null) {
-                    pos.setFirstDateStamp(zonedDateTime);
+                if (!pos.hasFirstDatestamp()) {
+                    pos.setFirstDatestampMillis(datestamp);
                 }
             } catch (DateTimeParseException e){
                  throw new ParseException(e.toString(), line);
             }
         }
 
-        return zonedDateTime;
+        return datestamp;
+    }
+
+    /**
+     * Sets a datestamp returned by {@link #parseDatestamp(String, ParseInformation)} on <code>event</code>.
+     *
+     * @param event event to set the datestamp on
+     * @param datestamp datestamp in milliseconds since 1970 or {@link #NO_DATESTAMP}
+     * @param pos current parse position (holding the zone of the datestamp)
+     */
+    protected static void setDatestamp(AbstractGCEvent<?> event, long datestamp, ParseInformation pos) {
+        if (datestamp != NO_DATESTAMP) {
+            event.setDateStamp(datestamp, pos.getDatestampZone());
+        }
     }
 
     /**
@@ -484,12 +529,12 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
             final GCEvent detailEvent = new GCEvent();
             try {
                 if (nextCharIsBracket(line, pos)) {
-                    detailEvent.setDateStamp(event.getDatestamp());
+                    detailEvent.setDateStamp(event.getDatestampMillis(), event.getDatestampZone());
                     detailEvent.setTimestamp(event.getTimestamp());
                 }
                 else {
-                    ZonedDateTime datestamp = parseDatestamp(line, pos);
-                    detailEvent.setDateStamp(datestamp);
+                    long datestamp = parseDatestamp(line, pos);
+                    setDatestamp(detailEvent, datestamp, pos);
                     detailEvent.setTimestamp(getTimestamp(line, pos, datestamp));
                 }
                 detailEvent.setExtendedType(parseType(line, pos));
@@ -546,50 +591,6 @@ public abstract class AbstractDataReaderSun extends AbstractDataReader {
         return nextString.toString().equals("--");
     }
 
-    /**
-     * Skips a block of lines containing information like they are generated by
-     * -XX:+PrintHeapAtGC or -XX:+PrintAdaptiveSizePolicy.
-     *
-     * @param in inputStream of the current log to be read
-     * @param pos current parse position
-     * @param lineStartStrings lines starting with these strings should be ignored
-     * @throws IOException problem with reading from the file
-     */
-    protected void skipLines(LineNumberReader in, ParseInformation pos, List<String> lineStartStrings) throws IOException {
-        String line = "";
-
-        if (!in.markSupported()) {
-            getLogger().warning("input stream does not support marking!");
-        }
-        else {
-            in.mark(200);
-        }
-
-        boolean startsWithString = true;
-        while (startsWithString && (line = in.readLine()) != null) {
-            pos.setLineNumber(in.getLineNumber());
-            // for now just skip those lines
-            startsWithString = startsWith(line, lineStartStrings, true);
-            if (startsWithString) {
-                // don't mark any more if line didn't match -> it is the first line that
-                // is of interest after the skipped block
-                if (in.markSupported()) {
-                    in.mark(200);
-                }
-            }
-        }
-
-        // push last read line back into stream - it is the next event to be parsed
-        if (in.markSupported()) {
-            try {
-                in.reset();
-            }
-            catch (IOException e) {
-                throw new ParseException("problem resetting stream (" + e.toString() + ")", line, pos);
-            }
-        }
-    }
-
     /**
      * Skips until the end of the current detail event.
      *
@@ -0,0 +1,27 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream reading a log, that is still being written to. It signals end of file after the last complete line
+ * available and continues there after {@link #refresh()} found more data.
+ */
+public abstract class AbstractTailingInputStream extends InputStream {
+
+    /**
+     * Number of bytes that were delivered by this stream.
+     *
+     * @return current position in the log
+     */
+    public abstract long getPosition();
+
+    /**
+     * Checks, whether more complete lines were appended to the log and makes them available for reading.
+     *
+     * @return <code>false</code>, if the log was truncated or replaced; reading incrementally is not possible any
+     * more in that case
+     * @throws IOException problem accessing the log
+     */
+    public abstract boolean refresh() throws IOException;
+}
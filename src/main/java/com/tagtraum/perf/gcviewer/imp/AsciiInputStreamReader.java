@@ -0,0 +1,56 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Reader for ASCII encoded input streams; does the same as <code>new InputStreamReader(in, "ASCII")</code>,
+ * but widens the bytes directly to chars instead of running them through a {@link java.nio.charset.CharsetDecoder}.
+ * As with the ASCII decoder, bytes outside the ASCII range are replaced by <code>'�'</code>.
+ *
+ * <p>Reading stops, where the underlying stream signals its end; if the stream delivers more data later
+ * (see {@link TailingFileInputStream}), reading can be continued.</p>
+ */
+public class AsciiInputStreamReader extends Reader {
+
+    private static final char REPLACEMENT_CHAR = '�';
+
+    private final InputStream in;
+    private byte[] buffer = new byte[DataReaderFactory.FOUR_KB];
+
+    public AsciiInputStreamReader(InputStream in) {
+        super(in);
+
+        this.in = in;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (len > buffer.length) {
+            buffer = new byte[len];
+        }
+
+        int n = in.read(buffer, 0, len);
+        for (int i = 0; i < n; ++i) {
+            byte b = buffer[i];
+            cbuf[off + i] = b >= 0 ? (char) b : REPLACEMENT_CHAR;
+        }
+
+        return n;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return in.available() > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+}
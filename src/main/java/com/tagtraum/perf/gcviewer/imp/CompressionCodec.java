@@ -0,0 +1,40 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Decompresses gc logs of one compression format, which is recognised by the magic bytes at the start of the data.
+ *
+ * <p>Codecs for other formats can be added by listing their implementation in
+ * <code>META-INF/services/com.tagtraum.perf.gcviewer.imp.CompressionCodec</code> on the classpath
+ * (see {@link java.util.ServiceLoader}); they take precedence over the built in ones.</p>
+ *
+ * @see CompressionCodecs
+ */
+public interface CompressionCodec {
+
+    /**
+     * @return name of the compression format (used in log messages)
+     */
+    String getName();
+
+    /**
+     * Checks, whether data starting with <code>header</code> is compressed in the format of this codec.
+     *
+     * @param header first bytes of the data (at most {@link CompressionCodecs#HEADER_LENGTH})
+     * @param length number of valid bytes in <code>header</code>
+     * @return <code>true</code>, if this codec can decompress the data
+     */
+    boolean matches(byte[] header, int length);
+
+    /**
+     * Returns a stream decompressing <code>in</code>. The stream is read by a background thread, so it doesn't
+     * need to be buffered.
+     *
+     * @param in compressed data starting with the header
+     * @return decompressed data
+     * @throws IOException problem reading the data or the format is not supported
+     */
+    InputStream decompress(InputStream in) throws IOException;
+}
@@ -0,0 +1,98 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of all {@link CompressionCodec}s: the ones registered using {@link ServiceLoader} followed by the built
+ * in ones. Gzip is supported out of the box; zstd, xz and bzip2 are recognised, but need a codec on the classpath
+ * to be read.
+ */
+public final class CompressionCodecs {
+
+    /** number of bytes needed to recognise all known formats */
+    public static final int HEADER_LENGTH = 6;
+
+    private static final List<CompressionCodec> CODECS = loadCodecs();
+
+    private CompressionCodecs() {
+        super();
+    }
+
+    private static List<CompressionCodec> loadCodecs() {
+        List<CompressionCodec> codecs = new ArrayList<>();
+        for (CompressionCodec codec : ServiceLoader.load(CompressionCodec.class)) {
+            codecs.add(codec);
+        }
+
+        codecs.add(new GzipCodec());
+        codecs.add(new UnsupportedCodec("zstd", new byte[] {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd}));
+        codecs.add(new UnsupportedCodec("xz", new byte[] {(byte) 0xfd, '7', 'z', 'X', 'Z', 0x00}));
+        codecs.add(new UnsupportedCodec("bzip2", new byte[] {'B', 'Z', 'h'}));
+
+        return Collections.unmodifiableList(codecs);
+    }
+
+    /**
+     * Returns the codec, that can decompress data starting with <code>header</code>.
+     *
+     * @param header first bytes of the data
+     * @param length number of valid bytes in <code>header</code>
+     * @return matching codec or <code>null</code>, if the data is not compressed in any known format
+     */
+    public static CompressionCodec find(byte[] header, int length) {
+        for (CompressionCodec codec : CODECS) {
+            if (codec.matches(header, length)) {
+                return codec;
+            }
+        }
+
+        return null;
+    }
+
+    static boolean startsWith(byte[] header, int length, byte[] magic) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; ++i) {
+            if (header[i] != magic[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Recognises a format to give a meaningful error message instead of trying to parse compressed data.
+     */
+    private static class UnsupportedCodec implements CompressionCodec {
+        private final String name;
+        private final byte[] magic;
+
+        public UnsupportedCodec(String name, byte[] magic) {
+            this.name = name;
+            this.magic = magic;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean matches(byte[] header, int length) {
+            return startsWith(header, length, magic);
+        }
+
+        @Override
+        public InputStream decompress(InputStream in) throws IOException {
+            throw new IOException(name + " compressed logs can only be read with a "
+                    + CompressionCodec.class.getName() + " for " + name + " on the classpath");
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.tagtraum.perf.gcviewer.imp;
 
 import java.io.IOException;
 
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 
 /**
@@ -18,4 +19,12 @@ public interface DataReader {
      * @throws IOException thrown, when an exception reading the file occurred
      */
     GCModel read() throws IOException;
+
+    /**
+     * Sets a sink, that receives every event while it is read. The model returned by {@link #read()} then keeps only
+     * its statistics, but not the events (see {@link GCModel#GCModel(GCEventSink)}).
+     *
+     * @param eventSink sink to receive the events or <code>null</code> to keep all events in the model
+     */
+    void setEventSink(GCEventSink eventSink);
 }
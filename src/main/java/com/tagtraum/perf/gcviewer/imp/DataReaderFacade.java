@@ -10,13 +10,17 @@ import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import com.tagtraum.perf.gcviewer.ctrl.impl.GcSeriesLoader;
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 import com.tagtraum.perf.gcviewer.model.GcResourceSeries;
+import com.tagtraum.perf.gcviewer.model.GcResourceStream;
 import com.tagtraum.perf.gcviewer.util.BuildInfoReader;
 import com.tagtraum.perf.gcviewer.util.HttpUrlConnectionHelper;
 import com.tagtraum.perf.gcviewer.util.LocalisationHelper;
@@ -29,7 +33,11 @@ import com.tagtraum.perf.gcviewer.util.LocalisationHelper;
  */
 public class DataReaderFacade {
 
+    /** maximum time to wait for data from a stream, before checking, whether reading was cancelled */
+    private static final long STREAM_POLL_INTERVAL_MILLIS = 500;
+
     private List<PropertyChangeListener> propertyChangeListeners = new ArrayList<PropertyChangeListener>();
+    private GCModelCache modelCache = GCModelCache.getDefault();
 
     /**
      * Add propertyChangeListener for underlying MonitoredBufferedInputStreams property "progress".
@@ -40,6 +48,16 @@ public class DataReaderFacade {
         propertyChangeListeners.add(listener);
     }
 
+    /**
+     * Sets the cache, where models of local files are stored after parsing and looked up before parsing (default:
+     * {@link GCModelCache#getDefault()}, which is only available, if the cache is enabled).
+     *
+     * @param modelCache cache to be used or <code>null</code> to always parse the files
+     */
+    public void setModelCache(GCModelCache modelCache) {
+        this.modelCache = modelCache;
+    }
+
     /**
      * Loads a model from a given <code>gcResource</code> logging all exceptions that occur.
      *
@@ -55,9 +73,28 @@ public class DataReaderFacade {
         if (gcResource instanceof  GcResourceSeries) {
             return loadModelFromSeries((GcResourceSeries) gcResource);
         }
+        if (gcResource instanceof GcResourceStream) {
+            return loadModelFromStream((GcResourceStream) gcResource);
+        }
         if (!(gcResource instanceof GcResourceFile))
             throw new UnsupportedOperationException("Only supported for files!");
 
+        return loadModel((GcResourceFile) gcResource, null);
+    }
+
+    /**
+     * Reads <code>gcResource</code> passing every event on to <code>eventSink</code> while it is read. The model
+     * returned contains all statistics, but not the events themselves (see {@link GCModel#GCModel(GCEventSink)}),
+     * so the memory needed doesn't depend on the size of the log. The model is neither cached nor can it be
+     * continued with {@link #loadModelIncrement(GcResourceFile)}.
+     *
+     * @param gcResource where to find data to be parsed
+     * @param eventSink receives all events read; if <code>null</code>, the model keeps all events as usual
+     * @return instance of GCModel containing all information that was parsed
+     * @throws DataReaderException if any exception occurred, it is logged and added as the cause
+     * to this exception
+     */
+    public GCModel loadModel(GcResourceFile gcResource, GCEventSink eventSink) throws DataReaderException {
         DataReaderException dataReaderException = new DataReaderException();
         GCModel model = null;
         Logger logger = gcResource.getLogger();
@@ -65,7 +102,7 @@ public class DataReaderFacade {
         try {
             logger.info("GCViewer version " + BuildInfoReader.getVersion()
                     + " (" + BuildInfoReader.getBuildDate() + ")");
-            model = readModel((GcResourceFile) gcResource);
+            model = readModel(gcResource, eventSink);
         }
         catch (RuntimeException | IOException e) {
             dataReaderException.initCause(e);
@@ -80,6 +117,181 @@ public class DataReaderFacade {
         return model;
     }
 
+    /**
+     * Reads <code>gcResource</code> calculating only the statistics: no events are kept apart from the last few
+     * needed while reading (see {@link GCEventSink#DISCARD}), so even summaries of huge logs can be calculated
+     * with a small heap.
+     *
+     * @param gcResource where to find data to be parsed
+     * @return instance of GCModel containing all statistics, but not the events
+     * @throws DataReaderException if any exception occurred, it is logged and added as the cause
+     * to this exception
+     */
+    public GCModel loadStatistics(GcResourceFile gcResource) throws DataReaderException {
+        return loadModel(gcResource, GCEventSink.DISCARD);
+    }
+
+    /**
+     * Reads only the events, that were appended to the file of <code>gcResource</code> since it was read the
+     * last time. The result must be added to the current model of <code>gcResource</code>
+     * (see {@link GCModel#append(GCModel)}). Only possible, if <code>gcResource</code> was watched, when it was
+     * loaded (see {@link GcResourceFile#setWatched(boolean)}).
+     *
+     * @param gcResource resource, whose model was loaded by this class before
+     * @return model containing only the new events or <code>null</code>, if the file can't be read incrementally
+     * (in this case, the whole model must be loaded again)
+     * @throws DataReaderException if any exception occurred, it is logged and added as the cause
+     * to this exception
+     */
+    public GCModel loadModelIncrement(GcResourceFile gcResource) throws DataReaderException {
+        Object state = gcResource.getTailState();
+        TailState tailState = state instanceof TailState ? (TailState) state : null;
+        if (tailState == null || tailState.model != gcResource.getModel()) {
+            return null;
+        }
+
+        DataReaderException dataReaderException = new DataReaderException();
+        GCModel increment = null;
+        try {
+            if (!tailState.in.refresh()) {
+                gcResource.getLogger().info("log was truncated or replaced -> reading whole log");
+                gcResource.setTailState(null);
+                return null;
+            }
+
+            increment = tailState.reader.readIncrement();
+            increment.setURL(gcResource.getResourceNameAsUrl());
+        }
+        catch (RuntimeException | IOException e) {
+            gcResource.setTailState(null);
+            dataReaderException.initCause(e);
+            gcResource.getLogger().warning(LocalisationHelper.getString("fileopen_dialog_read_file_failed")
+                    + "\n" + e.toString() + " " + e.getLocalizedMessage());
+        }
+        finally {
+            closeQuietly(gcResource, tailState.in);
+        }
+
+        if (dataReaderException.getCause() != null) {
+            throw dataReaderException;
+        }
+
+        return increment;
+    }
+
+    /**
+     * Reads <code>gcResource</code> while it is being written and passes the events to <code>incrementConsumer</code>
+     * as soon as they arrive: every call gets a model containing the events of the lines, that were available at
+     * the same time (the first one may be empty). The consumer is called on the reading thread; nothing more is
+     * read, until it returns, so a slow consumer slows down the writer of the log instead of filling the memory.
+     *
+     * <p>Returns, when the stream was closed by the writer or {@link GCResource#isReadCancelled()}. Formats, whose
+     * reader can't read increments, are passed on in one model, when the stream is closed.</p>
+     *
+     * @param gcResource stream to be read
+     * @param incrementConsumer receives the events in increments (see {@link GCModel#append(GCModel)})
+     * @throws DataReaderException if any exception occurred, it is logged and added as the cause
+     * to this exception
+     */
+    public void loadModelStream(GcResourceStream gcResource, Consumer<GCModel> incrementConsumer) throws DataReaderException {
+        DataReaderException dataReaderException = new DataReaderException();
+        Logger logger = gcResource.getLogger();
+        LiveInputStream in = null;
+
+        try {
+            logger.info("GCViewer version " + BuildInfoReader.getVersion()
+                    + " (" + BuildInfoReader.getBuildDate() + ")");
+            in = LiveInputStream.open(gcResource);
+            readStream(gcResource, in, incrementConsumer);
+        }
+        catch (RuntimeException | IOException e) {
+            dataReaderException.initCause(e);
+            logger.warning(LocalisationHelper.getString("fileopen_dialog_read_file_failed")
+                    + "\n" + e.toString() + " " + e.getLocalizedMessage());
+        }
+        finally {
+            closeQuietly(gcResource, in);
+        }
+
+        if (dataReaderException.getCause() != null) {
+            throw dataReaderException;
+        }
+    }
+
+    /**
+     * Reads the whole stream into one model (returns, when the writer has closed the stream).
+     */
+    private GCModel loadModelFromStream(GcResourceStream gcResource) throws DataReaderException {
+        AtomicReference<GCModel> model = new AtomicReference<>();
+        loadModelStream(gcResource, increment -> {
+            if (model.get() == null) {
+                model.set(increment);
+            }
+            else {
+                model.get().append(increment);
+            }
+        });
+
+        return model.get() != null ? model.get() : new GCModel();
+    }
+
+    void readStream(GcResourceStream gcResource, LiveInputStream in, Consumer<GCModel> incrementConsumer) throws IOException {
+        DataReader reader = getStreamDataReader(gcResource, in);
+        if (reader == null) {
+            gcResource.getLogger().info("no data received");
+            return;
+        }
+
+        if (reader instanceof IncrementalDataReader) {
+            IncrementalDataReader incrementalReader = (IncrementalDataReader) reader;
+            incrementConsumer.accept(incrementalReader.readIncrement());
+            while (!in.isFinished() && !gcResource.isReadCancelled()) {
+                if (in.awaitData(STREAM_POLL_INTERVAL_MILLIS)) {
+                    incrementConsumer.accept(incrementalReader.readIncrement());
+                }
+            }
+            if (!gcResource.isReadCancelled()) {
+                // the stream was closed -> events still waiting for more lines are complete now
+                incrementConsumer.accept(incrementalReader.read());
+            }
+        }
+        else {
+            gcResource.getLogger().info(reader.getClass().getSimpleName()
+                    + " can't read increments -> events are available, when the stream is closed");
+            in.setBlocking(true);
+            incrementConsumer.accept(reader.read());
+        }
+    }
+
+    /**
+     * Waits until enough data has arrived to detect the format of the stream.
+     *
+     * @return reader or <code>null</code>, if the stream was closed or reading was cancelled before any data arrived
+     */
+    private DataReader getStreamDataReader(GcResourceStream gcResource, LiveInputStream in) throws IOException {
+        DataReaderFactory factory = new DataReaderFactory();
+        int minAvailable = 1;
+        while (!gcResource.isReadCancelled()) {
+            boolean hasData = in.awaitData(minAvailable, STREAM_POLL_INTERVAL_MILLIS);
+            if (in.isSourceClosed()) {
+                // all data is available -> no more waiting for the rest of the sample
+                return in.available() > 0 ? factory.getDataReader(gcResource, in) : null;
+            }
+            if (hasData) {
+                in.mark(LiveInputStream.DEFAULT_CAPACITY);
+                DataReader reader = factory.getDataReaderIfDetected(gcResource, in);
+                if (reader != null) {
+                    return reader;
+                }
+
+                in.reset();
+                minAvailable = in.available() + 1;
+            }
+        }
+
+        return null;
+    }
+
     /**
      * Loads the {@link GCResource}s as a rotated series of logfiles. Takes care of ordering them
      *
@@ -89,23 +301,44 @@ public class DataReaderFacade {
      */
     protected GCModel loadModelFromSeries(GcResourceSeries gcResource) throws DataReaderException {
         GcSeriesLoader seriesLoader = new GcSeriesLoader(this);
-        return seriesLoader.load(gcResource);
+        GCModel model = seriesLoader.load(gcResource);
+
+        // parts of a series are merged into one model -> they can't be continued individually
+        for (GCResource resource : gcResource.getResourcesInOrder()) {
+            if (resource instanceof GcResourceFile) {
+                ((GcResourceFile) resource).setTailState(null);
+            }
+        }
+
+        return model;
     }
 
     /**
      * Open and parse data designated by <code>gcResource</code>.
      *
      * @param gcResource where to find data to be parsed
+     * @param eventSink receives all events read or <code>null</code>
      * @return GCModel containing events parsed from <code>gcResource</code>
      * @throws IOException problem reading the data
      */
-    private GCModel readModel(GcResourceFile gcResource) throws IOException {
+    private GCModel readModel(GcResourceFile gcResource, GCEventSink eventSink) throws IOException {
         URL url = gcResource.getResourceNameAsUrl();
         DataReaderFactory factory = new DataReaderFactory();
         long contentLength = 0L;
         InputStream in = null;
+        AbstractTailingInputStream tailingIn = null;
+        // only watched resources are continued later; all others are read completely
+        boolean isContinued = eventSink == null && gcResource.isWatched();
+        gcResource.setTailState(null);
         try {
-            if (url.getProtocol().startsWith("http")) {
+            if (url.getProtocol().startsWith("http") && isContinued) {
+                // only the new part is requested, when the log is read again
+                HttpTailingInputStream httpIn = new HttpTailingInputStream(url);
+                contentLength = httpIn.getContentLength();
+                tailingIn = httpIn;
+                in = tailingIn;
+            }
+            else if (url.getProtocol().startsWith("http")) {
                 AtomicLong atomicContentLength = new AtomicLong();
                 URLConnection conn = url.openConnection();
                 in = HttpUrlConnectionHelper.openInputStream((HttpURLConnection) conn,
@@ -114,12 +347,24 @@ public class DataReaderFacade {
                 contentLength = atomicContentLength.get();
             }
             else {
-                in = url.openStream();
-                if (url.getProtocol().startsWith("file")) {
-                    File file = new File(url.getFile());
-                    if (file.exists()) {
-                        contentLength = file.length();
+                File file = url.getProtocol().startsWith("file") ? new File(url.getFile()) : null;
+                if (file != null && file.exists()) {
+                    contentLength = file.length();
+                }
+                if (eventSink == null && file != null && file.exists() && !TailingFileInputStream.isCompressed(file)) {
+                    // a watched file is continued by its reader -> the reader must have read the whole file
+                    GCModel cachedModel = isContinued ? null : readCachedModel(gcResource, file, factory);
+                    if (cachedModel != null) {
+                        cachedModel.setURL(url);
+                        return cachedModel;
                     }
+
+                    // plain local files can be read incrementally, when they grow
+                    tailingIn = new TailingFileInputStream(file);
+                    in = tailingIn;
+                }
+                else {
+                    in = url.openStream();
                 }
             }
             if (contentLength > 100L) {
@@ -130,18 +375,125 @@ public class DataReaderFacade {
             }
 
             DataReader reader = factory.getDataReader(gcResource, in);
-            GCModel model = reader.read();
+            reader.setEventSink(eventSink);
+            GCModel model;
+            if (isContinued && tailingIn != null && reader instanceof IncrementalDataReader) {
+                model = ((IncrementalDataReader) reader).readIncrement();
+                gcResource.setTailState(new TailState(tailingIn, (IncrementalDataReader) reader, model));
+                if (in instanceof MonitoredBufferedInputStream) {
+                    // progress of later increments must not be reported to the current listeners any more
+                    for (PropertyChangeListener listener : propertyChangeListeners) {
+                        ((MonitoredBufferedInputStream) in).removePropertyChangeListener(listener);
+                    }
+                }
+
+                // the reader keeps its stream to continue later -> only release the file
+                in = tailingIn;
+            }
+            else {
+                model = reader.read();
+            }
             model.setURL(url);
+            if (tailingIn instanceof TailingFileInputStream && modelCache != null && !isContinued) {
+                // only complete models are cached: readIncrement() may still wait for the end of the last event
+                modelCache.storeInBackground(new File(url.getFile()), tailingIn.getPosition(), getContinuingReaderClassName(reader), model);
+            }
 
             return model;
         } finally {
-            if (in != null) {
-                try {
-                    in.close();
-                } catch (IOException e) {
-                    gcResource.getLogger().warning("A problem occurred trying to close the InputStream: " + e.toString());
-                }
+            closeQuietly(gcResource, in);
+        }
+    }
+
+    /**
+     * Loads the model of <code>file</code> from the cache; if data was appended to the file since it was cached,
+     * only the new part is parsed.
+     *
+     * @return cached model or <code>null</code>, if the file must be parsed completely
+     */
+    private GCModel readCachedModel(GcResourceFile gcResource, File file, DataReaderFactory factory) throws IOException {
+        GCModelCache.Entry entry = modelCache != null ? modelCache.load(file) : null;
+        if (entry == null) {
+            return null;
+        }
+
+        GCModel model = entry.getModel();
+        TailingFileInputStream tailingIn = new TailingFileInputStream(file);
+        if (tailingIn.skip(entry.getParsedLength()) != entry.getParsedLength()) {
+            return null;
+        }
+        if (tailingIn.available() == 0) {
+            gcResource.getLogger().info("read " + model.size() + " events from cache");
+            return model;
+        }
+
+        if (entry.getReaderClassName().isEmpty()) {
+            gcResource.getLogger().info("appended data can't be read separately -> reading whole file");
+            return null;
+        }
+
+        InputStream in = tailingIn;
+        try {
+            DataReader reader;
+            try {
+                reader = factory.getDataReader(gcResource, in);
+            }
+            catch (IOException e) {
+                // the appended part alone is not enough to detect the format
+                gcResource.getLogger().info("format of appended data not detected -> reading whole file");
+                return null;
             }
+            if (!reader.getClass().getName().equals(entry.getReaderClassName())) {
+                gcResource.getLogger().info("appended data has a different format -> reading whole file");
+                return null;
+            }
+
+            gcResource.getLogger().info("read " + model.size() + " events from cache; reading appended data");
+            model.append(reader.read());
+            modelCache.storeInBackground(file, tailingIn.getPosition(), getContinuingReaderClassName(reader), model);
+
+            return model;
+        }
+        finally {
+            closeQuietly(gcResource, in);
+        }
+    }
+
+    /**
+     * @return class name of <code>reader</code>, if a new instance of it can parse data appended to the file later
+     * or an empty string otherwise
+     */
+    private String getContinuingReaderClassName(DataReader reader) {
+        if (reader instanceof IncrementalDataReader && ((IncrementalDataReader) reader).isContinuableByNewReader()) {
+            return reader.getClass().getName();
+        }
+
+        return "";
+    }
+
+    private void closeQuietly(GCResource gcResource, InputStream in) {
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                gcResource.getLogger().warning("A problem occurred trying to close the InputStream: " + e.toString());
+            }
+        }
+    }
+
+    /**
+     * Everything needed to continue reading a file after it has grown (kept by {@link GcResourceFile#getTailState()}).
+     */
+    private static class TailState {
+        private final AbstractTailingInputStream in;
+        private final IncrementalDataReader reader;
+        /** model, the increments belong to */
+        private final GCModel model;
+
+        public TailState(AbstractTailingInputStream in, IncrementalDataReader reader, GCModel model) {
+            this.in = in;
+            this.reader = reader;
+            this.model = model;
         }
     }
 
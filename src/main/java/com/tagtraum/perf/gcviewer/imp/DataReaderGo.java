@@ -7,7 +7,6 @@ import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.util.ParseInformation;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.LineNumberReader;
 import java.io.UnsupportedEncodingException;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
@@ -19,7 +18,7 @@ import java.util.regex.Pattern;
  * @author <a href="mailto:roland.illig@gmx.de">Roland Illig</a>
  * @see <a href="https://golang.org/pkg/runtime/#hdr-Environment_Variables">Go documentation</a>
  */
-public class DataReaderGo extends AbstractDataReader {
+public class DataReaderGo extends AbstractDataReader implements IncrementalDataReader {
 
     private static final Pattern GCLINE = Pattern.compile(""
             + "gc "
@@ -45,10 +44,20 @@ public class DataReaderGo extends AbstractDataReader {
     }
 
     public GCModel read() throws IOException {
-        if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading Go format...");
+        try {
+            return readIncrement();
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    @Override
+    public GCModel readIncrement() throws IOException {
+        logFormat("Go");
 
-        try (LineNumberReader in = this.in) {
-            GCModel model = new GCModel();
+        try {
+            GCModel model = createModel();
             model.setFormat(GCModel.Format.GO);
             ParseInformation parsePosition = new ParseInformation(0);
 
@@ -65,12 +74,12 @@ public class DataReaderGo extends AbstractDataReader {
                     AbstractGCEvent<?> gcEvent = parseMatch(matcher);
                     model.add(gcEvent);
                 } catch (Exception pe) {
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().warning(pe.toString());
-                    if (getLogger().isLoggable(Level.FINE)) getLogger().log(Level.FINE, pe.getMessage(), pe);
+                    addParseError(pe, line);
                 }
             }
             return model;
         } finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Done reading.");
         }
     }
@@ -28,18 +28,18 @@ public class DataReaderHPUX1_2 extends AbstractDataReader {
     public GCModel read() throws IOException {
         if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading HP-UX 1.2-1.4.0 format...");
         try {
-            GCModel model = new GCModel();
+            GCModel model = createModel();
             model.setFormat(GCModel.Format.SUN_X_LOG_GC);
             String line = null;
             GCEvent event = null;
             while ((line = in.readLine()) != null && shouldContinue()) {
                 StringTokenizer st = new StringTokenizer(line, " ");
                 if (st.countTokens() != 20) {
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("Malformed line (" + in.getLineNumber() + "). Wrong number of tokens ("+st.countTokens()+"): " + line);
+                    addParseError("Malformed line (" + in.getLineNumber() + "). Wrong number of tokens ("+st.countTokens()+"): " + line, line);
                     continue;
                 }
                 if (!"<GC:".equals(st.nextToken())) {
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("Malformed line (" + in.getLineNumber() + "). Expected \"<GC:\" in " + line);
+                    addParseError("Malformed line (" + in.getLineNumber() + "). Expected \"<GC:\" in " + line, line);
                     continue;
                 }
                 event = new GCEvent();
@@ -148,6 +148,7 @@ public class DataReaderHPUX1_2 extends AbstractDataReader {
             return model;
         }
         finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading done.");
         }
     }
@@ -34,20 +34,18 @@ public class DataReaderHPUX1_4_1 extends AbstractDataReader {
     public GCModel read() throws IOException {
         if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading HP-UX 1.4.1-1.4.2 format...");
         try {
-            final GCModel model = new GCModel();
+            final GCModel model = createModel();
             model.setFormat(GCModel.Format.SUN_X_LOG_GC);
             String line = null;
             GCEvent event = null;
             while ((line = in.readLine()) != null && shouldContinue()) {
                 final StringTokenizer st = new StringTokenizer(line, " ");
                 if (st.countTokens() != 22) {
-                    if (getLogger().isLoggable(Level.WARNING)) {
-                        getLogger().warning("Malformed line (" + in.getLineNumber() + "). Wrong number of tokens ("+st.countTokens()+"): " + line);
-                        continue;
-                    }
+                    addParseError("Malformed line (" + in.getLineNumber() + "). Wrong number of tokens ("+st.countTokens()+"): " + line, line);
+                    continue;
                 }
                 if (!"<GC:".equals(st.nextToken())) {
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("Malformed line (" + in.getLineNumber() + "). Expected \"<GC:\" in " + line);
+                    addParseError("Malformed line (" + in.getLineNumber() + "). Expected \"<GC:\" in " + line, line);
                     continue;
                 }
                 event = new GCEvent();
@@ -204,6 +202,7 @@ public class DataReaderHPUX1_4_1 extends AbstractDataReader {
             return model;
         }
         finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading done.");
         }
     }
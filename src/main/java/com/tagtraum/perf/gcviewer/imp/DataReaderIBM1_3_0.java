@@ -27,7 +27,7 @@ public class DataReaderIBM1_3_0 extends AbstractDataReader {
     public GCModel read() throws IOException {
         if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading IBM 1.3.0 format...");
         try {
-            GCModel model = new GCModel();
+            GCModel model = createModel();
             model.setFormat(GCModel.Format.IBM_VERBOSE_GC);
             int state = 0;
             String line = null;
@@ -36,7 +36,7 @@ public class DataReaderIBM1_3_0 extends AbstractDataReader {
             while ((line = in.readLine()) != null && shouldContinue()) {
                 String trimmedLine = line.trim();
                 if ((!trimmedLine.equals("")) && (!trimmedLine.startsWith("<GC: ")) && (!(trimmedLine.startsWith("<") && trimmedLine.endsWith(">")))) {
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("Malformed line (" + in.getLineNumber() + "): " + line);
+                    addParseError("Malformed line (" + in.getLineNumber() + "): " + line, line);
                     state = 0;
                 }
                 switch (state) {
@@ -81,6 +81,7 @@ public class DataReaderIBM1_3_0 extends AbstractDataReader {
             return model;
         }
         finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading done.");
         }
     }
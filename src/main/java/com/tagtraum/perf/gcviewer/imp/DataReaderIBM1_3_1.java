@@ -33,7 +33,7 @@ public class DataReaderIBM1_3_1 extends AbstractDataReader {
     public GCModel read() throws IOException {
         if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading IBM 1.3.1 format...");
         try {
-            final GCModel model = new GCModel();
+            final GCModel model = createModel();
             model.setFormat(GCModel.Format.IBM_VERBOSE_GC);
             int state = 0;
             String line = null;
@@ -46,9 +46,14 @@ public class DataReaderIBM_J9_5_0 extends AbstractDataReader {
     public GCModel read() throws IOException {
         if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading IBM J9 5.0 format...");
         try (InputStream inStream = this.inputStream){
-            final GCModel model = new GCModel();
+            final GCModel model = createModel();
             model.setFormat(GCModel.Format.IBM_VERBOSE_GC);
-            DefaultHandler handler = new IBMJ9SAXHandler(gcResource, model);
+            DefaultHandler handler = new IBMJ9SAXHandler(gcResource, model) {
+                @Override
+                protected void addParseError(String message) {
+                    DataReaderIBM_J9_5_0.this.addParseError(message, null);
+                }
+            };
 
             // Use the default (non-validating) parser
             SAXParserFactory factory = SAXParserFactory.newInstance();
@@ -80,6 +85,7 @@ public class DataReaderIBM_J9_5_0 extends AbstractDataReader {
 
         }
         finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Done reading.");
         }
     }
@@ -10,14 +10,10 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.logging.Level;
-import javax.xml.namespace.QName;
-import javax.xml.stream.XMLEventReader;
 import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.events.Attribute;
-import javax.xml.stream.events.EndElement;
-import javax.xml.stream.events.StartElement;
-import javax.xml.stream.events.XMLEvent;
+import javax.xml.stream.XMLStreamReader;
 
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Type;
@@ -28,6 +24,9 @@ import com.tagtraum.perf.gcviewer.util.NumberParser;
 
 /**
  * Parser for IBM gc logs R26_Java6 + R27_Java7 + R28_Java8
+ *
+ * <p>The log is read with a cursor ({@link XMLStreamReader}), so no objects are created for elements; elements,
+ * whose content is not needed, are skipped without looking at their attributes.</p>
  */
 public class DataReaderIBM_J9_R28 extends AbstractDataReader {
     // TODO IBM_J9: support system gcs
@@ -53,228 +52,247 @@ public class DataReaderIBM_J9_R28 extends AbstractDataReader {
 
     @Override
     public GCModel read() throws IOException {
-        GCModel model = new GCModel();
+        GCModel model = createModel();
+        XMLStreamReader reader = null;
         try {
             XMLInputFactory factory = XMLInputFactory.newInstance();
-            XMLEventReader eventReader = factory.createXMLEventReader(in);
+            // the log uses only the default namespace and has no dtd
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+            reader = factory.createXMLStreamReader(in);
             GCEvent currentGcEvent = null;
             String eventNameStart = null;
-            while (eventReader.hasNext()) {
+            while (reader.hasNext() && shouldContinue()) {
                 try {
-                    XMLEvent event = eventReader.nextEvent();
-                    if (event.isStartElement()) {
-                        StartElement startElement = event.asStartElement();
-                        switch (startElement.getName().getLocalPart()) {
-                            case VERBOSEGC:
-                                handleVerboseGC(startElement);
-                                break;
-                            case INITIALIZED:
-                                handleInitialized(eventReader);
-                                break;
-                            case EXCLUSIVE_START:
-                                currentGcEvent = handleExclusiveStart(startElement);
-                                break;
-                            case SYS_START:
-                                assert eventNameStart == null : "eventNameStart was expected to be null, but was " + eventNameStart;
-                                eventNameStart = handleSysStart(eventReader, startElement);
-                                break;
-                            case AF_START:
-                                assert eventNameStart == null : "eventNameStart was expected to be null, but was " + eventNameStart;
-                                eventNameStart = handleAfStart(eventReader, startElement);
-                                break;
-                            case GC_START:
-                                handleGcStart(eventReader, startElement, currentGcEvent, eventNameStart);
-                                break;
-                            case GC_END:
-                                if (currentGcEvent.getTypeAsString() != null) {
-                                    handleGcEnd(eventReader, currentGcEvent);
-                                }
-                                break;
-                            case EXCLUSIVE_END:
-                                handleExclusiveEnd(startElement, currentGcEvent);
-                                if (currentGcEvent.getExtendedType() == null) {
-                                    if (getLogger().isLoggable(Level.FINE))
-                                        getLogger().fine("event at " + in.getLineNumber() + " doesn't contain any information, the parser can handle");
-                                }
-                                else {
-                                    model.add(currentGcEvent);
-                                }
-                                currentGcEvent = null;
-                                eventNameStart = null;
-                                break;
-                        }
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
                     }
 
+                    switch (reader.getLocalName()) {
+                        case VERBOSEGC:
+                            handleVerboseGC(reader);
+                            break;
+                        case INITIALIZED:
+                            handleInitialized(reader);
+                            break;
+                        case EXCLUSIVE_START:
+                            currentGcEvent = handleExclusiveStart(reader);
+                            break;
+                        case SYS_START:
+                            assert eventNameStart == null : "eventNameStart was expected to be null, but was " + eventNameStart;
+                            eventNameStart = handleSysStart(reader);
+                            break;
+                        case AF_START:
+                            assert eventNameStart == null : "eventNameStart was expected to be null, but was " + eventNameStart;
+                            eventNameStart = handleAfStart(reader);
+                            break;
+                        case GC_START:
+                            handleGcStart(reader, currentGcEvent, eventNameStart);
+                            break;
+                        case GC_END:
+                            if (currentGcEvent.getTypeAsString() != null) {
+                                handleGcEnd(reader, currentGcEvent);
+                            }
+                            else {
+                                skipElement(reader);
+                            }
+                            break;
+                        case EXCLUSIVE_END:
+                            handleExclusiveEnd(reader, currentGcEvent);
+                            if (currentGcEvent.getExtendedType() == null) {
+                                if (getLogger().isLoggable(Level.FINE))
+                                    getLogger().fine("event at " + getLineNumber(reader) + " doesn't contain any information, the parser can handle");
+                            }
+                            else {
+                                model.add(currentGcEvent);
+                            }
+                            currentGcEvent = null;
+                            eventNameStart = null;
+                            break;
+                        default:
+                            // most of the log (allocation-stats, gc-op, ...) is not needed
+                            skipElement(reader);
+                    }
                 }
                 catch (Exception e) {
                     if (e instanceof XMLStreamException) {
                         throw e;
                     }
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("line " + in.getLineNumber() + ": " + e.toString());
-                    if (getLogger().isLoggable(Level.FINE)) getLogger().log(Level.FINE, "line " + in.getLineNumber() + ": " + e.getMessage(), e);
+                    addParseError(e, null, "line " + getLineNumber(reader) + ": " + e.toString());
                 }
             }
         }
         catch (XMLStreamException e) {
-            if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("line " + in.getLineNumber() + ": " + e.toString());
-            if (getLogger().isLoggable(Level.FINE)) getLogger().log(Level.FINE, "line " + in.getLineNumber() + ": " + e.getMessage(), e);
+            if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("line " + getLineNumber(reader) + ": " + e.toString());
+            if (getLogger().isLoggable(Level.FINE)) getLogger().log(Level.FINE, "line " + getLineNumber(reader) + ": " + e.getMessage(), e);
         }
         finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Done reading.");
         }
 
         return model;
     }
 
-    private void handleVerboseGC(StartElement startElement) {
-        assert startElement.getName().getLocalPart().equals(VERBOSEGC) : "expected name of startElement: " + VERBOSEGC + ", but got " + startElement.getName();
-        getLogger().info("gc log version = " + getAttributeValue(startElement, "version"));
+    private int getLineNumber(XMLStreamReader reader) {
+        return reader != null ? reader.getLocation().getLineNumber() : in.getLineNumber();
     }
 
-    private void handleInitialized(XMLEventReader eventReader) throws XMLStreamException {
-        String currentElementName = "";
-        while (eventReader.hasNext() && !currentElementName.equals(INITIALIZED)) {
-            XMLEvent event = eventReader.nextEvent();
-            if (event.isStartElement()) {
-                StartElement startElement = event.asStartElement();
-                if (startElement.getName().getLocalPart().equals("attribute")) {
-                    String name = getAttributeValue(startElement, "name");
-                    if (name != null && name.equals("gcPolicy")) {
-                        getLogger().info("gcPolicy = " + getAttributeValue(startElement, "value"));
-                    }
+    /**
+     * Moves the cursor from the start of the current element to its end without looking at the content.
+     */
+    private void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int eventType = reader.next();
+            if (eventType == XMLStreamConstants.START_ELEMENT) {
+                ++depth;
+            }
+            else if (eventType == XMLStreamConstants.END_ELEMENT) {
+                --depth;
+            }
+        }
+    }
+
+    /**
+     * Moves the cursor to the next child of the current element.
+     *
+     * @return <code>false</code>, if the end of the current element was reached instead
+     */
+    private boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        int eventType = reader.next();
+        while (eventType != XMLStreamConstants.START_ELEMENT && eventType != XMLStreamConstants.END_ELEMENT) {
+            eventType = reader.next();
+        }
+
+        return eventType == XMLStreamConstants.START_ELEMENT;
+    }
+
+    private void handleVerboseGC(XMLStreamReader reader) {
+        assert reader.getLocalName().equals(VERBOSEGC) : "expected name of startElement: " + VERBOSEGC + ", but got " + reader.getLocalName();
+        getLogger().info("gc log version = " + reader.getAttributeValue(null, "version"));
+    }
+
+    private void handleInitialized(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int eventType = reader.next();
+            if (eventType == XMLStreamConstants.START_ELEMENT) {
+                ++depth;
+                if (reader.getLocalName().equals("attribute")
+                        && "gcPolicy".equals(reader.getAttributeValue(null, "name"))) {
+
+                    getLogger().info("gcPolicy = " + reader.getAttributeValue(null, "value"));
                 }
             }
-            else if (event.isEndElement()) {
-                EndElement endElement = event.asEndElement();
-                currentElementName = endElement.getName().getLocalPart();
+            else if (eventType == XMLStreamConstants.END_ELEMENT) {
+                --depth;
             }
         }
     }
 
-    private GCEvent handleExclusiveStart(StartElement startElement) {
+    private GCEvent handleExclusiveStart(XMLStreamReader reader) throws XMLStreamException {
         GCEvent event = new GCEvent();
         try {
             event.setDateStamp(ZonedDateTime.of(
-                    LocalDateTime.parse(getAttributeValue(startElement, "timestamp"), dateTimeFormatter),
+                    LocalDateTime.parse(reader.getAttributeValue(null, "timestamp"), dateTimeFormatter),
                     ZoneId.systemDefault()));
         }
         catch (DateTimeParseException e) {
-            if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("line " + in.getLineNumber() + ": " + e.toString());
-            if (getLogger().isLoggable(Level.FINE)) getLogger().log(Level.FINE, "line " + in.getLineNumber() + ": " + e.getMessage(), e);
+            addParseError(e, null, "line " + getLineNumber(reader) + ": " + e.toString());
         }
 
+        skipElement(reader);
         return event;
     }
 
-    private void handleExclusiveEnd(StartElement startElement, GCEvent event) {
-        event.setPause(NumberParser.parseDouble(getAttributeValue(startElement, "durationms")) / 1000);
+    private void handleExclusiveEnd(XMLStreamReader reader, GCEvent event) throws XMLStreamException {
+        event.setPause(NumberParser.parseDouble(reader.getAttributeValue(null, "durationms")) / 1000);
+        skipElement(reader);
     }
 
-    private String handleSysStart(XMLEventReader eventReader, StartElement startElement) throws XMLStreamException {
-        String reason = getAttributeValue(startElement, "reason");
+    private String handleSysStart(XMLStreamReader reader) throws XMLStreamException {
+        String reason = reader.getAttributeValue(null, "reason");
+        skipElement(reader);
         return "sys " + (reason != null ? reason + " " : "");
     }
 
-    private String handleAfStart(XMLEventReader eventReader, StartElement startElement) throws XMLStreamException {
+    private String handleAfStart(XMLStreamReader reader) throws XMLStreamException {
+        skipElement(reader);
         return "af ";
     }
 
-    private void handleConcurrentCollectionStart(XMLEventReader eventReader, StartElement startElement) {
-    }
-
-    private void handleGcStart(XMLEventReader eventReader, StartElement startElement, GCEvent event, String eventNameStart) throws
+    private void handleGcStart(XMLStreamReader reader, GCEvent event, String eventNameStart) throws
             XMLStreamException,
             UnknownGcTypeException {
 
-        String typeName = eventNameStart + getAttributeValue(startElement, "type");
+        String typeName = eventNameStart + reader.getAttributeValue(null, "type");
         AbstractGCEvent.Type type = Type.lookup(typeName);
         if (type == null) {
-            throw new UnknownGcTypeException(typeName, startElement.toString());
+            throw new UnknownGcTypeException(typeName, "gc-start at line " + getLineNumber(reader));
         }
         event.setType(type);
 
-        String currentElementName = "";
-        while (eventReader.hasNext() && !currentElementName.equals(GC_START)) {
-            
-            XMLEvent xmlEvent = eventReader.nextEvent();
-            if (xmlEvent.isStartElement()) {
-                StartElement startEl = xmlEvent.asStartElement();
-                if (startEl.getName().getLocalPart().equals("mem-info")) {
-                    setTotalAndPreUsed(event, startEl);
-                }
-                else if (startEl.getName().getLocalPart().equals("mem")) {
-                    switch (getAttributeValue(startEl, "type")) {
-                        case "nursery":
-                            GCEvent young = new GCEvent();
-                            young.setType(Type.lookup("nursery"));
-                            setTotalAndPreUsed(young, startEl);
-                            event.add(young);
-                            break;
-                        case "tenure":
-                            GCEvent tenured = new GCEvent();
-                            tenured.setType(Type.lookup("tenure"));
-                            setTotalAndPreUsed(tenured, startEl);
-                            event.add(tenured);
-                            break;
-                        // all other are ignored
+        while (nextChild(reader)) {
+            if (reader.getLocalName().equals("mem-info")) {
+                setTotalAndPreUsed(event, reader);
+                while (nextChild(reader)) {
+                    if (reader.getLocalName().equals("mem")) {
+                        handleMemStart(reader, event);
                     }
+                    skipElement(reader);
                 }
             }
-            else if (xmlEvent.isEndElement()) {
-                EndElement endElement = xmlEvent.asEndElement();
-                currentElementName = endElement.getName().getLocalPart();
+            else {
+                skipElement(reader);
             }
         }
     }
 
-    private void handleGcEnd(XMLEventReader eventReader, GCEvent event) throws XMLStreamException {
-        String currentElementName = "";
-        while (eventReader.hasNext() && !currentElementName.equals(GC_END)) {
+    private void handleMemStart(XMLStreamReader reader, GCEvent event) {
+        String memType = reader.getAttributeValue(null, "type");
+        if ("nursery".equals(memType) || "tenure".equals(memType)) {
+            GCEvent generation = new GCEvent();
+            generation.setType(Type.lookup(memType));
+            setTotalAndPreUsed(generation, reader);
+            event.add(generation);
+        }
+        // all other are ignored
+    }
 
-            XMLEvent xmlEvent = eventReader.nextEvent();
-            if (xmlEvent.isStartElement()) {
-                StartElement startEl = xmlEvent.asStartElement();
-                if (startEl.getName().getLocalPart().equals("mem-info")) {
-                    setPostUsed(event, startEl);
-                }
-                else if (startEl.getName().getLocalPart().equals("mem")) {
-                    switch (getAttributeValue(startEl, "type")) {
-                        case "nursery":
-                            setPostUsed(event.getYoung(), startEl);
-                            break;
-                        case "tenure":
-                            setPostUsed(event.getTenured(), startEl);
-                            break;
+    private void handleGcEnd(XMLStreamReader reader, GCEvent event) throws XMLStreamException {
+        while (nextChild(reader)) {
+            if (reader.getLocalName().equals("mem-info")) {
+                setPostUsed(event, reader);
+                while (nextChild(reader)) {
+                    if (reader.getLocalName().equals("mem")) {
+                        String memType = reader.getAttributeValue(null, "type");
+                        if ("nursery".equals(memType)) {
+                            setPostUsed(event.getYoung(), reader);
+                        }
+                        else if ("tenure".equals(memType)) {
+                            setPostUsed(event.getTenured(), reader);
+                        }
                         // all other are ignored
                     }
+                    skipElement(reader);
                 }
             }
-            else if (xmlEvent.isEndElement()) {
-                EndElement endElement = xmlEvent.asEndElement();
-                currentElementName = endElement.getName().getLocalPart();
+            else {
+                skipElement(reader);
             }
         }
     }
 
-    private void setTotalAndPreUsed(GCEvent event, StartElement startEl) {
-        long total = NumberParser.parseLong(getAttributeValue(startEl, "total"));
+    private void setTotalAndPreUsed(GCEvent event, XMLStreamReader reader) {
+        long total = NumberParser.parseLong(reader.getAttributeValue(null, "total"));
         event.setTotal(toKiloBytes(total));
-        event.setPreUsed(toKiloBytes(total - NumberParser.parseLong(getAttributeValue(startEl, "free"))));
-    }
-
-    private void setPostUsed(GCEvent event, StartElement startEl) {
-        long total = NumberParser.parseLong(getAttributeValue(startEl, "total"));
-        event.setPostUsed(toKiloBytes(total - NumberParser.parseLong(getAttributeValue(startEl, "free"))));
+        event.setPreUsed(toKiloBytes(total - NumberParser.parseLong(reader.getAttributeValue(null, "free"))));
     }
 
-    private String getAttributeValue(StartElement event, String name) {
-        String value = null;
-        Attribute attr = event.getAttributeByName(new QName(name));
-        if (attr != null) {
-            value = attr.getValue();
-        }
-        
-        return value;
+    private void setPostUsed(GCEvent event, XMLStreamReader reader) {
+        long total = NumberParser.parseLong(reader.getAttributeValue(null, "total"));
+        event.setPostUsed(toKiloBytes(total - NumberParser.parseLong(reader.getAttributeValue(null, "free"))));
     }
 
     private int toKiloBytes(long bytes) {
@@ -29,7 +29,7 @@ public class DataReaderJRockit1_4_2 extends AbstractDataReader {
         if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading JRockit 1.4.2 format...");
         boolean gcSummary = false;
         try {
-            GCModel model = new GCModel();
+            GCModel model = createModel();
             model.setFormat(GCModel.Format.SUN_X_LOG_GC);
             String line = null;
             GCEvent event = null;
@@ -78,7 +78,7 @@ public class DataReaderJRockit1_4_2 extends AbstractDataReader {
 
                 final int colon = line.indexOf(':', startTimeIndex);
                 if (colon == -1) {
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("Malformed line (" + in.getLineNumber() + "). Missing colon after start time: " + line);
+                    addParseError("Malformed line (" + in.getLineNumber() + "). Missing colon after start time: " + line, line);
                     continue;
                 }
                 event = new GCEvent();
@@ -144,6 +144,7 @@ public class DataReaderJRockit1_4_2 extends AbstractDataReader {
             return model;
         }
         finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading done.");
         }
     }
@@ -30,7 +30,7 @@ public class DataReaderJRockit1_6_0 extends AbstractDataReader {
         if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading JRockit 1.6.0 format...");
         boolean gcSummary = false;
         try {
-            GCModel model = new GCModel();
+            GCModel model = createModel();
             model.setFormat(GCModel.Format.SUN_X_LOG_GC);
             String line = null;
             GCEvent event = null;
@@ -109,7 +109,7 @@ public class DataReaderJRockit1_6_0 extends AbstractDataReader {
 
                 final int colon = line.indexOf(':', startTimeIndex);
                 if (colon == -1) {
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().warning("Malformed line (" + in.getLineNumber() + "). Missing colon after start time: " + line);
+                    addParseError("Malformed line (" + in.getLineNumber() + "). Missing colon after start time: " + line, line);
                     continue;
                 }
 
@@ -159,7 +159,6 @@ public class DataReaderJRockit1_6_0 extends AbstractDataReader {
                 final int startPause = line.indexOf(PAUSE_MARKER, endTotal) + PAUSE_MARKER.length();
                 final int endPause = line.indexOf(' ', startPause);
                 event.setPause(NumberParser.parseDouble(line.substring(startPause, endPause)) / 1000.0d);
-                model.add(event);
 
                 // add artificial detail events
                 if (nurserySize != -1 && event.getExtendedType().getGeneration() == Generation.YOUNG) {
@@ -176,10 +175,12 @@ public class DataReaderJRockit1_6_0 extends AbstractDataReader {
                     detailEvent.setTotal(event.getTotal() - nurserySize);
                     event.add(detailEvent);
                 }
+                model.add(event);
             }
             return model;
         }
         finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading done.");
         }
     }
@@ -33,7 +33,7 @@ public class DataReaderSun1_3_1 extends AbstractDataReaderSun {
         if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading Sun 1.3.1 format...");
         try {
             count = 0;
-            GCModel model = new GCModel();
+            GCModel model = createModel();
             model.setFormat(GCModel.Format.SUN_VERBOSE_GC);
             List<StringBuilder> lineStack = new ArrayList<StringBuilder>();
             int i;
@@ -49,8 +49,7 @@ public class DataReaderSun1_3_1 extends AbstractDataReaderSun {
                         model.add(parseLine(line.toString(), null));
                     }
                     catch (ParseException e) {
-                        if (getLogger().isLoggable(Level.WARNING)) getLogger().log(Level.WARNING, e.getMessage(), e);
-                        e.printStackTrace();
+                        addParseError(e, e.getLine(), e.getMessage());
                     }
                     if (!lineStack.isEmpty()) {
                         line = lineStack.remove(lineStack.size() - 1); // pop
@@ -68,6 +67,7 @@ public class DataReaderSun1_3_1 extends AbstractDataReaderSun {
             }
             catch (IOException ioe) {
             }
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Done reading.");
         }
     }
@@ -2,9 +2,7 @@ package com.tagtraum.perf.gcviewer.imp;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.LineNumberReader;
 import java.io.UnsupportedEncodingException;
-import java.time.ZonedDateTime;
 import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
@@ -64,7 +62,7 @@ import com.tagtraum.perf.gcviewer.util.ParseInformation;
  * @author <a href="mailto:gcviewer@gmx.ch">Joerg Wuethrich</a>
  * @see DataReaderSun1_6_0G1
  */
-public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
+public class DataReaderSun1_6_0 extends AbstractDataReaderSun implements IncrementalDataReader {
 
     private static final String UNLOADING_CLASS = "[Unloading class ";
     private static final String APPLICATION_TIME = "Application time:";
@@ -225,15 +223,44 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
     // -XX:+CMSScavengeBeforeRemark JDK 1.5
     private static final String SCAVENGE_BEFORE_REMARK = Type.SCAVENGE_BEFORE_REMARK.getName();
 
+    // parser state kept between calls to readIncrement()
+    // beginningOfLine must be a stack because more than one beginningOfLine might be needed
+    private Deque<String> beginningOfLine = new LinkedList<String>();
+    private boolean lastLineWasScavengeBeforeRemark = false;
+    private boolean lineSkippedForScavengeBeforeRemark = false;
+    private boolean isInFlsStatisticsBlock = false;
+    private boolean isInPrintHeapAtGcBlock = false;
+    private boolean isInShenandoahStatistics = false;
+    private ParseInformation parsePosition = new ParseInformation(0);
+
     public DataReaderSun1_6_0(GCResource gcResource, InputStream in, GcLogType gcLogType) throws UnsupportedEncodingException {
         super(gcResource, in, gcLogType);
     }
 
     public GCModel read() throws IOException {
-        if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading Sun / Oracle 1.4.x / 1.5.x / 1.6.x / 1.7.x / 1.8.x format...");
+        try {
+            return readIncrement();
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    @Override
+    public boolean isContinuableByNewReader() {
+        return beginningOfLine.isEmpty()
+                && !lastLineWasScavengeBeforeRemark
+                && !isInFlsStatisticsBlock
+                && !isInPrintHeapAtGcBlock
+                && !isInShenandoahStatistics;
+    }
+
+    @Override
+    public GCModel readIncrement() throws IOException {
+        logFormat("Sun / Oracle 1.4.x / 1.5.x / 1.6.x / 1.7.x / 1.8.x");
 
-        try (LineNumberReader in = this.in) {
-            GCModel model = new GCModel();
+        try {
+            GCModel model = createModel();
             model.setFormat(GCModel.Format.SUN_X_LOG_GC);
             Matcher mixedLineMatcher = linesMixedPattern.matcher("");
             Matcher adaptiveSizePolicyMatcher = adaptiveSizePolicyPattern.matcher("");
@@ -241,17 +268,22 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
             Matcher printCmsStatisticsIterationsMatcher = printCmsStatisticsIterationsPattern.matcher("");
             Matcher printTenuringDistributionMatcher = printTenuringDistributionPattern.matcher("");
             String line;
-            // beginningOfLine must be a stack because more than one beginningOfLine might be needed
-            Deque<String> beginningOfLine = new LinkedList<String>();
-            boolean lastLineWasScavengeBeforeRemark = false;
-            boolean lineSkippedForScavengeBeforeRemark = false;
             boolean printTenuringDistributionOn = false;
-            boolean isInFlsStatisticsBlock = false;
-            ParseInformation parsePosition = new ParseInformation(0);
 
             while ((line = in.readLine()) != null && shouldContinue()) {
                 parsePosition.setIndex(0);
                 parsePosition.setLineNumber(in.getLineNumber());
+                if (isInShenandoahStatistics) {
+                    getLogger().info(line);
+                    continue;
+                }
+                if (isInPrintHeapAtGcBlock) {
+                    // for now just skip those lines
+                    isInPrintHeapAtGcBlock = startsWith(line, HEAP_STRINGS, true);
+                    if (isInPrintHeapAtGcBlock) {
+                        continue;
+                    }
+                }
                 if ("".equals(line)) {
                     continue;
                 }
@@ -279,7 +311,8 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                         continue;
                     } else if (line.startsWith(SHENANDOAH_INTRODUCTION_TO_GC_STATISTICS)) {
                         // Assumption: As soon as the shenandoah gc statistics block starts, the vm is shutting down
-                        skipAndLogToEndOfFile(in);
+                        // -> log the rest of the file
+                        isInShenandoahStatistics = true;
                         continue;
                     }
                     if (line.indexOf(CMS_ABORT_PRECLEAN) >= 0) {
@@ -294,7 +327,7 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                         // -XX:PrintCmsStatistics -> filter text that the parser doesn't know
                         printCmsStatisticsIterationsMatcher.reset(line);
                         if (!printCmsStatisticsIterationsMatcher.matches()) {
-                            getLogger().severe("printCmsStatisticsIterationsMatcher did not match for line " + in.getLineNumber() + ": '" + line + "'");
+                            addParseError("printCmsStatisticsIterationsMatcher did not match for line " + in.getLineNumber() + ": '" + line + "'", line);
                             continue;
                         }
 
@@ -314,7 +347,7 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                     if (line.indexOf(PRINT_TENURING_DISTRIBUTION) > 0) {
                         printTenuringDistributionMatcher.reset(line);
                         if (!printTenuringDistributionMatcher.matches()) {
-                            getLogger().severe("printDistributionMatcher did not match for line " + in.getLineNumber() + ": '" + line + "'");
+                            addParseError("printDistributionMatcher did not match for line " + in.getLineNumber() + ": '" + line + "'", line);
                             continue;
                         }
 
@@ -345,7 +378,7 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                             // -XX:+PrintAdaptiveSizePolicy -XX:-UseAdaptiveSizePolicy
                             printAdaptiveSizePolicyMatcher.reset(line);
                             if (!printAdaptiveSizePolicyMatcher.matches()) {
-                                getLogger().severe("printAdaptiveSizePolicyMatcher did not match for line " + in.getLineNumber() + ": '" + line + "'");
+                                addParseError("printAdaptiveSizePolicyMatcher did not match for line " + in.getLineNumber() + ": '" + line + "'", line);
                                 continue;
                             }
 
@@ -359,7 +392,7 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                             // -XX:+PrintAdaptiveSizePolicy
                             adaptiveSizePolicyMatcher.reset(line);
                             if (!adaptiveSizePolicyMatcher.matches()) {
-                                getLogger().severe("adaptiveSizePolicyMatcher did not match for line " + in.getLineNumber() + ": '" + line + "'");
+                                addParseError("adaptiveSizePolicyMatcher did not match for line " + in.getLineNumber() + ": '" + line + "'", line);
                                 continue;
                             }
                             beginningOfLine.addFirst(adaptiveSizePolicyMatcher.group(1));
@@ -375,7 +408,7 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                         }
 
                         // the next few lines will be the sizing of the heap
-                        skipLines(in, parsePosition, HEAP_STRINGS);
+                        isInPrintHeapAtGcBlock = true;
                         continue;
                     }
                     else if (beginningOfLine.size() > 0) {
@@ -435,7 +468,8 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                          // so it has to be corrected to show only the time spent in remark event
                          lastLineWasScavengeBeforeRemark = false;
                          lineSkippedForScavengeBeforeRemark = false;
-                         AbstractGCEvent<?> scavengeBeforeRemarkEvent = model.get(model.size() - 1);
+                         // (the scavenge event might have been read by the last increment)
+                         AbstractGCEvent<?> scavengeBeforeRemarkEvent = getLastEventAdded(model);
                          AbstractGCEvent<?> remarkEvent = gcEvent;
                          remarkEvent.setPause(remarkEvent.getPause() - scavengeBeforeRemarkEvent.getPause());
                      }
@@ -443,25 +477,19 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                      model.add(gcEvent);
                 }
                 catch (Exception pe) {
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().warning(pe.toString());
-                    if (getLogger().isLoggable(Level.FINE)) getLogger().log(Level.FINE, pe.getMessage(), pe);
+                    addParseError(pe, line);
                     beginningOfLine.clear();
                 }
             }
+            rememberLastEventAdded(model);
             return model;
         }
         finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Done reading.");
         }
     }
 
-    private void skipAndLogToEndOfFile(LineNumberReader in) throws IOException {
-        String line;
-        while ((line = in.readLine()) != null) {
-            getLogger().info(line);
-        }
-    }
-
     private boolean isPrintHeapAtGcStarting(String line) {
         return line.startsWith(HEAP) // jdk 6 and before
                 || line.indexOf(HEAP_SIZING_BEFORE) >= 0 // jdk 7 and after
@@ -532,7 +560,7 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
             }
         }
         else {
-            getLogger().warning("line should contain some known PrintFLSStatistics output, which it doesn't (" + line + ")");
+            addParseError("line should contain some known PrintFLSStatistics output, which it doesn't (" + line + ")", line);
         }
 
         return isInFlsStatsBlock;
@@ -557,7 +585,7 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                    || ch == '.' || ch == ':' || ch == '+' || ch == '-'));
 
         if (index < 0) {
-            getLogger().warning("could not find name of event before " + pos);
+            addParseError("could not find name of event before " + pos + " (" + line + ")", line);
             index = pos-1;
         }
 
@@ -589,7 +617,7 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
             // parse collection type    "[TYPE"
             // either GC data or another collection type starting with timestamp
             // pre-used->post-used, total, time
-            ZonedDateTime datestamp = parseDatestamp(line, pos);
+            long datestamp = parseDatestamp(line, pos);
             double timestamp = getTimestamp(line, pos, datestamp);
             ExtendedType type = parseType(line, pos);
             AbstractGCEvent<?> ae;
@@ -601,7 +629,7 @@ public class DataReaderSun1_6_0 extends AbstractDataReaderSun {
                 ae = new GCEvent();
             }
 
-            ae.setDateStamp(datestamp);
+            setDatestamp(ae, datestamp, pos);
             ae.setTimestamp(timestamp);
             ae.setExtendedType(type);
             // now add detail gcevents, should they exist
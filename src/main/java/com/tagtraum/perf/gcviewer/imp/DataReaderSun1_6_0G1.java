@@ -2,9 +2,7 @@ package com.tagtraum.perf.gcviewer.imp;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.LineNumberReader;
 import java.io.UnsupportedEncodingException;
-import java.time.ZonedDateTime;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.logging.Level;
@@ -52,7 +50,7 @@ import com.tagtraum.perf.gcviewer.util.ParseInformation;
  * @author <a href="mailto:gcviewer@gmx.ch">Joerg Wuethrich</a>
  * @see DataReaderSun1_6_0
  */
-public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
+public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun implements IncrementalDataReader {
 
     private static final String INCOMPLETE_CONCURRENT_EVENT_INDICATOR = "concurrent-";
 
@@ -141,29 +139,78 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
     /** is true, if "[Times ..." information is present in the gc log */
     private boolean hasTimes = false;
 
+    // parser state kept between calls to readIncrement()
+    private ParseInformation parsePosition = new ParseInformation(0);
+    private String beginningOfLine = null;
+    /** detailed event, whose details are still being read (-XX:+PrintGCDetails) */
+    private GCEvent detailedEvent = null;
+    /** beginning of a mixed line, that was interrupted by the start of {@link #detailedEvent} */
+    private String beginningOfLineInDetailedEvent = null;
+    /** full gc event, that might be followed by a line containing its heap sizing information ("[Eden: ...") */
+    private GCEvent fullGcEvent = null;
+    /** lines of a block like the ones generated by -XX:+PrintHeapAtGC are skipped */
+    private boolean isInHeapSizingBlock = false;
+    private final Matcher memoryMatcher = PATTERN_MEMORY.matcher("");
+
     public DataReaderSun1_6_0G1(GCResource gcResource, InputStream in, GcLogType gcLogType) throws UnsupportedEncodingException {
         super(gcResource, in, gcLogType);
     }
 
     @Override
     public GCModel read() throws IOException {
-        if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading Sun 1.6.x / 1.7.x G1 format...");
+        try {
+            GCModel model = readIncrement();
+            // the whole log was read -> events waiting for more lines won't get them any more
+            addPendingEvents(model);
+            return model;
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    @Override
+    public boolean isContinuableByNewReader() {
+        return beginningOfLine == null
+                && detailedEvent == null
+                && fullGcEvent == null
+                && !isInHeapSizingBlock;
+    }
 
-        try (LineNumberReader in = this.in) {
-            GCModel model = new GCModel();
+    @Override
+    public GCModel readIncrement() throws IOException {
+        logFormat("Sun 1.6.x / 1.7.x G1");
+
+        try {
+            GCModel model = createModel();
             // TODO what is this for?
             model.setFormat(GCModel.Format.SUN_X_LOG_GC);
             String line;
-            ParseInformation parsePosition = new ParseInformation(0);
             Matcher gcPauseMatcher = PATTERN_GC_PAUSE.matcher("");
             Matcher linesMixedMatcher = PATTERN_LINES_MIXED.matcher("");
             Matcher ergonomicsMatcher = PATTERN_G1_ERGONOMICS.matcher("");
-            GCEvent gcEvent = null;
-            String beginningOfLine = null;
 
             while ((line = in.readLine()) != null) {
                 parsePosition.setLineNumber(this.in.getLineNumber());
                 parsePosition.setIndex(0);
+                try {
+                    // the events started on the previous lines (maybe during the last increment) come first
+                    if (detailedEvent != null) {
+                        parseDetails(model, parsePosition, line);
+                        continue;
+                    }
+                    else if (fullGcEvent != null && parseFullGcDetails(model, parsePosition, line)) {
+                        continue;
+                    }
+                    else if (isInHeapSizingBlock && skipHeapSizingLine(model, parsePosition, line)) {
+                        continue;
+                    }
+                }
+                catch (Exception pe) {
+                    addParseError(pe, line);
+                    continue;
+                }
+
                 if ("".equals(line)) {
                     continue;
                 }
@@ -263,9 +310,9 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
                         if (type != null && type.getPattern().compareTo(GcPattern.GC_MEMORY_PAUSE) == 0) {
                             // detailed G1 events start with GC_MEMORY pattern, but are of type GC_MEMORY_PAUSE
 
-                            gcEvent = new G1GcEvent();
-                            ZonedDateTime datestamp = parseDatestamp(gcPauseMatcher.group(GC_PAUSE_GROUP_DATESTAMP), parsePosition);
-                            gcEvent.setDateStamp(datestamp);
+                            GCEvent gcEvent = new G1GcEvent();
+                            long datestamp = parseDatestamp(gcPauseMatcher.group(GC_PAUSE_GROUP_DATESTAMP), parsePosition);
+                            setDatestamp(gcEvent, datestamp, parsePosition);
                             double timestamp = 0;
                             if (gcPauseMatcher.group(GC_PAUSE_GROUP_TIMESTAMP) == null) {
                                 timestamp = getTimestamp(line, parsePosition, datestamp);
@@ -277,8 +324,9 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
                             gcEvent.setExtendedType(type);
                             gcEvent.setPause(NumberParser.parseDouble(gcPauseMatcher.group(GC_PAUSE_GROUP_PAUSE)));
 
-                            // now parse the details of this event
-                            parseDetails(in, model, parsePosition, gcEvent, beginningOfLine);
+                            // the details of this event follow on the next lines
+                            detailedEvent = gcEvent;
+                            beginningOfLineInDetailedEvent = beginningOfLine;
                             beginningOfLine = null;
                             continue;
                         }
@@ -289,49 +337,37 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
                     }
                     else if (line.indexOf(Type.FULL_GC.getName()) > 0) {
                         // since jdk 1.8 full gc events in G1 have detailed heap sizing information on the next line
-                        GCEvent fullGcEvent = (GCEvent) parseLine(line, parsePosition);
-                        if (!in.markSupported()) {
-                            getLogger().warning("input stream does not support marking!");
-                        }
-                        else {
-                            in.mark(200);
-                            try {
-                                line = in.readLine();
-                                if (line != null && line.trim().startsWith("[Eden")) {
-                                    parseMemoryDetails(fullGcEvent, line, parsePosition);
-                                }
-                                else {
-                                    // push last read line back into stream - it is the next event to be parsed
-                                    in.reset();
-                                }
-                            }
-                            catch (IOException e) {
-                                throw new ParseException("problem resetting stream (" + e.toString() + ")", line, parsePosition);
-                            }
-                        }
-                        model.add(fullGcEvent);
+                        fullGcEvent = (GCEvent) parseLine(line, parsePosition);
                     }
                     else if (line.indexOf(HEAP_SIZING_START) >= 0) {
                         // the next few lines will be the sizing of the heap
-                        skipLinesRespectingConcurrentEvents(in, model, parsePosition, HEAP_STRINGS);
+                        isInHeapSizingBlock = true;
                         continue;
                     }
                     else if (hasIncompleteConcurrentEvent(line, parsePosition)) {
-                        parseIncompleteConcurrentEvent(model, model.getLastEventAdded(), line, parsePosition);
+                        parseIncompleteConcurrentEvent(model, getLastEventAdded(model), line, parsePosition);
                     }
                     else {
                         model.add(parseLine(line, parsePosition));
                     }
                 }
                 catch (Exception pe) {
-                    if (getLogger().isLoggable(Level.WARNING)) getLogger().log(Level.WARNING, pe.toString());
-                    if (getLogger().isLoggable(Level.FINE)) getLogger().log(Level.FINE, pe.toString(), pe);
+                    addParseError(pe, line);
                 }
                 parsePosition.setIndex(0);
             }
+
+            if (!hasTimes) {
+                // without "[Times ..." lines, the end of a detailed event is only recognised by the start of the
+                // next event and full gc events are not followed by heap sizing information
+                // -> the last event is complete as far as we can tell
+                addPendingEvents(model);
+            }
+            rememberLastEventAdded(model);
             return model;
         }
         finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) {
                 getLogger().info("Done reading.");
             }
@@ -357,58 +393,42 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
     }
 
     /**
-     * Parses details of a standard gc collection event (e.g. GC pause (young)) with
-     * -XX:+PrintGCDetails
+     * Parses a line containing details of {@link #detailedEvent} (e.g. GC pause (young)) with
+     * -XX:+PrintGCDetails. When the end of the details is reached, the event is added to <code>model</code>.
      *
-     * @param in reader reading from log file
      * @param model current model
      * @param pos parsePosition
-     * @param event current event
-     * @param beginningOfLine GC_PAUSE lines are sometimes mixed lines; the extracted parts
-     * of such a line are stored inside "beginningOfLine"
-     * @throws IOException problem reading from file
+     * @param line current line
+     * @throws ParseException problem parsing the line (the detailed event is dropped)
      */
-    private void parseDetails(LineNumberReader in,
-            GCModel model,
-            ParseInformation pos,
-            GCEvent event,
-            String beginningOfLine)
-                    throws ParseException, IOException {
-
-        Matcher memoryMatcher = PATTERN_MEMORY.matcher("");
-
-        pos.setIndex(0);
-        boolean isInDetailedEvent = true;
-        String line;
-        while (isInDetailedEvent && (line = in.readLine()) != null) {
-            pos.setLineNumber(in.getLineNumber());
-            pos.setIndex(0);
-
-            if (line.length() == 0) {
-                continue;
-            }
+    private void parseDetails(GCModel model, ParseInformation pos, String line) throws ParseException {
+        if (line.length() == 0) {
+            return;
+        }
 
+        try {
             // we might have had a mixed line before; then we just parsed the second part of the mixed line
-            if (beginningOfLine != null) {
-                line = beginningOfLine + line;
-                beginningOfLine = null;
+            if (beginningOfLineInDetailedEvent != null) {
+                line = beginningOfLineInDetailedEvent + line;
+                beginningOfLineInDetailedEvent = null;
                 model.add(parseLine(line, pos));
-                continue;
+                return;
             }
 
+            boolean isEndOfDetailedEvent = false;
             // now we parse details of a pause
             // currently everything except memory is skipped
             if (line.indexOf("Eden") >= 0) {
-                parseMemoryDetails(event, line, pos);
+                parseMemoryDetails(detailedEvent, line, pos);
             }
             else if (line.charAt(0) != ' ' && !hasTimes && (nextIsDatestamp(line, pos) || nextIsTimestamp(line, pos))) {
                 // special case for simple logs (marked by missing "[Times..." in the log)
                 // since the line starts with a time / datestamp, the detailed event seems to be finished (unexpectedly)
                 model.add(parseLine(line, pos));
-                isInDetailedEvent = false;
+                isEndOfDetailedEvent = true;
             }
             else if (line.indexOf(INCOMPLETE_CONCURRENT_EVENT_INDICATOR) >= 0) {
-                parseIncompleteConcurrentEvent(model, event, line, pos);
+                parseIncompleteConcurrentEvent(model, detailedEvent, line, pos);
             }
             else {
                 memoryMatcher.reset(line);
@@ -416,26 +436,77 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
                     // it is java 1.7_u1 or earlier (including java 1.6)
                     // memory part looks like
                     //    [ 8192K->8128K(64M)]
-                    setMemoryExtended(event, line, pos);
+                    setMemoryExtended(detailedEvent, line, pos);
                 }
             }
 
             if (line.indexOf(TIMES) >= 0) {
                 // detailed gc description ends with " [Times: user=...]" -> stop reading lines
-                isInDetailedEvent = false;
+                isEndOfDetailedEvent = true;
                 hasTimes = true;
             }
+
+            if (isEndOfDetailedEvent) {
+                addDetailedEvent(model);
+            }
+        }
+        catch (ParseException | RuntimeException e) {
+            detailedEvent = null;
+            beginningOfLineInDetailedEvent = null;
+            throw e;
         }
+    }
 
-        if (event.getTotal() == 0) {
+    private void addDetailedEvent(GCModel model) {
+        if (detailedEvent.getTotal() == 0) {
             // is currently the case for jdk 1.7.0_02 which changed the memory format
             // as of 1.7.0_25 for "GC cleanup" events, there seem to be rare cases, where this just happens
             // => don't log as warning; just log on debug level
             if (getLogger().isLoggable(Level.FINE)) {
-                getLogger().fine("line " + in.getLineNumber() + ": no memory information found (" + event.toString() + ")");
+                getLogger().fine("line " + in.getLineNumber() + ": no memory information found (" + detailedEvent.toString() + ")");
             }
         }
+        model.add(detailedEvent);
+        detailedEvent = null;
+        beginningOfLineInDetailedEvent = null;
+    }
+
+    /**
+     * Adds the heap sizing information on the line following a full gc event (since jdk 1.8) to
+     * {@link #fullGcEvent} and adds the event to <code>model</code>.
+     *
+     * @param model current model
+     * @param pos parsePosition
+     * @param line line following the full gc event
+     * @return <code>true</code>, if <code>line</code> contained the heap sizing information, <code>false</code> if
+     * it must be parsed as usual
+     * @throws ParseException problem parsing the heap sizing information (the full gc event is dropped)
+     */
+    private boolean parseFullGcDetails(GCModel model, ParseInformation pos, String line) throws ParseException {
+        GCEvent event = fullGcEvent;
+        fullGcEvent = null;
+        boolean hasDetails = line.trim().startsWith("[Eden");
+        if (hasDetails) {
+            parseMemoryDetails(event, line, pos);
+        }
         model.add(event);
+
+        return hasDetails;
+    }
+
+    /**
+     * Adds the events still waiting for more lines to <code>model</code>.
+     *
+     * @param model current model
+     */
+    private void addPendingEvents(GCModel model) {
+        if (detailedEvent != null) {
+            addDetailedEvent(model);
+        }
+        if (fullGcEvent != null) {
+            model.add(fullGcEvent);
+            fullGcEvent = null;
+        }
     }
 
     /**
@@ -455,7 +526,7 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
         // parse Eden
         pos.setIndex(line.indexOf("Eden:"));
         GCEvent youngEvent = new GCEvent();
-        youngEvent.setDateStamp(event.getDatestamp());
+        youngEvent.setDateStamp(event.getDatestampMillis(), event.getDatestampZone());
         youngEvent.setTimestamp(event.getTimestamp());
         youngEvent.setExtendedType(parseType(line, pos));
         setMemoryExtended(youngEvent, line, pos);
@@ -478,7 +549,7 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
         if (line.indexOf("Metaspace:") > 0) {
             pos.setIndex(line.indexOf("Metaspace:"));
             GCEvent metaSpace = new GCEvent();
-            metaSpace.setDateStamp(event.getDatestamp());
+            metaSpace.setDateStamp(event.getDatestampMillis(), event.getDatestampZone());
             metaSpace.setTimestamp(event.getTimestamp());
             metaSpace.setExtendedType(parseType(line, pos));
             setMemoryExtended(metaSpace, line, pos);
@@ -501,11 +572,14 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
         // some concurrent event is mixed in -> extract it
         pos.setIndex(line.indexOf("GC conc"));
         ExtendedType type = parseType(line, pos);
-        model.add(parseConcurrentEvent(line,
+        ConcurrentGCEvent event = parseConcurrentEvent(line,
                 pos,
-                previousEvent != null ? previousEvent.getDatestamp() : null,
                 previousEvent != null ? previousEvent.getTimestamp() : 0,
-                type));
+                type);
+        if (previousEvent != null) {
+            event.setDateStamp(previousEvent.getDatestampMillis(), previousEvent.getDatestampZone());
+        }
+        model.add(event);
     }
 
     @Override
@@ -516,18 +590,19 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
             // parse timestamp          "double:"
             // parse collection type    "[TYPE"
             // pre-used->post-used, total, time
-            ZonedDateTime datestamp = parseDatestamp(line, pos);
+            long datestamp = parseDatestamp(line, pos);
             double timestamp = getTimestamp(line, pos, datestamp);
             ExtendedType type = parseType(line, pos);
             // special provision for concurrent events
             if (type.getConcurrency() == Concurrency.CONCURRENT) {
-                ae = parseConcurrentEvent(line, pos, datestamp, timestamp, type);
+                ae = parseConcurrentEvent(line, pos, timestamp, type);
+                setDatestamp(ae, datestamp, pos);
             }
             else if (type.getCollectionType().equals(CollectionType.VM_OPERATION)) {
                 ae = new VmOperationEvent();
                 VmOperationEvent vmOpEvent = (VmOperationEvent) ae;
 
-                vmOpEvent.setDateStamp(datestamp);
+                setDatestamp(vmOpEvent, datestamp, pos);
                 vmOpEvent.setTimestamp(timestamp);
                 vmOpEvent.setExtendedType(type);
                 vmOpEvent.setPause(parsePause(line, pos));
@@ -535,7 +610,7 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
             else {
                 ae = new GCEvent();
                 GCEvent event = (GCEvent) ae;
-                event.setDateStamp(datestamp);
+                setDatestamp(event, datestamp, pos);
                 event.setTimestamp(timestamp);
                 event.setExtendedType(type);
                 // Java 7 can have detailed event at this position like this
@@ -563,20 +638,18 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
      *
      * @param line line containing concurrent event
      * @param pos position where event starts
-     * @param datestamp datestamp
      * @param timestamp timestamp
      * @param type type of event
-     * @return complete concurrent event
+     * @return complete concurrent event (without datestamp)
      * @throws ParseException
      */
-    private AbstractGCEvent<?> parseConcurrentEvent(String line,
-            ParseInformation pos, ZonedDateTime datestamp,
+    private ConcurrentGCEvent parseConcurrentEvent(String line,
+            ParseInformation pos,
             double timestamp, final ExtendedType type) throws ParseException {
 
         ConcurrentGCEvent event = new ConcurrentGCEvent();
 
         // simple concurrent events (ending with -start) just are of type GcPattern.GC
-        event.setDateStamp(datestamp);
         event.setTimestamp(timestamp);
         event.setExtendedType(type);
         if (type.getPattern() == GcPattern.GC_PAUSE) {
@@ -588,52 +661,28 @@ public class DataReaderSun1_6_0G1 extends AbstractDataReaderSun {
     }
 
     /**
-     * Skips a block of lines containing information like they are generated by
-     * -XX:+PrintHeapAtGC or -XX:+PrintAdaptiveSizePolicy.
+     * Skips a line of a block of lines containing information like they are generated by
+     * -XX:+PrintHeapAtGC or -XX:+PrintAdaptiveSizePolicy; concurrent events mixed into the block are parsed.
      *
-     * @param in inputStream of the current log to be read
-     * @param lineStartStrings lines starting with these strings should be ignored
-     * @throws IOException problem with reading from the file
+     * @param model current model
+     * @param pos parsePosition
+     * @param line current line
+     * @return <code>true</code>, if <code>line</code> belongs to the block, <code>false</code> if the block has
+     * ended and <code>line</code> must be parsed as usual
+     * @throws ParseException problem parsing a concurrent event (the block is ended)
      */
-    private void skipLinesRespectingConcurrentEvents(LineNumberReader in, GCModel model, ParseInformation pos, List<String> lineStartStrings) throws IOException {
-        String line = "";
-
-        if (!in.markSupported()) {
-            getLogger().warning("input stream does not support marking!");
+    private boolean skipHeapSizingLine(GCModel model, ParseInformation pos, String line) throws ParseException {
+        isInHeapSizingBlock = false;
+        if (line.indexOf(INCOMPLETE_CONCURRENT_EVENT_INDICATOR) >= 0) {
+            parseIncompleteConcurrentEvent(model, getLastEventAdded(model), line, pos);
         }
-        else {
-            in.mark(200);
+        else if (!startsWith(line, HEAP_STRINGS, true)) {
+            // first line, that is of interest after the skipped block
+            return false;
         }
 
-        boolean startsWithString = true;
-        while (startsWithString && (line = in.readLine()) != null) {
-            pos.setLineNumber(in.getLineNumber());
-
-            if (line.indexOf(INCOMPLETE_CONCURRENT_EVENT_INDICATOR) >= 0) {
-                parseIncompleteConcurrentEvent(model, model.getLastEventAdded(), line, pos);
-            }
-            else {
-                // for now just skip those lines
-                startsWithString = startsWith(line, lineStartStrings, true);
-                if (startsWithString) {
-                    // don't mark any more if line didn't match -> it is the first line that
-                    // is of interest after the skipped block
-                    if (in.markSupported()) {
-                        in.mark(200);
-                    }
-                }
-            }
-        }
-
-        // push last read line back into stream - it is the next event to be parsed
-        if (in.markSupported()) {
-            try {
-                in.reset();
-            }
-            catch (IOException e) {
-                throw new ParseException("problem resetting stream (" + e.toString() + ")", line, pos);
-            }
-        }
+        isInHeapSizingBlock = true;
+        return true;
     }
 
 }
@@ -60,9 +60,23 @@ public class DataReaderTools {
      * @throws UnknownGcTypeException If <code>typeString</code> can't be converted to an <code>ExtendedType</code>
      */
     public ExtendedType parseType(String typeString) throws UnknownGcTypeException {
-        ExtendedType gcType = parseTypeWithCause(typeString.trim());
+        return parseType(typeString, 0, typeString.length());
+    }
+
+    /**
+     * Same as {@link #parseType(String)} for the type name between <code>start</code> and <code>end</code> in
+     * <code>line</code>; no substring is created for known type names.
+     *
+     * @param line line containing the type name
+     * @param start index of the first character of the type name
+     * @param end index after the last character of the type name
+     * @return <code>ExtendedType</code> representing the type name
+     * @throws UnknownGcTypeException If the type name can't be converted to an <code>ExtendedType</code>
+     */
+    public ExtendedType parseType(CharSequence line, int start, int end) throws UnknownGcTypeException {
+        ExtendedType gcType = parseTypeWithCause(line, start, end);
         if (gcType == null) {
-            throw new UnknownGcTypeException(typeString);
+            throw new UnknownGcTypeException(line.subSequence(start, end).toString().trim());
         }
 
         return gcType;
@@ -76,34 +90,64 @@ public class DataReaderTools {
      * @return <code>ExtendedType</code> representing <code>typeString</code>, or <code>null</code> if none could be found
      */
     public ExtendedType parseTypeWithCause(String typeName) {
-        typeName = typeName.trim();
+        return parseTypeWithCause(typeName, 0, typeName.length());
+    }
+
+    /**
+     * Same as {@link #parseTypeWithCause(String)} for the type name between <code>start</code> and <code>end</code>
+     * in <code>line</code> (leading and trailing whitespace is ignored).
+     *
+     * @param line line containing the type name
+     * @param start index of the first character of the type name
+     * @param end index after the last character of the type name
+     * @return <code>ExtendedType</code> representing the type name, or <code>null</code> if none could be found
+     */
+    public ExtendedType parseTypeWithCause(CharSequence line, int start, int end) {
+        while (start < end && line.charAt(start) <= ' ') {
+            ++start;
+        }
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            --end;
+        }
+
         ExtendedType extendedType = null;
-        String lookupTypeName = getLookupTypeName(typeName);
-        AbstractGCEvent.Type gcType = AbstractGCEvent.Type.lookup(lookupTypeName);
+        int lookupEnd = getLookupTypeNameEnd(line, start, end);
+        AbstractGCEvent.Type gcType = AbstractGCEvent.Type.lookup(line, start, lookupEnd);
         // the gcType may be null because there was a PrintGCCause flag enabled - if so, reparse it with the first paren set stripped
-        if (gcType == null) {
+        if (gcType == null && contains(line, start, end, '(')) {
             // try to parse it again with the parens removed
-            Matcher parenMatcher = parenthesesPattern.matcher(lookupTypeName);
+            Matcher parenMatcher = parenthesesPattern.matcher(line.subSequence(start, lookupEnd));
             if (parenMatcher.find()) {
                 gcType = AbstractGCEvent.Type.lookup(parenMatcher.replaceFirst(""));
             }
         }
 
         if (gcType != null) {
-            extendedType = ExtendedType.lookup(gcType, typeName);
+            extendedType = ExtendedType.lookup(gcType, line, start, end);
         }
 
         return extendedType;
     }
 
-    private String getLookupTypeName(String typeName) {
-        typeName = typeName.endsWith(":")
-                ? typeName.substring(0, typeName.length()-1)
-                : typeName;
-        return typeName.endsWith("--")
-                    ? typeName.substring(0, typeName.length()-2)
-                    : typeName;
+    private static boolean contains(CharSequence line, int start, int end, char c) {
+        for (int i = start; i < end; ++i) {
+            if (line.charAt(i) == c) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
+    /**
+     * @return end of the type name without a trailing ":" or "--"
+     */
+    private int getLookupTypeNameEnd(CharSequence line, int start, int end) {
+        if (end > start && line.charAt(end - 1) == ':') {
+            --end;
+        }
+
+        return end - 2 >= start && line.charAt(end - 2) == '-' && line.charAt(end - 1) == '-' ? end - 2 : end;
+    }
 
 }
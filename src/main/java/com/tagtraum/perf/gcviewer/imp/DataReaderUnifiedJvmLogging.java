@@ -10,7 +10,6 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Concurrency;
@@ -45,83 +44,19 @@ import com.tagtraum.perf.gcviewer.util.NumberParser;
  * <p>
  * For more information about Shenandoah see: <a href="https://wiki.openjdk.java.net/display/shenandoah/Main">Shenandoah Wiki at OpenJDK</a>
  */
-public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
-
-    // matches the whole line and extracts decorators from it (decorators always appear between [] and are independent of the gc algorithm being logged)
-    // Input: [0.693s][info][gc           ] GC(0) Pause Init Mark 1.070ms
-    // Group 1 / time: <empty> (optional group, no full timestamp present)
-    // Group 2 / uptime: 0.693 (optional group, present in this example)
-    // Group 3 / level: info
-    // Group 4 / tags: gc
-    // Group 5 / gcnumber: 0
-    // Group 6 / tail: Pause Init Mark 1.070ms
-    // Regex: ^(?:\[(?<time>[0-9-T:.+]*)])?(?:\[(?<uptime>[^s]*)s])?\[(?<level>[^]]+)]\[(?:(?<tags>[^] ]+)[ ]*)][ ]GC\((?<gcnumber>[0-9]+)\)[ ](?<type>([-.a-zA-Z ()]+|[a-zA-Z1 ()]+))(?:(?:[ ](?<tail>[0-9]{1}.*))|$)
-    //   note for the <type> part: easiest would have been to use [^0-9]+, but the G1 events don't fit there, because of the number in their name
-    private static final Pattern PATTERN_DECORATORS = Pattern.compile(
-            "^(?:\\[(?<time>[0-9-T:.+]*)])?(?:\\[(?<uptime>[^s]*)s])?\\[(?<level>[^]]+)]\\[(?:(?<tags>[^] ]+)[ ]*)][ ]GC\\((?<gcnumber>[0-9]+)\\)[ ](?<type>[-.a-zA-Z: ()]+|[a-zA-Z1 ()]+)(?:(?:[ ](?<tail>[0-9]{1}.*))|$)"
-    );
-    private static final String GROUP_DECORATORS_TIME = "time";
-    private static final String GROUP_DECORATORS_UPTIME = "uptime";
-    private static final String GROUP_DECORATORS_LEVEL = "level";
-    private static final String GROUP_DECORATORS_TAGS = "tags";
-    private static final String GROUP_DECORATORS_GC_NUMBER = "gcnumber";
-    private static final String GROUP_DECORATORS_GC_TYPE = "type";
-    private static final String GROUP_DECORATORS_TAIL = "tail";
+public class DataReaderUnifiedJvmLogging extends AbstractDataReader implements IncrementalDataReader {
 
+    // Input: [0.018s][info][gc,heap] Heap region size: 1M (tail)
+    // Group 1: 1
     private static final Pattern PATTERN_HEAP_REGION_SIZE = Pattern.compile("^Heap region size: ([0-9]+)M$");
     private static final int GROUP_HEAP_REGION_SIZE = 1;
 
-    private static final String PATTERN_PAUSE_STRING = "([0-9]+[.,][0-9]+)ms";
-    private static final String PATTERN_MEMORY_STRING = "(([0-9]+)([BKMG])->([0-9]+)([BKMG])\\(([0-9]+)([BKMG])\\))";
-
-    // Input: 1.070ms
-    // Group 1: 1.070
-    private static final Pattern PATTERN_PAUSE = Pattern.compile("^" + PATTERN_PAUSE_STRING);
-
-    private static final int GROUP_PAUSE = 1;
-
-    // Input: 4848M->4855M(4998M)
-    // Group 1: 4848
-    // Group 2: M
-    // Group 3: 4855
-    // Group 4: M
-    // Group 5: 4998
-    // Group 6: M
-    private static final Pattern PATTERN_MEMORY = Pattern.compile("^" + PATTERN_MEMORY_STRING);
-
-    // Input: 4848M->4855M(4998M) 2.872ms
-    // Group 1: 4848
-    // Group 2: M
-    // Group 3: 4855
-    // Group 4: M
-    // Group 5: 4998
-    // Group 6: M
-    // Group 7: 1.070 (optional group)
-    private static final Pattern PATTERN_MEMORY_PAUSE = Pattern.compile("^" + PATTERN_MEMORY_STRING + "(?:(?:[ ]" + PATTERN_PAUSE_STRING + ")|$)");
-
-    private static final int GROUP_MEMORY = 1;
-    private static final int GROUP_MEMORY_BEFORE = 2;
-    private static final int GROUP_MEMORY_BEFORE_UNIT = 3;
-    private static final int GROUP_MEMORY_AFTER = 4;
-    private static final int GROUP_MEMORY_AFTER_UNIT = 5;
-    private static final int GROUP_MEMORY_CURRENT_TOTAL = 6;
-    private static final int GROUP_MEMORY_CURRENT_TOTAL_UNIT = 7;
-    private static final int GROUP_MEMORY_PAUSE = 8;
-
-    // Input: 7->3(2)
-    // Group 1: 7
-    // Group 2: 3
-    // Group 3: 2 (optional group)
-    private static final Pattern PATTERN_REGION = Pattern.compile("^([0-9]+)->([0-9]+)(?:\\(([0-9]+)\\))?");
-
-    private static final int GROUP_REGION_BEFORE = 1;
-    private static final int GROUP_REGION_AFTER = 2;
-    private static final int GROUP_REGION_TOTAL = 3;
-
     private static final String TAG_GC = "gc";
     private static final String TAG_GC_START = "gc,start";
     private static final String TAG_GC_HEAP = "gc,heap";
     private static final String TAG_GC_METASPACE = "gc,metaspace";
+    /** tags handled by {@link #handleTail(ParseContext, AbstractGCEvent, String, int)} */
+    private static final List<String> KNOWN_TAGS = Arrays.asList(TAG_GC, TAG_GC_START, TAG_GC_HEAP, TAG_GC_METASPACE);
 
     /** list of strings, that must be part of the gc log line to be considered for parsing */
     private static final List<String> INCLUDE_STRINGS = Arrays.asList("[gc ", "[gc]", "[" + TAG_GC_START, "[" + TAG_GC_HEAP, "[" + TAG_GC_METASPACE);
@@ -131,57 +66,122 @@ public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
     private static final List<String> LOG_ONLY_STRINGS = Arrays.asList("Using", "Heap region size");
 
 
+
+    // some information shared accross several lines of parsing (and calls to readIncrement())...
+    private Map<String, AbstractGCEvent<?>> partialEventsMap = new HashMap<>();
+    private Map<String, Object> infoMap = new HashMap<>();
+
     protected DataReaderUnifiedJvmLogging(GCResource gcResource, InputStream in) throws UnsupportedEncodingException {
         super(gcResource, in);
     }
 
     @Override
     public GCModel read() throws IOException {
-        getLogger().info("Reading Oracle / OpenJDK unified jvm logging format...");
-
         try {
-            // some information shared accross several lines of parsing...
-            Map<String, AbstractGCEvent<?>> partialEventsMap = new HashMap<>();
-            Map<String, Object> infoMap = new HashMap<>();
+            return readIncrement();
+        }
+        finally {
+            in.close();
+        }
+    }
 
-            GCModel model = new GCModel();
+    @Override
+    public boolean isContinuableByNewReader() {
+        // e.g. the region size of G1 is only logged at the beginning of the file
+        return infoMap.isEmpty();
+    }
+
+    @Override
+    public GCModel readIncrement() throws IOException {
+        logFormat("Oracle / OpenJDK unified jvm logging");
+
+        try {
+            GCModel model = createModel();
             model.setFormat(GCModel.Format.UNIFIED_JVM_LOGGING);
 
-            Stream<String> lines = in.lines();
-            lines.map(line -> new ParseContext(line, partialEventsMap, infoMap))
-                    .filter(this::lineContainsParseableEvent)
-                    .map(this::parseEvent)
-                    .filter(context -> context.getCurrentEvent() != null)
-                    .forEach(context -> model.add(context.getCurrentEvent()));
+            String line;
+            while ((line = in.readLine()) != null && shouldContinue()) {
+                ParseContext context = new ParseContext(line, in.getLineNumber(), partialEventsMap, infoMap);
+                decorate(context);
+                addEvent(model, context);
+            }
 
             return model;
         } finally {
+            reportParseErrors();
             if (getLogger().isLoggable(Level.INFO)) getLogger().info("Reading done.");
         }
     }
 
+    /**
+     * Does the part of parsing, that only depends on the line itself: finds out, whether the line is a candidate for
+     * an event and tokenizes its decorators.
+     *
+     * @param context context of the line to be decorated
+     */
+    private void decorate(ParseContext context) {
+        String line = context.getLine();
+        context.setCandidate(isCandidateForParseableEvent(line) && !isExcludedLine(line));
+        if (context.isCandidate()) {
+            context.setLogOnly(isLogOnlyLine(line));
+            if (!context.isLogOnly()) {
+                UnifiedJvmLoggingTokenizer decorators = new UnifiedJvmLoggingTokenizer();
+                if (decorators.tokenize(line)) {
+                    context.setDecorators(decorators);
+                }
+            }
+        }
+    }
+
+    private void addEvent(GCModel model, ParseContext context) {
+        if (lineContainsParseableEvent(context)) {
+            parseEvent(context);
+            if (context.getCurrentEvent() != null) {
+                model.add(context.getCurrentEvent());
+            }
+        }
+    }
+
     private ParseContext parseEvent(ParseContext context) {
         AbstractGCEvent<?> event = null;
 
-        Matcher decoratorsMatcher = PATTERN_DECORATORS.matcher(context.getLine());
         try {
-            event = createGcEventWithStandardDecorators(decoratorsMatcher, context.getLine());
+            event = createGcEventWithStandardDecorators(context);
             if (event != null) {
-                String tags = decoratorsMatcher.group(GROUP_DECORATORS_TAGS);
-                String tail = decoratorsMatcher.group(GROUP_DECORATORS_TAIL);
-                event = handleTail(context, event, tags, tail);
+                event = handleTail(context, event, getTags(context.getDecorators()), context.getDecorators().getTailStart());
             }
         } catch (UnknownGcTypeException | NumberFormatException e) {
             // prevent incomplete event from being added to the GCModel
             event = null;
-            getLogger().warning(String.format("Failed to parse gc event (%s) on line number %d (line=\"%s\")", e.toString(), in.getLineNumber(), context.getLine()));
+            addParseError(e, context.getLine(), String.format("Failed to parse gc event (%s) on line number %d (line=\"%s\")", e.toString(), context.getLineNumber(), context.getLine()));
         }
 
         context.setCurrentEvent(event);
         return context;
     }
 
-    private AbstractGCEvent<?> handleTail(ParseContext context, AbstractGCEvent<?> event, String tags, String tail) {
+    /**
+     * @return tags of the line (the constant for all tags handled by this reader)
+     */
+    private String getTags(UnifiedJvmLoggingTokenizer decorators) {
+        for (String tags : KNOWN_TAGS) {
+            if (decorators.hasTags(tags)) {
+                return tags;
+            }
+        }
+
+        return decorators.getLine().substring(decorators.getTagsStart(), decorators.getTagsEnd());
+    }
+
+    /**
+     * @return tail of the line for log messages
+     */
+    private String getTail(ParseContext context) {
+        int tailStart = context.getDecorators().getTailStart();
+        return tailStart != UnifiedJvmLoggingTokenizer.NONE ? context.getLine().substring(tailStart) : null;
+    }
+
+    private AbstractGCEvent<?> handleTail(ParseContext context, AbstractGCEvent<?> event, String tags, int tail) {
         AbstractGCEvent<?> returnEvent = event;
         switch (tags) {
             case TAG_GC_START:
@@ -205,7 +205,7 @@ public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
                 if (parentEvent != null) {
                     if (parentEvent.getExtendedType().equals(returnEvent.getExtendedType())) {
                         // date- and timestamp are always end of event -> adjust the parent event
-                        parentEvent.setDateStamp(event.getDatestamp());
+                        parentEvent.setDateStamp(event.getDatestampMillis(), event.getDatestampZone());
                         parentEvent.setTimestamp(event.getTimestamp());
                         returnEvent = parseTail(context, parentEvent, tail);
                         context.partialEventsMap.remove(event.getNumber() + "");
@@ -219,7 +219,7 @@ public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
                 }
                 break;
             default:
-                getLogger().warning(String.format("Unexpected tail present in the end of line number %d (tail=\"%s\"; line=\"%s\")", in.getLineNumber(), tail, context.getLine()));
+                addParseError(String.format("Unexpected tail present in the end of line number %d (tail=\"%s\"; line=\"%s\")", context.getLineNumber(), getTail(context), context.getLine()), context.getLine());
         }
 
         return returnEvent;
@@ -228,17 +228,17 @@ public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
     private void updateEventDetails(ParseContext context, AbstractGCEvent<?> event) {
         AbstractGCEvent<?> parentEvent = context.getPartialEventsMap().get(event.getNumber() + "");
         if (parentEvent == null) {
-            getLogger().warning(String.format("Didn't find parent event for partial event %s (line number %d, line=\"%s\"", event.toString(), in.getLineNumber(), context.getLine()));
+            addParseError(String.format("Didn't find parent event for partial event %s (line number %d, line=\"%s\"", event.toString(), context.getLineNumber(), context.getLine()), context.getLine());
         } else {
             if (parentEvent instanceof GCEvent) {
                 ((GCEvent)parentEvent).add((GCEvent)event);
             } else {
-                getLogger().warning(String.format("Parent (%s) event for %s should be GCEvent (line number %d, line=\"%s\"", parentEvent.toString(), event.toString(), in.getLineNumber(), context.getLine()));
+                addParseError(String.format("Parent (%s) event for %s should be GCEvent (line number %d, line=\"%s\"", parentEvent.toString(), event.toString(), context.getLineNumber(), context.getLine()), context.getLine());
             }
         }
     }
 
-    private AbstractGCEvent<?> parseTail(ParseContext context, AbstractGCEvent<?> event, String tail) {
+    private AbstractGCEvent<?> parseTail(ParseContext context, AbstractGCEvent<?> event, int tail) {
         if (event.getExtendedType().getPattern().equals(GcPattern.GC_PAUSE)) {
             parseGcPauseTail(context, event, tail);
         } else if (event.getExtendedType().getPattern().equals(GcPattern.GC_MEMORY)) {
@@ -254,124 +254,147 @@ public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
         return event;
     }
 
-    private void parseGcTail(ParseContext context, String tail) {
-        if (!(tail == null)) {
-            getLogger().warning(String.format("Unexpected tail present in the end of line number %d (expected nothing to be present, tail=\"%s\"; line=\"%s\")", in.getLineNumber(), tail, context.getLine()));
+    private void parseGcTail(ParseContext context, int tail) {
+        if (tail != UnifiedJvmLoggingTokenizer.NONE) {
+            addParseError(String.format("Unexpected tail present in the end of line number %d (expected nothing to be present, tail=\"%s\"; line=\"%s\")", context.getLineNumber(), getTail(context), context.getLine()), context.getLine());
         }
     }
 
-    private void parseGcMemoryTail(ParseContext context, AbstractGCEvent<?> event, String tail) {
-        Matcher memoryMatcher = tail != null ? PATTERN_MEMORY.matcher(tail) : null;
-        if (memoryMatcher != null && memoryMatcher.find()) {
-            setMemory(event, memoryMatcher);
+    private void parseGcMemoryTail(ParseContext context, AbstractGCEvent<?> event, int tail) {
+        String line = context.getLine();
+        if (tail != UnifiedJvmLoggingTokenizer.NONE && UnifiedJvmLoggingTokenizer.matchMemory(line, tail) != UnifiedJvmLoggingTokenizer.NONE) {
+            setMemory(event, line, tail);
         } else {
-            getLogger().warning(String.format("Expected only memory in the end of line number %d (line=\"%s\")", in.getLineNumber(), context.getLine()));
+            addParseError(String.format("Expected only memory in the end of line number %d (line=\"%s\")", context.getLineNumber(), context.getLine()), context.getLine());
         }
     }
 
-    private void parseGcMemoryPauseTail(ParseContext context, AbstractGCEvent<?> event, String tail) {
-        Matcher memoryPauseMatcher = tail != null ? PATTERN_MEMORY_PAUSE.matcher(tail) : null;
-        if (memoryPauseMatcher != null && memoryPauseMatcher.find()) {
-            setPause(event, memoryPauseMatcher.group(GROUP_MEMORY_PAUSE));
+    private void parseGcMemoryPauseTail(ParseContext context, AbstractGCEvent<?> event, int tail) {
+        // memory, optionally followed by " " and pause (nothing else)
+        String line = context.getLine();
+        int memoryEnd = tail != UnifiedJvmLoggingTokenizer.NONE ? UnifiedJvmLoggingTokenizer.matchMemory(line, tail) : UnifiedJvmLoggingTokenizer.NONE;
+        int pauseEnd = memoryEnd != UnifiedJvmLoggingTokenizer.NONE && memoryEnd < line.length() && line.charAt(memoryEnd) == ' '
+                ? UnifiedJvmLoggingTokenizer.matchPause(line, memoryEnd + 1)
+                : UnifiedJvmLoggingTokenizer.NONE;
+        if (pauseEnd != UnifiedJvmLoggingTokenizer.NONE || memoryEnd == line.length()) {
+            if (pauseEnd != UnifiedJvmLoggingTokenizer.NONE) {
+                setPause(event, line, memoryEnd + 1, pauseEnd);
+            }
             if (!hasMemory(event)) {
                 // if the event already has detail memory information, there is no need to add the high level one as well
-                setMemory(event, memoryPauseMatcher);
+                setMemory(event, line, tail);
             }
         } else {
-            getLogger().warning(String.format("Expected memory and pause in the end of line number %d (line=\"%s\")", in.getLineNumber(), context.getLine()));
+            addParseError(String.format("Expected memory and pause in the end of line number %d (line=\"%s\")", context.getLineNumber(), context.getLine()), context.getLine());
         }
     }
 
-    private void parseGcPauseTail(ParseContext context, AbstractGCEvent<?> event, String tail) {
+    private void parseGcPauseTail(ParseContext context, AbstractGCEvent<?> event, int tail) {
         // G1 and CMS algorithms have "gc" tagged concurrent events, that are actually the start of an event
         // (I'd expect them to be tagged "gc,start", as this seems to be the case for the Shenandoah algorithm)
         // G1: Concurrent Cycle (without pause -> start of event; with pause -> end of event)
         // CMS: all concurrent events
 
-        // this is the reason, why a "null" tail is accepted here
-        if (tail != null) {
-            Matcher pauseMatcher = PATTERN_PAUSE.matcher(tail);
-            if (pauseMatcher.find()) {
-                setPause(event, pauseMatcher.group(GROUP_PAUSE));
+        // this is the reason, why a missing tail is accepted here
+        if (tail != UnifiedJvmLoggingTokenizer.NONE) {
+            int pauseEnd = UnifiedJvmLoggingTokenizer.matchPause(context.getLine(), tail);
+            if (pauseEnd != UnifiedJvmLoggingTokenizer.NONE) {
+                setPause(event, context.getLine(), tail, pauseEnd);
             } else {
-                getLogger().warning(String.format("Expected only pause in the end of line number %d  (line=\"%s\")", in.getLineNumber(), context.getLine()));
+                addParseError(String.format("Expected only pause in the end of line number %d  (line=\"%s\")", context.getLineNumber(), context.getLine()), context.getLine());
             }
         }
     }
 
-    private void parseGcRegionTail(ParseContext context, AbstractGCEvent<?> event, String tail) {
-        Matcher regionMatcher = tail != null ? PATTERN_REGION.matcher(tail) : null;
-        if (regionMatcher != null && regionMatcher.find()) {
+    private void parseGcRegionTail(ParseContext context, AbstractGCEvent<?> event, int tail) {
+        String line = context.getLine();
+        int regionsEnd = tail != UnifiedJvmLoggingTokenizer.NONE ? UnifiedJvmLoggingTokenizer.matchRegions(line, tail) : UnifiedJvmLoggingTokenizer.NONE;
+        if (regionsEnd != UnifiedJvmLoggingTokenizer.NONE) {
             int regionSize = context.getRegionSize();
             // if the event has regions, but the regionSize is unknown, at the moment, I don't know, how to calculate the size
             // -> store 0 for the size
             // this happens, whenever a G1 log file is parsed and the line
             // [0.018s][info][gc,heap] Heap region size: 1M
             // is missing (only part of log present)
-            event.setPreUsed(Integer.parseInt(regionMatcher.group(GROUP_REGION_BEFORE)) * regionSize * 1024);
-            event.setPostUsed(Integer.parseInt(regionMatcher.group(GROUP_REGION_AFTER)) * regionSize * 1024);
-            if (regionMatcher.group(GROUP_REGION_TOTAL) != null) {
-                event.setTotal(Integer.parseInt(regionMatcher.group(GROUP_REGION_TOTAL)) * regionSize * 1024);
+            int beforeEnd = UnifiedJvmLoggingTokenizer.skipDigits(line, tail);
+            int afterEnd = UnifiedJvmLoggingTokenizer.skipDigits(line, beforeEnd + 2);
+            event.setPreUsed(NumberParser.parseInt(line, tail, beforeEnd - tail) * regionSize * 1024);
+            event.setPostUsed(NumberParser.parseInt(line, beforeEnd + 2, afterEnd - beforeEnd - 2) * regionSize * 1024);
+            if (regionsEnd > afterEnd) {
+                event.setTotal(NumberParser.parseInt(line, afterEnd + 1, regionsEnd - afterEnd - 2) * regionSize * 1024);
             }
         } else {
-            getLogger().warning(String.format("Expected region information in the end of line number %d (line=\"%s\")", in.getLineNumber(), context.getLine()));
+            addParseError(String.format("Expected region information in the end of line number %d (line=\"%s\")", context.getLineNumber(), context.getLine()), context.getLine());
         }
     }
 
     /**
      * Returns an instance of AbstractGcEvent (GCEvent or ConcurrentGcEvent) with all decorators present filled in
      * or <code>null</code> if the line could not be matched.
-     * @param decoratorsMatcher matcher for decorators to be used for GcEvent creation
-     * @param line current line to be parsed
+     * @param context context of the current line to be parsed (including the decorators matched for it)
      * @return Instance of <code>AbstractGcEvent</code> or <code>null</code> if the line could not be matched.
      */
-    private AbstractGCEvent<?> createGcEventWithStandardDecorators(Matcher decoratorsMatcher, String line) throws UnknownGcTypeException {
-        if (decoratorsMatcher.find()) {
-            AbstractGCEvent.ExtendedType type = getDataReaderTools().parseType(decoratorsMatcher.group(GROUP_DECORATORS_GC_TYPE));
+    private AbstractGCEvent<?> createGcEventWithStandardDecorators(ParseContext context) throws UnknownGcTypeException {
+        UnifiedJvmLoggingTokenizer decorators = context.getDecorators();
+        if (decorators != null) {
+            String line = context.getLine();
+            AbstractGCEvent.ExtendedType type = getDataReaderTools().parseType(line, decorators.getTypeStart(), decorators.getTypeEnd());
 
             AbstractGCEvent<?> event = type.getConcurrency().equals(Concurrency.CONCURRENT) ? new ConcurrentGCEvent() : new GCEventUJL();
             event.setExtendedType(type);
-            event.setNumber(Integer.parseInt(decoratorsMatcher.group(GROUP_DECORATORS_GC_NUMBER)));
-            setDateStampIfPresent(event, decoratorsMatcher.group(GROUP_DECORATORS_TIME));
-            setTimeStampIfPresent(event, decoratorsMatcher.group(GROUP_DECORATORS_UPTIME));
+            event.setNumber(NumberParser.parseInt(line, decorators.getGcNumberStart(), decorators.getGcNumberEnd() - decorators.getGcNumberStart()));
+            setDateStampIfPresent(event, line, decorators.getTimeStart(), decorators.getTimeEnd());
+            setTimeStampIfPresent(event, line, decorators.getUptimeStart(), decorators.getUptimeEnd());
             return event;
         } else {
-            getLogger().warning(String.format("Failed to parse line number %d (no match; line=\"%s\")", in.getLineNumber(), line));
+            addParseError(String.format("Failed to parse line number %d (no match; line=\"%s\")", context.getLineNumber(), context.getLine()), context.getLine());
             return null;
         }
     }
 
-    private void setPause(AbstractGCEvent event, String pauseAsString) {
+    private void setPause(AbstractGCEvent<?> event, String line, int start, int end) {
         // TODO remove code duplication with AbstractDataReaderSun -> move to DataReaderTools
-        if (pauseAsString != null && pauseAsString.length() > 0) {
-            event.setPause(NumberParser.parseDouble(pauseAsString) / 1000);
-        }
+        event.setPause(NumberParser.parseDouble(line, start, end - start) / 1000);
     }
 
     private boolean hasMemory(AbstractGCEvent<?> event) {
         return event.getTotal() > 0;
     }
 
-    private void setMemory(AbstractGCEvent event, Matcher matcher) {
+    /**
+     * Sets the memory at <code>start</code>, which must have been checked with
+     * {@link UnifiedJvmLoggingTokenizer#matchMemory(CharSequence, int)}.
+     */
+    private void setMemory(AbstractGCEvent<?> event, String line, int start) {
         // TODO remove code duplication with AbstractDataReaderSun -> move to DataReaderTools
+        int beforeEnd = UnifiedJvmLoggingTokenizer.skipDigits(line, start);
         event.setPreUsed(getDataReaderTools().getMemoryInKiloByte(
-                Integer.parseInt(matcher.group(GROUP_MEMORY_BEFORE)), matcher.group(GROUP_MEMORY_BEFORE_UNIT).charAt(0), matcher.group(GROUP_MEMORY)));
+                NumberParser.parseInt(line, start, beforeEnd - start), line.charAt(beforeEnd), line));
+        int afterStart = beforeEnd + 3;
+        int afterEnd = UnifiedJvmLoggingTokenizer.skipDigits(line, afterStart);
         event.setPostUsed(getDataReaderTools().getMemoryInKiloByte(
-                Integer.parseInt(matcher.group(GROUP_MEMORY_AFTER)), matcher.group(GROUP_MEMORY_AFTER_UNIT).charAt(0), matcher.group(GROUP_MEMORY)));
+                NumberParser.parseInt(line, afterStart, afterEnd - afterStart), line.charAt(afterEnd), line));
+        int totalStart = afterEnd + 2;
+        int totalEnd = UnifiedJvmLoggingTokenizer.skipDigits(line, totalStart);
         event.setTotal(getDataReaderTools().getMemoryInKiloByte(
-                Integer.parseInt(matcher.group(GROUP_MEMORY_CURRENT_TOTAL)), matcher.group(GROUP_MEMORY_CURRENT_TOTAL_UNIT).charAt(0), matcher.group(GROUP_MEMORY)));
+                NumberParser.parseInt(line, totalStart, totalEnd - totalStart), line.charAt(totalEnd), line));
     }
 
-    private void setDateStampIfPresent(AbstractGCEvent<?> event, String dateStampAsString) {
+    private void setDateStampIfPresent(AbstractGCEvent<?> event, String line, int start, int end) {
         // TODO remove code duplication with AbstractDataReaderSun -> move to DataReaderTools
-        if (dateStampAsString != null) {
-            event.setDateStamp(DateHelper.parseDate(dateStampAsString));
+        if (start != UnifiedJvmLoggingTokenizer.NONE) {
+            if (end - start == DateHelper.DATESTAMP_LENGTH) {
+                event.setDateStamp(DateHelper.parseEpochMillis(line, start), DateHelper.parseOffset(line, start));
+            }
+            else {
+                event.setDateStamp(DateHelper.parseDate(line.substring(start, end)));
+            }
         }
     }
 
-    private void setTimeStampIfPresent(AbstractGCEvent<?> event, String timeStampAsString) {
-        if (timeStampAsString != null && timeStampAsString.length() > 0) {
-            event.setTimestamp(NumberParser.parseDouble(timeStampAsString));
+    private void setTimeStampIfPresent(AbstractGCEvent<?> event, String line, int start, int end) {
+        if (start != UnifiedJvmLoggingTokenizer.NONE && end > start) {
+            event.setTimestamp(NumberParser.parseDouble(line, start, end - start));
         }
     }
 
@@ -388,8 +411,8 @@ public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
     }
 
     private boolean lineContainsParseableEvent(ParseContext context) {
-        if (isCandidateForParseableEvent(context.getLine()) && !isExcludedLine(context.getLine())) {
-            if (isLogOnlyLine(context.getLine())) {
+        if (context.isCandidate()) {
+            if (context.isLogOnly()) {
                 String tail = context.getLine().substring(context.getLine().lastIndexOf("]")+1);
                 enrichContext(context, tail);
                 getLogger().info(tail);
@@ -407,7 +430,7 @@ public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
             try {
                 context.setRegionSize(Integer.parseInt(regionSizeMatcher.group(GROUP_HEAP_REGION_SIZE)));
             } catch (NumberFormatException e) {
-                getLogger().warning(String.format("Failed to parse heap region size on line %d (line=%s)", in.getLineNumber(), context.getLine()));
+                addParseError(String.format("Failed to parse heap region size on line %d (line=%s)", context.getLineNumber(), context.getLine()), context.getLine());
             }
         }
     }
@@ -418,10 +441,15 @@ public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
         private Map<String, AbstractGCEvent<?>> partialEventsMap;
         private Map<String, Object> info;
         private String line;
+        private int lineNumber;
+        private boolean isCandidate;
+        private boolean isLogOnly;
+        private UnifiedJvmLoggingTokenizer decorators;
         private AbstractGCEvent<?> currentEvent;
 
-        public ParseContext(String line, Map<String, AbstractGCEvent<?>> partialEventsMap, Map<String, Object> info) {
+        public ParseContext(String line, int lineNumber, Map<String, AbstractGCEvent<?>> partialEventsMap, Map<String, Object> info) {
             this.line = line;
+            this.lineNumber = lineNumber;
             this.partialEventsMap = partialEventsMap;
             this.info = info;
         }
@@ -430,6 +458,34 @@ public class DataReaderUnifiedJvmLogging extends AbstractDataReader {
             return line;
         }
 
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public boolean isCandidate() {
+            return isCandidate;
+        }
+
+        public void setCandidate(boolean isCandidate) {
+            this.isCandidate = isCandidate;
+        }
+
+        public boolean isLogOnly() {
+            return isLogOnly;
+        }
+
+        public void setLogOnly(boolean isLogOnly) {
+            this.isLogOnly = isLogOnly;
+        }
+
+        public UnifiedJvmLoggingTokenizer getDecorators() {
+            return decorators;
+        }
+
+        public void setDecorators(UnifiedJvmLoggingTokenizer decorators) {
+            this.decorators = decorators;
+        }
+
         public Map<String, AbstractGCEvent<?>> getPartialEventsMap() {
             return partialEventsMap;
         }
@@ -0,0 +1,168 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads a (decompressing) stream in a background thread, so that decompression and parsing run at the same time.
+ * Two large buffers are used alternately: while the parser reads one of them, the other one is filled.
+ */
+class DecompressionPipe extends InputStream {
+
+    static final int BUFFER_SIZE = 1024 * 1024;
+    private static final int BUFFER_COUNT = 2;
+    private static final Chunk END = new Chunk(new byte[0], -1);
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger(1);
+
+    private final InputStream in;
+    private final BlockingQueue<byte[]> freeBuffers = new ArrayBlockingQueue<>(BUFFER_COUNT);
+    private final BlockingQueue<Chunk> filledChunks = new ArrayBlockingQueue<>(BUFFER_COUNT + 1);
+    private final Thread thread;
+    private volatile IOException error;
+
+    private Chunk current;
+    private int position;
+    private boolean endReached;
+
+    /**
+     * @param in stream to be read in the background
+     */
+    public DecompressionPipe(InputStream in) {
+        this(in, BUFFER_SIZE);
+    }
+
+    DecompressionPipe(InputStream in, int bufferSize) {
+        super();
+
+        this.in = in;
+        for (int i = 0; i < BUFFER_COUNT; ++i) {
+            freeBuffers.add(new byte[bufferSize]);
+        }
+
+        thread = new Thread(this::fill, "gcviewer-decompress-" + THREAD_NUMBER.getAndIncrement());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void fill() {
+        try {
+            while (true) {
+                byte[] buffer = freeBuffers.take();
+                int length = 0;
+                int read = 0;
+                while (length < buffer.length && (read = in.read(buffer, length, buffer.length - length)) >= 0) {
+                    length += read;
+                }
+                if (length > 0) {
+                    filledChunks.put(new Chunk(buffer, length));
+                }
+                if (read < 0) {
+                    break;
+                }
+            }
+        }
+        catch (IOException e) {
+            error = e;
+        }
+        catch (InterruptedException e) {
+            // closed -> nobody reads any more
+            return;
+        }
+        finally {
+            filledChunks.offer(END);
+            try {
+                in.close();
+            }
+            catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!hasData()) {
+            return -1;
+        }
+
+        return current.buffer[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!hasData()) {
+            return -1;
+        }
+
+        int length = Math.min(len, current.length - position);
+        System.arraycopy(current.buffer, position, b, off, length);
+        position += length;
+        return length;
+    }
+
+    private boolean hasData() throws IOException {
+        if (current != null && position < current.length) {
+            return true;
+        }
+        if (endReached) {
+            return false;
+        }
+
+        if (current != null) {
+            freeBuffers.add(current.buffer);
+            current = null;
+        }
+        try {
+            Chunk chunk = filledChunks.take();
+            if (chunk == END) {
+                endReached = true;
+                if (error != null) {
+                    throw error;
+                }
+
+                return false;
+            }
+
+            current = chunk;
+            position = 0;
+            return true;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for decompressed data");
+        }
+    }
+
+    @Override
+    public int available() {
+        return current != null ? current.length - position : 0;
+    }
+
+    @Override
+    public void close() {
+        endReached = true;
+        thread.interrupt();
+    }
+
+    /**
+     * Filled part of a buffer.
+     */
+    private static class Chunk {
+        private final byte[] buffer;
+        private final int length;
+
+        public Chunk(byte[] buffer, int length) {
+            this.buffer = buffer;
+            this.length = length;
+        }
+    }
+}
@@ -0,0 +1,809 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.ExtendedType;
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Type;
+import com.tagtraum.perf.gcviewer.model.ConcurrentGCEvent;
+import com.tagtraum.perf.gcviewer.model.G1GcEvent;
+import com.tagtraum.perf.gcviewer.model.GCEvent;
+import com.tagtraum.perf.gcviewer.model.GCEventUJL;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.VmOperationEvent;
+import com.tagtraum.perf.gcviewer.util.BuildInfoReader;
+
+/**
+ * Keeps the events parsed from local gc log files in a compact binary format on disk, so reopening a file
+ * doesn't need to parse it again. One cache file per log file is written; it contains all events (including
+ * their details) in columns and is read with a single NIO read. No java serialization is used, so changes in
+ * the model classes never make old cache files unreadable by accident (they are versioned explicitly).
+ *
+ * <p>An entry is only used, if the log file is unchanged since it was cached or if data was only appended to it.
+ * In the latter case, only the appended part of the file needs to be parsed.</p>
+ *
+ * <p>The statistics of a model are not stored, but are calculated while the events are added to the restored
+ * model; this is the cheap part of loading a file compared to parsing it.</p>
+ *
+ * <p>The cache is only used, if it is enabled (system property {@value #CACHE_ENABLED_PROPERTY}). Entries are
+ * written in the background ({@link #storeInBackground(File, long, String, GCModel)}), so loading a file doesn't
+ * wait for the cache. Entries written by another version of GCViewer are ignored, because its parsers might
+ * produce different events. The size of the cache is limited (system property {@value #CACHE_MAX_SIZE_PROPERTY});
+ * the least recently used entries are deleted, when it is exceeded.</p>
+ */
+public class GCModelCache {
+
+    /** system property to enable the cache (<code>true</code>); it is disabled by default */
+    public static final String CACHE_ENABLED_PROPERTY = "gcviewer.cache.enabled";
+    /** system property to set the directory of the cache */
+    public static final String CACHE_DIR_PROPERTY = "gcviewer.cache.dir";
+    /** system property to set the maximum size of the cache in megabytes */
+    public static final String CACHE_MAX_SIZE_PROPERTY = "gcviewer.cache.maxsize";
+
+    private static final long DEFAULT_MAX_SIZE_MB = 256;
+    /** number of models waiting to be written; more are not cached */
+    private static final int MAX_PENDING_WRITES = 4;
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger(1);
+
+    private static final Logger LOGGER = Logger.getLogger(GCModelCache.class.getName());
+
+    private static final int MAGIC = 0x47435643; // "GCVC"
+    private static final int VERSION = 2;
+    private static final String FILE_SUFFIX = ".gcvcache";
+    /** number of bytes compared to make sure, the content of the file was not replaced */
+    private static final int CHECKSUM_WINDOW = 4096;
+
+    private static final byte KIND_GC_EVENT = 0;
+    private static final byte KIND_G1_GC_EVENT = 1;
+    private static final byte KIND_GC_EVENT_UJL = 2;
+    private static final byte KIND_CONCURRENT_GC_EVENT = 3;
+    private static final byte KIND_VM_OPERATION_EVENT = 4;
+
+    private static final GCModel.Format[] FORMATS = {
+            GCModel.Format.SUN_VERBOSE_GC,
+            GCModel.Format.SUN_X_LOG_GC,
+            GCModel.Format.IBM_VERBOSE_GC,
+            GCModel.Format.SUN_1_2_2VERBOSE_GC,
+            GCModel.Format.UNIFIED_JVM_LOGGING,
+            GCModel.Format.GO };
+
+    private final File cacheDirectory;
+    private final long maxSize;
+    /** version of the parsers, that produced the cached events */
+    private final String parserVersion;
+    /** writes the entries one after the other; its thread terminates, when there is nothing to write */
+    private final ThreadPoolExecutor writer;
+    /** number of models waiting to be written; guarded by <code>this</code> */
+    private int pendingWrites;
+
+    /**
+     * @param cacheDirectory directory, where the cache files are stored (created on demand)
+     * @param maxSize maximum size of all cache files in bytes
+     */
+    public GCModelCache(File cacheDirectory, long maxSize) {
+        this(cacheDirectory, maxSize, BuildInfoReader.getVersion() + " (" + BuildInfoReader.getBuildDate() + ")");
+    }
+
+    GCModelCache(File cacheDirectory, long maxSize, String parserVersion) {
+        this.cacheDirectory = cacheDirectory;
+        this.maxSize = maxSize;
+        this.parserVersion = parserVersion;
+        this.writer = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "gcviewer-model-cache-" + THREAD_NUMBER.getAndIncrement());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        this.writer.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the cache in the directory defined by the system property {@value #CACHE_DIR_PROPERTY} (default:
+     * <code>~/.gcviewer/cache</code>) with the maximum size defined by {@value #CACHE_MAX_SIZE_PROPERTY}
+     * (default: {@value #DEFAULT_MAX_SIZE_MB} MB), if it is enabled by {@value #CACHE_ENABLED_PROPERTY}.
+     *
+     * @return default cache or <code>null</code>, if caching is disabled
+     */
+    public static GCModelCache getDefault() {
+        if (!Boolean.getBoolean(CACHE_ENABLED_PROPERTY)) {
+            return null;
+        }
+
+        String directory = System.getProperty(CACHE_DIR_PROPERTY,
+                new File(System.getProperty("user.home"), ".gcviewer" + File.separator + "cache").getPath());
+        long maxSizeMb = Long.getLong(CACHE_MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE_MB);
+        if (directory.trim().length() == 0 || maxSizeMb <= 0) {
+            return null;
+        }
+
+        return new GCModelCache(new File(directory), maxSizeMb * 1024 * 1024);
+    }
+
+    /**
+     * Loads the events cached for <code>logFile</code>.
+     *
+     * @param logFile gc log file
+     * @return cached model or <code>null</code>, if there is no cache entry or the file was changed otherwise
+     * than by appending to it
+     */
+    public Entry load(File logFile) {
+        File cacheFile = getCacheFile(logFile);
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+
+        try {
+            ByteBuffer buffer = readFully(cacheFile.toPath());
+            if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                LOGGER.info("ignoring cache file " + cacheFile + " of other version");
+                return null;
+            }
+            if (!parserVersion.equals(getString(buffer))) {
+                LOGGER.info("ignoring cache file " + cacheFile + " written by other version of GCViewer");
+                return null;
+            }
+
+            String path = getString(buffer);
+            long length = buffer.getLong();
+            long lastModified = buffer.getLong();
+            long creationTime = buffer.getLong();
+            long parsedLength = buffer.getLong();
+            long headChecksum = buffer.getLong();
+            long tailChecksum = buffer.getLong();
+            String readerClassName = getString(buffer);
+
+            FileState currentState = new FileState(logFile);
+            if (!path.equals(getPath(logFile)) || currentState.length < parsedLength) {
+                return null;
+            }
+            boolean unchanged = currentState.length == length
+                    && currentState.lastModified == lastModified
+                    && currentState.creationTime == creationTime;
+            if (!unchanged && currentState.length == parsedLength) {
+                // modified, but nothing appended
+                return null;
+            }
+            if (headChecksum != checksum(logFile, 0, parsedLength)
+                    || tailChecksum != checksum(logFile, parsedLength - CHECKSUM_WINDOW, parsedLength)) {
+                return null;
+            }
+
+            GCModel model = readModel(buffer);
+            // mark as recently used
+            if (!cacheFile.setLastModified(System.currentTimeMillis())) {
+                LOGGER.fine("failed to set last modified time of " + cacheFile);
+            }
+            return new Entry(model, parsedLength, readerClassName);
+        }
+        catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "failed to read cache file " + cacheFile + " (" + e.toString() + ")", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes all events of <code>model</code> to the cache in a background thread; <code>model</code> may be
+     * changed in the meantime (only a snapshot of its events is written). If too many models are waiting to be
+     * written, <code>model</code> is not cached.
+     *
+     * @param logFile gc log file <code>model</code> was read from
+     * @param parsedLength number of bytes of <code>logFile</code>, that were parsed into <code>model</code>
+     * @param readerClassName see {@link #store(File, long, String, GCModel)}
+     * @param model model to be cached
+     */
+    public void storeInBackground(File logFile, long parsedLength, String readerClassName, GCModel model) {
+        synchronized (this) {
+            if (pendingWrites >= MAX_PENDING_WRITES) {
+                LOGGER.fine("too many models waiting to be cached -> " + logFile + " not cached");
+                return;
+            }
+            ++pendingWrites;
+        }
+
+        GCModel snapshot = model.getEventSnapshot();
+        writer.execute(() -> {
+            try {
+                store(logFile, parsedLength, readerClassName, snapshot);
+            }
+            finally {
+                synchronized (this) {
+                    --pendingWrites;
+                    notifyAll();
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits, until all models passed to {@link #storeInBackground(File, long, String, GCModel)} so far are
+     * written.
+     *
+     * @throws InterruptedException the current thread was interrupted while waiting
+     */
+    public synchronized void awaitPendingWrites() throws InterruptedException {
+        while (pendingWrites > 0) {
+            wait();
+        }
+    }
+
+    /**
+     * Writes all events of <code>model</code> to the cache. Models containing unknown kinds of events are not
+     * cached.
+     *
+     * @param logFile gc log file <code>model</code> was read from
+     * @param parsedLength number of bytes of <code>logFile</code>, that were parsed into <code>model</code>
+     * @param readerClassName class name of the {@link DataReader} to be used to parse data appended to
+     * <code>logFile</code> later (empty, if the whole file must be parsed again in that case)
+     * @param model model to be cached
+     * @return <code>true</code>, if <code>model</code> was written to the cache
+     */
+    public boolean store(File logFile, long parsedLength, String readerClassName, GCModel model) {
+        Path tempFile = null;
+        try {
+            Columns columns = new Columns(model.size());
+            for (Iterator<AbstractGCEvent<?>> iterator = model.getEvents(); iterator.hasNext(); ) {
+                if (!columns.add(iterator.next(), -1)) {
+                    return false;
+                }
+            }
+
+            FileState fileState = new FileState(logFile);
+            byte[] path = getPath(logFile).getBytes(StandardCharsets.UTF_8);
+            byte[] readerClass = readerClassName.getBytes(StandardCharsets.UTF_8);
+            byte[] version = parserVersion.getBytes(StandardCharsets.UTF_8);
+            int size = 8 + 4 + version.length + 4 + path.length + 6 * 8 + 4 + readerClass.length + 4 + columns.size();
+            if (size > maxSize) {
+                LOGGER.fine("model of " + logFile + " is too big for the cache");
+                return false;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            buffer.putInt(MAGIC).putInt(VERSION);
+            buffer.putInt(version.length).put(version);
+            buffer.putInt(path.length).put(path);
+            buffer.putLong(fileState.length)
+                    .putLong(fileState.lastModified)
+                    .putLong(fileState.creationTime)
+                    .putLong(parsedLength)
+                    .putLong(checksum(logFile, 0, parsedLength))
+                    .putLong(checksum(logFile, parsedLength - CHECKSUM_WINDOW, parsedLength));
+            buffer.putInt(readerClass.length).put(readerClass);
+            buffer.putInt(indexOf(model.getFormat()));
+            columns.write(buffer);
+            // cast: ByteBuffer.flip() doesn't exist on java 8, when compiled on a later jdk
+            ((Buffer) buffer).flip();
+
+            Files.createDirectories(cacheDirectory.toPath());
+            File cacheFile = getCacheFile(logFile);
+            tempFile = Files.createTempFile(cacheDirectory.toPath(), cacheFile.getName(), ".tmp");
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(tempFile, cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            tempFile = null;
+            evictLeastRecentlyUsed();
+
+            return true;
+        }
+        catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "failed to write cache for " + logFile + " (" + e.toString() + ")", e);
+            return false;
+        }
+        finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                }
+                catch (IOException e) {
+                    LOGGER.fine("failed to delete " + tempFile + " (" + e.toString() + ")");
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used cache files until all of them together are not bigger than
+     * {@link #maxSize}.
+     */
+    private void evictLeastRecentlyUsed() {
+        File[] cacheFiles = cacheDirectory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+        if (cacheFiles == null) {
+            return;
+        }
+
+        // most recently used first
+        long[] lastModified = new long[cacheFiles.length];
+        Integer[] order = new Integer[cacheFiles.length];
+        for (int i = 0; i < cacheFiles.length; ++i) {
+            lastModified[i] = cacheFiles[i].lastModified();
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> Long.compare(lastModified[i2], lastModified[i1]));
+
+        long totalSize = 0;
+        for (int i : order) {
+            totalSize += cacheFiles[i].length();
+            if (totalSize > maxSize) {
+                LOGGER.fine("evicting " + cacheFiles[i] + " from cache");
+                if (!cacheFiles[i].delete()) {
+                    LOGGER.fine("failed to delete " + cacheFiles[i]);
+                }
+            }
+        }
+    }
+
+    File getCacheFile(File logFile) {
+        String path = getPath(logFile);
+        return new File(cacheDirectory,
+                UUID.nameUUIDFromBytes(path.getBytes(StandardCharsets.UTF_8)).toString() + FILE_SUFFIX);
+    }
+
+    private String getPath(File logFile) {
+        try {
+            return logFile.getCanonicalPath();
+        }
+        catch (IOException e) {
+            return logFile.getAbsolutePath();
+        }
+    }
+
+    private ByteBuffer readFully(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("unexpected end of " + path);
+                }
+            }
+            ((Buffer) buffer).flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Calculates the checksum of the bytes between <code>from</code> and <code>to</code>, but at most
+     * {@value #CHECKSUM_WINDOW} bytes starting at <code>from</code>.
+     */
+    private long checksum(File file, long from, long to) throws IOException {
+        from = Math.max(0, from);
+        int length = (int) Math.min(CHECKSUM_WINDOW, to - from);
+        CRC32 crc = new CRC32();
+        if (length > 0) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(length);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, from + buffer.position()) < 0) {
+                        throw new IOException("unexpected end of " + file);
+                    }
+                }
+                crc.update(buffer.array());
+            }
+        }
+
+        return crc.getValue();
+    }
+
+    private static int indexOf(GCModel.Format format) {
+        for (int i = 0; i < FORMATS.length; ++i) {
+            if (FORMATS[i] == format) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private GCModel readModel(ByteBuffer buffer) {
+        GCModel model = new GCModel();
+        int formatIndex = buffer.getInt();
+        if (formatIndex >= 0 && formatIndex < FORMATS.length) {
+            model.setFormat(FORMATS[formatIndex]);
+        }
+
+        Columns columns = Columns.read(buffer);
+        AbstractGCEvent<?>[] events = columns.createEvents();
+        for (int row = 0; row < events.length; ++row) {
+            if (columns.parent[row] < 0) {
+                model.restore(events[row]);
+            }
+        }
+
+        return model;
+    }
+
+    /**
+     * Cached events of one file.
+     */
+    public static class Entry {
+        private final GCModel model;
+        private final long parsedLength;
+        private final String readerClassName;
+
+        public Entry(GCModel model, long parsedLength, String readerClassName) {
+            this.model = model;
+            this.parsedLength = parsedLength;
+            this.readerClassName = readerClassName;
+        }
+
+        /**
+         * @return model containing all cached events
+         */
+        public GCModel getModel() {
+            return model;
+        }
+
+        /**
+         * @return number of bytes of the log file, that are contained in the model
+         */
+        public long getParsedLength() {
+            return parsedLength;
+        }
+
+        /**
+         * @return class name of the {@link DataReader} for data appended to the log file or an empty string, if
+         * the whole file must be parsed again in that case
+         */
+        public String getReaderClassName() {
+            return readerClassName;
+        }
+    }
+
+    /**
+     * The same information as <code>GCModel.FileInformation</code>.
+     */
+    private static class FileState {
+        private final long length;
+        private final long lastModified;
+        private final long creationTime;
+
+        public FileState(File file) throws IOException {
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+            this.creationTime = Files.readAttributes(file.toPath(), BasicFileAttributes.class).creationTime().toMillis();
+        }
+    }
+
+    /**
+     * Events and their details in columnar form; details follow their parent event directly (depth first).
+     */
+    private static class Columns {
+        private int size;
+        private byte[] kind;
+        private int[] parent;
+        private int[] type;
+        private double[] timestamp;
+        private double[] pause;
+        private int[] preUsed;
+        private int[] postUsed;
+        private int[] total;
+        private int[] number;
+        private long[] dateSeconds;
+        private int[] dateNanos;
+        private int[] dateZone;
+        private double[] duration;
+
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIndex = new HashMap<>();
+        /** pairs of (type name, full name) as indices into <code>strings</code> */
+        private int[] types = new int[16];
+        private int typeCount;
+        private final Map<String, Integer> typeIndex = new HashMap<>();
+
+        public Columns(int capacity) {
+            allocate(Math.max(capacity, 16));
+        }
+
+        private void allocate(int capacity) {
+            kind = Arrays.copyOf(kind != null ? kind : new byte[0], capacity);
+            parent = copyOf(parent, capacity);
+            type = copyOf(type, capacity);
+            timestamp = copyOf(timestamp, capacity);
+            pause = copyOf(pause, capacity);
+            preUsed = copyOf(preUsed, capacity);
+            postUsed = copyOf(postUsed, capacity);
+            total = copyOf(total, capacity);
+            number = copyOf(number, capacity);
+            dateSeconds = dateSeconds != null ? Arrays.copyOf(dateSeconds, capacity) : new long[capacity];
+            dateNanos = copyOf(dateNanos, capacity);
+            dateZone = copyOf(dateZone, capacity);
+            duration = copyOf(duration, capacity);
+        }
+
+        private static int[] copyOf(int[] values, int capacity) {
+            return values != null ? Arrays.copyOf(values, capacity) : new int[capacity];
+        }
+
+        private static double[] copyOf(double[] values, int capacity) {
+            return values != null ? Arrays.copyOf(values, capacity) : new double[capacity];
+        }
+
+        /**
+         * Adds <code>event</code> and all its details.
+         *
+         * @return <code>false</code>, if <code>event</code> can't be restored from the cache
+         */
+        public boolean add(AbstractGCEvent<?> event, int parentRow) {
+            byte eventKind = kindOf(event);
+            ExtendedType extendedType = event.getExtendedType();
+            Type eventType = extendedType.getType();
+            if (eventKind < 0 || Type.lookup(eventType.getName()) != eventType) {
+                LOGGER.fine("can't cache event " + event);
+                return false;
+            }
+
+            if (size == kind.length) {
+                allocate(size * 2);
+            }
+            int row = size++;
+            kind[row] = eventKind;
+            parent[row] = parentRow;
+            type[row] = typeIndexOf(eventType.getName(), extendedType.getName());
+            timestamp[row] = event.getTimestamp();
+            pause[row] = event.getPause();
+            preUsed[row] = event.getPreUsed();
+            postUsed[row] = event.getPostUsed();
+            total[row] = event.getTotal();
+            number[row] = event.getNumber();
+            if (event.hasDatestamp()) {
+                dateSeconds[row] = Math.floorDiv(event.getDatestampMillis(), 1000);
+                dateNanos[row] = (int) Math.floorMod(event.getDatestampMillis(), 1000) * 1000000;
+                dateZone[row] = stringIndexOf(event.getDatestampZone().getId());
+            }
+            else {
+                dateZone[row] = -1;
+            }
+            duration[row] = event instanceof ConcurrentGCEvent ? ((ConcurrentGCEvent) event).getDuration() : 0;
+
+            for (Iterator<?> details = event.details(); details.hasNext(); ) {
+                if (!add((AbstractGCEvent<?>) details.next(), row)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static byte kindOf(AbstractGCEvent<?> event) {
+            Class<?> eventClass = event.getClass();
+            if (eventClass == GCEvent.class) {
+                return KIND_GC_EVENT;
+            }
+            else if (eventClass == G1GcEvent.class) {
+                return KIND_G1_GC_EVENT;
+            }
+            else if (eventClass == GCEventUJL.class) {
+                return KIND_GC_EVENT_UJL;
+            }
+            else if (eventClass == ConcurrentGCEvent.class) {
+                return KIND_CONCURRENT_GC_EVENT;
+            }
+            else if (eventClass == VmOperationEvent.class) {
+                return KIND_VM_OPERATION_EVENT;
+            }
+
+            return -1;
+        }
+
+        private int stringIndexOf(String s) {
+            Integer index = stringIndex.get(s);
+            if (index == null) {
+                index = strings.size();
+                strings.add(s);
+                stringIndex.put(s, index);
+            }
+
+            return index;
+        }
+
+        private int typeIndexOf(String typeName, String fullName) {
+            Integer index = typeIndex.get(fullName);
+            if (index == null) {
+                index = typeCount++;
+                if (types.length < typeCount * 2) {
+                    types = Arrays.copyOf(types, types.length * 2);
+                }
+                types[index * 2] = stringIndexOf(typeName);
+                types[index * 2 + 1] = stringIndexOf(fullName);
+                typeIndex.put(fullName, index);
+            }
+
+            return index;
+        }
+
+        /**
+         * @return number of bytes needed by {@link #write(ByteBuffer)}
+         */
+        public int size() {
+            int bytes = 4;
+            for (String s : strings) {
+                bytes += 4 + s.getBytes(StandardCharsets.UTF_8).length;
+            }
+            bytes += 4 + typeCount * 8;
+            bytes += 4 + size * (1 + 8 * 4 + 4 * 8);
+            return bytes;
+        }
+
+        public void write(ByteBuffer buffer) {
+            buffer.putInt(strings.size());
+            for (String s : strings) {
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(bytes.length).put(bytes);
+            }
+            buffer.putInt(typeCount);
+            for (int i = 0; i < typeCount * 2; ++i) {
+                buffer.putInt(types[i]);
+            }
+
+            buffer.putInt(size);
+            buffer.put(kind, 0, size);
+            putInts(buffer, parent);
+            putInts(buffer, type);
+            putDoubles(buffer, timestamp);
+            putDoubles(buffer, pause);
+            putInts(buffer, preUsed);
+            putInts(buffer, postUsed);
+            putInts(buffer, total);
+            putInts(buffer, number);
+            buffer.asLongBuffer().put(dateSeconds, 0, size);
+            ((Buffer) buffer).position(buffer.position() + size * 8);
+            putInts(buffer, dateNanos);
+            putInts(buffer, dateZone);
+            putDoubles(buffer, duration);
+        }
+
+        private void putInts(ByteBuffer buffer, int[] values) {
+            buffer.asIntBuffer().put(values, 0, size);
+            ((Buffer) buffer).position(buffer.position() + size * 4);
+        }
+
+        private void putDoubles(ByteBuffer buffer, double[] values) {
+            buffer.asDoubleBuffer().put(values, 0, size);
+            ((Buffer) buffer).position(buffer.position() + size * 8);
+        }
+
+        public static Columns read(ByteBuffer buffer) {
+            Columns columns = new Columns(0);
+            int stringCount = buffer.getInt();
+            for (int i = 0; i < stringCount; ++i) {
+                columns.strings.add(getString(buffer));
+            }
+            columns.typeCount = buffer.getInt();
+            columns.types = getInts(buffer, columns.typeCount * 2);
+
+            int size = buffer.getInt();
+            columns.size = size;
+            columns.kind = new byte[size];
+            buffer.get(columns.kind);
+            columns.parent = getInts(buffer, size);
+            columns.type = getInts(buffer, size);
+            columns.timestamp = getDoubles(buffer, size);
+            columns.pause = getDoubles(buffer, size);
+            columns.preUsed = getInts(buffer, size);
+            columns.postUsed = getInts(buffer, size);
+            columns.total = getInts(buffer, size);
+            columns.number = getInts(buffer, size);
+            columns.dateSeconds = new long[size];
+            buffer.asLongBuffer().get(columns.dateSeconds);
+            ((Buffer) buffer).position(buffer.position() + size * 8);
+            columns.dateNanos = getInts(buffer, size);
+            columns.dateZone = getInts(buffer, size);
+            columns.duration = getDoubles(buffer, size);
+
+            return columns;
+        }
+
+        private static int[] getInts(ByteBuffer buffer, int size) {
+            int[] values = new int[size];
+            buffer.asIntBuffer().get(values);
+            ((Buffer) buffer).position(buffer.position() + size * 4);
+            return values;
+        }
+
+        private static double[] getDoubles(ByteBuffer buffer, int size) {
+            double[] values = new double[size];
+            buffer.asDoubleBuffer().get(values);
+            ((Buffer) buffer).position(buffer.position() + size * 8);
+            return values;
+        }
+
+        /**
+         * Creates the events of all rows; details are already added to their parents.
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public AbstractGCEvent<?>[] createEvents() {
+            ExtendedType[] extendedTypes = new ExtendedType[typeCount];
+            for (int i = 0; i < typeCount; ++i) {
+                Type eventType = Type.lookup(strings.get(types[i * 2]));
+                if (eventType == null) {
+                    throw new IllegalStateException("unknown type " + strings.get(types[i * 2]));
+                }
+                extendedTypes[i] = ExtendedType.lookup(eventType, strings.get(types[i * 2 + 1]));
+            }
+            Map<Integer, ZoneId> zones = new HashMap<>();
+
+            AbstractGCEvent<?>[] events = new AbstractGCEvent<?>[size];
+            // linked lists of the details of every row
+            int[] firstDetail = new int[size];
+            int[] nextDetail = new int[size];
+            Arrays.fill(firstDetail, -1);
+
+            // rows are created backwards, so all details are complete, when they are added to their parent
+            for (int row = size - 1; row >= 0; --row) {
+                AbstractGCEvent event = newEvent(kind[row]);
+                event.setExtendedType(extendedTypes[type[row]]);
+                event.setTimestamp(timestamp[row]);
+                event.setPause(pause[row]);
+                event.setPreUsed(preUsed[row]);
+                event.setPostUsed(postUsed[row]);
+                event.setTotal(total[row]);
+                event.setNumber(number[row]);
+                if (dateZone[row] >= 0) {
+                    ZoneId zone = zones.computeIfAbsent(dateZone[row], index -> ZoneId.of(strings.get(index)));
+                    event.setDateStamp(dateSeconds[row] * 1000 + dateNanos[row] / 1000000, zone);
+                }
+                if (event instanceof ConcurrentGCEvent) {
+                    ((ConcurrentGCEvent) event).setDuration(duration[row]);
+                }
+                for (int detail = firstDetail[row]; detail >= 0; detail = nextDetail[detail]) {
+                    event.add(events[detail]);
+                }
+                if (parent[row] >= 0) {
+                    nextDetail[row] = firstDetail[parent[row]];
+                    firstDetail[parent[row]] = row;
+                }
+                events[row] = event;
+            }
+
+            return events;
+        }
+
+        private static AbstractGCEvent<?> newEvent(byte eventKind) {
+            switch (eventKind) {
+                case KIND_GC_EVENT:
+                    return new GCEvent();
+                case KIND_G1_GC_EVENT:
+                    return new G1GcEvent();
+                case KIND_GC_EVENT_UJL:
+                    return new GCEventUJL();
+                case KIND_CONCURRENT_GC_EVENT:
+                    return new ConcurrentGCEvent();
+                case KIND_VM_OPERATION_EVENT:
+                    return new VmOperationEvent();
+                default:
+                    throw new IllegalStateException("unknown kind of event: " + eventKind);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.InputStream;
+
+/**
+ * Gzip codec; files in the blocked gzip format (BGZF, written by bgzip) are decompressed in parallel, all other
+ * gzip files sequentially.
+ */
+class GzipCodec implements CompressionCodec {
+
+    private static final byte[] MAGIC = {0x1f, (byte) 0x8b};
+
+    @Override
+    public String getName() {
+        return "GZip";
+    }
+
+    @Override
+    public boolean matches(byte[] header, int length) {
+        return CompressionCodecs.startsWith(header, length, MAGIC);
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) {
+        return new ParallelGzipInputStream(in, Runtime.getRuntime().availableProcessors());
+    }
+}
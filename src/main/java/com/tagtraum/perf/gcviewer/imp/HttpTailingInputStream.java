@@ -0,0 +1,224 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import com.tagtraum.perf.gcviewer.util.HttpUrlConnectionHelper;
+
+/**
+ * InputStream reading a log over http, that is still being written to. The first request reads the whole log;
+ * {@link #refresh()} only requests the bytes after the last complete line read so far ("Range" request). The
+ * request starts {@value #CHECK_LENGTH} bytes earlier; these bytes must be the same as the last ones read before,
+ * otherwise the log was replaced. ETag and Last-Modified can't be used to detect this, because they change with
+ * every line appended. If the server doesn't support ranges or the log was replaced or truncated,
+ * {@link #refresh()} returns <code>false</code> and the log must be read again completely.
+ *
+ * <p>Like {@link TailingFileInputStream}, only complete lines are returned. Compressed logs can't be continued:
+ * they are returned completely, but {@link #refresh()} always returns <code>false</code>.</p>
+ */
+public class HttpTailingInputStream extends AbstractTailingInputStream {
+
+    private static final Logger LOGGER = Logger.getLogger(HttpTailingInputStream.class.getName());
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** number of bytes before the current position, which are requested again to check, the log wasn't replaced */
+    static final int CHECK_LENGTH = 64;
+
+    private final URL url;
+    private final long contentLength;
+    private InputStream body;
+    private long position;
+    private Boolean isCompressed;
+
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferStart;
+    private int bufferEnd;
+    /** end of the last complete line in the buffer */
+    private int lineEnd;
+    /** last bytes returned by {@link #read(byte[], int, int)} (at most {@value #CHECK_LENGTH}) */
+    private final byte[] lastBytes = new byte[CHECK_LENGTH];
+    private int lastBytesLength;
+
+    /**
+     * Requests the whole log.
+     *
+     * @param url url of the log
+     * @throws IOException problem reading the log
+     */
+    public HttpTailingInputStream(URL url) throws IOException {
+        super();
+
+        this.url = url;
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        AtomicLong atomicContentLength = new AtomicLong();
+        this.body = HttpUrlConnectionHelper.openInputStream(connection, HttpUrlConnectionHelper.GZIP, atomicContentLength);
+        this.contentLength = atomicContentLength.get();
+    }
+
+    /**
+     * @return length of the content of the first response (-1, if unknown)
+     */
+    public long getContentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public boolean refresh() throws IOException {
+        if (Boolean.TRUE.equals(isCompressed)) {
+            return false;
+        }
+
+        closeBody();
+        int checkLength = lastBytesLength;
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        InputStream in = HttpUrlConnectionHelper.openRangeInputStream(connection, position - checkLength);
+        if (in == null) {
+            LOGGER.info(url + " can't be read from position " + position + " -> it must be read completely");
+            return false;
+        }
+        if (!startsWithLastBytes(in, checkLength)) {
+            in.close();
+            LOGGER.info(url + " was replaced -> it must be read completely");
+            return false;
+        }
+
+        // an incomplete line at the end was requested again
+        body = in;
+        bufferStart = 0;
+        bufferEnd = 0;
+        lineEnd = 0;
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (bufferStart == lineEnd) {
+            if (!fill()) {
+                return -1;
+            }
+        }
+
+        int n = Math.min(len, lineEnd - bufferStart);
+        System.arraycopy(buffer, bufferStart, b, off, n);
+        rememberLastBytes(b, off, n);
+        bufferStart += n;
+        position += n;
+        return n;
+    }
+
+    private void rememberLastBytes(byte[] b, int off, int n) {
+        if (n >= lastBytes.length) {
+            System.arraycopy(b, off + n - lastBytes.length, lastBytes, 0, lastBytes.length);
+            lastBytesLength = lastBytes.length;
+        }
+        else {
+            int keep = Math.min(lastBytesLength, lastBytes.length - n);
+            System.arraycopy(lastBytes, lastBytesLength - keep, lastBytes, 0, keep);
+            System.arraycopy(b, off, lastBytes, keep, n);
+            lastBytesLength = keep + n;
+        }
+    }
+
+    /**
+     * Reads <code>length</code> bytes from <code>in</code> and compares them with the last bytes read before.
+     *
+     * @return <code>true</code>, if they are the same
+     */
+    private boolean startsWithLastBytes(InputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int count = 0;
+        while (count < length) {
+            int n = in.read(bytes, count, length - count);
+            if (n < 0) {
+                return false;
+            }
+            count += n;
+        }
+
+        return Arrays.equals(bytes, Arrays.copyOf(lastBytes, length));
+    }
+
+    /**
+     * Reads more data from the body of the current response.
+     *
+     * @return <code>false</code>, if the end of the body was reached
+     */
+    private boolean fill() throws IOException {
+        if (body == null) {
+            return false;
+        }
+
+        if (bufferStart > 0) {
+            System.arraycopy(buffer, bufferStart, buffer, 0, bufferEnd - bufferStart);
+            bufferEnd -= bufferStart;
+            lineEnd -= bufferStart;
+            bufferStart = 0;
+        }
+        if (bufferEnd == buffer.length) {
+            // line longer than the buffer
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        int n = body.read(buffer, bufferEnd, buffer.length - bufferEnd);
+        if (n < 0) {
+            closeBody();
+            if (!Boolean.FALSE.equals(isCompressed)) {
+                // too short to be checked -> deliver everything
+                lineEnd = bufferEnd;
+            }
+            return lineEnd > bufferStart;
+        }
+
+        bufferEnd += n;
+        if (isCompressed == null && bufferEnd >= CompressionCodecs.HEADER_LENGTH) {
+            isCompressed = CompressionCodecs.find(buffer, bufferEnd) != null;
+        }
+        if (Boolean.TRUE.equals(isCompressed)) {
+            lineEnd = bufferEnd;
+        }
+        else if (isCompressed != null) {
+            for (int i = bufferEnd - 1; i >= lineEnd; --i) {
+                if (buffer[i] == '\n') {
+                    lineEnd = i + 1;
+                    break;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void closeBody() throws IOException {
+        if (body != null) {
+            body.close();
+            body = null;
+        }
+    }
+
+    /**
+     * Releases the current response; this stream can still be read after {@link #refresh()}.
+     */
+    @Override
+    public void close() throws IOException {
+        closeBody();
+    }
+}
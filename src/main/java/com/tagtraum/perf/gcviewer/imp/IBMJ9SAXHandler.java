@@ -46,6 +46,16 @@ public class IBMJ9SAXHandler extends DefaultHandler {
     private Logger getLogger() {
         return gcResource.getLogger();
     }
+
+    /**
+     * Reports an element, that could not be handled; logs a warning by default. The reader using this handler
+     * overrides it to report similar problems together.
+     *
+     * @param message description of the problem
+     */
+    protected void addParseError(String message) {
+        getLogger().warning(message);
+    }
     
     protected Date parseTime(String ts) throws ParseException {
         try {
@@ -152,7 +162,7 @@ public class IBMJ9SAXHandler extends DefaultHandler {
                         currentAF.afterTotalBytes = total;
                     } 
                     else {
-                        getLogger().warning("currentTenured is > 3!");
+                        addParseError("currentTenured is > 3!");
                     }
                 }
                 else if ("soa".equals(qName)) {
@@ -179,7 +189,7 @@ public class IBMJ9SAXHandler extends DefaultHandler {
                         currentAF.afterSOATotalBytes = total;
                     }
                     else {
-                        getLogger().warning("currentTenured is > 3!");
+                        addParseError("currentTenured is > 3!");
                     }
                 } 
                 else if ("loa".equals(qName)) {
@@ -206,14 +216,14 @@ public class IBMJ9SAXHandler extends DefaultHandler {
                         currentAF.afterLOATotalBytes = total;
                     } 
                     else {
-                        getLogger().warning("currentTenured is > 3!");
+                        addParseError("currentTenured is > 3!");
                     }
                 }
             }
 
         } 
         catch (ParseException e) {
-            e.printStackTrace();
+            addParseError(e.toString());
         }
     }
 
@@ -225,10 +235,10 @@ public class IBMJ9SAXHandler extends DefaultHandler {
             if (currentAF != null) {
                 GCEvent event = new GCEvent();
                 if (!"tenured".equals(currentAF.type)) {
-                    getLogger().warning("Unhandled AF type: " + currentAF.type);
+                    addParseError("Unhandled AF type: " + currentAF.type);
                 }
                 if (!"global".equals(currentAF.gcType)) {
-                    getLogger().warning("Different GC type: " + currentAF.gcType);
+                    addParseError("Different GC type: " + currentAF.gcType);
                 } 
                 else {
                     event.setType(AbstractGCEvent.Type.FULL_GC);
@@ -287,7 +297,7 @@ public class IBMJ9SAXHandler extends DefaultHandler {
                 currentAF = null;
             } 
             else {
-                getLogger().warning("Found end <af> tag with no begin tag");
+                addParseError("Found end <af> tag with no begin tag");
             }
 
         }
@@ -0,0 +1,33 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.IOException;
+
+import com.tagtraum.perf.gcviewer.model.GCModel;
+
+/**
+ * {@link DataReader}, which can continue reading after more data was appended to its underlying input. All parser
+ * state is kept between the calls to {@link #readIncrement()}.
+ *
+ * @see TailingFileInputStream
+ */
+public interface IncrementalDataReader extends DataReader {
+
+    /**
+     * Reads all data currently available from the underlying input without closing it. Calling this method again
+     * continues where the last call stopped.
+     *
+     * @return GCModel containing only the events read during this call
+     * @throws IOException problem reading the input
+     */
+    GCModel readIncrement() throws IOException;
+
+    /**
+     * Returns <code>true</code>, if a new reader can continue reading where this reader has stopped, because no
+     * information from the lines read so far (e.g. from the header of the file) is needed to parse the next lines.
+     *
+     * @return <code>true</code>, if the rest of the input can be read by a new reader
+     */
+    default boolean isContinuableByNewReader() {
+        return true;
+    }
+}
@@ -0,0 +1,365 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.ServerSocket;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.tagtraum.perf.gcviewer.model.GcResourceStream;
+
+/**
+ * InputStream reading a log, that is written while it is read (standard input, named pipe or socket; see
+ * {@link GcResourceStream}). A background thread reads the source into a buffer of fixed size; when the buffer is
+ * full, the thread stops reading, so that the writer of the log is slowed down, instead of memory being filled up.
+ *
+ * <p>Like {@link TailingFileInputStream}, only complete lines are returned and end of file is signalled, when no
+ * more complete lines are available at the moment; {@link #awaitData(long)} waits for the next lines. If the
+ * stream is {@link #setBlocking(boolean) blocking}, reads wait for more data instead, until the source is closed.</p>
+ */
+public class LiveInputStream extends AbstractTailingInputStream {
+
+    static final int DEFAULT_CAPACITY = 1024 * 1024;
+    private static final int READ_SIZE = 64 * 1024;
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger(1);
+
+    private final Callable<InputStream> source;
+    /** closed together with this stream (e.g. the server socket, that is still waiting for a connection) */
+    private final Closeable resource;
+
+    // all fields below are guarded by "this"
+    private final byte[] buffer;
+    private int start;
+    private int end;
+    /** end of the last complete line in the buffer */
+    private int lineEnd;
+    private int markPosition = -1;
+    private int markLimit;
+    private long position;
+    private InputStream sourceStream;
+    private boolean isSourceClosed;
+    private IOException sourceException;
+    private boolean isClosed;
+    private boolean isBlocking;
+
+    /**
+     * @param source opens the stream to be read (called in the background thread, because it may block until the
+     * writer has connected)
+     * @param resource closed, when this stream is closed; may be <code>null</code>
+     * @param capacity maximum number of bytes buffered
+     */
+    LiveInputStream(Callable<InputStream> source, Closeable resource, int capacity) {
+        super();
+
+        this.source = source;
+        this.resource = resource;
+        this.buffer = new byte[capacity];
+
+        Thread thread = new Thread(this::pump, "gcviewer-live-" + THREAD_NUMBER.getAndIncrement());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Starts reading <code>gcResource</code>. A socket is bound immediately, but the connection is accepted in the
+     * background; a named pipe is opened in the background as well (opening blocks until the writer opens it).
+     *
+     * @param gcResource stream to be read
+     * @return stream delivering the lines of <code>gcResource</code> while they arrive
+     * @throws IOException the socket could not be bound
+     */
+    public static LiveInputStream open(GcResourceStream gcResource) throws IOException {
+        if (gcResource.isStdin()) {
+            // System.in must not be closed, when reading is stopped
+            return new LiveInputStream(() -> new FilterInputStream(System.in) {
+                @Override
+                public void close() {
+                }
+            }, null, DEFAULT_CAPACITY);
+        }
+        else if (gcResource.isSocket()) {
+            ServerSocket serverSocket = new ServerSocket();
+            serverSocket.bind(gcResource.getSocketAddress(), 1);
+            gcResource.getLogger().info("waiting for connection on " + serverSocket.getLocalSocketAddress());
+            return new LiveInputStream(() -> {
+                try (ServerSocket listening = serverSocket) {
+                    // only one log is read
+                    return listening.accept().getInputStream();
+                }
+            }, serverSocket, DEFAULT_CAPACITY);
+        }
+        else {
+            return new LiveInputStream(() -> new FileInputStream(gcResource.getFile()), null, DEFAULT_CAPACITY);
+        }
+    }
+
+    private void pump() {
+        InputStream in = null;
+        try {
+            in = source.call();
+            synchronized (this) {
+                if (isClosed) {
+                    return;
+                }
+                sourceStream = in;
+            }
+
+            byte[] chunk = new byte[READ_SIZE];
+            int length;
+            while ((length = in.read(chunk)) >= 0 && put(chunk, length)) {
+                // put() waits, while the buffer is full
+            }
+        }
+        catch (InterruptedIOException e) {
+            // closed -> nobody reads any more
+        }
+        catch (Exception e) {
+            synchronized (this) {
+                if (!isClosed) {
+                    sourceException = e instanceof IOException ? (IOException) e : new IOException(e);
+                }
+            }
+        }
+        finally {
+            synchronized (this) {
+                isSourceClosed = true;
+                // an incomplete last line is delivered as well
+                lineEnd = end;
+                notifyAll();
+            }
+            closeQuietly(in);
+        }
+    }
+
+    /**
+     * Appends <code>length</code> bytes of <code>chunk</code> to the buffer waiting for free space, if needed.
+     *
+     * @return <code>false</code>, if this stream was closed
+     */
+    private synchronized boolean put(byte[] chunk, int length) throws InterruptedIOException {
+        int offset = 0;
+        while (offset < length) {
+            compact();
+            while (!isClosed && end == buffer.length) {
+                if (lineEnd == start) {
+                    // line longer than the buffer -> deliver what is there
+                    lineEnd = end;
+                    notifyAll();
+                }
+                waitForChange(0);
+                compact();
+            }
+            if (isClosed) {
+                return false;
+            }
+
+            int count = Math.min(length - offset, buffer.length - end);
+            System.arraycopy(chunk, offset, buffer, end, count);
+            for (int i = end + count - 1; i >= end; --i) {
+                if (buffer[i] == '\n') {
+                    lineEnd = i + 1;
+                    break;
+                }
+            }
+            end += count;
+            offset += count;
+            notifyAll();
+        }
+
+        return true;
+    }
+
+    /**
+     * Discards all bytes, that were read and are not needed for {@link #reset()} any more.
+     */
+    private void compact() {
+        int discard = markPosition >= 0 ? Math.min(markPosition, start) : start;
+        if (discard > 0) {
+            System.arraycopy(buffer, discard, buffer, 0, end - discard);
+            start -= discard;
+            end -= discard;
+            lineEnd -= discard;
+            if (markPosition >= 0) {
+                markPosition -= discard;
+            }
+        }
+    }
+
+    private void waitForChange(long timeoutMillis) throws InterruptedIOException {
+        try {
+            wait(timeoutMillis);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for log data");
+        }
+    }
+
+    /**
+     * Waits until complete lines are available for reading or the source was closed.
+     *
+     * @param timeoutMillis maximum time to wait
+     * @return <code>true</code>, if data can be read now
+     * @throws IOException reading the source failed (thrown, when all data read before was consumed) or the current
+     * thread was interrupted
+     */
+    public boolean awaitData(long timeoutMillis) throws IOException {
+        return awaitData(1, timeoutMillis);
+    }
+
+    /**
+     * Waits until at least <code>minAvailable</code> bytes of complete lines are available for reading or the
+     * source was closed.
+     *
+     * @param minAvailable number of bytes to wait for
+     * @param timeoutMillis maximum time to wait
+     * @return <code>true</code>, if at least <code>minAvailable</code> bytes can be read now
+     * @throws IOException reading the source failed (thrown, when all data read before was consumed) or the current
+     * thread was interrupted
+     */
+    public synchronized boolean awaitData(int minAvailable, long timeoutMillis) throws IOException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (lineEnd - start < minAvailable && !isSourceClosed && !isClosed && remaining > 0) {
+            waitForChange(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        if (start == lineEnd && sourceException != null) {
+            IOException e = sourceException;
+            sourceException = null;
+            throw e;
+        }
+
+        return lineEnd - start >= minAvailable;
+    }
+
+    /**
+     * @return <code>true</code>, if the writer has closed the source (there may still be data left to be read)
+     */
+    public synchronized boolean isSourceClosed() {
+        return isSourceClosed;
+    }
+
+    /**
+     * @return <code>true</code>, if the source was closed and everything was read (or this stream was closed)
+     */
+    public synchronized boolean isFinished() {
+        return isClosed || (isSourceClosed && start == end && sourceException == null);
+    }
+
+    /**
+     * If set to <code>true</code>, reads wait until more data is available or the source is closed, so the whole
+     * log can be read by readers, which don't support reading increments.
+     *
+     * @param isBlocking <code>true</code>, if reads should wait for more data
+     */
+    public synchronized void setBlocking(boolean isBlocking) {
+        this.isBlocking = isBlocking;
+    }
+
+    @Override
+    public synchronized long getPosition() {
+        return position;
+    }
+
+    /**
+     * Data is made available as soon as it arrives; there is nothing to refresh.
+     *
+     * @return <code>false</code>, if this stream was closed
+     */
+    @Override
+    public synchronized boolean refresh() {
+        return !isClosed;
+    }
+
+    @Override
+    public synchronized int available() {
+        return lineEnd - start;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (isBlocking && start == lineEnd && !isSourceClosed && !isClosed) {
+            waitForChange(0);
+        }
+        if (start == lineEnd) {
+            return -1;
+        }
+
+        int n = Math.min(len, lineEnd - start);
+        System.arraycopy(buffer, start, b, off, n);
+        start += n;
+        position += n;
+        if (markPosition >= 0 && start - markPosition > markLimit) {
+            markPosition = -1;
+        }
+        notifyAll();
+        return n;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    /**
+     * Marks the current position; at most half of the buffer is kept for {@link #reset()}, so the source can still
+     * be read, while the mark is valid.
+     */
+    @Override
+    public synchronized void mark(int readlimit) {
+        markPosition = start;
+        markLimit = Math.min(readlimit, buffer.length / 2);
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        if (markPosition < 0) {
+            throw new IOException("Resetting to invalid mark");
+        }
+
+        position -= start - markPosition;
+        start = markPosition;
+    }
+
+    /**
+     * Stops reading the source and releases it.
+     */
+    @Override
+    public void close() throws IOException {
+        InputStream in;
+        synchronized (this) {
+            isClosed = true;
+            in = sourceStream;
+            notifyAll();
+        }
+
+        closeQuietly(resource);
+        closeQuietly(in);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            }
+            catch (IOException e) {
+                // nothing more to be done
+            }
+        }
+    }
+}
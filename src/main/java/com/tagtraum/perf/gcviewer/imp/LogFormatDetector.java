@@ -0,0 +1,422 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.tagtraum.perf.gcviewer.model.GCResource;
+
+/**
+ * Detects the format of a gc log from a sample of its first bytes. All markers of all formats are searched at once
+ * using one {@link MultiPatternMatcher}, while the sample is fed in chunks using {@link #scan(byte[], int, int)};
+ * only markers in complete lines are taken into account. {@link #detect()} applies the rules of the formats in a
+ * fixed order (more specific formats first) and scores the result: the confidence is the share of the markers found,
+ * that belong to the family of the detected format.
+ */
+class LogFormatDetector {
+
+    /** lines longer than this are taken into account, even if they are not complete yet */
+    static final int MAX_LINE_LENGTH = 3 * 1024;
+    private static final MultiPatternMatcher MATCHER = createMatcher();
+
+    private final int[] counts = new int[Marker.values().length];
+    private final long[] firstPositions = new long[Marker.values().length];
+    private final long[] lastPositions = new long[Marker.values().length];
+
+    /** markers found in the current line */
+    private final int[] pendingCounts = new int[Marker.values().length];
+    private final long[] pendingFirstPositions = new long[Marker.values().length];
+    private final long[] pendingLastPositions = new long[Marker.values().length];
+    private boolean hasPending;
+
+    private final byte[] head = new byte[MAX_LINE_LENGTH];
+    private int headLength;
+    private int state = MultiPatternMatcher.START;
+    private long position;
+    private long lineStart;
+
+    public LogFormatDetector() {
+        super();
+
+        Arrays.fill(firstPositions, -1);
+        Arrays.fill(lastPositions, -1);
+    }
+
+    private static MultiPatternMatcher createMatcher() {
+        Marker[] markers = Marker.values();
+        String[] patterns = new String[markers.length];
+        for (Marker marker : markers) {
+            patterns[marker.ordinal()] = marker.pattern;
+        }
+
+        return new MultiPatternMatcher(patterns);
+    }
+
+    /**
+     * Searches the next part of the sample for markers.
+     *
+     * @param buffer buffer containing the next part of the sample
+     * @param offset start of the sample in <code>buffer</code>
+     * @param length number of bytes to be scanned
+     */
+    public void scan(byte[] buffer, int offset, int length) {
+        if (headLength < head.length) {
+            int headPart = Math.min(length, head.length - headLength);
+            System.arraycopy(buffer, offset, head, headLength, headPart);
+            headLength += headPart;
+        }
+
+        for (int i = offset; i < offset + length; ++i) {
+            byte b = buffer[i];
+            state = MATCHER.next(state, b);
+            for (int pattern : MATCHER.getMatches(state)) {
+                long start = position - MATCHER.getPattern(pattern).length() + 1;
+                if (pendingCounts[pattern]++ == 0) {
+                    pendingFirstPositions[pattern] = start;
+                }
+                pendingLastPositions[pattern] = start;
+                hasPending = true;
+            }
+
+            ++position;
+            if (b == '\n' || position - lineStart >= MAX_LINE_LENGTH) {
+                lineStart = position;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Takes the last line into account, even if it is not terminated.
+     */
+    public void finish() {
+        commit();
+    }
+
+    private void commit() {
+        if (!hasPending) {
+            return;
+        }
+
+        for (int i = 0; i < pendingCounts.length; ++i) {
+            if (pendingCounts[i] > 0) {
+                if (counts[i] == 0) {
+                    firstPositions[i] = pendingFirstPositions[i];
+                }
+                counts[i] += pendingCounts[i];
+                lastPositions[i] = pendingLastPositions[i];
+                pendingCounts[i] = 0;
+            }
+        }
+        hasPending = false;
+    }
+
+    /**
+     * @return format of the sample scanned so far or <code>null</code>, if it can't be determined (yet)
+     */
+    public Detection detect() {
+        LogFormat format = getFormat();
+        if (format == null) {
+            return null;
+        }
+
+        Map<Family, Integer> familyScores = new EnumMap<>(Family.class);
+        int totalScore = 0;
+        for (LogFormat candidate : LogFormat.values()) {
+            int score = getScore(candidate);
+            if (score > familyScores.getOrDefault(candidate.family, 0)) {
+                totalScore += score - familyScores.getOrDefault(candidate.family, 0);
+                familyScores.put(candidate.family, score);
+            }
+        }
+
+        int score = familyScores.getOrDefault(format.family, 0);
+        return new Detection(format, totalScore > 0 ? (double) score / totalScore : 1.0);
+    }
+
+    /**
+     * @return number of evidence markers of <code>format</code> found in the sample
+     */
+    private int getScore(LogFormat format) {
+        int score = 0;
+        for (Marker marker : format.evidence) {
+            score += counts[marker.ordinal()];
+        }
+
+        return score;
+    }
+
+    private LogFormat getFormat() {
+        // if there is a [memory ] somewhere in the first chunk of the logs, it is JRockit
+        if (found(Marker.JROCKIT_MEMORY)) {
+            // skip ahead of <start>-<end>: <type> <before>KB-><after>KB (<heap>KB
+            // (all start report info) to real log to determine JRockit version
+            if (!foundInRealJRockitLog(Marker.ARROW)) {
+                return null; // No GC logs of format 1641728K->148365K (3145728K) yet, read next chunk
+            }
+            // JRockit 1.5 and 1.6 logs look like: [memory ][Tue Nov 13 08:39:01 2012][01684] [OC#1]
+            if (foundInRealJRockitLog(Marker.JROCKIT_YC) || foundInRealJRockitLog(Marker.JROCKIT_OC)) {
+                return LogFormat.JROCKIT_1_6;
+            }
+            else if (!foundInRealJRockitLog(Marker.NEWLINE_MEMORY) && !foundInRealJRockitLog(Marker.INFO_MEMORY)) {
+                // Only JRockit 1.4 can have GC logs with verbose timestamp precedig "[memory ]"
+                //[Wed Nov 16 15:19:38 2005][29147][memory ] 30.485-30.596: GC 23386K->8321K (32768K), 29.223 ms
+                return LogFormat.JROCKIT_1_4_2;
+            }
+            else {
+                // may include some non-verbose JRockit 1.4 logs but should parse correctly as 1.5
+                return LogFormat.JROCKIT_1_5;
+            }
+        }
+        else if (found(Marker.IBM_AF_OR_CON)) {
+            return LogFormat.IBM_1_4_2;
+        }
+        else if (found(Marker.IBM_GC_CYCLE)) {
+            return LogFormat.IBM_1_3_1;
+        }
+        else if (found(Marker.IBM_AF)) {
+            // this should be an IBM JDK < 1.3.0
+            return LogFormat.IBM_1_3_0;
+        }
+        // ...][info][gc       ] Using Shenandoah <or any other gc algorithm in unified jvm logging format>
+        else if (found(Marker.UJL_GC)) {
+            return LogFormat.UNIFIED_JVM_LOGGING;
+        }
+        else if (found(Marker.G1_YOUNG) || found(Marker.G1_ERGONOMICS) || found(Marker.G1_MIXED)) {
+            // G1 logger usually starts with "<timestamp>: [GC pause (young)...]"
+            // but can start with  <timestamp>: [G1Ergonomics (Heap Sizing) expand the heap...
+            // with certain logging flaggs.
+            return LogFormat.SUN_1_6_G1;
+        }
+        else if (found(Marker.TIMES) || found(Marker.SHENANDOAH_INIT_MARK) /* Shenandoah, -XX:-PrintGCDetails */) {
+            // all 1.6 lines end with a block like this "[Times: user=1.13 sys=0.08, real=0.95 secs]"
+            return LogFormat.SUN_1_6;
+        }
+        else if (found(Marker.CMS_INITIAL_MARK) || found(Marker.PS_YOUNG_GEN)) {
+            // format is 1.5, but datareader for 1_6_0 can handle it
+            return LogFormat.SUN_1_5;
+        }
+        else if (found(Marker.COLON_GC)) {
+            // format is 1.4, but datareader for 1_6_0 can handle it
+            return LogFormat.SUN_1_4;
+        }
+        else if (found(Marker.GC) || found(Marker.FULL_GC) || found(Marker.INC_GC)) {
+            return LogFormat.SUN_1_3_1;
+        }
+        else if (found(Marker.SUN_1_2_2)) {
+            return LogFormat.SUN_1_2_2;
+        }
+        else if (firstPositions[Marker.HP_UX.ordinal()] == 0 && getTokenCountOfFirstElement() == 20) {
+            return LogFormat.HP_UX_1_2;
+        }
+        else if (firstPositions[Marker.HP_UX.ordinal()] == 0 && getTokenCountOfFirstElement() == 22) {
+            return LogFormat.HP_UX_1_4_1;
+        }
+        else if (found(Marker.VERBOSEGC) && (found(Marker.J9_R26) || found(Marker.J9_R27) || found(Marker.J9_R28))) {
+            return LogFormat.IBM_J9_R28;
+        }
+        else if (found(Marker.J9_VERSION)) {
+            return LogFormat.IBM_J9_5_0;
+        }
+        else if (found(Marker.I5OS)) {
+            return LogFormat.IBM_I5OS_1_4_2;
+        }
+        else if (found(Marker.GO)) {
+            return LogFormat.GO;
+        }
+
+        return null;
+    }
+
+    private boolean found(Marker marker) {
+        return counts[marker.ordinal()] > 0;
+    }
+
+    /**
+     * @return <code>true</code>, if <code>marker</code> was found after the last "&lt;"
+     */
+    private boolean foundInRealJRockitLog(Marker marker) {
+        return found(marker) && lastPositions[marker.ordinal()] > lastPositions[Marker.LESS_THAN.ordinal()];
+    }
+
+    /**
+     * @return number of space separated tokens up to the first "&gt;" (-1, if there is none in the head)
+     */
+    private int getTokenCountOfFirstElement() {
+        long end = firstPositions[Marker.GREATER_THAN.ordinal()];
+        if (end < 0 || end >= headLength) {
+            return -1;
+        }
+
+        int tokenCount = 0;
+        boolean inToken = false;
+        for (int i = 0; i <= end; ++i) {
+            boolean isSpace = head[i] == ' ';
+            if (!isSpace && !inToken) {
+                ++tokenCount;
+            }
+            inToken = !isSpace;
+        }
+
+        return tokenCount;
+    }
+
+    /**
+     * Groups of formats written by related virtual machines; markers of another family found in a sample lower
+     * the confidence of the detection.
+     */
+    enum Family {
+        JROCKIT, IBM, UNIFIED_JVM_LOGGING, HOTSPOT, GO
+    }
+
+    /**
+     * Strings searched in the sample.
+     */
+    private enum Marker {
+        JROCKIT_MEMORY("[memory ]"),
+        LESS_THAN("<"),
+        ARROW("->"),
+        JROCKIT_YC("[YC#"),
+        JROCKIT_OC("[OC#"),
+        NEWLINE_MEMORY("\n[memory"),
+        INFO_MEMORY("[INFO ][memory"),
+        IBM_AF_OR_CON("since last AF or CON>"),
+        IBM_GC_CYCLE("GC cycle started"),
+        IBM_AF("<AF"),
+        UJL_GC("][gc"),
+        G1_YOUNG(" (young)"),
+        G1_ERGONOMICS("G1Ergonomics"),
+        G1_MIXED(" (mixed)"),
+        TIMES("[Times:"),
+        SHENANDOAH_INIT_MARK("[Pause Init Mark"),
+        CMS_INITIAL_MARK("CMS-initial-mark"),
+        PS_YOUNG_GEN("PSYoungGen"),
+        COLON_GC(": [GC"),
+        GC("[GC"),
+        FULL_GC("[Full GC"),
+        INC_GC("[Inc GC"),
+        SUN_1_2_2("<GC: managing allocation failure: need "),
+        HP_UX("<GC: "),
+        GREATER_THAN(">"),
+        VERBOSEGC("<verbosegc"),
+        J9_R26("version=\"R26_Java6"),
+        J9_R27("version=\"R27_Java7"),
+        J9_R28("version=\"R28_Java8"),
+        J9_VERSION("<verbosegc version=\""),
+        I5OS("starting collection, threshold allocation reached."),
+        GO("\ngc ");
+
+        private final String pattern;
+
+        Marker(String pattern) {
+            this.pattern = pattern;
+        }
+    }
+
+    /**
+     * Formats, that can be detected.
+     */
+    enum LogFormat {
+        JROCKIT_1_6("JRockit 1.6", Family.JROCKIT, DataReaderJRockit1_6_0::new, Marker.JROCKIT_MEMORY),
+        JROCKIT_1_4_2("JRockit 1.4.2", Family.JROCKIT, DataReaderJRockit1_4_2::new, Marker.JROCKIT_MEMORY),
+        JROCKIT_1_5("JRockit 1.5", Family.JROCKIT, DataReaderJRockit1_5_0::new, Marker.JROCKIT_MEMORY),
+        IBM_1_4_2("IBM 1.4.2", Family.IBM, DataReaderIBM1_4_2::new, Marker.IBM_AF_OR_CON),
+        IBM_1_3_1("IBM 1.3.1", Family.IBM, DataReaderIBM1_3_1::new, Marker.IBM_GC_CYCLE),
+        IBM_1_3_0("IBM <1.3.0", Family.IBM, DataReaderIBM1_3_0::new, Marker.IBM_AF),
+        UNIFIED_JVM_LOGGING("Oracle / OpenJDK unified jvm logging", Family.UNIFIED_JVM_LOGGING,
+                DataReaderUnifiedJvmLogging::new, Marker.UJL_GC),
+        SUN_1_6_G1("Sun 1.6.x G1 collector", Family.HOTSPOT,
+                (gcResource, in) -> new DataReaderSun1_6_0G1(gcResource, in, GcLogType.SUN1_6G1),
+                Marker.G1_YOUNG, Marker.G1_ERGONOMICS, Marker.G1_MIXED),
+        SUN_1_6("Sun 1.6.x", Family.HOTSPOT,
+                (gcResource, in) -> new DataReaderSun1_6_0(gcResource, in, GcLogType.SUN1_6),
+                Marker.TIMES, Marker.SHENANDOAH_INIT_MARK),
+        SUN_1_5("Sun 1.5.x", Family.HOTSPOT,
+                (gcResource, in) -> new DataReaderSun1_6_0(gcResource, in, GcLogType.SUN1_5),
+                Marker.CMS_INITIAL_MARK, Marker.PS_YOUNG_GEN),
+        SUN_1_4("Sun 1.4.x", Family.HOTSPOT,
+                (gcResource, in) -> new DataReaderSun1_6_0(gcResource, in, GcLogType.SUN1_4),
+                Marker.COLON_GC),
+        SUN_1_3_1("Sun 1.3.1", Family.HOTSPOT,
+                (gcResource, in) -> new DataReaderSun1_3_1(gcResource, in, GcLogType.SUN1_3_1),
+                Marker.GC, Marker.FULL_GC, Marker.INC_GC),
+        SUN_1_2_2("Sun 1.2.2", Family.HOTSPOT, DataReaderSun1_2_2::new, Marker.SUN_1_2_2),
+        HP_UX_1_2("HP-UX 1.2/1.3/1.4.0", Family.HOTSPOT, DataReaderHPUX1_2::new, Marker.HP_UX),
+        HP_UX_1_4_1("HP-UX 1.4.1/1.4.2", Family.HOTSPOT, DataReaderHPUX1_4_1::new, Marker.HP_UX),
+        IBM_J9_R28("IBM J9 R26 / R27 / R28", Family.IBM, DataReaderIBM_J9_R28::new,
+                Marker.J9_R26, Marker.J9_R27, Marker.J9_R28),
+        IBM_J9_5_0("IBM J9 5.0", Family.IBM, DataReaderIBM_J9_5_0::new, Marker.J9_VERSION),
+        IBM_I5OS_1_4_2("IBM i5/OS 1.4.2", Family.IBM, DataReaderIBMi5OS1_4_2::new, Marker.I5OS),
+        GO("Go", Family.GO, DataReaderGo::new, Marker.GO);
+
+        private final String description;
+        private final Family family;
+        private final ReaderFactory readerFactory;
+        /** markers counted to score this format */
+        private final Marker[] evidence;
+
+        LogFormat(String description, Family family, ReaderFactory readerFactory, Marker... evidence) {
+            this.description = description;
+            this.family = family;
+            this.readerFactory = readerFactory;
+            this.evidence = evidence;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public Family getFamily() {
+            return family;
+        }
+    }
+
+    /**
+     * Creates the {@link DataReader} for a format.
+     */
+    @FunctionalInterface
+    private interface ReaderFactory {
+        DataReader create(GCResource gcResource, InputStream in) throws IOException;
+    }
+
+    /**
+     * Result of the detection.
+     */
+    static class Detection {
+        private final LogFormat format;
+        private final double confidence;
+
+        public Detection(LogFormat format, double confidence) {
+            this.format = format;
+            this.confidence = confidence;
+        }
+
+        public LogFormat getFormat() {
+            return format;
+        }
+
+        /**
+         * @return share of all markers found, that belong to the family of the detected format (0..1)
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+
+        /**
+         * @param gcResource resource to be read
+         * @param in stream to be read, positioned at the start of the sample
+         * @return {@link DataReader} for the detected format
+         * @throws IOException problem creating the reader
+         */
+        public DataReader createDataReader(GCResource gcResource, InputStream in) throws IOException {
+            return format.readerFactory.create(gcResource, in);
+        }
+
+        @Override
+        public String toString() {
+            return format.getDescription() + " (confidence " + Math.round(confidence * 100) + "%)";
+        }
+    }
+}
@@ -42,6 +42,10 @@ public class MonitoredBufferedInputStream extends BufferedInputStream {
 	public void addPropertyChangeListener(PropertyChangeListener listener) {
 	    this.propertyChangeSupport.addPropertyChangeListener(listener);
 	}
+
+	public void removePropertyChangeListener(PropertyChangeListener listener) {
+	    this.propertyChangeSupport.removePropertyChangeListener(listener);
+	}
 	
 	private void updateCounters(final long increment) {
 		final long newValue = bytesRead.addAndGet(increment);
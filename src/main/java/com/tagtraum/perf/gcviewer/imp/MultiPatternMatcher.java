@@ -0,0 +1,149 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Finds all occurrences of a fixed set of ASCII patterns in a stream of bytes in one pass (Aho-Corasick automaton
+ * compiled to a deterministic state table). Instances are immutable and can be shared by any number of threads;
+ * the state of a scan is an <code>int</code> held by the caller:
+ *
+ * <pre>
+ * int state = MultiPatternMatcher.START;
+ * for (...) {
+ *     state = matcher.next(state, b);
+ *     for (int pattern : matcher.getMatches(state)) { ... }
+ * }
+ * </pre>
+ */
+class MultiPatternMatcher {
+
+    /** state before the first byte */
+    public static final int START = 0;
+
+    private final String[] patterns;
+    /** maps every byte to a column of {@link #transitions}; bytes not used in any pattern map to column 0 */
+    private final int[] symbols = new int[256];
+    private final int symbolCount;
+    /** transitions[state * symbolCount + symbol] */
+    private final int[] transitions;
+    /** indices of all patterns ending in a state */
+    private final int[][] matches;
+
+    /**
+     * @param patterns ASCII patterns to be found
+     */
+    public MultiPatternMatcher(String... patterns) {
+        super();
+
+        this.patterns = patterns.clone();
+        byte[][] bytePatterns = new byte[patterns.length][];
+        int count = 1;
+        for (int i = 0; i < patterns.length; ++i) {
+            bytePatterns[i] = patterns[i].getBytes(StandardCharsets.US_ASCII);
+            if (bytePatterns[i].length == 0) {
+                throw new IllegalArgumentException("empty pattern");
+            }
+            for (byte b : bytePatterns[i]) {
+                if (symbols[b & 0xff] == 0) {
+                    symbols[b & 0xff] = count++;
+                }
+            }
+        }
+        symbolCount = count;
+
+        // trie
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> output = new ArrayList<>();
+        trie.add(newRow(symbolCount));
+        output.add(new ArrayList<>());
+        for (int i = 0; i < bytePatterns.length; ++i) {
+            int state = START;
+            for (byte b : bytePatterns[i]) {
+                int symbol = symbols[b & 0xff];
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow(symbolCount));
+                    output.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            output.get(state).add(i);
+        }
+
+        // failure links resolved into a complete transition table (breadth first)
+        int stateCount = trie.size();
+        transitions = new int[stateCount * symbolCount];
+        int[] failure = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < symbolCount; ++symbol) {
+            int child = trie.get(START)[symbol];
+            transitions[symbol] = Math.max(child, START);
+            if (child > START) {
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            output.get(state).addAll(output.get(failure[state]));
+            for (int symbol = 0; symbol < symbolCount; ++symbol) {
+                int child = trie.get(state)[symbol];
+                if (child < 0) {
+                    transitions[state * symbolCount + symbol] = transitions[failure[state] * symbolCount + symbol];
+                }
+                else {
+                    transitions[state * symbolCount + symbol] = child;
+                    failure[child] = transitions[failure[state] * symbolCount + symbol];
+                    queue.add(child);
+                }
+            }
+        }
+
+        matches = new int[stateCount][];
+        for (int state = 0; state < stateCount; ++state) {
+            matches[state] = output.get(state).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    private static int[] newRow(int width) {
+        int[] row = new int[width];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * @return number of patterns
+     */
+    public int getPatternCount() {
+        return patterns.length;
+    }
+
+    /**
+     * @param index index of a pattern
+     * @return the pattern
+     */
+    public String getPattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * @param state current state
+     * @param b next byte
+     * @return state after <code>b</code>
+     */
+    public int next(int state, byte b) {
+        return transitions[state * symbolCount + symbols[b & 0xff]];
+    }
+
+    /**
+     * @param state current state
+     * @return indices of all patterns ending with the byte, that lead to <code>state</code> (must not be modified)
+     */
+    public int[] getMatches(int state) {
+        return matches[state];
+    }
+}
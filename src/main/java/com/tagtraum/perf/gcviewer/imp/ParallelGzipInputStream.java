@@ -0,0 +1,308 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses gzip data in the blocked gzip format (BGZF, written e.g. by bgzip) in parallel.
+ *
+ * <p>Every member of a BGZF file contains its compressed size in an extra field of its header, so the members can
+ * be read one after the other without inflating them first. Members are only split at these verified boundaries.
+ * Each member (at most 64 KB compressed and decompressed) is inflated by a worker thread; at most
+ * {@value #BLOCKS_PER_THREAD} members per thread are read ahead, so the memory needed doesn't depend on the size
+ * of the data.</p>
+ *
+ * <p>All other gzip data (including the rest of the data after the first member without the extra field) is
+ * decompressed sequentially using {@link GZIPInputStream}.</p>
+ */
+class ParallelGzipInputStream extends InputStream {
+
+    /** number of members read ahead per thread */
+    static final int BLOCKS_PER_THREAD = 4;
+    /** maximum size of a member of a BGZF file (compressed and decompressed) */
+    static final int MAX_BLOCK_SIZE = 64 * 1024;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** fixed part of the header + XLEN */
+    private static final int HEADER_LENGTH = 12;
+    private static final int TRAILER_LENGTH = 8;
+    private static final int FEXTRA = 4;
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger(1);
+
+    private final InputStream in;
+    private final int threadCount;
+    private boolean initialised;
+    /** <code>true</code>, if no more BGZF members follow */
+    private boolean endOfData;
+    private boolean hasReadBlock;
+
+    /** used instead of the parallel decompression for data not in BGZF format */
+    private InputStream sequentialIn;
+
+    private ExecutorService executor;
+    /** members being inflated in the order of the data */
+    private final Deque<Future<byte[]>> blocks = new ArrayDeque<>();
+
+    private byte[] output = new byte[0];
+    private int outputPosition;
+
+    /**
+     * @param in gzip compressed data
+     * @param threadCount maximum number of members decompressed at the same time
+     */
+    public ParallelGzipInputStream(InputStream in, int threadCount) {
+        super();
+
+        this.in = in;
+        this.threadCount = Math.max(1, threadCount);
+    }
+
+    private void initialise() throws IOException {
+        initialised = true;
+        if (threadCount == 1) {
+            endOfData = true;
+            sequentialIn = new GZIPInputStream(in, BUFFER_SIZE);
+            return;
+        }
+
+        executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "gcviewer-gunzip-" + THREAD_NUMBER.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int length = read(b, 0, 1);
+        return length < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (!initialised) {
+            initialise();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        while (outputPosition == output.length) {
+            if (!nextBlock()) {
+                return sequentialIn != null ? sequentialIn.read(b, off, len) : -1;
+            }
+        }
+
+        int length = Math.min(len, output.length - outputPosition);
+        System.arraycopy(output, outputPosition, b, off, length);
+        outputPosition += length;
+        return length;
+    }
+
+    /**
+     * Reads members ahead until {@value #BLOCKS_PER_THREAD} per thread are being inflated and takes the output of
+     * the next one.
+     *
+     * @return <code>false</code>, if there is no more output from BGZF members
+     */
+    private boolean nextBlock() throws IOException {
+        while (!endOfData && blocks.size() < threadCount * BLOCKS_PER_THREAD) {
+            byte[] block = readBlock();
+            if (block != null) {
+                blocks.add(executor.submit(() -> inflateBlock(block)));
+            }
+        }
+
+        if (blocks.isEmpty()) {
+            return false;
+        }
+
+        output = getResult(blocks.removeFirst());
+        outputPosition = 0;
+        return true;
+    }
+
+    /**
+     * Reads the next member of a BGZF file. If the data following is not a BGZF member, the rest of the data is
+     * decompressed by {@link #sequentialIn} (after the output of the members read before).
+     *
+     * @return compressed member or <code>null</code>, if there is none
+     */
+    private byte[] readBlock() throws IOException {
+        byte[] header = new byte[HEADER_LENGTH];
+        int headerLength = readFully(in, header, 0, header.length);
+        if (hasReadBlock && (headerLength < 2 || !isGzipMagic(header))) {
+            // end of data; trailing garbage after the last member is ignored (like GZIPInputStream does)
+            endOfData = true;
+            return null;
+        }
+
+        boolean isBgzf = headerLength == HEADER_LENGTH && isBgzfHeader(header);
+        int extraLength = isBgzf ? (header[10] & 0xff) | (header[11] & 0xff) << 8 : 0;
+        byte[] extra = new byte[extraLength];
+        int extraRead = readFully(in, extra, 0, extraLength);
+        int blockSize = isBgzf && extraRead == extraLength ? getBlockSize(extra) : -1;
+        if (blockSize < 0) {
+            // not in BGZF format -> the rest is decompressed sequentially
+            byte[] prefix = Arrays.copyOf(header, headerLength + extraRead);
+            System.arraycopy(extra, 0, prefix, headerLength, extraRead);
+            startSequential(prefix);
+            return null;
+        }
+
+        byte[] block = Arrays.copyOf(header, blockSize);
+        System.arraycopy(extra, 0, block, HEADER_LENGTH, extraLength);
+        int offset = HEADER_LENGTH + extraLength;
+        if (readFully(in, block, offset, blockSize - offset) < blockSize - offset) {
+            throw new EOFException("Unexpected end of ZLIB input stream");
+        }
+
+        hasReadBlock = true;
+        return block;
+    }
+
+    private void startSequential(byte[] prefix) throws IOException {
+        endOfData = true;
+        sequentialIn = new GZIPInputStream(new SequenceInputStream(new ByteArrayInputStream(prefix), in), BUFFER_SIZE);
+    }
+
+    private static boolean isGzipMagic(byte[] header) {
+        return header[0] == 0x1f && header[1] == (byte) 0x8b;
+    }
+
+    private static boolean isBgzfHeader(byte[] header) {
+        return isGzipMagic(header)
+                && header[2] == 8 // deflate
+                && header[3] == FEXTRA; // no other flags
+    }
+
+    /**
+     * @return size of the whole member from the "BC" subfield of the extra field or -1, if there is none
+     */
+    private static int getBlockSize(byte[] extra) {
+        int position = 0;
+        while (position + 4 <= extra.length) {
+            int subfieldLength = (extra[position + 2] & 0xff) | (extra[position + 3] & 0xff) << 8;
+            if (extra[position] == 'B' && extra[position + 1] == 'C' && subfieldLength == 2 && position + 6 <= extra.length) {
+                int blockSize = ((extra[position + 4] & 0xff) | (extra[position + 5] & 0xff) << 8) + 1;
+                return blockSize >= HEADER_LENGTH + extra.length + TRAILER_LENGTH ? blockSize : -1;
+            }
+            position += 4 + subfieldLength;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Inflates a BGZF member read by {@link #readBlock()}.
+     */
+    static byte[] inflateBlock(byte[] block) throws IOException {
+        int dataStart = HEADER_LENGTH + ((block[10] & 0xff) | (block[11] & 0xff) << 8);
+        int dataEnd = block.length - TRAILER_LENGTH;
+        long size = readInt(block, dataEnd + 4);
+        if (size > MAX_BLOCK_SIZE) {
+            throw new ZipException("Invalid BGZF block size");
+        }
+
+        byte[] output = new byte[(int) size];
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(block, dataStart, dataEnd - dataStart);
+            int length = 0;
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(output, length, output.length - length);
+                if (inflated == 0 && !inflater.finished()) {
+                    if (length == output.length) {
+                        throw new ZipException("Corrupt GZIP trailer");
+                    }
+                    throw new ZipException("Unexpected end of ZLIB input stream");
+                }
+                length += inflated;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(output, 0, length);
+            if (length != output.length || readInt(block, dataEnd) != crc.getValue()) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+
+            return output;
+        }
+        catch (DataFormatException e) {
+            throw new ZipException(e.getMessage() != null ? e.getMessage() : "Invalid ZLIB data format");
+        }
+        finally {
+            inflater.end();
+        }
+    }
+
+    private byte[] getResult(Future<byte[]> block) throws IOException {
+        try {
+            return block.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for gzip member");
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * @return number of bytes read (less than <code>length</code> only at the end of the stream)
+     */
+    private static int readFully(InputStream in, byte[] b, int offset, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int read = in.read(b, offset + total, length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+
+        return total;
+    }
+
+    private static long readInt(byte[] data, int offset) {
+        return (data[offset] & 0xffL)
+                | (data[offset + 1] & 0xffL) << 8
+                | (data[offset + 2] & 0xffL) << 16
+                | (data[offset + 3] & 0xffL) << 24;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        blocks.clear();
+        output = new byte[0];
+        if (sequentialIn != null) {
+            sequentialIn.close();
+        }
+        in.close();
+    }
+}
@@ -0,0 +1,125 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects the lines, a reader could not parse, grouped by a signature of the line, in which all numbers are
+ * replaced by "#" (lines of the same unknown kind only differ in timestamps and sizes). Instead of one warning per
+ * line, one warning per group is logged, when reading is done: "N lines like ... were skipped".
+ *
+ * <p>At most {@value #MAX_SIGNATURES} groups are kept; all further lines are only counted.</p>
+ */
+class ParseErrorAggregator {
+
+    static final int MAX_SIGNATURES = 100;
+    private static final int MAX_SIGNATURE_LENGTH = 200;
+
+    private final Map<String, Group> groups = new LinkedHashMap<>();
+    private int otherCount;
+
+    /**
+     * Adds a line, that could not be parsed.
+     *
+     * @param e reason, why the line could not be parsed
+     * @param line the line; if <code>null</code>, the message of <code>e</code> is used to build the signature
+     */
+    public void add(Exception e, String line) {
+        add(e, line, e.toString());
+    }
+
+    /**
+     * Adds a line, that could not be parsed.
+     *
+     * @param e reason, why the line could not be parsed
+     * @param line the line; if <code>null</code>, the message of <code>e</code> is used to build the signature
+     * @param message message to be logged for the first line of a group
+     */
+    public void add(Exception e, String line, String message) {
+        String signature = e.getClass().getName() + ": " + getSignature(line != null ? line : String.valueOf(e.getMessage()));
+        Group group = groups.get(signature);
+        if (group != null) {
+            ++group.count;
+        }
+        else if (groups.size() < MAX_SIGNATURES) {
+            groups.put(signature, new Group(message));
+        }
+        else {
+            ++otherCount;
+        }
+    }
+
+    /**
+     * Replaces all numbers (including decimal separators) by "#" and cuts the result after
+     * {@value #MAX_SIGNATURE_LENGTH} characters.
+     *
+     * @param line line to build the signature for
+     * @return signature of <code>line</code>
+     */
+    static String getSignature(String line) {
+        StringBuilder signature = new StringBuilder(Math.min(line.length(), MAX_SIGNATURE_LENGTH));
+        for (int i = 0; i < line.length() && signature.length() < MAX_SIGNATURE_LENGTH; ++i) {
+            char c = line.charAt(i);
+            if (Character.isDigit(c)) {
+                while (i + 1 < line.length() && (Character.isDigit(line.charAt(i + 1))
+                        || (isDecimalSeparator(line.charAt(i + 1)) && i + 2 < line.length() && Character.isDigit(line.charAt(i + 2))))) {
+                    ++i;
+                }
+                signature.append('#');
+            }
+            else {
+                signature.append(c);
+            }
+        }
+
+        return signature.toString();
+    }
+
+    private static boolean isDecimalSeparator(char c) {
+        return c == '.' || c == ',';
+    }
+
+    /**
+     * @return number of lines added since the last {@link #report(Logger)}
+     */
+    public int getCount() {
+        int count = otherCount;
+        for (Group group : groups.values()) {
+            count += group.count;
+        }
+
+        return count;
+    }
+
+    /**
+     * Logs one warning per group and starts over.
+     *
+     * @param logger logger to write the warnings to
+     */
+    public void report(Logger logger) {
+        if (logger.isLoggable(Level.WARNING)) {
+            for (Group group : groups.values()) {
+                logger.warning(group.count == 1
+                        ? group.firstMessage
+                        : group.count + " lines like the following were skipped: " + group.firstMessage);
+            }
+            if (otherCount > 0) {
+                logger.warning(otherCount + " more lines with other problems were skipped");
+            }
+        }
+
+        groups.clear();
+        otherCount = 0;
+    }
+
+    private static class Group {
+        private final String firstMessage;
+        private int count = 1;
+
+        Group(String firstMessage) {
+            this.firstMessage = firstMessage;
+        }
+    }
+}
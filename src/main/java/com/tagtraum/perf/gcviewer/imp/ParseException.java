@@ -7,6 +7,9 @@ import com.tagtraum.perf.gcviewer.util.ParseInformation;
 /**
  * Is thrown whenever a ParseError occurs.
  *
+ * <p>Parse errors are expected for every line of a log, that a reader doesn't know, and are handled by the reader;
+ * so no stack trace is filled in, which would make them expensive without telling more than the message.</p>
+ *
  * Date: Jan 30, 2002
  * Time: 6:19:45 PM
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
@@ -30,6 +33,18 @@ public class ParseException extends IOException {
         this.parsePosition = pos;
     }
 
+    /**
+     * @return the line, that could not be parsed; may be <code>null</code>
+     */
+    public String getLine() {
+        return line;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
     @Override
     public String getMessage() {
         if (line == null) {
@@ -0,0 +1,179 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * InputStream reading a file, that is still being written to (like "tail -f").
+ *
+ * <p>Only complete lines are returned: the stream signals end of file after the last line feed, that was present,
+ * when the file was opened or {@link #refresh()} was called last. After {@link #refresh()} found more data, reading
+ * continues, where it stopped before. This way, a {@link DataReader} never sees a line, which is only partially
+ * written yet.</p>
+ *
+ * <p>The underlying file is only kept open while data is read; it is released, as soon as the end of the available
+ * data has been reached (or {@link #close()} is called), so the file can be rotated or deleted in the meantime.</p>
+ */
+public class TailingFileInputStream extends AbstractTailingInputStream {
+
+    private static final int SCAN_BUFFER_SIZE = 4096;
+
+    private final File file;
+    private final Object fileKey;
+    private RandomAccessFile randomAccessFile;
+    private long position;
+    private long limit;
+
+    public TailingFileInputStream(File file) throws IOException {
+        super();
+
+        this.file = file;
+        this.fileKey = readFileKey(file);
+        this.limit = findEndOfLastLine(file.length(), 0);
+    }
+
+    /**
+     * Returns <code>true</code>, if the file starts with the magic number of a compression format known to
+     * {@link CompressionCodecs}. Compressed files can't be read incrementally.
+     *
+     * @param file file to be checked
+     * @return <code>true</code>, if <code>file</code> is compressed
+     * @throws IOException problem reading the file
+     */
+    public static boolean isCompressed(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] header = new byte[CompressionCodecs.HEADER_LENGTH];
+            int length = raf.read(header);
+            return length >= 2 && CompressionCodecs.find(header, length) != null;
+        }
+    }
+
+    /**
+     * Number of bytes that were delivered by this stream.
+     *
+     * @return current position in the file
+     */
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Checks, whether more complete lines were appended to the file and makes them available for reading.
+     *
+     * @return <code>false</code>, if the file was truncated or replaced by another file; reading incrementally is
+     * not possible any more in that case
+     * @throws IOException problem accessing the file
+     */
+    @Override
+    public boolean refresh() throws IOException {
+        if (!file.exists()) {
+            return false;
+        }
+
+        long length = file.length();
+        if (length < limit || !Objects.equals(fileKey, readFileKey(file))) {
+            return false;
+        }
+
+        limit = findEndOfLastLine(length, limit);
+        return true;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        int n = read(b, 0, 1);
+        return n < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position >= limit) {
+            // end of available data: don't hold the file open until the next refresh
+            close();
+            return -1;
+        }
+
+        if (randomAccessFile == null) {
+            randomAccessFile = new RandomAccessFile(file, "r");
+            randomAccessFile.seek(position);
+        }
+
+        int n = randomAccessFile.read(b, off, (int) Math.min(len, limit - position));
+        if (n > 0) {
+            position += n;
+        }
+
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = Math.max(0, Math.min(n, limit - position));
+        position += skipped;
+        if (randomAccessFile != null) {
+            randomAccessFile.seek(position);
+        }
+
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, limit - position);
+    }
+
+    /**
+     * Releases the underlying file; this stream can still be read after {@link #refresh()}.
+     */
+    @Override
+    public void close() throws IOException {
+        if (randomAccessFile != null) {
+            randomAccessFile.close();
+            randomAccessFile = null;
+        }
+    }
+
+    /**
+     * Scans backwards from <code>length</code> to find the position just after the last line feed.
+     *
+     * @param length current length of the file
+     * @param lowerBound position, where scanning stops
+     * @return position after the last line feed or <code>lowerBound</code>, if there is none
+     */
+    private long findEndOfLastLine(long length, long lowerBound) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+            long end = length;
+            while (end > lowerBound) {
+                long start = Math.max(lowerBound, end - buffer.length);
+                int size = (int) (end - start);
+                raf.seek(start);
+                raf.readFully(buffer, 0, size);
+                for (int i = size - 1; i >= 0; --i) {
+                    if (buffer[i] == '\n') {
+                        return start + i + 1;
+                    }
+                }
+
+                end = start;
+            }
+        }
+
+        return lowerBound;
+    }
+
+    private static Object readFileKey(File file) throws IOException {
+        // identifies the file on most unix systems (inode); null on windows
+        return Files.readAttributes(file.toPath(), BasicFileAttributes.class).fileKey();
+    }
+
+}
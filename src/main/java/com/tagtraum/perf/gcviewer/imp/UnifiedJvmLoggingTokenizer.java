@@ -0,0 +1,378 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+/**
+ * Splits a line of a unified jvm log with the layout
+ * <pre>
+ * [time][uptime][level][tags] GC(n) type tail
+ * </pre>
+ * into its parts in one pass without regular expressions and without creating any objects; the parts are
+ * available as offsets into the line. The decorators "time" and "uptime" are optional, as is the tail, which
+ * must start with a digit.
+ *
+ * <p>The accepted lines and the parts found are the same as with the regular expression used before:</p>
+ * <pre>
+ * ^(?:\[(?&lt;time&gt;[0-9-T:.+]*)])?(?:\[(?&lt;uptime&gt;[^s]*)s])?\[(?&lt;level&gt;[^]]+)]\[(?:(?&lt;tags&gt;[^] ]+)[ ]*)][ ]GC\((?&lt;gcnumber&gt;[0-9]+)\)[ ](?&lt;type&gt;[-.a-zA-Z: ()]+|[a-zA-Z1 ()]+)(?:(?:[ ](?&lt;tail&gt;[0-9]{1}.*))|$)
+ * </pre>
+ *
+ * <p>Besides, the tails of the gc events can be checked with the <code>match...()</code> methods.</p>
+ */
+class UnifiedJvmLoggingTokenizer {
+
+    /** offset of a part, that is not present */
+    public static final int NONE = -1;
+
+    private static final String GC_NUMBER_START = " GC(";
+
+    private String line;
+    private int timeStart;
+    private int timeEnd;
+    private int uptimeStart;
+    private int uptimeEnd;
+    private int levelStart;
+    private int levelEnd;
+    private int tagsStart;
+    private int tagsEnd;
+    private int gcNumberStart;
+    private int gcNumberEnd;
+    private int typeStart;
+    private int typeEnd;
+    private int tailStart;
+
+    /**
+     * Splits <code>line</code> into its parts.
+     *
+     * @param line line to be split
+     * @return <code>true</code>, if <code>line</code> has the layout of a gc event; only then the offsets are valid
+     */
+    public boolean tokenize(String line) {
+        this.line = line;
+        int timeEnd = findTimeEnd(0);
+        int uptimeEnd = findUptimeEnd(timeEnd != NONE ? timeEnd + 1 : 0);
+
+        // same order, in which a regex engine tries the optional decorators
+        if (timeEnd != NONE && uptimeEnd != NONE && tokenizeFromLevel(uptimeEnd + 2)) {
+            setTime(1, timeEnd);
+            setUptime(timeEnd + 2, uptimeEnd);
+            return true;
+        }
+        if (timeEnd != NONE && tokenizeFromLevel(timeEnd + 1)) {
+            setTime(1, timeEnd);
+            setUptime(NONE, NONE);
+            return true;
+        }
+
+        int uptimeOnlyEnd = timeEnd != NONE ? findUptimeEnd(0) : uptimeEnd;
+        if (uptimeOnlyEnd != NONE && tokenizeFromLevel(uptimeOnlyEnd + 2)) {
+            setTime(NONE, NONE);
+            setUptime(1, uptimeOnlyEnd);
+            return true;
+        }
+        if (tokenizeFromLevel(0)) {
+            setTime(NONE, NONE);
+            setUptime(NONE, NONE);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void setTime(int start, int end) {
+        this.timeStart = start;
+        this.timeEnd = end;
+    }
+
+    private void setUptime(int start, int end) {
+        this.uptimeStart = start;
+        this.uptimeEnd = end;
+    }
+
+    /**
+     * "[" followed by any number of [0-9-T:.+] and "]"
+     *
+     * @return offset of the "]" or {@link #NONE}
+     */
+    private int findTimeEnd(int start) {
+        if (!isAt(start, '[')) {
+            return NONE;
+        }
+
+        int pos = start + 1;
+        while (pos < line.length() && isTimeChar(line.charAt(pos))) {
+            ++pos;
+        }
+
+        return isAt(pos, ']') ? pos : NONE;
+    }
+
+    private static boolean isTimeChar(char c) {
+        return isDigit(c) || c == '-' || c == 'T' || c == ':' || c == '.' || c == '+';
+    }
+
+    /**
+     * "[" followed by anything but "s" and "s]"
+     *
+     * @return offset of the "s" or {@link #NONE}
+     */
+    private int findUptimeEnd(int start) {
+        if (!isAt(start, '[')) {
+            return NONE;
+        }
+
+        int pos = line.indexOf('s', start + 1);
+        return pos >= 0 && isAt(pos + 1, ']') ? pos : NONE;
+    }
+
+    /**
+     * Tokenizes the part of the line starting with the level: <code>[level][tags] GC(n) type tail</code>
+     */
+    private boolean tokenizeFromLevel(int start) {
+        // [level]
+        if (!isAt(start, '[')) {
+            return false;
+        }
+        int pos = start + 1;
+        while (pos < line.length() && line.charAt(pos) != ']') {
+            ++pos;
+        }
+        if (pos == start + 1 || pos == line.length()) {
+            return false;
+        }
+        levelStart = start + 1;
+        levelEnd = pos;
+
+        // [tags   ]
+        if (!isAt(pos + 1, '[')) {
+            return false;
+        }
+        tagsStart = pos + 2;
+        pos = tagsStart;
+        while (pos < line.length() && line.charAt(pos) != ']' && line.charAt(pos) != ' ') {
+            ++pos;
+        }
+        if (pos == tagsStart) {
+            return false;
+        }
+        tagsEnd = pos;
+        while (isAt(pos, ' ')) {
+            ++pos;
+        }
+        if (!isAt(pos, ']')) {
+            return false;
+        }
+
+        // GC(n)
+        if (!line.startsWith(GC_NUMBER_START, pos + 1)) {
+            return false;
+        }
+        gcNumberStart = pos + 1 + GC_NUMBER_START.length();
+        gcNumberEnd = skipDigits(line, gcNumberStart);
+        if (gcNumberEnd == gcNumberStart || !isAt(gcNumberEnd, ')') || !isAt(gcNumberEnd + 1, ' ')) {
+            return false;
+        }
+
+        // type [tail]
+        typeStart = gcNumberEnd + 2;
+        return tokenizeType(false) || tokenizeType(true);
+    }
+
+    /**
+     * The type consists of the longest run of characters allowed in a type name, that is followed either by the end
+     * of the line or by " " and a digit (start of the tail). There are two sets of characters: names without a "1"
+     * and names with a "1" (e.g. "Pause Young (G1 Evacuation Pause)"), but without "-", "." and ":".
+     */
+    private boolean tokenizeType(boolean withOne) {
+        int runEnd = typeStart;
+        while (runEnd < line.length() && isTypeChar(line.charAt(runEnd), withOne)) {
+            ++runEnd;
+        }
+        if (runEnd == typeStart) {
+            return false;
+        }
+        if (runEnd == line.length()) {
+            typeEnd = runEnd;
+            tailStart = NONE;
+            return true;
+        }
+
+        for (int pos = Math.min(runEnd, line.length() - 2); pos > typeStart; --pos) {
+            if (line.charAt(pos) == ' ' && isDigit(line.charAt(pos + 1))) {
+                typeEnd = pos;
+                tailStart = pos + 1;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isTypeChar(char c, boolean withOne) {
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == ' ' || c == '(' || c == ')') {
+            return true;
+        }
+
+        return withOne ? c == '1' : c == '-' || c == '.' || c == ':';
+    }
+
+    private boolean isAt(int pos, char c) {
+        return pos < line.length() && line.charAt(pos) == c;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * @return offset of the first character at or after <code>start</code>, that is not a digit
+     */
+    static int skipDigits(CharSequence s, int start) {
+        int pos = start;
+        while (pos < s.length() && isDigit(s.charAt(pos))) {
+            ++pos;
+        }
+
+        return pos;
+    }
+
+    /**
+     * Pause at <code>start</code>: <code>[0-9]+[.,][0-9]+ms</code>
+     *
+     * @return end of the number (offset of "ms") or {@link #NONE}
+     */
+    static int matchPause(CharSequence s, int start) {
+        int pos = skipDigits(s, start);
+        if (pos == start || pos >= s.length() || (s.charAt(pos) != '.' && s.charAt(pos) != ',')) {
+            return NONE;
+        }
+        int end = skipDigits(s, pos + 1);
+        if (end == pos + 1 || end + 2 > s.length() || s.charAt(end) != 'm' || s.charAt(end + 1) != 's') {
+            return NONE;
+        }
+
+        return end;
+    }
+
+    /**
+     * Memory at <code>start</code>: <code>[0-9]+[BKMG]-&gt;[0-9]+[BKMG]\([0-9]+[BKMG]\)</code>
+     *
+     * @return offset after the memory or {@link #NONE}
+     */
+    static int matchMemory(CharSequence s, int start) {
+        int pos = matchMemoryValue(s, start);
+        if (pos == NONE || pos + 2 > s.length() || s.charAt(pos) != '-' || s.charAt(pos + 1) != '>') {
+            return NONE;
+        }
+        pos = matchMemoryValue(s, pos + 2);
+        if (pos == NONE || pos >= s.length() || s.charAt(pos) != '(') {
+            return NONE;
+        }
+        pos = matchMemoryValue(s, pos + 1);
+        if (pos == NONE || pos >= s.length() || s.charAt(pos) != ')') {
+            return NONE;
+        }
+
+        return pos + 1;
+    }
+
+    /**
+     * @return offset after digits and unit at <code>start</code> or {@link #NONE}
+     */
+    private static int matchMemoryValue(CharSequence s, int start) {
+        int pos = skipDigits(s, start);
+        if (pos == start || pos >= s.length() || "BKMG".indexOf(s.charAt(pos)) < 0) {
+            return NONE;
+        }
+
+        return pos + 1;
+    }
+
+    /**
+     * Regions at <code>start</code>: <code>[0-9]+-&gt;[0-9]+</code>, optionally followed by <code>\([0-9]+\)</code>
+     *
+     * @return offset after the regions (including the optional total) or {@link #NONE}
+     */
+    static int matchRegions(CharSequence s, int start) {
+        int pos = skipDigits(s, start);
+        if (pos == start || pos + 2 > s.length() || s.charAt(pos) != '-' || s.charAt(pos + 1) != '>') {
+            return NONE;
+        }
+        int end = skipDigits(s, pos + 2);
+        if (end == pos + 2) {
+            return NONE;
+        }
+        if (end < s.length() && s.charAt(end) == '(') {
+            int totalEnd = skipDigits(s, end + 1);
+            if (totalEnd > end + 1 && totalEnd < s.length() && s.charAt(totalEnd) == ')') {
+                return totalEnd + 1;
+            }
+        }
+
+        return end;
+    }
+
+    public String getLine() {
+        return line;
+    }
+
+    public int getTimeStart() {
+        return timeStart;
+    }
+
+    public int getTimeEnd() {
+        return timeEnd;
+    }
+
+    public int getUptimeStart() {
+        return uptimeStart;
+    }
+
+    public int getUptimeEnd() {
+        return uptimeEnd;
+    }
+
+    public int getLevelStart() {
+        return levelStart;
+    }
+
+    public int getLevelEnd() {
+        return levelEnd;
+    }
+
+    public int getTagsStart() {
+        return tagsStart;
+    }
+
+    public int getTagsEnd() {
+        return tagsEnd;
+    }
+
+    public int getGcNumberStart() {
+        return gcNumberStart;
+    }
+
+    public int getGcNumberEnd() {
+        return gcNumberEnd;
+    }
+
+    public int getTypeStart() {
+        return typeStart;
+    }
+
+    public int getTypeEnd() {
+        return typeEnd;
+    }
+
+    /**
+     * @return start of the tail or {@link #NONE}, if the line has no tail (the tail extends to the end of the line)
+     */
+    public int getTailStart() {
+        return tailStart;
+    }
+
+    /**
+     * @param tags tags to compare with
+     * @return <code>true</code>, if the tags of the line are exactly <code>tags</code>
+     */
+    public boolean hasTags(String tags) {
+        return tagsEnd - tagsStart == tags.length() && line.startsWith(tags, tagsStart);
+    }
+}
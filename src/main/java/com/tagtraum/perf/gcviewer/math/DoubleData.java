@@ -16,6 +16,22 @@ public class DoubleData implements Serializable {
     private double sumSquares;
     private double min = Double.MAX_VALUE;
     private double max = Double.MIN_VALUE;
+    /** only present, if percentiles are tracked */
+    private Histogram histogram;
+
+    public DoubleData() {
+        this(false);
+    }
+
+    /**
+     * @param trackPercentiles if <code>true</code>, the values are counted in a {@link Histogram} as well
+     * to be able to return percentiles
+     */
+    public DoubleData(boolean trackPercentiles) {
+        if (trackPercentiles) {
+            histogram = new Histogram();
+        }
+    }
 
     public void add(double x) {
         sum += x;
@@ -23,6 +39,9 @@ public class DoubleData implements Serializable {
         n++;
         min = Math.min(min, x);
         max = Math.max(max, x);
+        if (histogram != null) {
+            histogram.add(x);
+        }
     }
 
     public void add(double x, int weight) {
@@ -31,6 +50,9 @@ public class DoubleData implements Serializable {
         sumSquares += x*x*weight;
         min = Math.min(min, x);
         max = Math.max(max, x);
+        if (histogram != null) {
+            histogram.add(x, weight);
+        }
     }
 
     public int getN() {
@@ -66,10 +88,36 @@ public class DoubleData implements Serializable {
         return (sumSquares - sum*sum/n)/(n-1);
     }
 
+    /**
+     * @return <code>true</code>, if this instance can return percentiles
+     * @see #percentile(double)
+     */
+    public boolean hasPercentiles() {
+        return histogram != null;
+    }
+
+    /**
+     * Returns the value below or at which <code>percentile</code> percent of all values are (approximated with
+     * a relative error below 2%).
+     *
+     * @param percentile percentile between 0 and 100 (e.g. 99.9)
+     * @return value at <code>percentile</code>
+     * @throws IllegalStateException if there are no values or percentiles are not tracked
+     * @see #hasPercentiles()
+     */
+    public double percentile(double percentile) {
+        if (n == 0) throw new IllegalStateException("n == 0");
+        if (histogram == null) throw new IllegalStateException("percentiles not tracked");
+        return histogram.getValueAtPercentile(percentile);
+    }
+
     public void reset() {
         sum = 0;
         sumSquares = 0;
         n = 0;
+        if (histogram != null) {
+            histogram.reset();
+        }
     }
 
     public static double average(double[] n) {
@@ -103,7 +151,9 @@ public class DoubleData implements Serializable {
             return false;
         if (Double.compare(that.min, min) != 0)
             return false;
-        return Double.compare(that.max, max) == 0;
+        if (Double.compare(that.max, max) != 0)
+            return false;
+        return histogram != null ? histogram.equals(that.histogram) : that.histogram == null;
 
     }
 
@@ -0,0 +1,149 @@
+package com.tagtraum.perf.gcviewer.math;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Histogram with log-linear buckets (similar to HdrHistogram): the range of every power of two is divided into
+ * {@value #SUB_BUCKET_COUNT} buckets of equal width. The memory used is fixed and doesn't depend on the number of
+ * values added, percentiles have a relative error of less than 1 / {@value #SUB_BUCKET_COUNT} and histograms can
+ * be merged.
+ *
+ * <p>Values between 2<sup>{@value #MIN_EXPONENT}</sup> (~1 µs, if the unit is seconds) and
+ * 2<sup>{@value #MAX_EXPONENT} + 1</sup> (~4.5 hours) are tracked precisely; smaller values are counted in an
+ * extra bucket (reported as the smallest value added), larger values in the last bucket (reported as the largest
+ * value added).</p>
+ */
+public class Histogram implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = -20;
+    private static final int MAX_EXPONENT = 13;
+    /** first bucket contains all values below {@link #MIN_TRACKED_VALUE} */
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKET_COUNT + 1;
+    private static final double MIN_TRACKED_VALUE = Math.scalb(1.0, MIN_EXPONENT);
+    private static final double MAX_TRACKED_VALUE = Math.scalb(1.0, MAX_EXPONENT + 1);
+    private static final long MANTISSA_MASK = 0x000fffffffffffffL;
+    private static final int MANTISSA_BITS = 52;
+
+    private final int[] counts = new int[BUCKET_COUNT];
+    private long totalCount;
+    private double min = Double.MAX_VALUE;
+    private double max = -Double.MAX_VALUE;
+
+    public void add(double x) {
+        add(x, 1);
+    }
+
+    public void add(double x, int weight) {
+        counts[indexOf(x)] += weight;
+        totalCount += weight;
+        min = Math.min(min, x);
+        max = Math.max(max, x);
+    }
+
+    /**
+     * Adds all values of <code>histogram</code> to this histogram.
+     *
+     * @param histogram histogram to be merged into this one
+     */
+    public void add(Histogram histogram) {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            counts[i] += histogram.counts[i];
+        }
+        totalCount += histogram.totalCount;
+        min = Math.min(min, histogram.min);
+        max = Math.max(max, histogram.max);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * Returns the value below or at which <code>percentile</code> percent of all values are. The upper bound
+     * of the bucket is returned, so the real value is never underestimated by more than the rounding to the
+     * smallest / largest value added.
+     *
+     * @param percentile percentile between 0 and 100 (e.g. 99.9)
+     * @return value at <code>percentile</code>
+     * @throws IllegalStateException if no values have been added
+     */
+    public double getValueAtPercentile(double percentile) {
+        if (totalCount == 0) throw new IllegalStateException("n == 0");
+
+        // small tolerance, because e.g. 99.9 / 100 * 1000 is slightly greater than 999
+        long countAtPercentile = (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount - 1e-9);
+        countAtPercentile = Math.max(1, Math.min(countAtPercentile, totalCount));
+
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            count += counts[i];
+            if (count >= countAtPercentile) {
+                if (i == 0) {
+                    return min;
+                }
+                if (i == BUCKET_COUNT - 1) {
+                    // may contain values out of range
+                    return max;
+                }
+
+                return Math.max(min, Math.min(max, upperBoundOf(i)));
+            }
+        }
+
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        min = Double.MAX_VALUE;
+        max = -Double.MAX_VALUE;
+    }
+
+    static int indexOf(double x) {
+        if (!(x >= MIN_TRACKED_VALUE)) {
+            // includes 0, negative values and NaN
+            return 0;
+        }
+        if (x >= MAX_TRACKED_VALUE) {
+            return BUCKET_COUNT - 1;
+        }
+
+        int exponent = Math.getExponent(x);
+        int subBucket = (int) ((Double.doubleToRawLongBits(x) & MANTISSA_MASK) >>> (MANTISSA_BITS - SUB_BUCKET_BITS));
+        return (exponent - MIN_EXPONENT) * SUB_BUCKET_COUNT + subBucket + 1;
+    }
+
+    static double upperBoundOf(int index) {
+        int exponent = (index - 1) / SUB_BUCKET_COUNT + MIN_EXPONENT;
+        int subBucket = (index - 1) % SUB_BUCKET_COUNT;
+        return Math.scalb(1.0 + (subBucket + 1) / (double) SUB_BUCKET_COUNT, exponent);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        Histogram that = (Histogram) o;
+
+        return totalCount == that.totalCount
+                && Double.compare(that.min, min) == 0
+                && Double.compare(that.max, max) == 0
+                && Arrays.equals(counts, that.counts);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(counts);
+        result = 31 * result + (int) (totalCount ^ (totalCount >>> 32));
+        return result;
+    }
+}
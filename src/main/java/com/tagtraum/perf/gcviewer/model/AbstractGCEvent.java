@@ -1,16 +1,19 @@
 package com.tagtraum.perf.gcviewer.model;
 
 import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The abstract gc event is the base class for all types of events. All sorts of general
@@ -26,8 +29,10 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
     private int postUsed;
     /** Capacity in KB */
     private int total;
-    /** end of gc event (after pause) */
-    private ZonedDateTime datestamp;
+    /** end of gc event (after pause) in milliseconds since 1970 (only valid, if {@link #datestampZone} is set) */
+    private long datestampMillis;
+    /** zone of the datestamp; <code>null</code>, if the event has no datestamp */
+    private ZoneId datestampZone;
     /** end of gc event (after pause) */
     private double timestamp;
     private ExtendedType extendedType = ExtendedType.UNDEFINED;
@@ -62,9 +67,6 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
     @Override
     protected Object clone() throws CloneNotSupportedException {
         AbstractGCEvent<T> clonedEvent = (AbstractGCEvent<T>)super.clone();
-        if (getDatestamp() != null) {
-            clonedEvent.setDateStamp(ZonedDateTime.from(this.getDatestamp()));
-        }
         if (getExtendedType() != null) {
             clonedEvent.setExtendedType(new ExtendedType(getExtendedType().getType(), getExtendedType().fullName));
         }
@@ -96,7 +98,24 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
     }
 
     public void setDateStamp(ZonedDateTime datestamp) {
-    	this.datestamp = datestamp;
+        if (datestamp != null) {
+            setDateStamp(datestamp.toInstant().toEpochMilli(), datestamp.getZone());
+        }
+        else {
+            this.datestampMillis = 0;
+            this.datestampZone = null;
+        }
+    }
+
+    /**
+     * Sets the datestamp without creating a {@link ZonedDateTime} (datestamps are kept with millisecond precision).
+     *
+     * @param epochMillis milliseconds since 1970-01-01T00:00:00Z
+     * @param zone zone of the datestamp
+     */
+    public void setDateStamp(long epochMillis, ZoneId zone) {
+        this.datestampMillis = epochMillis;
+        this.datestampZone = zone;
     }
 
     public void setNumber(int number) {
@@ -191,8 +210,31 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
         return timestamp;
     }
 
+    /**
+     * @return datestamp (created on every call) or <code>null</code>, if the event has no datestamp
+     */
     public ZonedDateTime getDatestamp() {
-        return datestamp;
+        return datestampZone != null
+                ? ZonedDateTime.ofInstant(Instant.ofEpochMilli(datestampMillis), datestampZone)
+                : null;
+    }
+
+    public boolean hasDatestamp() {
+        return datestampZone != null;
+    }
+
+    /**
+     * @return datestamp in milliseconds since 1970-01-01T00:00:00Z (only valid, if {@link #hasDatestamp()})
+     */
+    public long getDatestampMillis() {
+        return datestampMillis;
+    }
+
+    /**
+     * @return zone of the datestamp or <code>null</code>, if the event has no datestamp
+     */
+    public ZoneId getDatestampZone() {
+        return datestampZone;
     }
 
     public boolean hasMemoryInformation() {
@@ -323,16 +365,17 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
         AbstractGCEvent<?> that = (AbstractGCEvent<?>) o;
         return Double.compare(that.timestamp, timestamp) == 0 &&
                 Double.compare(that.pause, pause) == 0 &&
-                Objects.equals(datestamp, that.datestamp) &&
+                datestampMillis == that.datestampMillis &&
+                Objects.equals(datestampZone, that.datestampZone) &&
                 Objects.equals(extendedType, that.extendedType) &&
                 Objects.equals(typeAsString, that.typeAsString) &&
-                generation == that.generation &&
-                Objects.equals(details, that.details);
+                Objects.equals(details, that.details) &&
+                (extendedType == null || getGeneration() == that.getGeneration());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(datestamp, timestamp, extendedType, typeAsString, generation, details);
+        return Objects.hash(datestampMillis, datestampZone, timestamp, extendedType, typeAsString, details);
     }
 
     /**
@@ -343,7 +386,7 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
      * @author <a href="mailto:gcviewer@gmx.ch">Joerg Wuethrich</a>
      */
     public static class ExtendedType implements Serializable {
-        private static final Map<String, ExtendedType> WRAPPER_MAP = new HashMap<>();
+        private static final Map<String, ExtendedType> WRAPPER_MAP = new ConcurrentHashMap<>();
         static {
             WRAPPER_MAP.put(Type.UNDEFINED.getName(), new ExtendedType(Type.UNDEFINED));
         }
@@ -365,14 +408,46 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
             return lookup(type, type.getName());
         }
 
+        /**
+         * Returns the <code>ExtendedType</code> for <code>type</code> named <code>fullName</code>; it is created, if
+         * it doesn't exist yet. Safe to be called from several threads at the same time.
+         *
+         * @param type type of the event
+         * @param fullName name of the event as found in the log
+         * @return <code>ExtendedType</code> for <code>fullName</code>
+         */
         public static ExtendedType lookup(Type type, String fullName) {
             ExtendedType extType = WRAPPER_MAP.get(fullName);
             if (extType == null) {
-                extType = new ExtendedType(type, fullName);
-                WRAPPER_MAP.put(fullName, extType);
+                extType = WRAPPER_MAP.computeIfAbsent(fullName, name -> new ExtendedType(type, name));
             }
 
+            return extType;
+        }
 
+        /**
+         * Same as {@link #lookup(Type, String)}, but the full name are the characters of <code>chars</code> between
+         * <code>start</code> and <code>end</code>. The names already looked up for <code>type</code> are compared in
+         * place, so usually no string is created.
+         *
+         * @param type type of the event
+         * @param chars characters containing the name of the event as found in the log
+         * @param start index of the first character of the name
+         * @param end index after the last character of the name
+         * @return <code>ExtendedType</code> for the name
+         */
+        public static ExtendedType lookup(Type type, CharSequence chars, int start, int end) {
+            ExtendedType[] knownTypes = type.extendedTypes;
+            if (knownTypes != null) {
+                for (ExtendedType knownType : knownTypes) {
+                    if (Type.nameEquals(knownType.fullName, chars, start, end)) {
+                        return knownType;
+                    }
+                }
+            }
+
+            ExtendedType extType = lookup(type, chars.subSequence(start, end).toString());
+            type.addExtendedType(extType);
             return extType;
         }
 
@@ -434,7 +509,11 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
         /** pattern this event has in the logfile */
         private GcPattern pattern;
         private CollectionType collectionType;
-        private static final Map<String, Type> TYPE_MAP = new HashMap<String, Type>();
+        /** all types in the order they were created; only used until {@link #TABLE} is built */
+        private static List<Type> CREATED_TYPES = new ArrayList<>();
+        private static final int MAX_EXTENDED_TYPES = 32;
+        /** extended types found for this type (copy on write); see {@link ExtendedType#lookup(Type, CharSequence, int, int)} */
+        private transient volatile ExtendedType[] extendedTypes;
 
         private Type(String name, Generation generation) {
             this(name, generation, Concurrency.SERIAL);
@@ -455,11 +534,93 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
             this.pattern = pattern;
             this.collectionType = collectionType;
 
-            TYPE_MAP.put(this.name, this);
+            CREATED_TYPES.add(this);
         }
 
         public static Type lookup(String type) {
-            return TYPE_MAP.get(type.trim());
+            return lookup(type, 0, type.length());
+        }
+
+        /**
+         * Returns the type named like the characters of <code>chars</code> between <code>start</code> and
+         * <code>end</code> (ignoring leading and trailing whitespace) without creating any objects. The lookup table is
+         * immutable; this method can be called from any number of threads at the same time.
+         *
+         * @param chars characters containing the name of the type
+         * @param start index of the first character of the name
+         * @param end index after the last character of the name
+         * @return type with this name or <code>null</code>, if there is none
+         */
+        public static Type lookup(CharSequence chars, int start, int end) {
+            while (start < end && chars.charAt(start) <= ' ') {
+                ++start;
+            }
+            while (end > start && chars.charAt(end - 1) <= ' ') {
+                --end;
+            }
+
+            int mask = TABLE.length - 1;
+            for (int i = hash(chars, start, end) & mask; TABLE[i] != null; i = (i + 1) & mask) {
+                if (nameEquals(TABLE[i].name, chars, start, end)) {
+                    return TABLE[i];
+                }
+            }
+
+            return null;
+        }
+
+        private static int hash(CharSequence chars, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; ++i) {
+                hash = 31 * hash + chars.charAt(i);
+            }
+
+            return hash ^ (hash >>> 16);
+        }
+
+        private static boolean nameEquals(String name, CharSequence chars, int start, int end) {
+            if (name.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < name.length(); ++i) {
+                if (name.charAt(i) != chars.charAt(start + i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Remembers <code>extendedType</code> for {@link ExtendedType#lookup(Type, CharSequence, int, int)}; at most
+         * {@value #MAX_EXTENDED_TYPES} are kept per type.
+         */
+        private synchronized void addExtendedType(ExtendedType extendedType) {
+            ExtendedType[] knownTypes = extendedTypes != null ? extendedTypes : new ExtendedType[0];
+            if (knownTypes.length < MAX_EXTENDED_TYPES && !Arrays.asList(knownTypes).contains(extendedType)) {
+                ExtendedType[] newTypes = Arrays.copyOf(knownTypes, knownTypes.length + 1);
+                newTypes[knownTypes.length] = extendedType;
+                extendedTypes = newTypes;
+            }
+        }
+
+        /**
+         * Builds an open addressing hash table (at most half full) of all types; a type created later replaces an
+         * earlier one with the same name.
+         */
+        private static Type[] buildTable() {
+            int size = Integer.highestOneBit(CREATED_TYPES.size() * 4 - 1);
+            Type[] table = new Type[size];
+            for (Type type : CREATED_TYPES) {
+                int i = hash(type.name, 0, type.name.length()) & (size - 1);
+                while (table[i] != null && !table[i].name.equals(type.name)) {
+                    i = (i + 1) & (size - 1);
+                }
+                table[i] = type;
+            }
+
+            CREATED_TYPES = null;
+            return table;
         }
 
         public String getName() {
@@ -664,6 +825,8 @@ public abstract class AbstractGCEvent<T extends AbstractGCEvent<T>> implements S
 
         public static final Type IBM_CONCURRENT_COLLECTION_START = new Type("concurrent-collection-start", Generation.ALL, Concurrency.CONCURRENT);
 
+        /** must be declared after all types */
+        private static final Type[] TABLE = buildTable();
     }
 
     /**
@@ -82,7 +82,8 @@ public abstract class AbstractGcResource implements GCResource {
     public void setModel(GCModel model) {
         GCModel oldModel = this.model;
         this.model = model;
-        propertyChangeSupport.firePropertyChange(GcResourceFile.PROPERTY_MODEL, oldModel, model);
+        // the same instance is set again, after events were appended to it -> listeners must be notified anyway
+        propertyChangeSupport.firePropertyChange(GcResourceFile.PROPERTY_MODEL, oldModel != model ? oldModel : null, model);
     }
 
     @Override
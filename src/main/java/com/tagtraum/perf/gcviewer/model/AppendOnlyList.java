@@ -0,0 +1,99 @@
+package com.tagtraum.perf.gcviewer.model;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * List of events of a {@link GCModel}, that are stored as objects. Elements can be appended, but never be changed
+ * in place, once a snapshot was taken: the backing array is copied when it grows or elements are removed, so
+ * {@link #snapshot()} can share the array with this list instead of copying it.
+ *
+ * @param <T> type of the events
+ */
+class AppendOnlyList<T> extends AbstractList<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Object[] elements;
+    private int size;
+    /** <code>true</code>, if a snapshot shares {@link #elements} */
+    private boolean isShared;
+    /** <code>true</code>, if this list is a snapshot, that has not been changed yet */
+    private boolean isSnapshot;
+
+    public AppendOnlyList() {
+        this(new Object[256], 0);
+    }
+
+    private AppendOnlyList(Object[] elements, int size) {
+        super();
+
+        this.elements = elements;
+        this.size = size;
+    }
+
+    @Override
+    public boolean add(T element) {
+        if (size == elements.length || isSnapshot) {
+            // copy: snapshots keep the old array; a snapshot must not write into the array of its source
+            elements = Arrays.copyOf(elements, size + (size >> 1) + 1);
+            isShared = false;
+            isSnapshot = false;
+        }
+        elements[size++] = element;
+        ++modCount;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+
+        return (T) elements[index];
+    }
+
+    @Override
+    public T remove(int index) {
+        T element = get(index);
+        removeRange(index, index + 1);
+        return element;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        Object[] remaining = elements;
+        if (isShared || isSnapshot) {
+            remaining = new Object[elements.length];
+            System.arraycopy(elements, 0, remaining, 0, fromIndex);
+            isShared = false;
+            isSnapshot = false;
+        }
+        System.arraycopy(elements, toIndex, remaining, fromIndex, size - toIndex);
+        Arrays.fill(remaining, size - (toIndex - fromIndex), size, null);
+        elements = remaining;
+        size -= toIndex - fromIndex;
+        ++modCount;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a list of the same elements, which doesn't change, when more elements are appended to this list.
+     * Only the size is copied.
+     *
+     * @return snapshot of this list
+     */
+    public AppendOnlyList<T> snapshot() {
+        isShared = true;
+        AppendOnlyList<T> snapshot = new AppendOnlyList<>(elements, size);
+        snapshot.isSnapshot = true;
+        return snapshot;
+    }
+}
@@ -0,0 +1,80 @@
+package com.tagtraum.perf.gcviewer.model;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+
+/**
+ * List of events of a {@link GCModel}, that are stored in {@link GCEventColumns}: only the indexes of the events
+ * in the columns are kept; {@link #get(int)} creates a new event object on every call.
+ *
+ * <p>Events can only be appended: {@link #add(Object)} registers the last row of the columns, so the event must
+ * have been added to the columns just before.</p>
+ *
+ * @param <T> type of the events
+ */
+class EventIndexList<T> extends AbstractList<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final GCEventColumns columns;
+    private int[] indexes;
+    private int size;
+
+    public EventIndexList(GCEventColumns columns) {
+        this(columns, new int[256], 0);
+    }
+
+    private EventIndexList(GCEventColumns columns, int[] indexes, int size) {
+        super();
+
+        this.columns = columns;
+        this.indexes = indexes;
+        this.size = size;
+    }
+
+    /**
+     * Appends the event, that was added last to the columns.
+     *
+     * @param event event, that was added last to the columns (only its index is kept)
+     * @return <code>true</code>
+     */
+    @Override
+    public boolean add(T event) {
+        if (columns.size() == 0) {
+            throw new IllegalStateException("event must be added to the columns first");
+        }
+        if (size == indexes.length) {
+            // copy: snapshots keep the old array
+            indexes = Arrays.copyOf(indexes, size + (size >> 1));
+        }
+        indexes[size++] = columns.size() - 1;
+        ++modCount;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+
+        return (T) columns.getEvent(indexes[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a list of the same events, which doesn't change, when more events are appended to this list.
+     *
+     * @param columnsSnapshot snapshot of the columns of this list taken at the same time
+     * @return snapshot of this list
+     */
+    public EventIndexList<T> snapshot(GCEventColumns columnsSnapshot) {
+        return new EventIndexList<>(columnsSnapshot, indexes, size);
+    }
+}
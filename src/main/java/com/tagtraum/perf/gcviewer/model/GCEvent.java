@@ -140,7 +140,7 @@ public class GCEvent extends AbstractGCEvent<GCEvent> {
     }
 
     public void toStringBuffer(StringBuffer sb) {
-        if (getDatestamp() != null) {
+        if (hasDatestamp()) {
             sb.append("[").append(DateHelper.formatDate(getDatestamp())).append("]");
         }
         sb.append("[").append(getTimestamp()).append("]");
@@ -0,0 +1,477 @@
+package com.tagtraum.perf.gcviewer.model;
+
+import java.io.Serializable;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.ExtendedType;
+
+/**
+ * Columnar representation of events: all values of an event (timestamp, pause, memory information, type,
+ * datestamp, ...) are held in primitive arrays instead of one object per event. The event objects are only
+ * created on demand ({@link #getEvent(int)}); every call creates a new instance. Iterating over these columns
+ * is much more cache friendly and needs far less memory than keeping the event objects.
+ *
+ * <p>Types and zones are interned: every {@link ExtendedType} gets an id, which is stored per event as a
+ * <code>short</code>. Additionally some flags describing the event are stored, so that views like "all full gc
+ * events" can be created as lists of indexes (see {@link #indexesOf(int)}). The details of the events are kept
+ * in a second instance of this class; every event references the range of its details there.</p>
+ *
+ * <p>Rows can only be appended. {@link #snapshot()} returns a read only view of the rows present at the time of
+ * the call, which can be read by other threads, while more rows are appended to this instance. Instances are not
+ * thread safe otherwise.</p>
+ */
+public class GCEventColumns implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** event stops the world (see {@link AbstractGCEvent#isStopTheWorld()}) */
+    public static final int STOP_THE_WORLD = 1;
+    /** event is a full collection (see {@link AbstractGCEvent#isFull()}) */
+    public static final int FULL = 1 << 1;
+    /** event is a {@link ConcurrentGCEvent} */
+    public static final int CONCURRENT = 1 << 2;
+    /** event is a {@link VmOperationEvent} */
+    public static final int VM_OPERATION = 1 << 3;
+    /** event contains information about memory (see {@link AbstractGCEvent#hasMemoryInformation()}) */
+    public static final int MEMORY_INFORMATION = 1 << 4;
+
+    private static final byte KIND_GC_EVENT = 0;
+    private static final byte KIND_G1_GC_EVENT = 1;
+    private static final byte KIND_GC_EVENT_UJL = 2;
+    private static final byte KIND_CONCURRENT_GC_EVENT = 3;
+    private static final byte KIND_VM_OPERATION_EVENT = 4;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final short NO_ZONE = -1;
+
+    private final boolean isSnapshot;
+    private int size;
+    private byte[] kinds;
+    private double[] timestamps;
+    private double[] pauses;
+    private int[] preUsed;
+    private int[] postUsed;
+    private int[] total;
+    private int[] numbers;
+    private short[] typeIds;
+    private byte[] flags;
+    private long[] datestamps;
+    private short[] zoneIds;
+    /** duration of concurrent events */
+    private double[] durations;
+    private int[] firstDetails;
+    private int[] detailCounts;
+    /** details of all events; created with the first event, that has details */
+    private GCEventColumns details;
+
+    private ExtendedType[] types;
+    private int typeCount;
+    private ZoneId[] zones;
+    private int zoneCount;
+    private final Map<ExtendedType, Short> typeIdMap;
+    private final Map<ZoneId, Short> zoneIdMap;
+
+    public GCEventColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private GCEventColumns(int capacity) {
+        isSnapshot = false;
+        kinds = new byte[capacity];
+        timestamps = new double[capacity];
+        pauses = new double[capacity];
+        preUsed = new int[capacity];
+        postUsed = new int[capacity];
+        total = new int[capacity];
+        numbers = new int[capacity];
+        typeIds = new short[capacity];
+        flags = new byte[capacity];
+        datestamps = new long[capacity];
+        zoneIds = new short[capacity];
+        durations = new double[capacity];
+        firstDetails = new int[capacity];
+        detailCounts = new int[capacity];
+        types = new ExtendedType[16];
+        zones = new ZoneId[4];
+        typeIdMap = new HashMap<>();
+        zoneIdMap = new HashMap<>();
+    }
+
+    /**
+     * Creates a read only view of <code>columns</code>: the arrays are shared, because rows below the current
+     * size are never changed, when rows are appended (bigger arrays are copies).
+     */
+    private GCEventColumns(GCEventColumns columns) {
+        isSnapshot = true;
+        size = columns.size;
+        kinds = columns.kinds;
+        timestamps = columns.timestamps;
+        pauses = columns.pauses;
+        preUsed = columns.preUsed;
+        postUsed = columns.postUsed;
+        total = columns.total;
+        numbers = columns.numbers;
+        typeIds = columns.typeIds;
+        flags = columns.flags;
+        datestamps = columns.datestamps;
+        zoneIds = columns.zoneIds;
+        durations = columns.durations;
+        firstDetails = columns.firstDetails;
+        detailCounts = columns.detailCounts;
+        details = columns.details != null ? columns.details.snapshot() : null;
+        types = columns.types;
+        typeCount = columns.typeCount;
+        zones = columns.zones;
+        zoneCount = columns.zoneCount;
+        typeIdMap = null;
+        zoneIdMap = null;
+    }
+
+    /**
+     * Appends the values of <code>event</code> and all its details as new row.
+     *
+     * @param event event to be added
+     * @throws IllegalArgumentException if <code>event</code> is not one of the event classes of this package
+     */
+    public void add(AbstractGCEvent<?> event) {
+        if (isSnapshot) {
+            throw new IllegalStateException("snapshot is read only");
+        }
+        byte kind = kindOf(event);
+
+        ensureCapacity(size + 1);
+        int index = size;
+        kinds[index] = kind;
+        numbers[index] = event.getNumber();
+        durations[index] = event instanceof ConcurrentGCEvent ? ((ConcurrentGCEvent) event).getDuration() : 0;
+        firstDetails[index] = details != null ? details.size() : 0;
+        detailCounts[index] = 0;
+        for (Iterator<?> eventDetails = event.details(); eventDetails.hasNext(); ) {
+            if (details == null) {
+                details = new GCEventColumns(INITIAL_CAPACITY / 4);
+            }
+            details.add((AbstractGCEvent<?>) eventDetails.next());
+            ++detailCounts[index];
+        }
+        setValues(index, event);
+        ++size;
+    }
+
+    /**
+     * Writes the values of <code>event</code> again, which may change after it was added (timestamp, pause,
+     * datestamp, memory information and type). The details are not updated.
+     *
+     * @param index index of the event
+     * @param event event with the new values
+     */
+    public void update(int index, AbstractGCEvent<?> event) {
+        if (isSnapshot) {
+            throw new IllegalStateException("snapshot is read only");
+        }
+        checkIndex(index);
+        setValues(index, event);
+    }
+
+    private void setValues(int index, AbstractGCEvent<?> event) {
+        timestamps[index] = event.getTimestamp();
+        pauses[index] = event.getPause();
+        preUsed[index] = event.getPreUsed();
+        postUsed[index] = event.getPostUsed();
+        total[index] = event.getTotal();
+        typeIds[index] = internType(event.getExtendedType());
+        flags[index] = (byte) getFlags(event);
+        if (event.hasDatestamp()) {
+            datestamps[index] = event.getDatestampMillis();
+            zoneIds[index] = internZone(event.getDatestampZone());
+        }
+        else {
+            datestamps[index] = 0;
+            zoneIds[index] = NO_ZONE;
+        }
+    }
+
+    /**
+     * Creates the event at <code>index</code> including its details. Every call creates a new instance.
+     *
+     * @param index index of the event
+     * @return new instance of the event at <code>index</code>
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public AbstractGCEvent<?> getEvent(int index) {
+        checkIndex(index);
+
+        AbstractGCEvent event = newEvent(kinds[index]);
+        event.setExtendedType(types[typeIds[index]]);
+        event.setTimestamp(timestamps[index]);
+        event.setPause(pauses[index]);
+        event.setPreUsed(preUsed[index]);
+        event.setPostUsed(postUsed[index]);
+        event.setTotal(total[index]);
+        event.setNumber(numbers[index]);
+        if (zoneIds[index] != NO_ZONE) {
+            event.setDateStamp(datestamps[index], zones[zoneIds[index]]);
+        }
+        if (event instanceof ConcurrentGCEvent) {
+            ((ConcurrentGCEvent) event).setDuration(durations[index]);
+        }
+        for (int i = 0; i < detailCounts[index]; ++i) {
+            event.add(details.getEvent(firstDetails[index] + i));
+        }
+
+        return event;
+    }
+
+    /**
+     * Returns a read only view of all rows present now, which doesn't change, when more rows are added to this
+     * instance. No data is copied.
+     *
+     * @return snapshot of the current rows
+     */
+    public GCEventColumns snapshot() {
+        return new GCEventColumns(this);
+    }
+
+    /**
+     * @return number of events stored in the columns
+     */
+    public int size() {
+        return size;
+    }
+
+    public double getTimestamp(int index) {
+        checkIndex(index);
+        return timestamps[index];
+    }
+
+    public double getPause(int index) {
+        checkIndex(index);
+        return pauses[index];
+    }
+
+    public int getPreUsed(int index) {
+        checkIndex(index);
+        return preUsed[index];
+    }
+
+    public int getPostUsed(int index) {
+        checkIndex(index);
+        return postUsed[index];
+    }
+
+    public int getTotal(int index) {
+        checkIndex(index);
+        return total[index];
+    }
+
+    public int getTypeId(int index) {
+        checkIndex(index);
+        return typeIds[index];
+    }
+
+    public ExtendedType getExtendedType(int index) {
+        return getTypeForId(getTypeId(index));
+    }
+
+    /**
+     * Returns the type, that was interned using <code>typeId</code>.
+     *
+     * @param typeId id of type as returned by {@link #getTypeId(int)}
+     * @return type for <code>typeId</code>
+     */
+    public ExtendedType getTypeForId(int typeId) {
+        if (typeId < 0 || typeId >= typeCount) {
+            throw new IndexOutOfBoundsException("typeId: " + typeId + ", type count: " + typeCount);
+        }
+        return types[typeId];
+    }
+
+    /**
+     * @return number of distinct types interned so far
+     */
+    public int getTypeCount() {
+        return typeCount;
+    }
+
+    /**
+     * Returns <code>true</code>, if the event at <code>index</code> has all given <code>flags</code> set.
+     *
+     * @param index index of event
+     * @param flags combination of {@link #STOP_THE_WORLD}, {@link #FULL}, {@link #CONCURRENT},
+     * {@link #VM_OPERATION} and {@link #MEMORY_INFORMATION}
+     * @return <code>true</code>, if all flags are set
+     */
+    public boolean is(int index, int flags) {
+        checkIndex(index);
+        return (this.flags[index] & flags) == flags;
+    }
+
+    /**
+     * Returns the indexes of all events, which have all given <code>flags</code> set, in ascending order.
+     *
+     * @param flags see {@link #is(int, int)}
+     * @return indexes of matching events
+     */
+    public int[] indexesOf(int flags) {
+        int[] indexes = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; ++i) {
+            if ((this.flags[i] & flags) == flags) {
+                indexes[count++] = i;
+            }
+        }
+
+        return Arrays.copyOf(indexes, count);
+    }
+
+    /**
+     * Returns the index of the first event with a timestamp &gt;= <code>timestamp</code> (binary search). Requires
+     * the timestamps to be in ascending order, which is true for all logs, that have correct timestamps
+     * (see {@link GCModel#hasCorrectTimestamp()}).
+     *
+     * @param timestamp timestamp to search for
+     * @return index of first event at or after <code>timestamp</code>; {@link #size()} if there is none
+     */
+    public int indexOfTimestamp(double timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private short internType(ExtendedType type) {
+        Short id = typeIdMap.get(type);
+        if (id == null) {
+            if (typeCount > Short.MAX_VALUE) {
+                throw new IllegalStateException("too many distinct types: " + typeCount);
+            }
+
+            id = (short) typeCount;
+            if (typeCount == types.length) {
+                // copy: snapshots keep the old array
+                types = Arrays.copyOf(types, typeCount * 2);
+            }
+            types[typeCount++] = type;
+            typeIdMap.put(type, id);
+        }
+
+        return id;
+    }
+
+    private short internZone(ZoneId zone) {
+        Short id = zoneIdMap.get(zone);
+        if (id == null) {
+            if (zoneCount > Short.MAX_VALUE) {
+                throw new IllegalStateException("too many distinct zones: " + zoneCount);
+            }
+
+            id = (short) zoneCount;
+            if (zoneCount == zones.length) {
+                zones = Arrays.copyOf(zones, zoneCount * 2);
+            }
+            zones[zoneCount++] = zone;
+            zoneIdMap.put(zone, id);
+        }
+
+        return id;
+    }
+
+    private int getFlags(AbstractGCEvent<?> event) {
+        int eventFlags = 0;
+        if (event.isStopTheWorld()) {
+            eventFlags |= STOP_THE_WORLD;
+        }
+        if (event.isFull()) {
+            eventFlags |= FULL;
+        }
+        if (event instanceof ConcurrentGCEvent) {
+            eventFlags |= CONCURRENT;
+        }
+        if (event instanceof VmOperationEvent) {
+            eventFlags |= VM_OPERATION;
+        }
+        if (event.hasMemoryInformation()) {
+            eventFlags |= MEMORY_INFORMATION;
+        }
+
+        return eventFlags;
+    }
+
+    private static byte kindOf(AbstractGCEvent<?> event) {
+        Class<?> eventClass = event.getClass();
+        if (eventClass == GCEvent.class) {
+            return KIND_GC_EVENT;
+        }
+        else if (eventClass == G1GcEvent.class) {
+            return KIND_G1_GC_EVENT;
+        }
+        else if (eventClass == GCEventUJL.class) {
+            return KIND_GC_EVENT_UJL;
+        }
+        else if (eventClass == ConcurrentGCEvent.class) {
+            return KIND_CONCURRENT_GC_EVENT;
+        }
+        else if (eventClass == VmOperationEvent.class) {
+            return KIND_VM_OPERATION_EVENT;
+        }
+
+        throw new IllegalArgumentException("can't store event of " + eventClass);
+    }
+
+    private static AbstractGCEvent<?> newEvent(byte kind) {
+        switch (kind) {
+            case KIND_GC_EVENT:
+                return new GCEvent();
+            case KIND_G1_GC_EVENT:
+                return new G1GcEvent();
+            case KIND_GC_EVENT_UJL:
+                return new GCEventUJL();
+            case KIND_CONCURRENT_GC_EVENT:
+                return new ConcurrentGCEvent();
+            case KIND_VM_OPERATION_EVENT:
+                return new VmOperationEvent();
+            default:
+                throw new IllegalStateException("unknown kind of event: " + kind);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > timestamps.length) {
+            // always copies: snapshots keep reading the old arrays
+            int newCapacity = Math.max(capacity, timestamps.length + (timestamps.length >> 1));
+            kinds = Arrays.copyOf(kinds, newCapacity);
+            timestamps = Arrays.copyOf(timestamps, newCapacity);
+            pauses = Arrays.copyOf(pauses, newCapacity);
+            preUsed = Arrays.copyOf(preUsed, newCapacity);
+            postUsed = Arrays.copyOf(postUsed, newCapacity);
+            total = Arrays.copyOf(total, newCapacity);
+            numbers = Arrays.copyOf(numbers, newCapacity);
+            typeIds = Arrays.copyOf(typeIds, newCapacity);
+            flags = Arrays.copyOf(flags, newCapacity);
+            datestamps = Arrays.copyOf(datestamps, newCapacity);
+            zoneIds = Arrays.copyOf(zoneIds, newCapacity);
+            durations = Arrays.copyOf(durations, newCapacity);
+            firstDetails = Arrays.copyOf(firstDetails, newCapacity);
+            detailCounts = Arrays.copyOf(detailCounts, newCapacity);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.tagtraum.perf.gcviewer.model;
+
+/**
+ * Receives the events of a gc log in the order they are read. {@link GCModel} is the sink keeping all events;
+ * other sinks (like the csv exporters) can process the events one by one without holding them in memory.
+ */
+public interface GCEventSink {
+
+    /**
+     * Sink ignoring all events: a model created with it (see {@link GCModel#GCModel(GCEventSink)}) only calculates
+     * the statistics and keeps just the last few events, so the memory needed doesn't depend on the size of the log.
+     */
+    GCEventSink DISCARD = new GCEventSink() {
+        @Override
+        public void setFormat(GCModel.Format format) {
+            // nothing to do
+        }
+
+        @Override
+        public void add(AbstractGCEvent<?> event) {
+            // nothing to do
+        }
+    };
+
+    /**
+     * Sets the format of the log being read. Readers set it before they add the first event.
+     *
+     * @param format format of the log
+     */
+    void setFormat(GCModel.Format format);
+
+    /**
+     * Receives the next event read from the log.
+     *
+     * @param event event read
+     */
+    void add(AbstractGCEvent<?> event);
+}
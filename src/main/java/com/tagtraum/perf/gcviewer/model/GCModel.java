@@ -14,7 +14,6 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -35,7 +34,7 @@ import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Generation;
  *
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
-public class GCModel implements Serializable {
+public class GCModel implements GCEventSink, Serializable {
 
     private static final long serialVersionUID = -6479685723904770990L;
 
@@ -126,6 +125,12 @@ public class GCModel implements Serializable {
         }
     }
 
+    /**
+     * System property: if <code>true</code>, models created with {@link #GCModel()} keep their events in
+     * {@link GCEventColumns} instead of event objects (see {@link #GCModel(boolean)}).
+     */
+    public static final String COLUMNAR_PROPERTY = "gcviewer.model.columnar";
+
     private static final Logger LOG = Logger.getLogger(GCModel.class.getName());
 
     private List<AbstractGCEvent<?>> allEvents;
@@ -135,6 +140,11 @@ public class GCModel implements Serializable {
     private List<ConcurrentGCEvent> concurrentGCEvents;
     private List<GCEvent> currentNoFullGCEvents;
     private List<GCEvent> fullGCEvents;
+    // timestamps of the events of the lists above for fast access to events in a time range
+    private TimestampIndex stopTheWorldTimestamps;
+    private TimestampIndex gcTimestamps;
+    private TimestampIndex concurrentGCTimestamps;
+    private TimestampIndex fullGCTimestamps;
     private FileInformation fileInformation = new FileInformation();
 
     private Map<String, DoubleData> fullGcEventPauses; // pause information about all full gc events for detailed output
@@ -180,15 +190,52 @@ public class GCModel implements Serializable {
     private RegressionLine postFullGCSlope;
     private RegressionLine relativePostFullGCIncrease;
     private URL url;
+    private final boolean isColumnar;
+    private GCEventColumns columns; // store of all events, if isColumnar; otherwise created on demand (see getColumns())
+    private transient GCEventSink eventSink; // receives all events, which are not kept in this model, if set
 
+    /**
+     * Creates a model, that keeps its events in columns, if the system property {@value #COLUMNAR_PROPERTY} is
+     * <code>true</code> (see {@link #GCModel(boolean)}).
+     */
     public GCModel() {
-        this.allEvents = new ArrayList<AbstractGCEvent<?>>();
-        this.stopTheWorldEvents = new ArrayList<AbstractGCEvent<?>>();
-        this.gcEvents = new ArrayList<GCEvent>();
-        this.vmOperationEvents = new ArrayList<AbstractGCEvent<?>>();
-        this.concurrentGCEvents = new ArrayList<ConcurrentGCEvent>();
-        this.fullGCEvents = new ArrayList<GCEvent>();
-        this.currentNoFullGCEvents = new ArrayList<GCEvent>();
+        this(Boolean.getBoolean(COLUMNAR_PROPERTY));
+    }
+
+    /**
+     * Creates a model, that keeps its events either as objects or in columns. In columnar form, every event needs
+     * only a few dozen bytes (instead of several objects), so that logs with tens of millions of events fit into
+     * the heap. The event lists of the model only hold indexes into the columns; the event objects returned by
+     * {@link #get(int)} and the iterators are created on demand (every call returns a new instance, so changes to
+     * these objects don't change the model). The statistics are the same in both forms.
+     *
+     * @param isColumnar <code>true</code>: events are stored in {@link GCEventColumns}
+     */
+    public GCModel(boolean isColumnar) {
+        this.isColumnar = isColumnar;
+        if (isColumnar) {
+            this.columns = new GCEventColumns();
+            this.allEvents = new EventIndexList<AbstractGCEvent<?>>(columns);
+            this.stopTheWorldEvents = new EventIndexList<AbstractGCEvent<?>>(columns);
+            this.gcEvents = new EventIndexList<GCEvent>(columns);
+            this.vmOperationEvents = new EventIndexList<AbstractGCEvent<?>>(columns);
+            this.concurrentGCEvents = new EventIndexList<ConcurrentGCEvent>(columns);
+            this.fullGCEvents = new EventIndexList<GCEvent>(columns);
+            this.currentNoFullGCEvents = new EventIndexList<GCEvent>(columns);
+        }
+        else {
+            this.allEvents = new AppendOnlyList<AbstractGCEvent<?>>();
+            this.stopTheWorldEvents = new AppendOnlyList<AbstractGCEvent<?>>();
+            this.gcEvents = new AppendOnlyList<GCEvent>();
+            this.vmOperationEvents = new AppendOnlyList<AbstractGCEvent<?>>();
+            this.concurrentGCEvents = new AppendOnlyList<ConcurrentGCEvent>();
+            this.fullGCEvents = new AppendOnlyList<GCEvent>();
+            this.currentNoFullGCEvents = new AppendOnlyList<GCEvent>();
+        }
+        this.stopTheWorldTimestamps = new TimestampIndex();
+        this.gcTimestamps = new TimestampIndex();
+        this.concurrentGCTimestamps = new TimestampIndex();
+        this.fullGCTimestamps = new TimestampIndex();
         this.currentPostGCSlope = new RegressionLine();
         this.postFullGCSlope = new RegressionLine();
         this.postGCSlope = new DoubleData();
@@ -197,11 +244,11 @@ public class GCModel implements Serializable {
         this.postFullGCUsedHeap = new IntData();
 
         this.postGCUsedMemory = new IntData();
-        this.totalPause = new DoubleData();
-        this.fullGCPause = new DoubleData();
+        this.totalPause = new DoubleData(true);
+        this.fullGCPause = new DoubleData(true);
         this.fullGcPauseInterval = new DoubleData();
-        this.gcPause = new DoubleData();
-        this.vmOperationPause = new DoubleData();
+        this.gcPause = new DoubleData(true);
+        this.vmOperationPause = new DoubleData(true);
         this.pauseInterval = new DoubleData();
         this.initiatingOccupancyFraction = new DoubleData();
         this.currentRelativePostGCIncrease = new RegressionLine();
@@ -229,6 +276,19 @@ public class GCModel implements Serializable {
         this.promotion = new IntData();
     }
 
+    /**
+     * Creates a model, that passes every event on to <code>eventSink</code> after it was added. Only the few events
+     * needed to add the next ones are kept (so {@link #size()}, {@link #get(int)} and the iterators only see
+     * these), but all statistics are calculated as usual. The memory needed doesn't depend on the size of the log.
+     *
+     * @param eventSink receives all events added to this model
+     */
+    public GCModel(GCEventSink eventSink) {
+        this(false);
+
+        this.eventSink = eventSink;
+    }
+
     public long getLastModified() {
         return fileInformation.lastModified;
     }
@@ -312,6 +372,61 @@ public class GCModel implements Serializable {
         this.fileInformation.setFileInformation(readFileInformation(url));
     }
 
+    /**
+     * Adds all events of <code>increment</code> to this model and takes over its url and file information.
+     * Used to append the events, that were read from the end of a growing log file.
+     *
+     * @param increment model containing the events to be appended
+     */
+    public void append(GCModel increment) {
+        for (AbstractGCEvent<?> event : increment.allEvents) {
+            add(event);
+        }
+
+        this.url = increment.url;
+        this.fileInformation.setFileInformation(increment.fileInformation);
+    }
+
+    /**
+     * Returns a snapshot of the events of this model, which doesn't change, when events are added to this model later.
+     * Other threads can read the snapshot (e.g. to render the chart in the background), while events are appended to
+     * this model. The snapshot shares the arrays of the event lists and their timestamps with this model (they are
+     * only appended to), so taking a snapshot doesn't depend on the number of events. The statistics of the snapshot
+     * are empty.
+     *
+     * @return snapshot of the events of this model
+     */
+    public GCModel getEventSnapshot() {
+        GCModel snapshot = new GCModel(isColumnar);
+        GCEventColumns columnsSnapshot = isColumnar ? columns.snapshot() : null;
+        snapshot.columns = columnsSnapshot;
+        snapshot.allEvents = snapshotOf(allEvents, columnsSnapshot);
+        snapshot.stopTheWorldEvents = snapshotOf(stopTheWorldEvents, columnsSnapshot);
+        snapshot.gcEvents = snapshotOf(gcEvents, columnsSnapshot);
+        snapshot.vmOperationEvents = snapshotOf(vmOperationEvents, columnsSnapshot);
+        snapshot.concurrentGCEvents = snapshotOf(concurrentGCEvents, columnsSnapshot);
+        snapshot.fullGCEvents = snapshotOf(fullGCEvents, columnsSnapshot);
+        snapshot.stopTheWorldTimestamps = stopTheWorldTimestamps.snapshot();
+        snapshot.gcTimestamps = gcTimestamps.snapshot();
+        snapshot.concurrentGCTimestamps = concurrentGCTimestamps.snapshot();
+        snapshot.fullGCTimestamps = fullGCTimestamps.snapshot();
+        snapshot.firstPauseTimeStamp = firstPauseTimeStamp;
+        snapshot.lastPauseTimeStamp = lastPauseTimeStamp;
+        snapshot.format = format;
+        snapshot.url = url;
+        return snapshot;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<T> snapshotOf(List<T> events, GCEventColumns columnsSnapshot) {
+        if (isColumnar) {
+            // no copy needed: the columns are only appended to
+            return ((EventIndexList<T>) events).snapshot(columnsSnapshot);
+        }
+
+        return ((AppendOnlyList<T>) events).snapshot();
+    }
+
     public boolean isDifferent(File otherFile) {
         // we just ignore the file name for now...
         FileInformation fileInformation = new FileInformation(otherFile);
@@ -349,6 +464,19 @@ public class GCModel implements Serializable {
         return stopTheWorldEvents.iterator();
     }
 
+    /**
+     * Returns an iterator to the stop the world events starting between <code>fromTimestamp</code> and
+     * <code>toTimestamp</code> (both inclusive). The first event is found using binary search; if the timestamps
+     * of the events are not in ascending order, all events are returned.
+     *
+     * @param fromTimestamp lower bound of timestamps
+     * @param toTimestamp upper bound of timestamps
+     * @return iterator to the stop the world events in the given time range
+     */
+    public Iterator<AbstractGCEvent<?>> getStopTheWorldEvents(double fromTimestamp, double toTimestamp) {
+        return getEvents(stopTheWorldEvents, stopTheWorldTimestamps, fromTimestamp, toTimestamp);
+    }
+
     /**
      * Returns an iterator to all garbage collection events (without full gcs / vm operations).
      *
@@ -358,6 +486,19 @@ public class GCModel implements Serializable {
         return gcEvents.iterator();
     }
 
+    /**
+     * Returns an iterator to the garbage collection events (without full gcs / vm operations) starting between
+     * <code>fromTimestamp</code> and <code>toTimestamp</code>.
+     *
+     * @param fromTimestamp lower bound of timestamps
+     * @param toTimestamp upper bound of timestamps
+     * @return iterator to the gc events in the given time range
+     * @see #getStopTheWorldEvents(double, double)
+     */
+    public Iterator<GCEvent> getGCEvents(double fromTimestamp, double toTimestamp) {
+        return getEvents(gcEvents, gcTimestamps, fromTimestamp, toTimestamp);
+    }
+
     /**
      * Returns an iterator to all vm operation events.
      *
@@ -376,6 +517,19 @@ public class GCModel implements Serializable {
         return concurrentGCEvents.iterator();
     }
 
+    /**
+     * Returns an iterator to the concurrent gc events starting between <code>fromTimestamp</code> and
+     * <code>toTimestamp</code>.
+     *
+     * @param fromTimestamp lower bound of timestamps
+     * @param toTimestamp upper bound of timestamps
+     * @return iterator to the concurrent gc events in the given time range
+     * @see #getStopTheWorldEvents(double, double)
+     */
+    public Iterator<ConcurrentGCEvent> getConcurrentGCEvents(double fromTimestamp, double toTimestamp) {
+        return getEvents(concurrentGCEvents, concurrentGCTimestamps, fromTimestamp, toTimestamp);
+    }
+
     /**
      * Returns an iterator to all events in the order they were added to the model.
      *
@@ -394,19 +548,67 @@ public class GCModel implements Serializable {
         return fullGCEvents.iterator();
     }
 
+    /**
+     * Returns an iterator to the full gc events starting between <code>fromTimestamp</code> and
+     * <code>toTimestamp</code>.
+     *
+     * @param fromTimestamp lower bound of timestamps
+     * @param toTimestamp upper bound of timestamps
+     * @return iterator to the full gc events in the given time range
+     * @see #getStopTheWorldEvents(double, double)
+     */
+    public Iterator<GCEvent> getFullGCEvents(double fromTimestamp, double toTimestamp) {
+        return getEvents(fullGCEvents, fullGCTimestamps, fromTimestamp, toTimestamp);
+    }
+
+    private <T> Iterator<T> getEvents(List<T> events, TimestampIndex timestamps, double fromTimestamp, double toTimestamp) {
+        if (!timestamps.isSorted()) {
+            return events.iterator();
+        }
+
+        int fromIndex = timestamps.indexOfFirstAtOrAfter(fromTimestamp);
+        int toIndex = Math.max(fromIndex, timestamps.indexOfFirstAfter(toTimestamp));
+        return events.subList(fromIndex, toIndex).iterator();
+    }
+
     private DoubleData getDoubleData(String key, Map<String, DoubleData> eventMap) {
         DoubleData data = eventMap.get(key);
         if (data == null) {
-            data = new DoubleData();
+            data = new DoubleData(true); // all maps contain pauses
             eventMap.put(key, data);
         }
 
         return data;
     }
 
+    /**
+     * Adds the event to this model. The event must be complete (including its details): a columnar model (see
+     * {@link #GCModel(boolean)}) copies its values and doesn't see changes made afterwards.
+     *
+     * @param abstractEvent event to be added
+     */
+    @Override
     public void add(AbstractGCEvent<?> abstractEvent) {
+        add(abstractEvent, true);
+    }
+
+    /**
+     * Adds an event, that was part of a model before (e.g. read from a cache). Its pause and timestamp were
+     * already adjusted then and are taken as they are.
+     *
+     * @param abstractEvent event to be added
+     */
+    public void restore(AbstractGCEvent<?> abstractEvent) {
+        add(abstractEvent, false);
+    }
+
+    private void add(AbstractGCEvent<?> abstractEvent, boolean adjustVmOperations) {
         makeSureHasTimeStamp(abstractEvent);
 
+        if (isColumnar) {
+            // the event lists register the row added last
+            columns.add(abstractEvent);
+        }
         allEvents.add(abstractEvent);
 
         if (abstractEvent.isStopTheWorld()) {
@@ -418,6 +620,7 @@ public class GCModel implements Serializable {
         if (abstractEvent instanceof ConcurrentGCEvent) {
             ConcurrentGCEvent concEvent = (ConcurrentGCEvent) abstractEvent;
             concurrentGCEvents.add(concEvent);
+            concurrentGCTimestamps.add(concEvent.getTimestamp(), concEvent.getPause(), 0, 0);
 
             DoubleData pauses = getDoubleData(concEvent.getExtendedType().getName(), concurrentGcEventPauses);
             pauses.add(concEvent.getPause());
@@ -436,7 +639,7 @@ public class GCModel implements Serializable {
 
             updateGcPauseInterval(event);
 
-            updatePromotion(event);
+            int promoted = updatePromotion(event);
 
             if (event.isInitialMark()) {
                 updateInitiatingOccupancyFraction(event);
@@ -454,6 +657,7 @@ public class GCModel implements Serializable {
                 pauses.add(event.getPause());
 
                 gcEvents.add(event);
+                gcTimestamps.add(event.getTimestamp(), event.getPause(), event.getPreUsed() - event.getPostUsed(), promoted);
                 postGCUsedMemory.add(event.getPostUsed());
                 freedMemoryByGC.add(event.getPreUsed() - event.getPostUsed());
                 currentNoFullGCEvents.add(event);
@@ -469,6 +673,7 @@ public class GCModel implements Serializable {
 
                 updateFullGcPauseInterval(event);
                 fullGCEvents.add(event);
+                fullGCTimestamps.add(event.getTimestamp(), event.getPause(), event.getPreUsed() - event.getPostUsed(), 0);
                 postFullGCUsedHeap.add(event.getPostUsed());
                 int freed = event.getPreUsed() - event.getPostUsed();
                 freedMemoryByFullGC.add(freed);
@@ -491,9 +696,11 @@ public class GCModel implements Serializable {
 
         }
         else if (abstractEvent instanceof VmOperationEvent) {
-            adjustPause((VmOperationEvent) abstractEvent);
-            if (abstractEvent.getTimestamp() < 0.000001) {
-                setTimeStamp((VmOperationEvent) abstractEvent);
+            if (adjustVmOperations) {
+                adjustPause((VmOperationEvent) abstractEvent);
+                if (abstractEvent.getTimestamp() < 0.000001) {
+                    setTimeStamp((VmOperationEvent) abstractEvent);
+                }
             }
             vmOperationPause.add(abstractEvent.getPause());
             vmOperationEvents.add(abstractEvent);
@@ -511,13 +718,49 @@ public class GCModel implements Serializable {
             // add to total pause here, because then adjusted VmOperationEvents are added correctly
             // as well
             totalPause.add(abstractEvent.getPause());
+            // timestamps of vmOperationEvents may have been adjusted above
+            stopTheWorldTimestamps.add(abstractEvent.getTimestamp(), abstractEvent.getPause(), 0, 0);
+        }
+        if (isColumnar) {
+            // pause and timestamp of vmOperationEvents may have been adjusted above
+            columns.update(columns.size() - 1, abstractEvent);
+        }
+        else if (columns != null) {
+            columns.add(abstractEvent);
+        }
+        if (eventSink != null) {
+            eventSink.add(abstractEvent);
+            discardEvents();
+        }
+    }
+
+    /**
+     * Removes all events, that are not needed any more to add the next event (first event for the datestamps, last
+     * event and last stop the world event for adjustments of the next one).
+     */
+    private void discardEvents() {
+        if (allEvents.size() > 2) {
+            allEvents.subList(1, allEvents.size() - 1).clear();
         }
+        if (stopTheWorldEvents.size() > 1) {
+            stopTheWorldEvents.subList(0, stopTheWorldEvents.size() - 1).clear();
+        }
+        gcEvents.clear();
+        vmOperationEvents.clear();
+        concurrentGCEvents.clear();
+        fullGCEvents.clear();
+        currentNoFullGCEvents.clear();
+        stopTheWorldTimestamps.clear();
+        gcTimestamps.clear();
+        concurrentGCTimestamps.clear();
+        fullGCTimestamps.clear();
+        columns = null;
     }
 
     private void makeSureHasTimeStamp(AbstractGCEvent<?> abstractEvent) {
-        if (size() >= 1 && abstractEvent.getTimestamp() < 0.000001 && abstractEvent.getDatestamp() != null) {
+        if (size() >= 1 && abstractEvent.getTimestamp() < 0.000001 && abstractEvent.hasDatestamp() && get(0).hasDatestamp()) {
             // looks like there is no timestamp set -> set one, because a lot depends on the timestamps
-            abstractEvent.setTimestamp(ChronoUnit.MILLIS.between(getFirstDateStamp(), abstractEvent.getDatestamp()) / 1000.0);
+            abstractEvent.setTimestamp((abstractEvent.getDatestampMillis() - get(0).getDatestampMillis()) / 1000.0);
         }
     }
 
@@ -575,7 +818,7 @@ public class GCModel implements Serializable {
     private void adjustTimeStamp(AbstractGCEvent<?> previousEvent, VmOperationEvent vmOpEvent) {
         if (previousEvent.getTimestamp() + previousEvent.getPause() > vmOpEvent.getTimestamp()) {
             vmOpEvent.setTimestamp(previousEvent.getTimestamp() + previousEvent.getPause());
-            if (previousEvent.getDatestamp() != null) {
+            if (previousEvent.hasDatestamp()) {
                 Duration adjustment = Duration.ofMinutes((long) Math.rint(previousEvent.getPause() / 60))
                         .plus((long) Math.rint(previousEvent.getPause()), ChronoUnit.SECONDS)
                         .plus((long) Math.rint(previousEvent.getPause() * 1000), ChronoUnit.MILLIS);
@@ -600,8 +843,9 @@ public class GCModel implements Serializable {
      * a collection of the young space.
      *
      * @param event
+     * @return memory promoted by <code>event</code> (0, if it is not a young collection with details)
      */
-    private void updatePromotion(GCEvent event) {
+    private int updatePromotion(GCEvent event) {
         if (event.getGeneration().equals(Generation.YOUNG) && event.hasDetails() && !event.isFull()) {
 
             GCEvent youngEvent = null;
@@ -614,11 +858,14 @@ public class GCModel implements Serializable {
             }
 
             if (youngEvent != null) {
-                promotion.add((youngEvent.getPreUsed() - youngEvent.getPostUsed())
-                        - (event.getPreUsed() - event.getPostUsed())
-                );
+                int promoted = (youngEvent.getPreUsed() - youngEvent.getPostUsed())
+                        - (event.getPreUsed() - event.getPostUsed());
+                promotion.add(promoted);
+                return promoted;
             }
         }
+
+        return 0;
     }
 
     private void updateGcPauseInterval(GCEvent event) {
@@ -721,6 +968,34 @@ public class GCModel implements Serializable {
         return allEvents.get(index);
     }
 
+    /**
+     * @return <code>true</code>, if the events are stored in columns (see {@link #GCModel(boolean)})
+     */
+    public boolean isColumnar() {
+        return isColumnar;
+    }
+
+    /**
+     * Returns the events of this model in columnar form. If the model is not columnar, the columns are created on
+     * first access and kept up to date as long as more events are added. They should be preferred over
+     * {@link #getEvents()}, where only timestamp, pause, memory or type information is needed for many events
+     * (like in charts).
+     *
+     * @return columnar view of all events
+     */
+    public GCEventColumns getColumns() {
+        if (columns == null) {
+            GCEventColumns newColumns = new GCEventColumns();
+            for (AbstractGCEvent<?> event : allEvents) {
+                newColumns.add(event);
+            }
+
+            columns = newColumns;
+        }
+
+        return columns;
+    }
+
     /**
      * @return Statistical data about pauses caused by full garbage collections.
      */
@@ -860,6 +1135,38 @@ public class GCModel implements Serializable {
                 / getRunningTime();
     }
 
+    /**
+     * Returns pause, freed memory and promotion statistics of all events with timestamps between
+     * <code>fromTimestamp</code> and <code>toTimestamp</code> (e.g. the part of the log visible in the chart).
+     * As long as the timestamps are in ascending order, this takes O(log n), because the totals are taken
+     * from cumulative sums updated in {@link #add(AbstractGCEvent)}.
+     *
+     * <p>Not available for models created with a {@link GCEventSink} (they don't keep these sums).</p>
+     *
+     * @param fromTimestamp start of the interval in seconds (inclusive)
+     * @param toTimestamp end of the interval in seconds (inclusive)
+     * @return statistics of the interval
+     */
+    public TimeRangeStatistics getStatistics(double fromTimestamp, double toTimestamp) {
+        // only the part of the interval covered by the log counts for the throughput
+        double duration = Math.min(toTimestamp, firstPauseTimeStamp + getRunningTime())
+                - Math.max(fromTimestamp, firstPauseTimeStamp);
+
+        return new TimeRangeStatistics(fromTimestamp,
+                toTimestamp,
+                Math.max(0, duration),
+                stopTheWorldTimestamps.count(fromTimestamp, toTimestamp),
+                stopTheWorldTimestamps.getPauseSum(fromTimestamp, toTimestamp),
+                gcTimestamps.count(fromTimestamp, toTimestamp),
+                gcTimestamps.getPauseSum(fromTimestamp, toTimestamp),
+                fullGCTimestamps.count(fromTimestamp, toTimestamp),
+                fullGCTimestamps.getPauseSum(fromTimestamp, toTimestamp),
+                concurrentGCTimestamps.count(fromTimestamp, toTimestamp),
+                gcTimestamps.getFreedMemory(fromTimestamp, toTimestamp),
+                fullGCTimestamps.getFreedMemory(fromTimestamp, toTimestamp),
+                gcTimestamps.getPromotion(fromTimestamp, toTimestamp));
+    }
+
     /**
      * @return max heap allocated for every event
      */
@@ -982,17 +1289,21 @@ public class GCModel implements Serializable {
         return format;
     }
 
+    @Override
     public void setFormat(Format format) {
         this.format = format;
+        if (eventSink != null) {
+            eventSink.setFormat(format);
+        }
     }
 
     public boolean hasCorrectTimestamp() {
-        return format == Format.IBM_VERBOSE_GC || format == Format.SUN_X_LOG_GC || format == Format.SUN_1_2_2VERBOSE_GC || format == Format.UNIFIED_JVM_LOGGING;
+        return format != null && format.hasCorrectTimestamp();
     }
 
     public boolean hasDateStamp() {
         return allEvents.size() > 0
-                ? get(0).getDatestamp() != null
+                ? get(0).hasDatestamp()
                 : false;
     }
 
@@ -1060,6 +1371,14 @@ public class GCModel implements Serializable {
             return format;
         }
 
+        /**
+         * @return <code>true</code>, if the timestamps of the events in logs of this format are the end of the
+         * events (the start can be calculated using the pause)
+         */
+        public boolean hasCorrectTimestamp() {
+            return this == IBM_VERBOSE_GC || this == SUN_X_LOG_GC || this == SUN_1_2_2VERBOSE_GC || this == UNIFIED_JVM_LOGGING;
+        }
+
         public static final Format SUN_VERBOSE_GC = new Format("Sun -verbose:gc");
         public static final Format SUN_X_LOG_GC = new Format("Sun -Xloggc:<file>");
         public static final Format IBM_VERBOSE_GC = new Format("IBM -verbose:gc");
@@ -18,6 +18,10 @@ public class GcResourceFile extends AbstractGcResource
     public static final String PROPERTY_MODEL = "model";
     private static final AtomicInteger COUNT = new AtomicInteger(0);
 
+    private volatile boolean isWatched;
+    /** state needed to continue reading after the resource has grown; only kept while it is watched */
+    private volatile Object tailState;
+
     public GcResourceFile(File file) {
         this(file.getAbsolutePath());
     }
@@ -57,6 +61,46 @@ public class GcResourceFile extends AbstractGcResource
         }
     }
 
+    /**
+     * @return <code>true</code>, if the resource is reloaded, whenever it changes (see {@link #setWatched(boolean)})
+     */
+    public boolean isWatched() {
+        return isWatched;
+    }
+
+    /**
+     * Marks this resource as watched: it is reloaded, whenever it changes. Only watched resources keep the state
+     * needed to read just the data appended since the last time; it is dropped, when watching stops.
+     *
+     * @param isWatched <code>true</code>, if this resource is watched
+     */
+    public void setWatched(boolean isWatched) {
+        this.isWatched = isWatched;
+        if (!isWatched) {
+            tailState = null;
+        }
+    }
+
+    /**
+     * Returns the state needed to continue reading this resource after it has grown. The content is opaque to this
+     * class; it is managed by the reader (see <code>DataReaderFacade</code>).
+     *
+     * @return state of the last read or <code>null</code>, if there is none
+     */
+    public Object getTailState() {
+        return tailState;
+    }
+
+    /**
+     * Sets the state needed to continue reading this resource after it has grown; it is ignored, if the resource
+     * is not watched.
+     *
+     * @param tailState state of the last read or <code>null</code>
+     */
+    public void setTailState(Object tailState) {
+        this.tailState = isWatched ? tailState : null;
+    }
+
     @Override
     public boolean hasUnderlyingResourceChanged() {
         if (getModel().getURL() == null) {
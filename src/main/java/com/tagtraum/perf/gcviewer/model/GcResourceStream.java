@@ -0,0 +1,129 @@
+package com.tagtraum.perf.gcviewer.model;
+
+import java.io.File;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Identifies a GC resource, that is written while it is read and can only be read once: the standard input
+ * ("-" or "stdin"), a named pipe (given by its path) or a local TCP socket ("tcp://localhost:port"; gcviewer listens
+ * on the port and reads the first connection, e.g. <code>java -Xlog:gc:stdout ... | nc localhost 9999</code>).
+ *
+ * <p>The events are added to the model while they arrive; the resource never needs to be reloaded.</p>
+ */
+public class GcResourceStream extends AbstractGcResource {
+    public static final String STDIN = "stdin";
+    public static final String STDIN_SHORT = "-";
+    public static final String TCP_PREFIX = "tcp://";
+    private static final AtomicInteger COUNT = new AtomicInteger(0);
+
+    public GcResourceStream(String resourceName) {
+        super(resourceName, Logger.getLogger("GCResourceStream".concat(Integer.toString(COUNT.incrementAndGet()))));
+
+        if (resourceName == null) {
+            throw new IllegalArgumentException("resourceName cannot be null");
+        }
+        if (isSocket()) {
+            // fail early, if the address is invalid
+            getSocketAddress();
+        }
+    }
+
+    /**
+     * Returns <code>true</code>, if <code>resourceName</code> identifies a stream: the standard input, a tcp
+     * socket or an existing file, which is neither a regular file nor a directory (named pipe or device).
+     *
+     * @param resourceName name of a resource
+     * @return <code>true</code>, if the resource can be read with a {@link GcResourceStream}
+     */
+    public static boolean isStream(String resourceName) {
+        if (resourceName == null) {
+            return false;
+        }
+        if (STDIN.equals(resourceName) || STDIN_SHORT.equals(resourceName) || resourceName.startsWith(TCP_PREFIX)) {
+            return true;
+        }
+
+        File file = new File(resourceName);
+        return file.exists() && !file.isFile() && !file.isDirectory();
+    }
+
+    /**
+     * @return <code>true</code>, if this resource is the standard input
+     */
+    public boolean isStdin() {
+        return STDIN.equals(getResourceName()) || STDIN_SHORT.equals(getResourceName());
+    }
+
+    /**
+     * @return <code>true</code>, if this resource is a tcp socket
+     */
+    public boolean isSocket() {
+        return getResourceName().startsWith(TCP_PREFIX);
+    }
+
+    /**
+     * @return address to listen on for the connection sending the log
+     * @throws IllegalArgumentException this resource is no socket or has no valid host and port
+     */
+    public InetSocketAddress getSocketAddress() {
+        if (!isSocket()) {
+            throw new IllegalArgumentException(getResourceName() + " is no socket");
+        }
+
+        try {
+            URI uri = new URI(getResourceName());
+            if (uri.getHost() == null || uri.getPort() < 0) {
+                throw new IllegalArgumentException("expected " + TCP_PREFIX + "host:port, but was " + getResourceName());
+            }
+
+            return new InetSocketAddress(uri.getHost(), uri.getPort());
+        }
+        catch (URISyntaxException e) {
+            throw new IllegalArgumentException("expected " + TCP_PREFIX + "host:port, but was " + getResourceName(), e);
+        }
+    }
+
+    /**
+     * @return the named pipe (or device) to be read, if this resource is neither the standard input nor a socket
+     */
+    public File getFile() {
+        return new File(getResourceName());
+    }
+
+    /**
+     * Events are added while they arrive; there is nothing to reload.
+     *
+     * @return always <code>false</code>
+     */
+    @Override
+    public boolean hasUnderlyingResourceChanged() {
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        GcResourceStream other = (GcResourceStream) obj;
+        return getResourceName().equals(other.getResourceName());
+    }
+
+    @Override
+    public int hashCode() {
+        return getResourceName().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "GcResourceStream [resourceName=" + getResourceName() + ", logger=" + getLogger() + ", model="
+                + getModel() + "]";
+    }
+}
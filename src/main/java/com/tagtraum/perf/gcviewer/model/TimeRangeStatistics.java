@@ -0,0 +1,132 @@
+package com.tagtraum.perf.gcviewer.model;
+
+/**
+ * Statistics of the events inside a time interval of a {@link GCModel} (see
+ * {@link GCModel#getStatistics(double, double)}). Memory is given in KB, times in seconds.
+ */
+public class TimeRangeStatistics {
+
+    private final double fromTimestamp;
+    private final double toTimestamp;
+    private final double duration;
+    private final int pauseCount;
+    private final double pauseSum;
+    private final int gcPauseCount;
+    private final double gcPauseSum;
+    private final int fullGcPauseCount;
+    private final double fullGcPauseSum;
+    private final int concurrentEventCount;
+    private final long freedMemoryByGC;
+    private final long freedMemoryByFullGC;
+    private final long promotion;
+
+    TimeRangeStatistics(double fromTimestamp, double toTimestamp, double duration,
+                        int pauseCount, double pauseSum,
+                        int gcPauseCount, double gcPauseSum,
+                        int fullGcPauseCount, double fullGcPauseSum,
+                        int concurrentEventCount,
+                        long freedMemoryByGC, long freedMemoryByFullGC, long promotion) {
+
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+        this.duration = duration;
+        this.pauseCount = pauseCount;
+        this.pauseSum = pauseSum;
+        this.gcPauseCount = gcPauseCount;
+        this.gcPauseSum = gcPauseSum;
+        this.fullGcPauseCount = fullGcPauseCount;
+        this.fullGcPauseSum = fullGcPauseSum;
+        this.concurrentEventCount = concurrentEventCount;
+        this.freedMemoryByGC = freedMemoryByGC;
+        this.freedMemoryByFullGC = freedMemoryByFullGC;
+        this.promotion = promotion;
+    }
+
+    public double getFromTimestamp() {
+        return fromTimestamp;
+    }
+
+    public double getToTimestamp() {
+        return toTimestamp;
+    }
+
+    /**
+     * @return length of the part of the interval covered by the log
+     */
+    public double getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return number of all stop the world events (gc, full gc and vm operations)
+     */
+    public int getPauseCount() {
+        return pauseCount;
+    }
+
+    /**
+     * @return sum of the pauses of all stop the world events (gc, full gc and vm operations)
+     */
+    public double getPauseSum() {
+        return pauseSum;
+    }
+
+    public int getGcPauseCount() {
+        return gcPauseCount;
+    }
+
+    public double getGcPauseSum() {
+        return gcPauseSum;
+    }
+
+    public int getFullGcPauseCount() {
+        return fullGcPauseCount;
+    }
+
+    public double getFullGcPauseSum() {
+        return fullGcPauseSum;
+    }
+
+    public int getConcurrentEventCount() {
+        return concurrentEventCount;
+    }
+
+    public long getFreedMemoryByGC() {
+        return freedMemoryByGC;
+    }
+
+    public long getFreedMemoryByFullGC() {
+        return freedMemoryByFullGC;
+    }
+
+    public long getFreedMemory() {
+        return freedMemoryByGC + freedMemoryByFullGC;
+    }
+
+    /**
+     * @return memory promoted from young to tenured generation during young collections
+     */
+    public long getPromotion() {
+        return promotion;
+    }
+
+    /**
+     * @return percentage of {@link #getDuration()} not spent in stop the world pauses (100, if the interval is
+     * outside of the log)
+     */
+    public double getThroughput() {
+        return duration > 0 ? 100 * (duration - pauseSum) / duration : 100;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeRangeStatistics{"
+                + "fromTimestamp=" + fromTimestamp
+                + ", toTimestamp=" + toTimestamp
+                + ", pauseCount=" + pauseCount
+                + ", pauseSum=" + pauseSum
+                + ", freedMemory=" + getFreedMemory()
+                + ", promotion=" + promotion
+                + '}';
+    }
+}
@@ -0,0 +1,232 @@
+package com.tagtraum.perf.gcviewer.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Timestamps of the events of one of the event lists in {@link GCModel} (same order and size as the list). As long
+ * as the timestamps are in ascending order (which is the case for all logs with correct timestamps), the range of
+ * events inside a time interval can be found using binary search.
+ *
+ * <p>Additionally cumulative sums (prefix sums) of the pauses, the freed memory and the promotion of the events
+ * are kept, so that the totals of any time interval are the difference of two entries.</p>
+ */
+class TimestampIndex implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private double[] timestamps;
+    /** pauseSums[i] is the sum of the pauses of the first i events */
+    private double[] pauseSums;
+    /** freed memory in KB */
+    private long[] freedMemorySums;
+    /** promotion in KB */
+    private long[] promotionSums;
+    private int size;
+    private boolean isSorted = true;
+    /** <code>true</code>, if a snapshot shares the arrays of this index */
+    private boolean isShared;
+    /** <code>true</code>, if this index is a snapshot, that has not been changed yet */
+    private boolean isSnapshot;
+
+    public TimestampIndex() {
+        this(new double[256], new double[257], new long[257], new long[257]);
+    }
+
+    private TimestampIndex(double[] timestamps, double[] pauseSums, long[] freedMemorySums, long[] promotionSums) {
+        super();
+
+        this.timestamps = timestamps;
+        this.pauseSums = pauseSums;
+        this.freedMemorySums = freedMemorySums;
+        this.promotionSums = promotionSums;
+    }
+
+    public void add(double timestamp) {
+        add(timestamp, 0, 0, 0);
+    }
+
+    /**
+     * @param timestamp timestamp of the event
+     * @param pause pause of the event
+     * @param freedMemory memory freed by the event in KB
+     * @param promotion memory promoted by the event in KB
+     */
+    public void add(double timestamp, double pause, int freedMemory, int promotion) {
+        if (size == timestamps.length || isSnapshot) {
+            // copy: snapshots keep the old arrays; a snapshot must not write into the arrays of its source
+            int capacity = size + (size >> 1) + 1;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            pauseSums = Arrays.copyOf(pauseSums, capacity + 1);
+            freedMemorySums = Arrays.copyOf(freedMemorySums, capacity + 1);
+            promotionSums = Arrays.copyOf(promotionSums, capacity + 1);
+            isShared = false;
+            isSnapshot = false;
+        }
+        if (size > 0 && timestamp < timestamps[size - 1]) {
+            isSorted = false;
+        }
+
+        timestamps[size] = timestamp;
+        pauseSums[size + 1] = pauseSums[size] + pause;
+        freedMemorySums[size + 1] = freedMemorySums[size] + freedMemory;
+        promotionSums[size + 1] = promotionSums[size] + promotion;
+        ++size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an index of the same timestamps, that doesn't change, when timestamps are added to this index. The
+     * arrays are shared with this index (only the entries after the size of the snapshot are written later).
+     *
+     * @return snapshot of this index
+     */
+    public TimestampIndex snapshot() {
+        isShared = true;
+        TimestampIndex snapshot = new TimestampIndex(timestamps, pauseSums, freedMemorySums, promotionSums);
+        snapshot.size = size;
+        snapshot.isSorted = isSorted;
+        snapshot.isSnapshot = true;
+        return snapshot;
+    }
+
+    public void clear() {
+        if (isShared || isSnapshot) {
+            // the arrays are still used by a snapshot
+            timestamps = new double[256];
+            pauseSums = new double[257];
+            freedMemorySums = new long[257];
+            promotionSums = new long[257];
+            isShared = false;
+            isSnapshot = false;
+        }
+        size = 0;
+        isSorted = true;
+    }
+
+    /**
+     * @return <code>true</code>, if all timestamps were added in ascending order
+     */
+    public boolean isSorted() {
+        return isSorted;
+    }
+
+    /**
+     * Returns the index of the first timestamp &gt;= <code>timestamp</code>. Must only be used if {@link #isSorted()}.
+     *
+     * @param timestamp timestamp to search for
+     * @return index of first timestamp at or after <code>timestamp</code> or {@link #size()}, if there is none
+     */
+    public int indexOfFirstAtOrAfter(double timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the index of the first timestamp &gt; <code>timestamp</code>. Must only be used if {@link #isSorted()}.
+     *
+     * @param timestamp timestamp to search for
+     * @return index of first timestamp after <code>timestamp</code> or {@link #size()}, if there is none
+     */
+    public int indexOfFirstAfter(double timestamp) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] <= timestamp) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * @param fromTimestamp start of the interval (inclusive)
+     * @param toTimestamp end of the interval (inclusive)
+     * @return number of events inside the interval
+     */
+    public int count(double fromTimestamp, double toTimestamp) {
+        if (!isSorted) {
+            int count = 0;
+            for (int i = 0; i < size; ++i) {
+                count += isInside(i, fromTimestamp, toTimestamp) ? 1 : 0;
+            }
+            return count;
+        }
+
+        int fromIndex = indexOfFirstAtOrAfter(fromTimestamp);
+        return Math.max(fromIndex, indexOfFirstAfter(toTimestamp)) - fromIndex;
+    }
+
+    /**
+     * @param fromTimestamp start of the interval (inclusive)
+     * @param toTimestamp end of the interval (inclusive)
+     * @return sum of the pauses of the events inside the interval
+     */
+    public double getPauseSum(double fromTimestamp, double toTimestamp) {
+        if (!isSorted) {
+            double sum = 0;
+            for (int i = 0; i < size; ++i) {
+                sum += isInside(i, fromTimestamp, toTimestamp) ? pauseSums[i + 1] - pauseSums[i] : 0;
+            }
+            return sum;
+        }
+
+        int fromIndex = indexOfFirstAtOrAfter(fromTimestamp);
+        return pauseSums[Math.max(fromIndex, indexOfFirstAfter(toTimestamp))] - pauseSums[fromIndex];
+    }
+
+    /**
+     * @param fromTimestamp start of the interval (inclusive)
+     * @param toTimestamp end of the interval (inclusive)
+     * @return memory freed by the events inside the interval in KB
+     */
+    public long getFreedMemory(double fromTimestamp, double toTimestamp) {
+        return getSum(freedMemorySums, fromTimestamp, toTimestamp);
+    }
+
+    /**
+     * @param fromTimestamp start of the interval (inclusive)
+     * @param toTimestamp end of the interval (inclusive)
+     * @return memory promoted by the events inside the interval in KB
+     */
+    public long getPromotion(double fromTimestamp, double toTimestamp) {
+        return getSum(promotionSums, fromTimestamp, toTimestamp);
+    }
+
+    private long getSum(long[] sums, double fromTimestamp, double toTimestamp) {
+        if (!isSorted) {
+            long sum = 0;
+            for (int i = 0; i < size; ++i) {
+                sum += isInside(i, fromTimestamp, toTimestamp) ? sums[i + 1] - sums[i] : 0;
+            }
+            return sum;
+        }
+
+        int fromIndex = indexOfFirstAtOrAfter(fromTimestamp);
+        return sums[Math.max(fromIndex, indexOfFirstAfter(toTimestamp))] - sums[fromIndex];
+    }
+
+    private boolean isInside(int index, double fromTimestamp, double toTimestamp) {
+        return timestamps[index] >= fromTimestamp && timestamps[index] <= toTimestamp;
+    }
+
+}
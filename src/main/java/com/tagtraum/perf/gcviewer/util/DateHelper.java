@@ -1,7 +1,10 @@
 package com.tagtraum.perf.gcviewer.util;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 /**
  * @author <a href="mailto:gcviewer@gmx.ch">Joerg Wuethrich</a>
@@ -10,8 +13,160 @@ import java.time.format.DateTimeFormatter;
 public class DateHelper {
     public static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
 
+    /** length of a datestamp in the layout of {@link #DATE_TIME_FORMATTER} ("2018-01-02T14:08:07.123+0100") */
+    public static final int DATESTAMP_LENGTH = 28;
+
+    private static final int DAYS_0000_TO_1970 = 719528;
+    private static final int MAX_OFFSET_QUARTERS = 18 * 4;
+    /** all offsets, that are multiples of 15 minutes (-18:00 .. +18:00) */
+    private static final ZoneOffset[] OFFSETS = new ZoneOffset[MAX_OFFSET_QUARTERS * 2 + 1];
+    static {
+        for (int i = 0; i < OFFSETS.length; ++i) {
+            OFFSETS[i] = ZoneOffset.ofTotalSeconds((i - MAX_OFFSET_QUARTERS) * 15 * 60);
+        }
+    }
+
     public static ZonedDateTime parseDate(String dateStampAsString) {
-        return ZonedDateTime.parse(dateStampAsString, DateHelper.DATE_TIME_FORMATTER);
+        if (dateStampAsString.length() != DATESTAMP_LENGTH) {
+            return ZonedDateTime.parse(dateStampAsString, DateHelper.DATE_TIME_FORMATTER);
+        }
+
+        return parseDate(dateStampAsString, 0);
+    }
+
+    /**
+     * Parses a datestamp in the layout of {@link #DATE_TIME_FORMATTER} starting at <code>start</code>.
+     *
+     * @param text text containing the datestamp
+     * @param start index of the first character of the datestamp
+     * @return datestamp
+     * @throws DateTimeParseException <code>text</code> doesn't contain a valid datestamp at <code>start</code>
+     */
+    public static ZonedDateTime parseDate(CharSequence text, int start) {
+        ZoneOffset offset = parseOffset(text, start);
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(parseEpochMillis(text, start)), offset);
+    }
+
+    /**
+     * Parses a datestamp in the layout of {@link #DATE_TIME_FORMATTER} ("yyyy-MM-dd'T'HH:mm:ss.SSSZ") starting at
+     * <code>start</code> without creating any objects.
+     *
+     * @param text text containing the datestamp
+     * @param start index of the first character of the datestamp
+     * @return milliseconds since 1970-01-01T00:00:00Z
+     * @throws DateTimeParseException <code>text</code> doesn't contain a valid datestamp at <code>start</code>
+     */
+    public static long parseEpochMillis(CharSequence text, int start) {
+        checkLayout(text, start);
+        int year = parseDigits(text, start, 4);
+        int month = parseDigits(text, start + 5, 2);
+        int day = parseDigits(text, start + 8, 2);
+        int hour = parseDigits(text, start + 11, 2);
+        int minute = parseDigits(text, start + 14, 2);
+        int second = parseDigits(text, start + 17, 2);
+        int millis = parseDigits(text, start + 20, 3);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+
+            throw newParseException(text, start);
+        }
+
+        long epochSecond = toEpochDay(year, month, day) * 86400 + hour * 3600 + minute * 60 + second
+                - parseOffsetSeconds(text, start);
+        return epochSecond * 1000 + millis;
+    }
+
+    /**
+     * Parses the offset of a datestamp in the layout of {@link #DATE_TIME_FORMATTER} starting at
+     * <code>start</code>. Offsets are cached, so no objects are created for the usual offsets.
+     *
+     * @param text text containing the datestamp
+     * @param start index of the first character of the datestamp (not of the offset)
+     * @return offset of the datestamp
+     * @throws DateTimeParseException <code>text</code> doesn't contain a valid datestamp at <code>start</code>
+     */
+    public static ZoneOffset parseOffset(CharSequence text, int start) {
+        checkLayout(text, start);
+        int offsetSeconds = parseOffsetSeconds(text, start);
+        if (offsetSeconds % (15 * 60) == 0) {
+            return OFFSETS[offsetSeconds / (15 * 60) + MAX_OFFSET_QUARTERS];
+        }
+
+        return ZoneOffset.ofTotalSeconds(offsetSeconds);
+    }
+
+    private static void checkLayout(CharSequence text, int start) {
+        if (start < 0 || text.length() < start + DATESTAMP_LENGTH
+                || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-' || text.charAt(start + 10) != 'T'
+                || text.charAt(start + 13) != ':' || text.charAt(start + 16) != ':' || text.charAt(start + 19) != '.') {
+
+            throw newParseException(text, start);
+        }
+    }
+
+    private static int parseOffsetSeconds(CharSequence text, int start) {
+        char sign = text.charAt(start + 23);
+        int hours = parseDigits(text, start + 24, 2);
+        int minutes = parseDigits(text, start + 26, 2);
+        if ((sign != '+' && sign != '-') || hours > 18 || minutes > 59 || (hours == 18 && minutes > 0)) {
+            throw newParseException(text, start);
+        }
+
+        int seconds = hours * 3600 + minutes * 60;
+        return sign == '-' ? -seconds : seconds;
+    }
+
+    private static int parseDigits(CharSequence text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; ++i) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                throw newParseException(text, start);
+            }
+            value = value * 10 + (c - '0');
+        }
+
+        return value;
+    }
+
+    private static DateTimeParseException newParseException(CharSequence text, int start) {
+        String datestamp = text.subSequence(Math.max(0, start), Math.min(text.length(), Math.max(0, start) + DATESTAMP_LENGTH)).toString();
+        return new DateTimeParseException("Text '" + datestamp + "' could not be parsed", datestamp, 0);
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * Same calculation as {@link java.time.LocalDate#toEpochDay()} (years 0 - 9999 only).
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            --total;
+            if (!isLeapYear(year)) {
+                --total;
+            }
+        }
+
+        return total - DAYS_0000_TO_1970;
     }
 
     public static String formatDate(ZonedDateTime dateTime) {
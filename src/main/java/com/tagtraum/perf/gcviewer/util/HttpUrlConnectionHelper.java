@@ -1,6 +1,7 @@
 package com.tagtraum.perf.gcviewer.util;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -21,10 +22,13 @@ import java.util.zip.GZIPInputStream;
 public class HttpUrlConnectionHelper {
 
     public static final String GZIP = "gzip";
+    public static final String IDENTITY = "identity";
 
     private static final Logger LOGGER = Logger.getLogger(HttpUrlConnectionHelper.class.getName());
     private static final String ACCEPT_ENCODING = "Accept-Encoding";
     private static final String CHARSET_KEY = "charset=";
+    private static final String RANGE = "Range";
+    private static final String CONTENT_RANGE = "Content-Range";
 
     private HttpUrlConnectionHelper() {
         super();
@@ -149,4 +153,73 @@ public class HttpUrlConnectionHelper {
     public static InputStream openInputStream(HttpURLConnection httpConn, String acceptEncoding) throws IOException {
     	return openInputStream(httpConn, acceptEncoding, null);
     }
+
+    /**
+     * Requests the content starting at <code>offset</code> ("Range: bytes=offset-") without content encoding, so
+     * that offsets are the same as in the resource itself.
+     *
+     * @param httpConn The HTTP connection
+     * @param offset number of bytes, that are not requested
+     * @return stream of the bytes after <code>offset</code> (empty, if there are none) or <code>null</code>, if the
+     * whole resource must be read again (the server doesn't support ranges or the resource was truncated)
+     * @throws IOException if problem occured.
+     */
+    public static InputStream openRangeInputStream(HttpURLConnection httpConn, long offset) throws IOException {
+        httpConn.setRequestProperty(ACCEPT_ENCODING, IDENTITY);
+        httpConn.setRequestProperty(RANGE, "bytes=" + offset + "-");
+        httpConn.setUseCaches(false);
+        httpConn.connect();
+
+        final int responseCode = httpConn.getResponseCode();
+        String contentRange = httpConn.getHeaderField(CONTENT_RANGE);
+        LOGGER.log(Level.FINE, "Range request from " + offset + " to " + httpConn.getURL()
+                + ": " + responseCode + "; contentRange = " + contentRange);
+        if (responseCode == HttpURLConnection.HTTP_PARTIAL) {
+            // "bytes <first>-<last>/<length>"; length may be "*" (unknown)
+            if (contentRange == null || !contentRange.startsWith("bytes " + offset + "-")
+                    || (!contentRange.endsWith("/*") && parseContentRangeLength(contentRange) < offset)) {
+                closeQuietly(httpConn.getInputStream());
+                return null;
+            }
+
+            return httpConn.getInputStream();
+        }
+        else if (responseCode == 416) {
+            // range not satisfiable: "bytes */<length>"; no new bytes, if the length didn't shrink
+            closeQuietly(httpConn.getErrorStream());
+            long length = parseContentRangeLength(contentRange);
+            return length == offset ? new ByteArrayInputStream(new byte[0]) : null;
+        }
+        else if (responseCode/100 == 2) {
+            // complete content
+            closeQuietly(httpConn.getInputStream());
+            return null;
+        }
+
+        String msg = "Server sent " + responseCode + ": " + httpConn.getResponseMessage();
+        LOGGER.info(msg);
+        closeQuietly(httpConn.getErrorStream());
+        throw new IOException(msg);
+    }
+
+    private static long parseContentRangeLength(String contentRange) {
+        int slashIndex = contentRange != null ? contentRange.lastIndexOf('/') : -1;
+        try {
+            return slashIndex >= 0 ? Long.parseLong(contentRange.substring(slashIndex + 1).trim()) : -1;
+        }
+        catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void closeQuietly(InputStream in) {
+        if (in != null) {
+            try {
+                in.close();
+            }
+            catch (IOException e) {
+                LOGGER.log(Level.FINE, "close() failed", e);
+            }
+        }
+    }
 }
@@ -1,7 +1,10 @@
 package com.tagtraum.perf.gcviewer.util;
 
 /**
- * Fast methods for parsing ints and longs.
+ * Fast methods for parsing ints, longs and doubles.
+ * <p>
+ * The methods taking a {@link CharSequence} parse the number directly from the sequence without copying it
+ * (as long as the number is well formed).
  * <p>
  * This class originally stems form the book "Performant Java Programmieren" by Hendrik Schreiber
  *
@@ -9,15 +12,19 @@ package com.tagtraum.perf.gcviewer.util;
  * @see <a href="http://www.tagtraum.com/performance/">"Performant Java Programmieren" by Hendrik Schreiber</a>
  */
 public class NumberParser {
-    // replace parseInt(String) with parseInt(CharSequence) in later version
-    // replace parseLong(String) with parseLong(CharSequence) in later version
-
     public static final int MAX_NEGATIVE_INTEGER_CHARS = Integer.toString(Integer.MIN_VALUE).length();
     public static final int MAX_POSITIVE_INTEGER_CHARS = Integer.toString(Integer.MAX_VALUE).length();
 
     public static final int MAX_NEGATIVE_LONG_CHARS = Long.toString(Long.MIN_VALUE).length();
     public static final int MAX_POSITIVE_LONG_CHARS = Long.toString(Long.MAX_VALUE).length();
 
+    /** maximum number of digits, that can be converted to a double without loss of precision */
+    private static final int MAX_EXACT_DOUBLE_DIGITS = 15;
+    /** powers of ten, that are exactly representable as double */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
     public static int parseInt(char[] cb, int offset, int length ) throws NumberFormatException {
         if (cb == null) throw new NumberFormatException("null");
         int result = 0;
@@ -61,12 +68,12 @@ public class NumberParser {
         }
     }
 
-    public static int parseInt(String s) throws NumberFormatException {
+    public static int parseInt(CharSequence s) throws NumberFormatException {
         return parseInt(s, 0, s.length());
     }
 
-    public static int parseInt(String s, int offset, int length) throws NumberFormatException {
-        // for speed this is a copy of parseInt(string) instead of just using toCharArrays()...
+    public static int parseInt(CharSequence s, int offset, int length) throws NumberFormatException {
+        // for speed this is a copy of parseInt(char[]) instead of just using toCharArrays()...
         if (s == null) throw new NumberFormatException("null");
         int result = 0;
         boolean negative = false;
@@ -76,44 +83,44 @@ public class NumberParser {
 
         if (length > 0) {
             if (s.charAt(offset) == '-') {
-                if (length > MAX_NEGATIVE_INTEGER_CHARS) throw new NumberFormatException(s);
+                if (length > MAX_NEGATIVE_INTEGER_CHARS) throw new NumberFormatException(s.toString());
                 negative = true;
                 limit = Integer.MIN_VALUE;
                 i++;
             } else {
-                if (length > MAX_POSITIVE_INTEGER_CHARS) throw new NumberFormatException(s);
+                if (length > MAX_POSITIVE_INTEGER_CHARS) throw new NumberFormatException(s.toString());
                 limit = -Integer.MAX_VALUE;
             }
             while (i < length) {
                 digit = s.charAt(offset + i++)-'0';
                 if (digit < 0 || digit > 9) {
-                    throw new NumberFormatException(s);
+                    throw new NumberFormatException(s.toString());
                 }
                 result *= 10;
                 if (result < limit + digit) {
-                    throw new NumberFormatException(s);
+                    throw new NumberFormatException(s.toString());
                 }
                 result -= digit;
             }
         } else {
-            throw new NumberFormatException(s);
+            throw new NumberFormatException(s.toString());
         }
         if (negative) {
             if (i > 1) {
                 return result;
             } else {
-                throw new NumberFormatException(s);
+                throw new NumberFormatException(s.toString());
             }
         } else {
             return -result;
         }
     }
 
-    public static long parseLong(String s) throws NumberFormatException {
+    public static long parseLong(CharSequence s) throws NumberFormatException {
         return parseLong(s, 0, s.length());
     }
 
-    public static long parseLong(String s, int offset, int length) throws NumberFormatException {
+    public static long parseLong(CharSequence s, int offset, int length) throws NumberFormatException {
         if (s == null) throw new NumberFormatException("null");
         long result = 0;
         boolean negative = false;
@@ -126,7 +133,7 @@ public class NumberParser {
                 // shortcut for ints
                 // => shortcut doesn't work!! (e.g. -6442450944 is too big for an int, but has not too many characters)
                 // if (length <= MAX_NEGATIVE_INTEGER_CHARS) return parseInt(s, offset, length);
-                if (length > MAX_NEGATIVE_LONG_CHARS) throw new NumberFormatException(s);
+                if (length > MAX_NEGATIVE_LONG_CHARS) throw new NumberFormatException(s.toString());
                 negative = true;
                 limit = Long.MIN_VALUE;
                 i++;
@@ -134,28 +141,28 @@ public class NumberParser {
                 // shortcut for ints
                 // => shortcut doesn't work!! (e.g. 6442450944 is too big for an int, but has not too many characters)
                 //if (length <= MAX_POSITIVE_INTEGER_CHARS) return parseInt(s, offset, length);
-                if (length > MAX_POSITIVE_LONG_CHARS) throw new NumberFormatException(s);
+                if (length > MAX_POSITIVE_LONG_CHARS) throw new NumberFormatException(s.toString());
                 limit = -Long.MAX_VALUE;
             }
             while (i < length) {
                 digit = s.charAt(offset + i++)-'0';
                 if (digit < 0 || digit > 9) {
-                    throw new NumberFormatException(s);
+                    throw new NumberFormatException(s.toString());
                 }
                 result *= 10L;
                 if (result < limit + digit) {
-                    throw new NumberFormatException(s);
+                    throw new NumberFormatException(s.toString());
                 }
                 result -= digit;
             }
         } else {
-            throw new NumberFormatException(s);
+            throw new NumberFormatException(s.toString());
         }
         if (negative) {
             if (i > 1) {
                 return result;
             } else {
-                throw new NumberFormatException(s);
+                throw new NumberFormatException(s.toString());
             }
         } else {
             return -result;
@@ -212,16 +219,48 @@ public class NumberParser {
         }
     }
     
-    public static double parseDouble(String s, int offset, int length) {
-        // Currently, this method is unlikely to be as efficient as those above.
-        // This logic is factored out so as to allow future optimisations. For
-        // example, we might want to make some simplifying assumptions about the
-        // kind of doubles present in GC logs.
-        
-        return parseDouble(s.substring(offset, offset + length));
+    public static double parseDouble(CharSequence s, int offset, int length) {
+        // fast path for the numbers found in gc logs ("0.0012345", "12,5"): as long as all digits fit into a double
+        // without loss of precision, mantissa / 10^fractionDigits is rounded exactly like Double.parseDouble() does
+        if (s == null) throw new NumberFormatException("null");
+        int end = offset + length;
+        boolean negative = length > 0 && s.charAt(offset) == '-';
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (int i = negative ? offset + 1 : offset; i < end; ++i) {
+            char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                ++digits;
+                if (fractionDigits >= 0) {
+                    ++fractionDigits;
+                }
+            }
+            else if ((c == '.' || c == ',') && fractionDigits < 0) {
+                fractionDigits = 0;
+            }
+            else {
+                // exponent, whitespace, ... -> let the jdk handle it
+                digits = MAX_EXACT_DOUBLE_DIGITS + 1;
+                break;
+            }
+        }
+
+        if (digits == 0 || digits > MAX_EXACT_DOUBLE_DIGITS) {
+            return parseDoubleWithJdk(s.subSequence(offset, end).toString());
+        }
+
+        double result = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -result : result;
     }
-    
-    public static double parseDouble (String s) {
+
+    public static double parseDouble(String s) {
+        if (s == null) throw new NumberFormatException("null");
+        return parseDouble(s, 0, s.length());
+    }
+
+    private static double parseDoubleWithJdk(String s) {
         // replace "," with "." because doubles may only contain "."
         // some localized gc logs contain "," in pauses
         return Double.parseDouble(s.replace(",", "."));
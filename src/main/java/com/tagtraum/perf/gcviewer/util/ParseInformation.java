@@ -1,7 +1,7 @@
 package com.tagtraum.perf.gcviewer.util;
 
 import java.text.ParsePosition;
-import java.time.ZonedDateTime;
+import java.time.ZoneId;
 
 /**
  * This class holds information about the current parsing process. 
@@ -11,23 +11,45 @@ import java.time.ZonedDateTime;
  */
 public class ParseInformation extends ParsePosition {
 
-    private ZonedDateTime firstDateStamp;
+    private long firstDatestampMillis;
+    private boolean hasFirstDatestamp;
+    private ZoneId datestampZone;
     private int lineNumber;
 
     public ParseInformation(int index) {
         super(index);
     }
-    
-    public ZonedDateTime getFirstDateStamp() {
-        return firstDateStamp;
+
+    /**
+     * @return first datestamp in milliseconds since 1970-01-01T00:00:00Z (only valid, if
+     * {@link #hasFirstDatestamp()})
+     */
+    public long getFirstDatestampMillis() {
+        return firstDatestampMillis;
+    }
+
+    /**
+     * @return zone of the datestamp parsed last or <code>null</code>, if no datestamp was parsed yet
+     */
+    public ZoneId getDatestampZone() {
+        return datestampZone;
     }
-    
+
     public int getLineNumber() {
         return lineNumber;
     }
 
-    public void setFirstDateStamp(ZonedDateTime firstDateStamp) {
-        this.firstDateStamp = firstDateStamp;
+    public boolean hasFirstDatestamp() {
+        return hasFirstDatestamp;
+    }
+
+    public void setDatestampZone(ZoneId datestampZone) {
+        this.datestampZone = datestampZone;
+    }
+
+    public void setFirstDatestampMillis(long firstDatestampMillis) {
+        this.firstDatestampMillis = firstDatestampMillis;
+        this.hasFirstDatestamp = true;
     }
 
     public void setLineNumber(int lineNumber) {
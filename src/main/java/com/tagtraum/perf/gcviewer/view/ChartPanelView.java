@@ -1,5 +1,6 @@
 package com.tagtraum.perf.gcviewer.view;
 
+import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.util.LocalisationHelper;
@@ -69,6 +70,9 @@ public class ChartPanelView implements PropertyChangeListener {
         
         setGcResource(gcResource);
         updateTabDisplay(gcResource);
+
+        // the metrics of the visible range follow scrolling and zooming of the chart
+        this.modelChart.getViewport().addChangeListener(e -> updateVisibleRange());
     }
 
     public void invalidate() {
@@ -178,6 +182,22 @@ public class ChartPanelView implements PropertyChangeListener {
         this.modelChart.setModel(gcResource.getModel(), preferences);
         this.modelDetailsPanel.setModel(gcResource.getModel());
         this.viewBar.setTitle(gcResource.getResourceName());
+        updateVisibleRange();
+    }
+
+    /**
+     * Passes the time range currently visible in the chart to the metrics panel.
+     */
+    private void updateVisibleRange() {
+        GCModel model = gcResource.getModel();
+        double scaleFactor = modelChart.getScaleFactor();
+        if (model == null || model.size() == 0 || scaleFactor <= 0) {
+            return;
+        }
+
+        Rectangle viewRect = modelChart.getViewport().getViewRect();
+        double fromTimestamp = model.getFirstPauseTimeStamp() + viewRect.x / scaleFactor;
+        modelMetricsPanel.setVisibleRange(fromTimestamp, fromTimestamp + viewRect.width / scaleFactor);
     }
 
     private static class ViewBar extends JPanel {
@@ -7,6 +7,8 @@ import java.awt.RenderingHints;
 
 import javax.swing.JComponent;
 
+import com.tagtraum.perf.gcviewer.model.GCModel;
+
 /**
  * ChartRenderer.
  *
@@ -18,6 +20,8 @@ public abstract class ChartRenderer extends JComponent {
     private ModelChartImpl modelChart;
     private boolean drawLine;
     private Paint linePaint;
+    /** model painted by {@link #paintChart(Graphics2D, GCModel)} instead of the model of the chart */
+    private GCModel paintedModel;
 
     public ChartRenderer(ModelChartImpl modelChart) {
         this.modelChart = modelChart;
@@ -39,6 +43,15 @@ public abstract class ChartRenderer extends JComponent {
         this.modelChart = modelChart;
     }
 
+    /**
+     * @return model to be painted (the model of the chart or the snapshot of it being painted in a background
+     * thread)
+     */
+    protected GCModel getModel() {
+        GCModel model = paintedModel;
+        return model != null ? model : modelChart.getModel();
+    }
+
     public boolean isDrawLine() {
         return drawLine;
     }
@@ -49,7 +62,16 @@ public abstract class ChartRenderer extends JComponent {
 
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D)g;
+        paintChart((Graphics2D)g);
+    }
+
+    /**
+     * Paints this renderer with its line paint and antialiasing setting. Unlike {@link #paintComponent(Graphics)}
+     * this method may be called outside the event dispatch thread (see {@link ChartTileCache}).
+     *
+     * @param g2d graphics to paint into (same coordinate system as this component)
+     */
+    public void paintChart(Graphics2D g2d) {
         Paint oldPaint = g2d.getPaint();
         Object oldAAHint = g2d.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
         if (modelChart.isAntiAlias()) g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -59,6 +81,23 @@ public abstract class ChartRenderer extends JComponent {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, oldAAHint);
     }
 
+    /**
+     * Paints <code>model</code> instead of the model of the chart like {@link #paintChart(Graphics2D)}.
+     * Used by {@link ChartTileCache} to paint a snapshot of the model, which isn't changed while it is painted.
+     *
+     * @param g2d graphics to paint into (same coordinate system as this component)
+     * @param model model to be painted
+     */
+    public void paintChart(Graphics2D g2d, GCModel model) {
+        paintedModel = model;
+        try {
+            paintChart(g2d);
+        }
+        finally {
+            paintedModel = null;
+        }
+    }
+
     public abstract void paintComponent(Graphics2D g2d);
 
 
@@ -0,0 +1,369 @@
+package com.tagtraum.perf.gcviewer.view;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.swing.JComponent;
+
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.view.renderer.PolygonChartRenderer;
+
+/**
+ * Renders the {@link ChartRenderer}s of a chart into tiles of fixed width (one image per tile) in background
+ * threads. The event dispatch thread only draws tiles that are ready and a placeholder for all others, so
+ * zooming or scrolling through big models doesn't block the gui.
+ *
+ * <p>All tiles are discarded on {@link #invalidate()}, when another model is shown and whenever something the
+ * tiles depend on (zoom level, height of the chart, scale of the y axes, visible renderers, ...) has changed since
+ * they were rendered. Only the least recently drawn tiles are kept ({@link #MAX_TILES}). The renderers of one chart
+ * are never painted by more than one thread at a time, because they cache state while painting.</p>
+ *
+ * <p>The tiles are rendered from a snapshot of the events of the model ({@link GCModel#getEventSnapshot()}), which
+ * is taken on the event dispatch thread, so events can be appended to the model while tiles are rendered. Taking a
+ * snapshot doesn't copy the events. When events were appended, a new snapshot is taken and only the tiles from
+ * the end of the previous snapshot on are rendered again.</p>
+ */
+class ChartTileCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ChartTileCache.class.getName());
+
+    /** width of one tile in pixels */
+    static final int TILE_WIDTH = 256;
+
+    /** number of tiles kept at least (more, if more tiles are visible at once) */
+    static final int MAX_TILES = 48;
+
+    /** pixels left of the end of the previous snapshot, that may change, when events are appended (line width) */
+    private static final int APPEND_MARGIN = 2;
+
+    private static final Color PLACEHOLDER_COLOR = new Color(0xF2F2F2);
+
+    /** shared by all charts; one thread is left for the event dispatch thread */
+    private static final ExecutorService TILE_RENDERER = Executors.newFixedThreadPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            new TileRendererThreadFactory());
+
+    private final JComponent chart;
+    private final Supplier<GCModel> modelSupplier;
+    private final Object renderLock = new Object();
+    /** tiles in the order they were drawn (least recently drawn first) */
+    private final Map<Integer, BufferedImage> tiles = Collections.synchronizedMap(
+            new LinkedHashMap<Integer, BufferedImage>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+                    return size() > Math.max(MAX_TILES, 2 * visibleTiles);
+                }
+            });
+    /** tile index -> generation of the tiles currently being rendered */
+    private final Map<Integer, Integer> pendingTiles = new ConcurrentHashMap<>();
+    private final AtomicBoolean resetRenderers = new AtomicBoolean();
+    private volatile int generation;
+    /** number of tiles drawn by the last call of {@link #paint(Graphics2D)} */
+    private volatile int visibleTiles;
+    private TileState tileState;
+    /** model the current snapshot was taken of and its size at that time (event dispatch thread only) */
+    private GCModel snapshotSource;
+    private int snapshotSourceSize;
+    private GCModel snapshot;
+
+    /**
+     * @param chart component containing the {@link ChartRenderer}s to be painted into the tiles
+     * @param modelSupplier supplies the model currently shown in <code>chart</code> (called on the event dispatch
+     * thread only)
+     */
+    public ChartTileCache(JComponent chart, Supplier<GCModel> modelSupplier) {
+        this.chart = chart;
+        this.modelSupplier = modelSupplier;
+    }
+
+    /**
+     * Discards all tiles and resets the cached polygons of all {@link PolygonChartRenderer}s of the chart before
+     * the next tile is rendered.
+     */
+    public void invalidate() {
+        resetRenderers.set(true);
+        discardTiles();
+    }
+
+    private void discardTiles() {
+        discardTiles(0);
+    }
+
+    /**
+     * Discards all tiles from <code>firstTile</code> on; tiles currently being rendered are discarded, when they are
+     * done.
+     */
+    private void discardTiles(int firstTile) {
+        ++generation;
+        synchronized (tiles) {
+            if (firstTile <= 0) {
+                tiles.clear();
+            }
+            else {
+                tiles.keySet().removeIf(tileIndex -> tileIndex >= firstTile);
+            }
+        }
+        pendingTiles.clear();
+    }
+
+    /**
+     * @return number of tiles rendered and kept
+     */
+    int getTileCount() {
+        return tiles.size();
+    }
+
+    /**
+     * Draws all tiles inside the clip of <code>g2d</code>; tiles not yet rendered are drawn as placeholder and
+     * rendering is started for them. Must be called on the event dispatch thread.
+     *
+     * @param g2d graphics of the chart
+     */
+    public void paint(Graphics2D g2d) {
+        updateSnapshot();
+        TileState currentState = new TileState(chart);
+        if (!currentState.equals(tileState)) {
+            tileState = currentState;
+            invalidate();
+        }
+
+        Rectangle clip = g2d.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, chart.getWidth(), chart.getHeight());
+        }
+
+        int height = chart.getHeight();
+        int firstTile = Math.max(0, clip.x / TILE_WIDTH);
+        int lastTile = (clip.x + clip.width - 1) / TILE_WIDTH;
+        visibleTiles = lastTile - firstTile + 1;
+        for (int tileIndex = firstTile; tileIndex <= lastTile; ++tileIndex) {
+            BufferedImage tile = tiles.get(tileIndex);
+            if (tile != null) {
+                g2d.drawImage(tile, tileIndex * TILE_WIDTH, 0, null);
+            }
+            else {
+                g2d.setColor(PLACEHOLDER_COLOR);
+                g2d.fillRect(tileIndex * TILE_WIDTH, 0, TILE_WIDTH, height);
+                scheduleTile(tileIndex, height);
+            }
+        }
+    }
+
+    /**
+     * Takes a new snapshot of the model, if another model is shown or events were appended since the last one.
+     * In the latter case only the tiles, that may change, are discarded.
+     */
+    private void updateSnapshot() {
+        GCModel model = modelSupplier.get();
+        if (model != snapshotSource || (model != null && model.size() != snapshotSourceSize)) {
+            GCModel previousSnapshot = model == snapshotSource ? snapshot : null;
+            snapshotSource = model;
+            snapshotSourceSize = model != null ? model.size() : 0;
+            snapshot = model != null ? model.getEventSnapshot() : null;
+            resetRenderers.set(true);
+            discardTiles(previousSnapshot != null ? getFirstChangedTile(previousSnapshot, snapshot) : 0);
+        }
+    }
+
+    /**
+     * Returns the index of the first tile, that may look different, if <code>currentSnapshot</code> is rendered
+     * instead of <code>previousSnapshot</code> (both taken of the same model). Only the events appended since the
+     * previous snapshot are looked at; events are drawn right of their timestamp.
+     *
+     * @return index of the first tile to be discarded
+     */
+    private int getFirstChangedTile(GCModel previousSnapshot, GCModel currentSnapshot) {
+        ModelChart modelChart = getModelChart();
+        if (modelChart == null
+                || previousSnapshot.size() == 0
+                || previousSnapshot.size() > currentSnapshot.size()
+                || previousSnapshot.getFirstPauseTimeStamp() != currentSnapshot.getFirstPauseTimeStamp()) {
+
+            return 0;
+        }
+
+        double firstChangedTimestamp = previousSnapshot.getLastPauseTimeStamp();
+        for (int i = previousSnapshot.size(); i < currentSnapshot.size(); ++i) {
+            firstChangedTimestamp = Math.min(firstChangedTimestamp, currentSnapshot.get(i).getTimestamp());
+        }
+
+        double x = modelChart.getScaleFactor() * (firstChangedTimestamp - currentSnapshot.getFirstPauseTimeStamp());
+        return Math.max(0, ((int) x - APPEND_MARGIN) / TILE_WIDTH);
+    }
+
+    /**
+     * @return chart the renderers belong to or <code>null</code>, if there are no renderers
+     */
+    private ModelChart getModelChart() {
+        for (Component component : chart.getComponents()) {
+            if (component instanceof ChartRenderer) {
+                return ((ChartRenderer) component).getModelChart();
+            }
+        }
+
+        return null;
+    }
+
+    private void scheduleTile(int tileIndex, int height) {
+        int tileGeneration = generation;
+        GCModel tileModel = snapshot;
+        if (height > 0 && pendingTiles.putIfAbsent(tileIndex, tileGeneration) == null) {
+            TILE_RENDERER.execute(() -> renderTile(tileIndex, tileGeneration, height, tileModel));
+        }
+    }
+
+    private void renderTile(int tileIndex, int tileGeneration, int height, GCModel tileModel) {
+        try {
+            if (tileGeneration != generation) {
+                // zoomed / resized in the meantime
+                return;
+            }
+
+            BufferedImage tile = new BufferedImage(TILE_WIDTH, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g2d = tile.createGraphics();
+            try {
+                g2d.setColor(chart.getBackground());
+                g2d.fillRect(0, 0, TILE_WIDTH, height);
+                g2d.translate(-tileIndex * TILE_WIDTH, 0);
+                g2d.setClip(tileIndex * TILE_WIDTH, 0, TILE_WIDTH, height);
+                synchronized (renderLock) {
+                    if (tileGeneration != generation) {
+                        return;
+                    }
+
+                    paintRenderers(g2d, tileModel);
+                }
+            }
+            finally {
+                g2d.dispose();
+            }
+
+            if (tileGeneration == generation) {
+                tiles.put(tileIndex, tile);
+                chart.repaint(tileIndex * TILE_WIDTH, 0, TILE_WIDTH, height);
+            }
+        }
+        catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "failed to render tile " + tileIndex + " (" + e.toString() + ")", e);
+        }
+        finally {
+            pendingTiles.remove(tileIndex, tileGeneration);
+        }
+    }
+
+    /**
+     * Paints all visible renderers in the same order as swing would do it (last component first).
+     */
+    private void paintRenderers(Graphics2D g2d, GCModel tileModel) {
+        Component[] components = chart.getComponents();
+        if (resetRenderers.getAndSet(false)) {
+            for (Component component : components) {
+                if (component instanceof PolygonChartRenderer) {
+                    ((PolygonChartRenderer) component).resetPolygon();
+                }
+            }
+        }
+
+        for (int i = components.length - 1; i >= 0; --i) {
+            Component component = components[i];
+            if (component instanceof ChartRenderer && component.isVisible()) {
+                Graphics2D rendererGraphics = (Graphics2D) g2d.create(component.getX(),
+                        component.getY(),
+                        component.getWidth(),
+                        component.getHeight());
+                try {
+                    ((ChartRenderer) component).paintChart(rendererGraphics, tileModel);
+                }
+                finally {
+                    rendererGraphics.dispose();
+                }
+            }
+        }
+    }
+
+    /**
+     * Everything except the model data the content of a tile depends on. The width of the chart is not part of it:
+     * it grows, when events are appended to the model, but the position of the events doesn't change.
+     */
+    private class TileState {
+        private final int height;
+        private final double scaleFactor;
+        private final long footprint;
+        private final double maxPause;
+        private final long visibleRenderers;
+        private final boolean antiAlias;
+
+        public TileState(JComponent chart) {
+            this.height = chart.getHeight();
+            ModelChart modelChart = getModelChart();
+            this.scaleFactor = modelChart != null ? modelChart.getScaleFactor() : 0;
+            this.footprint = modelChart != null ? modelChart.getFootprint() : 0;
+            this.maxPause = modelChart != null ? modelChart.getMaxPause() : 0;
+
+            long visibleRenderers = 0;
+            Component[] components = chart.getComponents();
+            for (int i = 0; i < components.length && i < Long.SIZE; ++i) {
+                if (components[i].isVisible()) {
+                    visibleRenderers |= 1L << i;
+                }
+            }
+            this.visibleRenderers = visibleRenderers;
+            this.antiAlias = modelChart != null && modelChart.isAntiAlias();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TileState that = (TileState) o;
+            return height == that.height
+                    && Double.compare(scaleFactor, that.scaleFactor) == 0
+                    && footprint == that.footprint
+                    && Double.compare(maxPause, that.maxPause) == 0
+                    && visibleRenderers == that.visibleRenderers
+                    && antiAlias == that.antiAlias;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = height;
+            result = 31 * result + Double.hashCode(scaleFactor);
+            result = 31 * result + Long.hashCode(footprint);
+            result = 31 * result + Double.hashCode(maxPause);
+            result = 31 * result + Long.hashCode(visibleRenderers);
+            result = 31 * result + (antiAlias ? 1 : 0);
+            return result;
+        }
+    }
+
+    private static class TileRendererThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "gcviewer-chart-tile-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
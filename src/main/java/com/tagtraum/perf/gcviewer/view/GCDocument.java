@@ -24,6 +24,7 @@ import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
 import com.tagtraum.perf.gcviewer.model.GCResource;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 import com.tagtraum.perf.gcviewer.view.model.GCPreferences;
 import com.tagtraum.perf.gcviewer.view.model.GCResourceGroup;
 
@@ -104,6 +105,9 @@ public class GCDocument extends JInternalFrame {
         });
 
         chartPanelViews.add(chartPanelView);
+        if (watched && chartPanelView.getGCResource() instanceof GcResourceFile) {
+            ((GcResourceFile) chartPanelView.getGCResource()).setWatched(true);
+        }
         
         // make sure all models in one document have the same display properties
         if (chartPanelViews.size() > 1) {
@@ -282,6 +286,11 @@ public class GCDocument extends JInternalFrame {
 
     public void setWatched(boolean watched) {
         this.watched = watched;
+        for (GCResource gcResource : getGCResources()) {
+            if (gcResource instanceof GcResourceFile) {
+                ((GcResourceFile) gcResource).setWatched(watched);
+            }
+        }
         final JScrollBar horizontalScrollBar = ((ModelChartImpl) getLastMaximizedChartPanelView().getModelChart()).getHorizontalScrollBar();
         if (watched) {
             horizontalScrollBar.setValue(horizontalScrollBar.getMaximum());
@@ -451,7 +451,27 @@ public class ModelChartImpl extends JScrollPane implements ModelChart, ChangeLis
         return maxPause;
     }
 
+    /**
+     * @return <code>true</code>, if the chart is rendered in tiles in background threads
+     */
+    public boolean isTiledRendering() {
+        return chart.isTiledRendering();
+    }
+
+    /**
+     * If <code>true</code> (default), the chart is rendered in tiles in background threads; parts of the chart
+     * not rendered yet are shown as placeholder. Set to <code>false</code> to paint the chart completely
+     * in {@link #paint(Graphics)} (e.g. when painting into an image).
+     *
+     * @param tiledRendering render in background threads?
+     */
+    public void setTiledRendering(boolean tiledRendering) {
+        chart.setTiledRendering(tiledRendering);
+    }
+
     private class Chart extends JPanel implements ComponentListener {
+        private ChartTileCache tileCache = new ChartTileCache(this, ModelChartImpl.this::getModel);
+        private boolean tiledRendering = true;
 
         public Chart() {
             setBackground(Color.WHITE);
@@ -459,6 +479,27 @@ public class ModelChartImpl extends JScrollPane implements ModelChart, ChangeLis
             addComponentListener(this);
         }
 
+        public boolean isTiledRendering() {
+            return tiledRendering;
+        }
+
+        public void setTiledRendering(boolean tiledRendering) {
+            tileCache.invalidate();
+            this.tiledRendering = tiledRendering;
+            resetPolygons();
+        }
+
+        @Override
+        protected void paintChildren(Graphics g) {
+            if (tiledRendering && !isPaintingForPrint()) {
+                // renderers are painted in background threads
+                tileCache.paint((Graphics2D) g);
+            }
+            else {
+                super.paintChildren(g);
+            }
+        }
+
         public Dimension getPreferredSize() {
             return new Dimension(Math.max(scaleX(runningTime), 100), getViewport().getHeight());
         }
@@ -471,6 +512,13 @@ public class ModelChartImpl extends JScrollPane implements ModelChart, ChangeLis
          * Reset the cached polygons of all {@link PolygonChartRenderer}s stored in this chart.
          */
         public void resetPolygons() {
+            if (tiledRendering) {
+                // polygons must not be reset while a tile is being rendered; the tile cache resets them itself,
+                // when anything the tiles depend on has changed
+                repaint();
+                return;
+            }
+
             for (Component component : getComponents()) {
                 if (component instanceof PolygonChartRenderer) {
                     ((PolygonChartRenderer)component).resetPolygon();
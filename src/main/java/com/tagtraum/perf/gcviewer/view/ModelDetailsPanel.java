@@ -319,6 +319,8 @@ public class ModelDetailsPanel extends JPanel {
             columnNames.add(LocalisationHelper.getString("data_panel_details_max"));
             columnNames.add(LocalisationHelper.getString("data_panel_details_avg"));
             columnNames.add(LocalisationHelper.getString("data_panel_details_stddev"));
+            columnNames.add(LocalisationHelper.getString("data_panel_details_p99"));
+            columnNames.add(LocalisationHelper.getString("data_panel_details_p999"));
             columnNames.add(LocalisationHelper.getString("data_panel_details_sum"));
             columnNames.add(LocalisationHelper.getString("data_panel_details_sum_percent"));
 
@@ -376,6 +378,8 @@ public class ModelDetailsPanel extends JPanel {
                 entryList.add(pauseFormatter.format(entry.getValue().getMax()));
                 entryList.add(pauseFormatter.format(entry.getValue().average()));
                 entryList.add(pauseFormatter.format(entry.getValue().standardDeviation()));
+                entryList.add(entry.getValue().hasPercentiles() ? pauseFormatter.format(entry.getValue().percentile(99)) : "");
+                entryList.add(entry.getValue().hasPercentiles() ? pauseFormatter.format(entry.getValue().percentile(99.9)) : "");
                 entryList.add(pauseFormatter.format(entry.getValue().getSum()));
                 entryList.add(percentFormatter.format(entry.getValue().getSum() / totalSum * 100));
 
@@ -391,6 +395,8 @@ public class ModelDetailsPanel extends JPanel {
             totalList.add("");
             totalList.add("");
             totalList.add("");
+            totalList.add("");
+            totalList.add("");
             totalList.add(pauseFormatter.format(totalSum));
             totalList.add(showPercentOfTotalPause ? percentFormatter.format(totalSum / totalPause * 100) : "");
 
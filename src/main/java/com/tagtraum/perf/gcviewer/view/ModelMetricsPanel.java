@@ -1,6 +1,8 @@
 package com.tagtraum.perf.gcviewer.view;
 
+import com.tagtraum.perf.gcviewer.math.DoubleData;
 import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.TimeRangeStatistics;
 import com.tagtraum.perf.gcviewer.util.LocalisationHelper;
 import com.tagtraum.perf.gcviewer.util.MemoryFormat;
 import com.tagtraum.perf.gcviewer.util.TimeFormat;
@@ -20,6 +22,8 @@ import java.util.Map;
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
 public class ModelMetricsPanel extends JTabbedPane {
+    /** percentiles shown for pauses (must match the labels "data_panel_percentiles_*") */
+    private static final double[] PAUSE_PERCENTILES = {50, 90, 99, 99.9};
 
     private NumberFormat pauseFormatter;
     private DateFormat totalTimeFormatter;
@@ -36,6 +40,11 @@ public class ModelMetricsPanel extends JTabbedPane {
     private SummaryTab summaryTab;
     private MemoryTab memoryTab;
     private PauseTab pauseTab;
+    private VisibleRangeTab visibleRangeTab;
+
+    private GCModel model;
+    private double visibleFromTimestamp;
+    private double visibleToTimestamp = Double.MAX_VALUE;
 
 
     public ModelMetricsPanel() {
@@ -75,6 +84,8 @@ public class ModelMetricsPanel extends JTabbedPane {
         addTab(LocalisationHelper.getString("data_panel_tab_memory"), memoryTab);
         pauseTab = new PauseTab();
         addTab(LocalisationHelper.getString("data_panel_tab_pause"), pauseTab);
+        visibleRangeTab = new VisibleRangeTab();
+        addTab(LocalisationHelper.getString("data_panel_tab_visible_range"), visibleRangeTab);
     }
 
     private String sigmaMemoryFormat(double value) {
@@ -83,12 +94,30 @@ public class ModelMetricsPanel extends JTabbedPane {
     }
 
     public void setModel(GCModel model) {
+        this.model = model;
         memoryTab.setModel(model);
         pauseTab.setModel(model);
         summaryTab.setModel(model);
+        visibleRangeTab.setRange(model, visibleFromTimestamp, visibleToTimestamp);
         repaint();
     }
 
+    /**
+     * Sets the part of the log currently visible in the chart; the "visible range" tab shows the statistics of
+     * this part only. Takes O(log n) (see {@link GCModel#getStatistics(double, double)}), so it can be called
+     * whenever the chart is scrolled or zoomed.
+     *
+     * @param fromTimestamp timestamp at the left border of the chart
+     * @param toTimestamp timestamp at the right border of the chart
+     */
+    public void setVisibleRange(double fromTimestamp, double toTimestamp) {
+        this.visibleFromTimestamp = fromTimestamp;
+        this.visibleToTimestamp = toTimestamp;
+        if (model != null) {
+            visibleRangeTab.setRange(model, fromTimestamp, toTimestamp);
+        }
+    }
+
     private boolean isSignificant(final double average, final double standardDeviation) {
         // at least 68.3% of all points are within 0.75 to 1.25 times the average value
         // Note: this may or may not be a good measure, but it at least helps to mark some bad data as such
@@ -360,6 +389,7 @@ public class ModelMetricsPanel extends JTabbedPane {
             addEntry(LocalisationHelper.getString("data_panel_count_pauses"));
             addEntry(LocalisationHelper.getString("data_panel_avg_pause"));
             addEntry(LocalisationHelper.getString("data_panel_min_max_pause"));
+            addEntry(LocalisationHelper.getString("data_panel_percentiles_pause"));
             addEntry(LocalisationHelper.getString("data_panel_avg_pause_interval"));
             addEntry(LocalisationHelper.getString("data_panel_min_max_pause_interval"));
             addEntry(LocalisationHelper.getString("data_panel_vm_op_overhead"));
@@ -370,6 +400,7 @@ public class ModelMetricsPanel extends JTabbedPane {
             addEntry(LocalisationHelper.getString("data_panel_count_full_gc_pauses"));
             addEntry(LocalisationHelper.getString("data_panel_avg_fullgcpause"));
             addEntry(LocalisationHelper.getString("data_panel_min_max_full_gc_pause"));
+            addEntry(LocalisationHelper.getString("data_panel_percentiles_full_gc_pause"));
             addEntry(LocalisationHelper.getString("data_panel_min_max_full_gc_pause_interval"));
 
             newGroup(LocalisationHelper.getString("data_panel_group_gc_pauses"), true);
@@ -377,6 +408,19 @@ public class ModelMetricsPanel extends JTabbedPane {
             addEntry(LocalisationHelper.getString("data_panel_count_gc_pauses"));
             addEntry(LocalisationHelper.getString("data_panel_avg_gcpause"));
             addEntry(LocalisationHelper.getString("data_panel_min_max_gc_pause"));
+            addEntry(LocalisationHelper.getString("data_panel_percentiles_gc_pause"));
+        }
+
+        private String formatPercentiles(DoubleData pauses) {
+            StringBuilder sb = new StringBuilder();
+            for (double percentile : PAUSE_PERCENTILES) {
+                if (sb.length() > 0) {
+                    sb.append(" / ");
+                }
+                sb.append(pauseFormatter.format(pauses.percentile(percentile))).append("s");
+            }
+
+            return sb.toString();
         }
         
         public void setModel(GCModel model) {
@@ -399,6 +443,9 @@ public class ModelMetricsPanel extends JTabbedPane {
             updateValue(LocalisationHelper.getString("data_panel_min_max_pause"), 
             		pauseDataAvailable ? pauseFormatter.format(model.getPause().getMin()) + "s / " +pauseFormatter.format(model.getPause().getMax()) + "s" : "n/a", 
             		pauseDataAvailable);
+            updateValue(LocalisationHelper.getString("data_panel_percentiles_pause"),
+                    pauseDataAvailable ? formatPercentiles(model.getPause()) : "n/a",
+                    pauseDataAvailable);
             updateValue(LocalisationHelper.getString("data_panel_avg_pause_interval"), 
                     pauseIntervalDataAvailable ? pauseFormatter.format(model.getPauseInterval().average()) + "s (\u03c3=" + pauseFormatter.format(model.getPauseInterval().standardDeviation()) +")" : "n/a", 
                     pauseIntervalDataAvailable ? isSignificant(model.getPauseInterval().average(), model.getPauseInterval().standardDeviation()) : false);
@@ -431,6 +478,9 @@ public class ModelMetricsPanel extends JTabbedPane {
             updateValue(LocalisationHelper.getString("data_panel_min_max_full_gc_pause"), 
             		fullGCDataAvailable ? pauseFormatter.format(model.getFullGCPause().getMin()) + "s / " + pauseFormatter.format(model.getFullGCPause().getMax()) + "s" : "n/a", 
             		fullGCDataAvailable);
+            updateValue(LocalisationHelper.getString("data_panel_percentiles_full_gc_pause"),
+                    fullGCDataAvailable ? formatPercentiles(model.getFullGCPause()) : "n/a",
+                    fullGCDataAvailable);
             updateValue(LocalisationHelper.getString("data_panel_min_max_full_gc_pause_interval"),
                     fullGcPauseIntervalAvailable ? pauseFormatter.format(model.getFullGCPauseInterval().getMin()) + "s / " + pauseFormatter.format(model.getFullGCPauseInterval().getMax()) + "s" : "n/a",
                     fullGcPauseIntervalAvailable);
@@ -447,6 +497,9 @@ public class ModelMetricsPanel extends JTabbedPane {
             updateValue(LocalisationHelper.getString("data_panel_min_max_gc_pause"), 
             		gcDataAvailable ? pauseFormatter.format(model.getGCPause().getMin()) + "s / " + pauseFormatter.format(model.getGCPause().getMax()) + "s": "n/a", 
             		gcDataAvailable);
+            updateValue(LocalisationHelper.getString("data_panel_percentiles_gc_pause"),
+                    gcDataAvailable ? formatPercentiles(model.getGCPause()) : "n/a",
+                    gcDataAvailable);
 
         }
     }
@@ -528,4 +581,63 @@ public class ModelMetricsPanel extends JTabbedPane {
         }
 
     }
+
+    private class VisibleRangeTab extends ValuesTab {
+
+        public VisibleRangeTab() {
+            super();
+
+            addEntry(LocalisationHelper.getString("data_panel_visible_range"));
+            addEntry(LocalisationHelper.getString("data_panel_acc_pauses"));
+            addEntry(LocalisationHelper.getString("data_panel_throughput"));
+            addEntry(LocalisationHelper.getString("data_panel_count_pauses"));
+            addEntry(LocalisationHelper.getString("data_panel_count_full_gc_pauses"));
+            addEntry(LocalisationHelper.getString("data_panel_acc_fullgcpauses"));
+            addEntry(LocalisationHelper.getString("data_panel_count_gc_pauses"));
+            addEntry(LocalisationHelper.getString("data_panel_acc_gcpauses"));
+            addEntry(LocalisationHelper.getString("data_panel_freedmemory"));
+            addEntry(LocalisationHelper.getString("data_panel_memory_promotion_total"));
+        }
+
+        public void setRange(GCModel model, double fromTimestamp, double toTimestamp) {
+            // the range given may be wider than the log (chart wider than the running time)
+            double start = model.size() > 0 ? model.getFirstPauseTimeStamp() : 0;
+            double end = model.size() > 0 ? start + model.getRunningTime() : 0;
+            double from = Math.min(Math.max(fromTimestamp, start), end);
+            double to = Math.max(Math.min(toTimestamp, end), from);
+            TimeRangeStatistics statistics = model.getStatistics(from, to);
+
+            updateValue(LocalisationHelper.getString("data_panel_visible_range"),
+                    gcTimeFormatter.format(from) + "s - " + gcTimeFormatter.format(to) + "s",
+                    model.hasCorrectTimestamp());
+            updateValue(LocalisationHelper.getString("data_panel_acc_pauses"),
+                    gcTimeFormatter.format(statistics.getPauseSum()) + "s",
+                    true);
+            updateValue(LocalisationHelper.getString("data_panel_throughput"),
+                    model.hasCorrectTimestamp() ? throughputFormatter.format(statistics.getThroughput()) + "%" : "n/a",
+                    model.hasCorrectTimestamp());
+            updateValue(LocalisationHelper.getString("data_panel_count_pauses"),
+                    Integer.toString(statistics.getPauseCount()),
+                    true);
+            updateValue(LocalisationHelper.getString("data_panel_count_full_gc_pauses"),
+                    Integer.toString(statistics.getFullGcPauseCount()),
+                    true);
+            updateValue(LocalisationHelper.getString("data_panel_acc_fullgcpauses"),
+                    gcTimeFormatter.format(statistics.getFullGcPauseSum()) + "s",
+                    statistics.getFullGcPauseCount() > 0);
+            updateValue(LocalisationHelper.getString("data_panel_count_gc_pauses"),
+                    Integer.toString(statistics.getGcPauseCount()),
+                    true);
+            updateValue(LocalisationHelper.getString("data_panel_acc_gcpauses"),
+                    gcTimeFormatter.format(statistics.getGcPauseSum()) + "s",
+                    statistics.getGcPauseCount() > 0);
+            updateValue(LocalisationHelper.getString("data_panel_freedmemory"),
+                    footprintFormatter.format(statistics.getFreedMemory()),
+                    true);
+            updateValue(LocalisationHelper.getString("data_panel_memory_promotion_total"),
+                    statistics.getPromotion() > 0 ? promotionFormatter.format(statistics.getPromotion()) : "n/a",
+                    statistics.getPromotion() > 0);
+        }
+
+    }
 }
@@ -43,6 +43,8 @@ public class SimpleChartRenderer {
     private void drawAndSaveToStream(ChartDrawingParameters params) throws IOException {
         ModelChartImpl pane = new ModelChartImpl();
         pane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+        // the image must contain the whole chart when it is written
+        pane.setTiledRendering(false);
 
         pane.setModel(params.model, params.gcPreferences);
         pane.setFootprint(params.model.getFootprint());
@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
 import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 import com.tagtraum.perf.gcviewer.model.GcResourceSeries;
+import com.tagtraum.perf.gcviewer.model.GcResourceStream;
 
 /**
  * <p>Holds a group of resource names (those displayed in the same GCDocument).</p>
@@ -54,6 +55,11 @@ public class GCResourceGroup {
     }
 
     private String getResourceUrlString(String resource) {
+        if (GcResourceStream.isStream(resource)) {
+            // no url: a stream is identified by its name
+            return resource;
+        }
+
         URL url = null;
         try {
             if (resource.startsWith("http") || resource.startsWith("file")) {
@@ -81,6 +87,8 @@ public class GCResourceGroup {
             }
             return joiner.toString();
         }
+        else if (gcResource instanceof GcResourceStream)
+            return gcResource.getResourceName();
         else
             throw new IllegalArgumentException("Unknown GCResource type!");
     }
@@ -105,6 +113,9 @@ public class GCResourceGroup {
         if (entry.contains(SERIES_SEPARATOR)) {
             resource = getGcResourceSeries(entry);
         }
+        else if (GcResourceStream.isStream(entry)) {
+            resource = new GcResourceStream(entry);
+        }
         else {
             resource = new GcResourceFile(entry);
         }
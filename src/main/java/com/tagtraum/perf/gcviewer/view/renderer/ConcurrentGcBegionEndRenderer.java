@@ -3,10 +3,12 @@ package com.tagtraum.perf.gcviewer.view.renderer;
 import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Paint;
+import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.util.Iterator;
 
 import com.tagtraum.perf.gcviewer.model.ConcurrentGCEvent;
+import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.view.ChartRenderer;
 import com.tagtraum.perf.gcviewer.view.ModelChartImpl;
 
@@ -34,10 +36,14 @@ public class ConcurrentGcBegionEndRenderer extends ChartRenderer {
         final int height = getHeight();
         int lastScaledTimestampBegin = Integer.MIN_VALUE;
         int lastScaledTimestampEnd = Integer.MIN_VALUE;
-        for (Iterator<ConcurrentGCEvent> i = getModelChart().getModel().getConcurrentGCEvents(); i.hasNext();) {
+        final Rectangle clipBounds = g2d.getClipBounds();
+        final GCModel model = getModel();
+        final double fromTimestamp = model.getFirstPauseTimeStamp() + (clipBounds.x - 1) / scaleFactor;
+        final double toTimestamp = model.getFirstPauseTimeStamp() + (clipBounds.x + clipBounds.width + 1) / scaleFactor;
+        for (Iterator<ConcurrentGCEvent> i = model.getConcurrentGCEvents(fromTimestamp, toTimestamp); i.hasNext();) {
             final ConcurrentGCEvent event = i.next();
             if (event.isConcurrentCollectionStart()) {
-                final int scaledTimestamp = (int) (scaleFactor * (event.getTimestamp() - getModelChart().getModel().getFirstPauseTimeStamp()));
+                final int scaledTimestamp = (int) (scaleFactor * (event.getTimestamp() - getModel().getFirstPauseTimeStamp()));
                 if (scaledTimestamp != lastScaledTimestampBegin) {
                     g2d.setPaint(CONCURRENT_COLLECTION_BEGIN);
                     g2d.drawLine(scaledTimestamp, 0, scaledTimestamp, height);
@@ -45,7 +51,7 @@ public class ConcurrentGcBegionEndRenderer extends ChartRenderer {
                 }
             }
             else if (event.isConcurrentCollectionEnd()) {
-                final int scaledTimestamp = (int) (scaleFactor * (event.getTimestamp() - getModelChart().getModel().getFirstPauseTimeStamp()));
+                final int scaledTimestamp = (int) (scaleFactor * (event.getTimestamp() - getModel().getFirstPauseTimeStamp()));
                 if (scaledTimestamp != lastScaledTimestampEnd) {
                     g2d.setPaint(CONCURRENT_COLLECTION_END);
                     g2d.drawLine(scaledTimestamp, 0, scaledTimestamp, height);
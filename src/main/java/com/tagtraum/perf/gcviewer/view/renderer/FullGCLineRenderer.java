@@ -1,6 +1,7 @@
 package com.tagtraum.perf.gcviewer.view.renderer;
 
 import com.tagtraum.perf.gcviewer.model.GCEvent;
+import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.view.ChartRenderer;
 import com.tagtraum.perf.gcviewer.view.ModelChartImpl;
 
@@ -32,9 +33,12 @@ public class FullGCLineRenderer extends ChartRenderer {
 
         int height = getHeight();
         int lastScaledTimestamp = Integer.MIN_VALUE;
-        for (Iterator<GCEvent> i = getModelChart().getModel().getFullGCEvents(); i.hasNext();) {
+        GCModel model = getModel();
+        double fromTimestamp = model.getFirstPauseTimeStamp() + (minX - 1) / scaleFactor;
+        double toTimestamp = model.getFirstPauseTimeStamp() + (maxX + 1) / scaleFactor;
+        for (Iterator<GCEvent> i = model.getFullGCEvents(fromTimestamp, toTimestamp); i.hasNext();) {
             GCEvent event = i.next();
-            int scaledTimestamp = (int)(scaleFactor * (event.getTimestamp() - getModelChart().getModel().getFirstPauseTimeStamp()));
+            int scaledTimestamp = (int)(scaleFactor * (event.getTimestamp() - getModel().getFirstPauseTimeStamp()));
             if (scaledTimestamp != lastScaledTimestamp && scaledTimestamp >= minX && scaledTimestamp <= maxX) {
                 g2d.drawLine(scaledTimestamp, 0, scaledTimestamp, height);
                 lastScaledTimestamp = scaledTimestamp;
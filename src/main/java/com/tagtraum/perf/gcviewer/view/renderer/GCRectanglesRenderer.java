@@ -8,6 +8,7 @@ import java.awt.RenderingHints;
 import java.util.Iterator;
 
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
+import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.view.ChartRenderer;
 import com.tagtraum.perf.gcviewer.view.ModelChartImpl;
 import com.tagtraum.perf.gcviewer.model.VmOperationEvent;
@@ -51,12 +52,17 @@ public class GCRectanglesRenderer extends ChartRenderer {
         int leftBoundary = clip.x;
         int rightBoundary = clip.x + clip.width;
 
-        for (Iterator<AbstractGCEvent<?>> i = getModelChart().getModel().getStopTheWorldEvents(); i.hasNext() && lastX < rightBoundary;) {
+        // only events in the visible area (including long pauses starting left of it) need to be considered
+        GCModel model = getModel();
+        double fromTimestamp = model.getFirstPauseTimeStamp() + (leftBoundary - 1) / scaleFactor - getModelChart().getMaxPause();
+        double toTimestamp = model.getFirstPauseTimeStamp() + (rightBoundary + 1) / scaleFactor;
+
+        for (Iterator<AbstractGCEvent<?>> i = model.getStopTheWorldEvents(fromTimestamp, toTimestamp); i.hasNext() && lastX < rightBoundary;) {
             AbstractGCEvent<?> event = i.next();
             double pause = event.getPause();
             int width = (int) Math.max(Math.abs(scaleFactor * pause), 1.0d);
             int height = (int) (pause * scaledHeight);
-            int x = (int) (scaleFactor * (event.getTimestamp() - getModelChart().getModel().getFirstPauseTimeStamp()));
+            int x = (int) (scaleFactor * (event.getTimestamp() - getModel().getFirstPauseTimeStamp()));
             int y = getHeight() - (int) (pause * scaledHeight);
             if (lastX != x || lastY != y || lastWidth != width || lastHeight != height) {
                 if ((x + width) > leftBoundary && x < rightBoundary) {
@@ -1,6 +1,7 @@
 package com.tagtraum.perf.gcviewer.view.renderer;
 
 import com.tagtraum.perf.gcviewer.model.GCEvent;
+import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.view.ChartRenderer;
 import com.tagtraum.perf.gcviewer.view.ModelChartImpl;
 
@@ -26,10 +27,14 @@ public class IncLineRenderer extends ChartRenderer {
         double scaleFactor = getModelChart().getScaleFactor();
         int height = getHeight();
         int lastScaledTimestamp = Integer.MIN_VALUE;
-        for (Iterator<GCEvent> i = getModelChart().getModel().getGCEvents(); i.hasNext();) {
+        Rectangle clipBounds = g2d.getClipBounds();
+        GCModel model = getModel();
+        double fromTimestamp = model.getFirstPauseTimeStamp() + (clipBounds.x - 1) / scaleFactor;
+        double toTimestamp = model.getFirstPauseTimeStamp() + (clipBounds.x + clipBounds.width + 1) / scaleFactor;
+        for (Iterator<GCEvent> i = model.getGCEvents(fromTimestamp, toTimestamp); i.hasNext();) {
             GCEvent event = i.next();
             if (event.isInc()) {
-                int scaledTimestamp = (int) (scaleFactor * (event.getTimestamp() - getModelChart().getModel().getFirstPauseTimeStamp()));
+                int scaledTimestamp = (int) (scaleFactor * (event.getTimestamp() - getModel().getFirstPauseTimeStamp()));
                 if (scaledTimestamp != lastScaledTimestamp) {
                     g2d.drawLine(scaledTimestamp, 0, scaledTimestamp, height);
                     lastScaledTimestamp = scaledTimestamp;
@@ -0,0 +1,215 @@
+package com.tagtraum.perf.gcviewer.view.renderer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.tagtraum.perf.gcviewer.view.renderer.PolygonChartRenderer.ScaledPolygon;
+
+/**
+ * Unscaled points of a chart polygon together with a pyramid of downsampled versions of these points (level of
+ * detail). Each level keeps only the first, the lowest, the highest and the last point of each x-bucket
+ * (M4 aggregation); the bucket width doubles from level to level. When a polygon is needed for a given scale,
+ * the coarsest level, that still has at least two buckets per pixel, is aggregated once more with buckets of
+ * exactly one pixel. This way, the resulting polygon contains at most 4 points per horizontal pixel, independent
+ * of the number of events in the model, while peaks are still visible.
+ *
+ * <p>Points added "not optimised" are never aggregated; they are kept in all levels.</p>
+ */
+class PointSeries {
+
+    /** number of buckets of the finest downsampled level */
+    private static final int FINEST_BUCKET_COUNT = 1 << 16;
+    /** levels with less buckets than this are not built any more */
+    private static final int COARSEST_BUCKET_COUNT = 256;
+
+    private final Level points = new Level(0);
+    private List<Level> levels;
+
+    /**
+     * Adds a point, which may be aggregated with its neighbours.
+     *
+     * @param x x-value (unscaled)
+     * @param y y-value (unscaled)
+     */
+    public void addPoint(double x, double y) {
+        points.add(x, y, false);
+        levels = null;
+    }
+
+    /**
+     * Adds a point, which must not be aggregated with its neighbours.
+     *
+     * @param x x-value (unscaled)
+     * @param y y-value (unscaled)
+     */
+    public void addPointNotOptimised(double x, double y) {
+        points.add(x, y, true);
+        levels = null;
+    }
+
+    /**
+     * @return number of points added to this series
+     */
+    public int size() {
+        return points.size;
+    }
+
+    /**
+     * Adds the points of this series to <code>polygon</code>; at most 4 points per pixel are added.
+     *
+     * @param polygon polygon to add the points to
+     * @param xScaleFactor scale factor of x values (pixels per unit)
+     */
+    public void addTo(ScaledPolygon polygon, double xScaleFactor) {
+        if (levels == null) {
+            levels = buildLevels();
+        }
+
+        // buckets of the level must be smaller than a pixel to keep the extremes of every pixel
+        double halfPixelWidth = 0.5 / xScaleFactor;
+        Level level = points;
+        for (Level candidate : levels) {
+            if (candidate.bucketWidth <= halfPixelWidth) {
+                level = candidate;
+            }
+        }
+
+        reduce(level, 0, xScaleFactor, (x, y, notOptimised) -> {
+            if (notOptimised) {
+                polygon.addPointNotOptimised(x, y);
+            }
+            else {
+                polygon.addPoint(x, y);
+            }
+        });
+    }
+
+    private List<Level> buildLevels() {
+        List<Level> result = new ArrayList<>();
+        if (points.size <= 4 * COARSEST_BUCKET_COUNT) {
+            return result;
+        }
+
+        double xMin = Double.MAX_VALUE;
+        double xMax = -Double.MAX_VALUE;
+        for (int i = 0; i < points.size; ++i) {
+            xMin = Math.min(xMin, points.x[i]);
+            xMax = Math.max(xMax, points.x[i]);
+        }
+
+        double span = xMax - xMin;
+        if (span <= 0) {
+            return result;
+        }
+
+        Level previous = points;
+        for (int bucketCount = FINEST_BUCKET_COUNT; bucketCount >= COARSEST_BUCKET_COUNT; bucketCount /= 2) {
+            double bucketWidth = span / bucketCount;
+            Level level = new Level(bucketWidth);
+            reduce(previous, xMin, 1 / bucketWidth, level);
+            result.add(level);
+            previous = level;
+        }
+
+        return result;
+    }
+
+    /**
+     * M4 aggregation: for every bucket only the first, min, max and last point (in this order) are passed to
+     * <code>sink</code>.
+     *
+     * @param source points to be aggregated
+     * @param origin x value where the first bucket starts
+     * @param bucketsPerUnit inverse of the width of a bucket
+     * @param sink receives the aggregated points
+     */
+    private static void reduce(Level source, double origin, double bucketsPerUnit, PointSink sink) {
+        long currentBucket = Long.MIN_VALUE;
+        int first = -1;
+        int min = -1;
+        int max = -1;
+        int last = -1;
+        for (int i = 0; i < source.size; ++i) {
+            if (source.notOptimised[i]) {
+                flush(source, first, min, max, last, sink);
+                first = -1;
+                currentBucket = Long.MIN_VALUE;
+                sink.add(source.x[i], source.y[i], true);
+                continue;
+            }
+
+            long bucket = (long) Math.floor((source.x[i] - origin) * bucketsPerUnit);
+            if (bucket != currentBucket || first < 0) {
+                flush(source, first, min, max, last, sink);
+                currentBucket = bucket;
+                first = min = max = last = i;
+            }
+            else {
+                if (source.y[i] < source.y[min]) {
+                    min = i;
+                }
+                if (source.y[i] > source.y[max]) {
+                    max = i;
+                }
+                last = i;
+            }
+        }
+
+        flush(source, first, min, max, last, sink);
+    }
+
+    private static void flush(Level source, int first, int min, int max, int last, PointSink sink) {
+        if (first < 0) {
+            return;
+        }
+
+        sink.add(source.x[first], source.y[first], false);
+        int lower = Math.min(min, max);
+        int upper = Math.max(min, max);
+        if (lower != first && lower != last) {
+            sink.add(source.x[lower], source.y[lower], false);
+        }
+        if (upper != first && upper != last && upper != lower) {
+            sink.add(source.x[upper], source.y[upper], false);
+        }
+        if (last != first) {
+            sink.add(source.x[last], source.y[last], false);
+        }
+    }
+
+    private interface PointSink {
+        void add(double x, double y, boolean notOptimised);
+    }
+
+    /**
+     * Growable arrays of points; used for the original points as well as for all downsampled levels.
+     */
+    private static class Level implements PointSink {
+        private final double bucketWidth;
+        private double[] x = new double[64];
+        private double[] y = new double[64];
+        private boolean[] notOptimised = new boolean[64];
+        private int size;
+
+        public Level(double bucketWidth) {
+            this.bucketWidth = bucketWidth;
+        }
+
+        @Override
+        public void add(double x, double y, boolean notOptimised) {
+            if (size == this.x.length) {
+                int newLength = size * 2;
+                this.x = Arrays.copyOf(this.x, newLength);
+                this.y = Arrays.copyOf(this.y, newLength);
+                this.notOptimised = Arrays.copyOf(this.notOptimised, newLength);
+            }
+
+            this.x[size] = x;
+            this.y[size] = y;
+            this.notOptimised[size] = notOptimised;
+            ++size;
+        }
+    }
+
+}
@@ -10,6 +10,9 @@ import com.tagtraum.perf.gcviewer.view.ModelChartImpl;
 import java.awt.*;
 import java.awt.geom.Point2D;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Superclass for components rendering model data as polygon, polyline
@@ -20,11 +23,28 @@ import java.util.Arrays;
  * @author <a href="mailto:hs@tagtraum.com">Hendrik Schreiber</a>
  */
 public abstract class PolygonChartRenderer extends ChartRenderer {
+    /** number of polygons (each for another zoom level / chart size) kept in {@link #polygonCache} */
+    private static final int MAX_CACHED_POLYGONS = 8;
+
     private boolean drawPolygon;
     private Paint fillPaint;
     private Polygon polygon;
     private Polygon clippedPolygon = new Polygon();
 
+    // unscaled points of the polygon; allows to compute the polygon for another scale without iterating the model
+    private PointSeries pointSeries;
+    private ScaleType pointSeriesScaleType;
+    private GCModel pointSeriesModel;
+    private int pointSeriesModelSize;
+    private boolean pointSeriesShowTenured;
+    private boolean recordPointSeries;
+    private Map<PolygonKey, Polygon> polygonCache = new LinkedHashMap<PolygonKey, Polygon>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PolygonKey, Polygon> eldest) {
+            return size() > MAX_CACHED_POLYGONS;
+        }
+    };
+
     public PolygonChartRenderer(ModelChartImpl modelChart) {
         super(modelChart);
         setOpaque(false);
@@ -40,12 +60,67 @@ public abstract class PolygonChartRenderer extends ChartRenderer {
 
     /**
      * Reset the internally cached polygon. Should always be done when size of chart is changed
-     * in some way (zoom, window resize, reload), but not more often.
+     * in some way (zoom, window resize, reload), but not more often. Polygons for the last few zoom levels
+     * are kept as long as the model doesn't change; the polygons for other zoom levels are computed from a
+     * downsampled copy of the points (see {@link PointSeries}).
      */
     public void resetPolygon() {
         polygon = null;
     }
 
+    /**
+     * Returns the polygon for the current model and scale; either from the cache, from the downsampled points
+     * or - if the model has changed - by calling {@link #computePolygon(ModelChart, GCModel)}.
+     *
+     * @return polygon to be drawn
+     */
+    private Polygon getPolygon() {
+        GCModel model = getModel();
+        PolygonKey key = new PolygonKey(getModelChart().getScaleFactor(), getHeight());
+        if (!isPointSeriesValid(model)) {
+            polygonCache.clear();
+            pointSeries = null;
+
+            recordPointSeries = true;
+            Polygon computedPolygon;
+            try {
+                computedPolygon = computePolygon(getModelChart(), model);
+            }
+            finally {
+                recordPointSeries = false;
+            }
+
+            if (computedPolygon instanceof ScaledPolygon && ((ScaledPolygon) computedPolygon).pointSeries != null) {
+                pointSeries = ((ScaledPolygon) computedPolygon).pointSeries;
+                pointSeriesScaleType = ((ScaledPolygon) computedPolygon).scaleType;
+                pointSeriesModel = model;
+                pointSeriesModelSize = model.size();
+                pointSeriesShowTenured = getModelChart().isShowTenured();
+                polygonCache.put(key, computedPolygon);
+            }
+
+            return computedPolygon;
+        }
+
+        Polygon cachedPolygon = polygonCache.get(key);
+        if (cachedPolygon == null) {
+            ScaledPolygon scaledPolygon = createScaledPolygon(pointSeriesScaleType);
+            pointSeries.addTo(scaledPolygon, getModelChart().getScaleFactor());
+            polygonCache.put(key, scaledPolygon);
+            cachedPolygon = scaledPolygon;
+        }
+
+        return cachedPolygon;
+    }
+
+    private boolean isPointSeriesValid(GCModel model) {
+        // subclasses compute their polygons only from the model and the "show tenured" setting
+        return pointSeries != null
+                && pointSeriesModel == model
+                && pointSeriesModelSize == model.size()
+                && pointSeriesShowTenured == getModelChart().isShowTenured();
+    }
+
     /**
      * @see com.tagtraum.perf.gcviewer.view.ChartRenderer#paintComponent(java.awt.Graphics2D)
      */
@@ -53,7 +128,7 @@ public abstract class PolygonChartRenderer extends ChartRenderer {
         if ((!drawPolygon) && (!isDrawLine())) return;
         if (polygon == null) {
             // don't recompute polygon for each paint event
-            polygon = computePolygon(getModelChart(), getModelChart().getModel());
+            polygon = getPolygon();
         }
         clippedPolygon = initClippedPolygon(polygon, g2d.getClip());
         if (drawPolygon) {
@@ -181,11 +256,24 @@ public abstract class PolygonChartRenderer extends ChartRenderer {
     }
 
     protected ScaledPolygon createTimeScaledPolygon() {
-        return new ScaledPolygon(getModelChart().getScaleFactor(), getHeight()/(getModelChart().getMaxPause()), getHeight());
+        return createScaledPolygon(ScaleType.TIME);
     }
 
     protected ScaledPolygon createMemoryScaledPolygon() {
-        return new ScaledPolygon(getModelChart().getScaleFactor(), getHeight()/((double)getModelChart().getFootprint()), getHeight());
+        return createScaledPolygon(ScaleType.MEMORY);
+    }
+
+    private ScaledPolygon createScaledPolygon(ScaleType scaleType) {
+        double yScaleFactor = scaleType == ScaleType.TIME
+                ? getHeight()/(getModelChart().getMaxPause())
+                : getHeight()/((double)getModelChart().getFootprint());
+        ScaledPolygon scaledPolygon = new ScaledPolygon(getModelChart().getScaleFactor(), yScaleFactor, getHeight());
+        scaledPolygon.scaleType = scaleType;
+        if (recordPointSeries) {
+            scaledPolygon.pointSeries = new PointSeries();
+        }
+
+        return scaledPolygon;
     }
 
     private static int getLowestY(Polygon polygon) {
@@ -217,6 +305,9 @@ public abstract class PolygonChartRenderer extends ChartRenderer {
         private int yOffset;
         private Point lastPointOfOptimisation = new Point();
         private boolean lastPointWasOptimised = false;
+        /** records the unscaled points, if not <code>null</code> */
+        private PointSeries pointSeries;
+        private ScaleType scaleType;
 
         public ScaledPolygon(double xScaleFactor, double yScaleFactor, int yOffset) {
             this.xScaleFactor = xScaleFactor;
@@ -232,6 +323,10 @@ public abstract class PolygonChartRenderer extends ChartRenderer {
          * @param y y-value
          */
         public void addPoint(double x, double y) {
+            if (pointSeries != null) {
+                pointSeries.addPoint(x, y);
+            }
+
             int scaledY = getScaledYValue(y);
             int scaledX = getScaledXValue(x);
             // optimize the polygon as we add points.
@@ -282,6 +377,10 @@ public abstract class PolygonChartRenderer extends ChartRenderer {
          * @param y y-Value
          */
         public void addPointNotOptimised(double x, double y) {
+            if (pointSeries != null) {
+                pointSeries.addPointNotOptimised(x, y);
+            }
+
             addPoint(getScaledXValue(x), getScaledYValue(y));
         }
 
@@ -295,6 +394,44 @@ public abstract class PolygonChartRenderer extends ChartRenderer {
 
     }
 
+    /**
+     * Unit of the y-axis of a {@link ScaledPolygon}.
+     */
+    private enum ScaleType {
+        TIME,
+        MEMORY
+    }
+
+    /**
+     * Identifies a polygon in the {@link #polygonCache}.
+     */
+    private static class PolygonKey {
+        private final double xScaleFactor;
+        private final int height;
+
+        public PolygonKey(double xScaleFactor, int height) {
+            this.xScaleFactor = xScaleFactor;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            PolygonKey that = (PolygonKey) o;
+            return Double.compare(that.xScaleFactor, xScaleFactor) == 0 && height == that.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(xScaleFactor, height);
+        }
+    }
+
     /**
      * InsertionBoundary holds the boundaries (index in polygon.xpoints) in a polygon array.
      * This class makes sure that the boundary indexes are allways within the size of the
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import java.io.File;
 import java.util.Arrays;
 
 import com.tagtraum.perf.gcviewer.ctrl.impl.GCViewerGuiController;
@@ -69,10 +70,11 @@ public class GCViewerTest {
         GCViewerGuiController controller = mock(GCViewerGuiController.class);
         GCViewer gcViewer = new GCViewer(controller, new GCViewerArgsParser());
 
-        String[] args = {"doesNotExist.log", "export.csv", "-t", "PLAIN"};
+        String[] args = {"doesNotExist.log", "target/exportFileNotFound.csv", "-t", "PLAIN"};
         int exitValue = gcViewer.doMain(args);
         verify(controller, never()).startGui(any(GCResource.class));
         assertThat("result of doMain", exitValue, is(-1));
+        assertThat("no export file left", new File("target/exportFileNotFound.csv").exists(), is(false));
     }
 
     @Test
@@ -0,0 +1,604 @@
+package com.tagtraum.perf.gcviewer;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Random;
+
+import com.tagtraum.perf.gcviewer.imp.GcLogType;
+
+/**
+ * Generates synthetic gc logs of arbitrary size for load tests and benchmarks of the parsers. The output is
+ * deterministic: the same settings and seed always produce the same log.
+ *
+ * <p>A simple heap model drives the events: young collections promote part of the survivors into the tenured
+ * generation; when the tenured generation fills up, a full collection or a concurrent cycle (depending on the
+ * collector) is written. Occasional "System.gc()" calls are mixed in.</p>
+ *
+ * <p>Supported are the formats of -XX:+PrintGCDetails (Serial, Parallel, CMS) and -XX:+PrintGC (G1) of
+ * java 1.6 - 1.8 including datestamps and rotation markers (-XX:+UseGCLogFileRotation) as well as the unified jvm
+ * logging format (-Xlog:gc) of all collectors.</p>
+ *
+ * <p>Usage from the command line: <code>GcLogGenerator &lt;SERIAL|PARALLEL|CMS|G1|SHENANDOAH&gt; &lt;size in MB&gt;
+ * &lt;file&gt; [&lt;GcLogType&gt;]</code>; without GcLogType, the unified jvm logging format is written.</p>
+ */
+public class GcLogGenerator {
+
+    /**
+     * Garbage collection algorithm, whose log is simulated.
+     */
+    public enum Collector {
+        SERIAL("Serial"),
+        PARALLEL("Parallel"),
+        CMS("Concurrent Mark Sweep"),
+        G1("G1"),
+        SHENANDOAH("Shenandoah");
+
+        private final String ujlName;
+
+        Collector(String ujlName) {
+            this.ujlName = ujlName;
+        }
+    }
+
+    private static final DateTimeFormatter DATESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ", Locale.US);
+    private static final DateTimeFormatter ROTATION_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss", Locale.US);
+    private static final ZonedDateTime START_DATE = ZonedDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final int HEAP_TOTAL = 1024 * 1024; // KB
+    private static final int YOUNG_TOTAL = HEAP_TOTAL / 3;
+    private static final int TENURED_TOTAL = HEAP_TOTAL - YOUNG_TOTAL;
+    private static final int METASPACE_USED = 21 * 1024;
+    private static final int METASPACE_TOTAL = 1056 * 1024;
+
+    private final GcLogType type;
+    private final Collector collector;
+    private long seed = 42;
+    private long rotationSize;
+
+    // state of the simulated jvm while writing
+    private Random random;
+    private double timestamp;
+    private int tenuredUsed;
+    private int survivorUsed;
+    private int gcNumber;
+    private long bytesWritten;
+    private long bytesWrittenInFile;
+    private int fileNumber;
+    private long lineCount;
+    private StringBuilder line = new StringBuilder(512);
+
+    /**
+     * Creates a generator for the unified jvm logging format (java 9+).
+     *
+     * @param collector collector to be simulated
+     */
+    public GcLogGenerator(Collector collector) {
+        this(null, collector);
+    }
+
+    /**
+     * Creates a generator for the format of the sun / oracle jvm up to java 1.8.
+     *
+     * @param type format of the log; one of {@link GcLogType#SUN1_6}, {@link GcLogType#SUN1_7},
+     * {@link GcLogType#SUN1_8} or their G1 variants
+     * @param collector collector to be simulated; {@link Collector#G1} for the G1 variants of <code>type</code>
+     * @throws IllegalArgumentException <code>type</code> and <code>collector</code> don't match or are not supported
+     */
+    public GcLogGenerator(GcLogType type, Collector collector) {
+        if (type != null) {
+            boolean isG1Type = type == GcLogType.SUN1_6G1 || type == GcLogType.SUN1_7G1 || type == GcLogType.SUN1_8G1;
+            boolean isSunType = type == GcLogType.SUN1_6 || type == GcLogType.SUN1_7 || type == GcLogType.SUN1_8;
+            if (!isG1Type && !isSunType) {
+                throw new IllegalArgumentException("unsupported GcLogType: " + type);
+            }
+            if (isG1Type != (collector == Collector.G1) || collector == Collector.SHENANDOAH) {
+                throw new IllegalArgumentException("collector " + collector + " is not supported for " + type);
+            }
+        }
+
+        this.type = type;
+        this.collector = collector;
+    }
+
+    /**
+     * @param seed seed of the random generator; the same seed always produces the same log
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Simulates -XX:+UseGCLogFileRotation: after approximately <code>rotationSize</code> bytes, the markers written
+     * by the jvm at the end of a log file and at the beginning of the next file are inserted. Only supported for
+     * the formats up to java 1.8.
+     *
+     * @param rotationSize size of one log file in bytes; 0 (default) means no rotation
+     */
+    public void setRotationSize(long rotationSize) {
+        this.rotationSize = rotationSize;
+    }
+
+    /**
+     * Writes a log of approximately <code>size</code> bytes (the last cycle is always completed).
+     *
+     * @param out stream to write to; is not closed
+     * @param size number of bytes to be written
+     * @return number of lines written
+     * @throws IOException problem writing to <code>out</code>
+     */
+    public long write(OutputStream out, long size) throws IOException {
+        random = new Random(seed);
+        timestamp = 0.5;
+        tenuredUsed = TENURED_TOTAL / 20;
+        survivorUsed = 0;
+        gcNumber = 0;
+        bytesWritten = 0;
+        bytesWrittenInFile = 0;
+        fileNumber = 0;
+        lineCount = 0;
+
+        writeHeader(out);
+        while (bytesWritten < size) {
+            writeCycle(out);
+            if (type != null && rotationSize > 0 && bytesWrittenInFile >= rotationSize) {
+                writeRotation(out);
+            }
+        }
+
+        return lineCount;
+    }
+
+    private void writeHeader(OutputStream out) throws IOException {
+        if (type == null) {
+            appendUjlPrefix();
+            line.append("Using ").append(collector.ujlName);
+            writeLine(out);
+        }
+        else {
+            if (rotationSize > 0) {
+                line.append(ROTATION_FORMATTER.format(getDatestamp())).append(" GC log file created gc.log.").append(fileNumber);
+                writeLine(out);
+            }
+            line.append("Java HotSpot(TM) 64-Bit Server VM (25.192-b12) for linux-amd64 JRE (1.8.0_192-b12), built on Oct  6 2018 06:46:09 by \"java_re\" with gcc 7.3.0");
+            writeLine(out);
+            line.append("Memory: 4k page, physical 16334584k(9876540k free), swap 2097148k(2097148k free)");
+            writeLine(out);
+            line.append("CommandLine flags: -XX:InitialHeapSize=").append(HEAP_TOTAL * 1024L)
+                    .append(" -XX:MaxHeapSize=").append(HEAP_TOTAL * 1024L)
+                    .append(" -XX:+PrintGC -XX:+PrintGCDateStamps -XX:+PrintGCTimeStamps")
+                    .append(collector == Collector.G1 ? "" : " -XX:+PrintGCDetails")
+                    .append(getCollectorFlag());
+            writeLine(out);
+        }
+    }
+
+    private String getCollectorFlag() {
+        switch (collector) {
+            case SERIAL: return " -XX:+UseSerialGC";
+            case PARALLEL: return " -XX:+UseParallelGC";
+            case CMS: return " -XX:+UseConcMarkSweepGC -XX:+UseParNewGC";
+            case G1: return " -XX:+UseG1GC";
+            default: throw new IllegalStateException("unsupported collector " + collector);
+        }
+    }
+
+    private void writeRotation(OutputStream out) throws IOException {
+        line.append(ROTATION_FORMATTER.format(getDatestamp()))
+                .append(" GC log file has reached the maximum size. Saved as gc.log.").append(fileNumber);
+        writeLine(out);
+        ++fileNumber;
+        bytesWrittenInFile = 0;
+        writeHeader(out);
+    }
+
+    /**
+     * Writes young collections until the tenured generation is filled up and then either a full collection or a
+     * concurrent cycle.
+     */
+    private void writeCycle(OutputStream out) throws IOException {
+        int fullGcThreshold = (int) (TENURED_TOTAL * (0.7 + random.nextDouble() * 0.2));
+        while (tenuredUsed < fullGcThreshold) {
+            if (random.nextInt(500) == 0) {
+                writeFull(out, "System.gc()");
+                return;
+            }
+
+            writeYoung(out, getYoungCause(), "young");
+        }
+
+        switch (collector) {
+            case CMS:
+                writeCmsCycle(out);
+                break;
+            case G1:
+                writeG1Cycle(out);
+                break;
+            case SHENANDOAH:
+                writeShenandoahCycle(out);
+                break;
+            default:
+                writeFull(out, collector == Collector.PARALLEL ? "Ergonomics" : "Allocation Failure");
+        }
+    }
+
+    private String getYoungCause() {
+        if (collector == Collector.G1) {
+            return "G1 Evacuation Pause";
+        }
+
+        return random.nextInt(50) == 0 ? "Metadata GC Threshold" : "Allocation Failure";
+    }
+
+    private void writeYoung(OutputStream out, String cause, String g1Kind) throws IOException {
+        advanceTime(0.2, 3.0);
+        int youngBefore = YOUNG_TOTAL - random.nextInt(YOUNG_TOTAL / 50);
+        int youngAfter = YOUNG_TOTAL / 20 + random.nextInt(YOUNG_TOTAL / 20);
+        int promoted = random.nextInt(TENURED_TOTAL / 100);
+        survivorUsed = youngAfter;
+        int heapBefore = youngBefore + tenuredUsed;
+        tenuredUsed = Math.min(TENURED_TOTAL, tenuredUsed + promoted);
+        int heapAfter = youngAfter + tenuredUsed;
+        double pause = 0.005 + random.nextDouble() * 0.05;
+
+        if (type == null) {
+            String name = "Pause Young";
+            if (collector == Collector.G1 && g1Kind.endsWith("mixed")) {
+                name = "Pause Mixed";
+            }
+            else if (collector == Collector.G1 && g1Kind.endsWith("initial-mark")) {
+                name = "Pause Initial Mark";
+            }
+            writeUjlEvent(out, gcNumber++, name + " (" + cause + ")", heapBefore, heapAfter, pause);
+        }
+        else if (collector == Collector.G1) {
+            appendSunPrefix();
+            line.append("[GC pause (").append(cause).append(") (").append(g1Kind).append(") ");
+            appendMemory(line, toMB(heapBefore), toMB(heapAfter), toMB(HEAP_TOTAL), "M");
+            line.append(", ").append(formatSecs(pause)).append(" secs]");
+            writeLine(out);
+        }
+        else {
+            appendSunPrefix();
+            line.append("[GC (").append(cause).append(") ");
+            if (collector == Collector.PARALLEL) {
+                line.append("[PSYoungGen: ");
+                appendMemory(line, youngBefore, youngAfter, YOUNG_TOTAL, "K");
+                line.append("] ");
+            }
+            else {
+                line.append(formatTimestamp(timestamp)).append(": [")
+                        .append(collector == Collector.CMS ? "ParNew" : "DefNew").append(": ");
+                appendMemory(line, youngBefore, youngAfter, YOUNG_TOTAL, "K");
+                line.append(", ").append(formatSecs(pause * 0.98)).append(" secs] ");
+            }
+            appendMemory(line, heapBefore, heapAfter, HEAP_TOTAL, "K");
+            line.append(", ").append(formatSecs(pause)).append(" secs]");
+            appendTimes(pause);
+            writeLine(out);
+        }
+    }
+
+    private void writeFull(OutputStream out, String cause) throws IOException {
+        advanceTime(0.2, 3.0);
+        int youngBefore = survivorUsed + random.nextInt(YOUNG_TOTAL / 2);
+        int tenuredBefore = tenuredUsed;
+        int heapBefore = youngBefore + tenuredBefore;
+        tenuredUsed = TENURED_TOTAL / 20 + random.nextInt(TENURED_TOTAL / 10);
+        survivorUsed = 0;
+        double pause = 0.1 + random.nextDouble() * 0.5;
+
+        if (type == null) {
+            writeUjlEvent(out, gcNumber++, "Pause Full (" + cause + ")", heapBefore, tenuredUsed, pause);
+        }
+        else if (collector == Collector.G1) {
+            appendSunPrefix();
+            line.append("[Full GC (").append(cause).append(")  ");
+            appendMemory(line, toMB(heapBefore), toMB(tenuredUsed), toMB(HEAP_TOTAL), "M");
+            line.append(", ").append(formatSecs(pause)).append(" secs]");
+            writeLine(out);
+        }
+        else {
+            appendSunPrefix();
+            line.append("[Full GC (").append(cause).append(") ");
+            if (collector == Collector.PARALLEL) {
+                line.append("[PSYoungGen: ");
+                appendMemory(line, youngBefore, 0, YOUNG_TOTAL, "K");
+                line.append("] [ParOldGen: ");
+                appendMemory(line, tenuredBefore, tenuredUsed, TENURED_TOTAL, "K");
+                line.append("] ");
+            }
+            else {
+                line.append(formatTimestamp(timestamp)).append(": [")
+                        .append(collector == Collector.CMS ? "CMS" : "Tenured").append(": ");
+                appendMemory(line, tenuredBefore, tenuredUsed, TENURED_TOTAL, "K");
+                line.append(", ").append(formatSecs(pause * 0.98)).append(" secs] ");
+            }
+            appendMemory(line, heapBefore, tenuredUsed, HEAP_TOTAL, "K");
+            line.append(", [Metaspace: ");
+            appendMemory(line, METASPACE_USED, METASPACE_USED, METASPACE_TOTAL, "K");
+            line.append("], ").append(formatSecs(pause)).append(" secs]");
+            appendTimes(pause);
+            writeLine(out);
+        }
+    }
+
+    private void writeCmsCycle(OutputStream out) throws IOException {
+        int cycleNumber = gcNumber++;
+        int heapUsed = survivorUsed + tenuredUsed;
+        double pause = 0.001 + random.nextDouble() * 0.005;
+        advanceTime(0.1, 0.5);
+        if (type == null) {
+            writeUjlEvent(out, cycleNumber, "Pause Initial Mark", heapUsed, heapUsed, pause);
+        }
+        else {
+            appendSunPrefix();
+            line.append("[GC (CMS Initial Mark) [1 CMS-initial-mark: ").append(tenuredUsed).append("K(").append(TENURED_TOTAL)
+                    .append("K)] ").append(heapUsed).append("K(").append(HEAP_TOTAL).append("K), ").append(formatSecs(pause)).append(" secs]");
+            appendTimes(pause);
+            writeLine(out);
+        }
+
+        writeCmsConcurrentPhase(out, cycleNumber, "mark", "Concurrent Mark");
+        writeCmsConcurrentPhase(out, cycleNumber, "preclean", "Concurrent Preclean");
+        if (random.nextBoolean()) {
+            writeYoung(out, "Allocation Failure", "young");
+        }
+
+        advanceTime(0.01, 0.1);
+        heapUsed = survivorUsed + tenuredUsed;
+        pause = 0.002 + random.nextDouble() * 0.02;
+        if (type == null) {
+            writeUjlEvent(out, cycleNumber, "Pause Remark", heapUsed, heapUsed, pause);
+        }
+        else {
+            appendSunPrefix();
+            line.append("[GC (CMS Final Remark) [YG occupancy: ").append(survivorUsed).append(" K (").append(YOUNG_TOTAL).append(" K)]");
+            appendSunPrefix();
+            line.append("[Rescan (parallel) , ").append(formatSecs(pause * 0.7)).append(" secs]");
+            appendSunPrefix();
+            line.append("[weak refs processing, 0.0000176 secs]");
+            appendSunPrefix();
+            line.append("[class unloading, 0.0005055 secs]");
+            appendSunPrefix();
+            line.append("[scrub symbol table, 0.0006476 secs]");
+            appendSunPrefix();
+            line.append("[scrub string table, 0.0001462 secs][1 CMS-remark: ").append(tenuredUsed).append("K(").append(TENURED_TOTAL)
+                    .append("K)] ").append(heapUsed).append("K(").append(HEAP_TOTAL).append("K), ").append(formatSecs(pause)).append(" secs]");
+            appendTimes(pause);
+            writeLine(out);
+        }
+
+        tenuredUsed = TENURED_TOTAL / 20 + random.nextInt(TENURED_TOTAL / 10);
+        writeCmsConcurrentPhase(out, cycleNumber, "sweep", "Concurrent Sweep");
+        writeCmsConcurrentPhase(out, cycleNumber, "reset", "Concurrent Reset");
+    }
+
+    private void writeCmsConcurrentPhase(OutputStream out, int cycleNumber, String sunName, String ujlName) throws IOException {
+        advanceTime(0.001, 0.01);
+        double duration = 0.001 + random.nextDouble() * 0.1;
+        if (type == null) {
+            appendUjlPrefix();
+            line.append("GC(").append(cycleNumber).append(") ").append(ujlName);
+            writeLine(out);
+            advanceTime(duration, duration);
+            appendUjlPrefix();
+            line.append("GC(").append(cycleNumber).append(") ").append(ujlName)
+                    .append(" ").append(formatMillis(duration)).append("ms");
+            writeLine(out);
+        }
+        else {
+            appendSunPrefix();
+            line.append("[CMS-concurrent-").append(sunName).append("-start]");
+            writeLine(out);
+            advanceTime(duration, duration);
+            appendSunPrefix();
+            line.append("[CMS-concurrent-").append(sunName).append(": ").append(formatSecs3(duration)).append("/")
+                    .append(formatSecs3(duration)).append(" secs]");
+            appendTimes(duration);
+            writeLine(out);
+        }
+    }
+
+    private void writeG1Cycle(OutputStream out) throws IOException {
+        int cycleNumber;
+        if (type == null) {
+            writeYoung(out, "G1 Evacuation Pause", "young) (initial-mark");
+            cycleNumber = gcNumber++;
+            appendUjlPrefix();
+            line.append("GC(").append(cycleNumber).append(") Concurrent Cycle");
+            writeLine(out);
+        }
+        else {
+            cycleNumber = gcNumber++;
+            writeYoung(out, "G1 Evacuation Pause", "young) (initial-mark");
+            writeG1ConcurrentPhase(out, "root-region-scan");
+            writeG1ConcurrentPhase(out, "mark");
+        }
+
+        double cycleStart = timestamp;
+        advanceTime(0.05, 0.5);
+        int heapUsed = survivorUsed + tenuredUsed;
+        double pause = 0.002 + random.nextDouble() * 0.01;
+        if (type == null) {
+            writeUjlEvent(out, cycleNumber, "Pause Remark", heapUsed, heapUsed, pause);
+        }
+        else {
+            appendSunPrefix();
+            line.append("[GC remark, ").append(formatSecs(pause)).append(" secs]");
+            writeLine(out);
+        }
+
+        advanceTime(0.01, 0.05);
+        int heapAfterCleanup = heapUsed - random.nextInt(Math.max(1, tenuredUsed / 10));
+        pause = 0.0005 + random.nextDouble() * 0.001;
+        if (type == null) {
+            writeUjlEvent(out, cycleNumber, "Pause Cleanup", heapUsed, heapAfterCleanup, pause);
+            appendUjlPrefix();
+            line.append("GC(").append(cycleNumber).append(") Concurrent Cycle ")
+                    .append(formatMillis(timestamp - cycleStart)).append("ms");
+            writeLine(out);
+        }
+        else {
+            appendSunPrefix();
+            line.append("[GC cleanup ");
+            appendMemory(line, toMB(heapUsed), toMB(heapAfterCleanup), toMB(HEAP_TOTAL), "M");
+            line.append(", ").append(formatSecs(pause)).append(" secs]");
+            writeLine(out);
+            writeG1ConcurrentPhase(out, "cleanup");
+        }
+
+        // mixed collections reclaim most of the tenured generation
+        int mixedCount = 2 + random.nextInt(6);
+        int reclaimPerMixed = (tenuredUsed - TENURED_TOTAL / 10) / mixedCount;
+        for (int i = 0; i < mixedCount; ++i) {
+            writeYoung(out, "G1 Evacuation Pause", "mixed");
+            tenuredUsed -= reclaimPerMixed;
+        }
+    }
+
+    private void writeG1ConcurrentPhase(OutputStream out, String name) throws IOException {
+        advanceTime(0.001, 0.005);
+        appendSunPrefix();
+        line.append("[GC concurrent-").append(name).append("-start]");
+        writeLine(out);
+
+        double duration = 0.001 + random.nextDouble() * 0.05;
+        advanceTime(duration, duration);
+        appendSunPrefix();
+        line.append("[GC concurrent-").append(name).append("-end, ").append(formatSecs(duration)).append(" secs]");
+        writeLine(out);
+    }
+
+    private void writeShenandoahCycle(OutputStream out) throws IOException {
+        int cycleNumber = gcNumber++;
+        int heapUsed = survivorUsed + tenuredUsed;
+        int heapAfter = TENURED_TOTAL / 20 + random.nextInt(TENURED_TOTAL / 10);
+
+        advanceTime(0.01, 0.1);
+        writeUjlEvent(out, cycleNumber, "Pause Init Mark", -1, -1, 0.0002 + random.nextDouble() * 0.001);
+        writeShenandoahConcurrentPhase(out, cycleNumber, "Concurrent marking", heapUsed, heapUsed);
+        writeUjlEvent(out, cycleNumber, "Pause Final Mark", heapUsed, heapUsed, 0.0005 + random.nextDouble() * 0.001);
+        writeShenandoahConcurrentPhase(out, cycleNumber, "Concurrent evacuation", heapUsed, heapUsed);
+        writeUjlEvent(out, cycleNumber, "Pause Init Update Refs", -1, -1, 0.00002 + random.nextDouble() * 0.0001);
+        writeShenandoahConcurrentPhase(out, cycleNumber, "Concurrent update references", heapUsed, heapUsed);
+        writeUjlEvent(out, cycleNumber, "Pause Final Update Refs", heapUsed, heapAfter, 0.0002 + random.nextDouble() * 0.001);
+        writeShenandoahConcurrentPhase(out, cycleNumber, "Concurrent reset bitmaps", heapAfter, heapAfter);
+
+        tenuredUsed = heapAfter;
+        survivorUsed = 0;
+    }
+
+    private void writeShenandoahConcurrentPhase(OutputStream out, int cycleNumber, String name, int heapBefore, int heapAfter)
+            throws IOException {
+
+        double duration = 0.001 + random.nextDouble() * 0.01;
+        advanceTime(duration, duration);
+        appendUjlPrefix();
+            line.append("GC(").append(cycleNumber).append(") ").append(name).append(" ");
+        appendMemory(line, toMB(heapBefore), toMB(heapAfter), toMB(HEAP_TOTAL), "M");
+        line.append(" ").append(formatMillis(duration)).append("ms");
+        writeLine(out);
+    }
+
+    /**
+     * Writes one line in unified jvm logging format; memory information is omitted, if <code>heapBefore</code> &lt; 0.
+     */
+    private void writeUjlEvent(OutputStream out, int number, String name, int heapBefore, int heapAfter, double pause)
+            throws IOException {
+
+        appendUjlPrefix();
+        line.append("GC(").append(number).append(") ").append(name).append(" ");
+        if (heapBefore >= 0) {
+            appendMemory(line, toMB(heapBefore), toMB(heapAfter), toMB(HEAP_TOTAL), "M");
+            line.append(" ");
+        }
+        line.append(formatMillis(pause)).append("ms");
+        writeLine(out);
+    }
+
+    private void appendUjlPrefix() {
+        line.append("[").append(DATESTAMP_FORMATTER.format(getDatestamp())).append("][").append(formatUptime(timestamp)).append("][info][gc] ");
+    }
+
+    private void appendSunPrefix() {
+        line.append(DATESTAMP_FORMATTER.format(getDatestamp())).append(": ").append(formatTimestamp(timestamp)).append(": ");
+    }
+
+    private void appendTimes(double pause) {
+        line.append(" [Times: user=").append(String.format(Locale.US, "%.2f", pause * 4))
+                .append(" sys=0.00, real=").append(String.format(Locale.US, "%.2f", pause)).append(" secs] ");
+    }
+
+    private static void appendMemory(StringBuilder sb, int before, int after, int total, String unit) {
+        sb.append(before).append(unit).append("->").append(after).append(unit).append("(").append(total).append(unit).append(")");
+    }
+
+    private void advanceTime(double min, double max) {
+        // whole milliseconds keep timestamps and datestamps consistent
+        timestamp = Math.round((timestamp + min + random.nextDouble() * (max - min)) * 1000) / 1000.0;
+    }
+
+    private ZonedDateTime getDatestamp() {
+        return START_DATE.plusNanos(Math.round(timestamp * 1000) * 1_000_000L);
+    }
+
+    private static int toMB(int kiloBytes) {
+        return kiloBytes / 1024;
+    }
+
+    private static String formatTimestamp(double seconds) {
+        return String.format(Locale.US, "%.3f", seconds);
+    }
+
+    private static String formatUptime(double seconds) {
+        return formatTimestamp(seconds) + "s";
+    }
+
+    private static String formatSecs(double seconds) {
+        return String.format(Locale.US, "%.7f", seconds);
+    }
+
+    private static String formatSecs3(double seconds) {
+        return String.format(Locale.US, "%.3f", seconds);
+    }
+
+    private static String formatMillis(double seconds) {
+        return String.format(Locale.US, "%.3f", seconds * 1000);
+    }
+
+    private void writeLine(OutputStream out) throws IOException {
+        line.append('\n');
+        byte[] bytes = line.toString().getBytes(StandardCharsets.US_ASCII);
+        out.write(bytes);
+        bytesWritten += bytes.length;
+        bytesWrittenInFile += bytes.length;
+        ++lineCount;
+        line.setLength(0);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("usage: GcLogGenerator <SERIAL|PARALLEL|CMS|G1|SHENANDOAH> <size in MB> <file> [<GcLogType>]");
+            return;
+        }
+
+        Collector collector = Collector.valueOf(args[0]);
+        long size = Long.parseLong(args[1]) * 1024 * 1024;
+        GcLogGenerator generator = args.length > 3
+                ? new GcLogGenerator(GcLogType.valueOf(args[3]), collector)
+                : new GcLogGenerator(collector);
+
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[2]), 64 * 1024)) {
+            long lineCount = generator.write(out, size);
+            System.out.println(lineCount + " lines written to " + args[2]);
+        }
+    }
+
+}
@@ -114,4 +114,31 @@ public class TestGCViewerArgsParser {
             assertThat("exception message", e.getMessage(), startsWith("Illegal type 'ILLEGAL'"));
         }
     }
+
+    @Test
+    public void batchMode() throws Exception {
+        String[] args = {"-b", "logs;more/*.log", "exports", "-t", "CSV", "-w", "4"};
+        GCViewerArgsParser gcViewerArgsParser = new GCViewerArgsParser();
+        gcViewerArgsParser.parseArguments(args);
+
+        assertEquals(gcViewerArgsParser.getArgumentCount(), 2);
+        assertTrue(gcViewerArgsParser.isBatchMode());
+        assertEquals(gcViewerArgsParser.getBatchInputs(), Arrays.asList("logs", "more/*.log"));
+        assertEquals(gcViewerArgsParser.getSummaryFilePath(), "exports");
+        assertEquals(gcViewerArgsParser.getType(), DataWriterType.CSV);
+        assertEquals(gcViewerArgsParser.getWorkerCount(), 4);
+    }
+
+    @Test
+    public void illegalWorkerCount() {
+        String[] args = {"-b", "logs", "exports", "-w", "none"};
+        try {
+            GCViewerArgsParser gcViewerArgsParser = new GCViewerArgsParser();
+            gcViewerArgsParser.parseArguments(args);
+            fail("GCVIewerArgsParserException expected");
+        }
+        catch (GCViewerArgsParserException e) {
+            assertThat("exception message", e.getMessage(), startsWith("Illegal value 'none' for -w"));
+        }
+    }
 }
@@ -0,0 +1,126 @@
+package com.tagtraum.perf.gcviewer;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+
+import com.tagtraum.perf.gcviewer.GcLogGenerator.Collector;
+import com.tagtraum.perf.gcviewer.imp.DataReader;
+import com.tagtraum.perf.gcviewer.imp.DataReaderFactory;
+import com.tagtraum.perf.gcviewer.imp.DataReaderSun1_6_0;
+import com.tagtraum.perf.gcviewer.imp.DataReaderSun1_6_0G1;
+import com.tagtraum.perf.gcviewer.imp.DataReaderUnifiedJvmLogging;
+import com.tagtraum.perf.gcviewer.imp.GcLogType;
+import com.tagtraum.perf.gcviewer.imp.TestLogHandler;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.GCResource;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link GcLogGenerator}: all generated logs must be readable without warnings.
+ */
+public class TestGcLogGenerator {
+
+    private static final int SIZE = 256 * 1024;
+
+    private GCModel generateAndRead(GcLogGenerator generator, Class<? extends DataReader> expectedReader) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        generator.write(out, SIZE);
+        assertThat("size", out.size(), greaterThanOrEqualTo(SIZE));
+
+        TestLogHandler handler = new TestLogHandler();
+        handler.setLevel(Level.WARNING);
+        GCResource gcResource = new GcResourceFile("generated");
+        gcResource.getLogger().addHandler(handler);
+
+        DataReader reader = new DataReaderFactory().getDataReader(gcResource, new ByteArrayInputStream(out.toByteArray()));
+        assertThat("reader", reader, instanceOf(expectedReader));
+        GCModel model = reader.read();
+
+        assertThat("number of warnings", handler.getCount(), is(0));
+        assertThat("number of events", model.size(), greaterThan(500));
+        assertThat("full gc or concurrent cycle", model.getFullGCPause().getN() + model.getConcurrentEventPauses().size(), greaterThan(0));
+        return model;
+    }
+
+    @Test
+    public void sunSerial() throws Exception {
+        generateAndRead(new GcLogGenerator(GcLogType.SUN1_8, Collector.SERIAL), DataReaderSun1_6_0.class);
+    }
+
+    @Test
+    public void sunParallel() throws Exception {
+        generateAndRead(new GcLogGenerator(GcLogType.SUN1_8, Collector.PARALLEL), DataReaderSun1_6_0.class);
+    }
+
+    @Test
+    public void sunCms() throws Exception {
+        GCModel model = generateAndRead(new GcLogGenerator(GcLogType.SUN1_8, Collector.CMS), DataReaderSun1_6_0.class);
+        assertThat("concurrent events", model.getConcurrentEventPauses().size(), greaterThan(0));
+    }
+
+    @Test
+    public void sunG1() throws Exception {
+        GCModel model = generateAndRead(new GcLogGenerator(GcLogType.SUN1_8G1, Collector.G1), DataReaderSun1_6_0G1.class);
+        assertThat("concurrent events", model.getConcurrentEventPauses().size(), greaterThan(0));
+    }
+
+    @Test
+    public void sunRotation() throws Exception {
+        GcLogGenerator generator = new GcLogGenerator(GcLogType.SUN1_8, Collector.CMS);
+        generator.setRotationSize(SIZE / 4);
+        GCModel model = generateAndRead(generator, DataReaderSun1_6_0.class);
+        assertThat("vm operations", model.getVmOperationPause().getN(), is(0));
+    }
+
+    @Test
+    public void ujlSerial() throws Exception {
+        generateAndRead(new GcLogGenerator(Collector.SERIAL), DataReaderUnifiedJvmLogging.class);
+    }
+
+    @Test
+    public void ujlParallel() throws Exception {
+        generateAndRead(new GcLogGenerator(Collector.PARALLEL), DataReaderUnifiedJvmLogging.class);
+    }
+
+    @Test
+    public void ujlCms() throws Exception {
+        generateAndRead(new GcLogGenerator(Collector.CMS), DataReaderUnifiedJvmLogging.class);
+    }
+
+    @Test
+    public void ujlG1() throws Exception {
+        generateAndRead(new GcLogGenerator(Collector.G1), DataReaderUnifiedJvmLogging.class);
+    }
+
+    @Test
+    public void ujlShenandoah() throws Exception {
+        generateAndRead(new GcLogGenerator(Collector.SHENANDOAH), DataReaderUnifiedJvmLogging.class);
+    }
+
+    @Test
+    public void deterministic() throws Exception {
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        new GcLogGenerator(Collector.G1).write(first, 64 * 1024);
+        new GcLogGenerator(Collector.G1).write(second, 64 * 1024);
+
+        assertThat("same output", new String(first.toByteArray(), StandardCharsets.US_ASCII),
+                is(new String(second.toByteArray(), StandardCharsets.US_ASCII)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsupportedCombination() {
+        new GcLogGenerator(GcLogType.SUN1_8, Collector.G1);
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.tagtraum.perf.gcviewer.ctrl.impl;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.tagtraum.perf.gcviewer.UnittestHelper;
+import com.tagtraum.perf.gcviewer.UnittestHelper.FOLDER;
+import com.tagtraum.perf.gcviewer.exp.DataWriterType;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the class {@link BatchExporter}.
+ */
+public class BatchExporterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File logDirectory;
+
+    @Before
+    public void setUp() throws Exception {
+        logDirectory = temporaryFolder.newFolder("logs");
+        copy(FOLDER.OPENJDK, "SampleSun1_8_0G1_ConcurrentCycle.txt", "a.log");
+        copy(FOLDER.OPENJDK, "SampleSun1_7_0-01_G1_young.txt", "b.log");
+        copy(FOLDER.OPENJDK_UJL, "sample-ujl-serial-gc-defaults.txt", "c.txt");
+    }
+
+    private void copy(FOLDER folder, String fileName, String targetName) throws Exception {
+        Files.copy(Paths.get(UnittestHelper.getResource(folder, fileName).toURI()), new File(logDirectory, targetName).toPath());
+    }
+
+    @Test
+    public void findFiles_Directory() throws Exception {
+        List<File> files = BatchExporter.findFiles(Collections.singletonList(logDirectory.getPath()));
+
+        assertThat("files", files, is(Arrays.asList(
+                new File(logDirectory, "a.log"), new File(logDirectory, "b.log"), new File(logDirectory, "c.txt"))));
+    }
+
+    @Test
+    public void findFiles_Glob() throws Exception {
+        List<File> files = BatchExporter.findFiles(Collections.singletonList(logDirectory.getPath() + File.separator + "*.log"));
+
+        assertThat("files", files, is(Arrays.asList(new File(logDirectory, "a.log"), new File(logDirectory, "b.log"))));
+    }
+
+    @Test
+    public void findFiles_NoDuplicates() throws Exception {
+        List<File> files = BatchExporter.findFiles(Arrays.asList(
+                new File(logDirectory, "b.log").getPath(), logDirectory.getPath()));
+
+        assertThat("number of files", files.size(), is(3));
+        assertThat("first file", files.get(0), is(new File(logDirectory, "b.log")));
+    }
+
+    @Test
+    public void export() throws Exception {
+        File outputDirectory = new File(temporaryFolder.getRoot(), "out");
+        BatchExporter exporter = new BatchExporter(2);
+        List<File> files = BatchExporter.findFiles(Collections.singletonList(logDirectory.getPath()));
+
+        List<BatchExporter.Result> results = exporter.export(files, outputDirectory, DataWriterType.SUMMARY);
+
+        assertThat("number of results", results.size(), is(3));
+        for (BatchExporter.Result result : results) {
+            assertThat(result.getFile() + " successful", result.isSuccessful(), is(true));
+            assertThat(result.getFile() + " has events", result.getEventCount() > 0, is(true));
+            assertThat(result.getFile() + " exported", result.getExportFile().length() > 0, is(true));
+        }
+        assertThat("export file name", results.get(0).getExportFile(), is(new File(outputDirectory, "a.log.csv")));
+    }
+
+    @Test
+    public void export_FailureIsIsolated() throws Exception {
+        File brokenFile = new File(logDirectory, "broken.log");
+        Files.write(brokenFile.toPath(), "no gc log at all\n".getBytes(StandardCharsets.US_ASCII));
+        File outputDirectory = new File(temporaryFolder.getRoot(), "out");
+        BatchExporter exporter = new BatchExporter(0);
+        List<File> files = Arrays.asList(new File(logDirectory, "a.log"), brokenFile, new File(logDirectory, "doesNotExist.log"), new File(logDirectory, "b.log"));
+
+        List<BatchExporter.Result> results = exporter.export(files, outputDirectory, DataWriterType.PLAIN);
+
+        assertThat("a.log", results.get(0).isSuccessful(), is(true));
+        assertThat("broken.log", results.get(1).isSuccessful(), is(false));
+        assertThat("doesNotExist.log", results.get(2).isSuccessful(), is(false));
+        assertThat("b.log", results.get(3).isSuccessful(), is(true));
+        assertThat("no file left by failed exports", Arrays.asList(outputDirectory.list()), containsInAnyOrder("a.log.txt", "b.log.txt"));
+
+        File summaryFile = new File(outputDirectory, BatchExporter.SUMMARY_FILE_NAME);
+        exporter.writeSummary(results, summaryFile);
+        List<String> lines = Files.readAllLines(summaryFile.toPath(), StandardCharsets.UTF_8);
+        assertThat("number of lines", lines.size(), is(5));
+        assertThat("a.log", lines.get(1), startsWith(results.get(0).getFile().getPath() + ";OK;"));
+        assertThat("broken.log", lines.get(2), startsWith(brokenFile.getPath() + ";FAILED;0;;"));
+    }
+
+    @Test
+    public void export_SameFileNames() throws Exception {
+        File otherDirectory = temporaryFolder.newFolder("other");
+        Files.copy(new File(logDirectory, "a.log").toPath(), new File(otherDirectory, "a.log").toPath());
+        File outputDirectory = new File(temporaryFolder.getRoot(), "out");
+
+        List<BatchExporter.Result> results = new BatchExporter(2).export(
+                Arrays.asList(new File(logDirectory, "a.log"), new File(otherDirectory, "a.log")),
+                outputDirectory,
+                DataWriterType.CSV);
+
+        assertThat("first export", results.get(0).getExportFile().getName(), is("a.log.csv"));
+        assertThat("second export", results.get(1).getExportFile().getName(), is("a.log-2.csv"));
+    }
+}
@@ -1,6 +1,7 @@
 package com.tagtraum.perf.gcviewer.ctrl.impl;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 import java.io.File;
@@ -11,8 +12,10 @@ import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +24,7 @@ import com.tagtraum.perf.gcviewer.UnittestHelper.FOLDER;
 import com.tagtraum.perf.gcviewer.imp.DataReaderException;
 import com.tagtraum.perf.gcviewer.imp.DataReaderFacade;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent;
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.ExtendedType;
 import com.tagtraum.perf.gcviewer.model.GCEvent;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.model.GCResource;
@@ -122,11 +126,53 @@ public class GcSeriesLoaderTest {
         assertThat(result, is(expectedModel));
     }
 
+    @Test
+    public void merge_ConcurrentlyLoadedFilesShareTypes() throws Exception {
+        List<GCResource> resources = new ArrayList<>();
+        for (int i = 1; i <= 7; ++i) {
+            resources.add(getGcResource("SampleSun1_8_0Series-Part" + i + ".txt"));
+        }
+        GCModel result = loader.load(new GcResourceSeries(resources));
+
+        // the parts are parsed in parallel; all of them must get the same instances from the type lookup
+        for (Iterator<AbstractGCEvent<?>> events = result.getEvents(); events.hasNext(); ) {
+            assertSharedType(events.next());
+        }
+    }
+
+    private void assertSharedType(AbstractGCEvent<?> event) {
+        ExtendedType type = event.getExtendedType();
+        assertThat(type.getName(), type, sameInstance(ExtendedType.lookup(type.getType(), type.getName())));
+        for (Iterator<? extends AbstractGCEvent<?>> details = event.details(); details.hasNext(); ) {
+            assertSharedType(details.next());
+        }
+    }
+
+    @Test
+    public void merge_IgnoresUnreadableFile() throws Exception {
+        GCResource file1 = getGcResource("SampleSun1_8_0Series-Part1.txt");
+        GcResourceFile file2 = getGcResource("SampleSun1_8_0Series-Part2.txt");
+        GCResource missingFile = new GcResourceFile(new File(temporaryFolder.getRoot(), "missing.txt").getPath());
+        GCModel expectedModel = createModel(file1);
+        expectedModel.append(createModel(file2));
+
+        List<GCResource> resources = new ArrayList<>();
+        resources.add(file2);
+        resources.add(missingFile);
+        resources.add(file1);
+        GcResourceSeries series = new GcResourceSeries(resources);
+        GCModel result = loader.load(series);
+
+        assertThat(result.size(), is(expectedModel.size()));
+        assertThat(result.getURL(), is(file2.getResourceNameAsUrl()));
+    }
+
     @Test
     public void getCreationDate_WhenDateStampIsAvailable() throws Exception {
         GCModel withDatestamp = new GCModel();
         GCEvent event = new GCEvent(1.0, 0, 0, 0, 0.0, AbstractGCEvent.Type.GC);
-        ZonedDateTime datestamp = ZonedDateTime.now();
+        // datestamps are kept with millisecond precision
+        ZonedDateTime datestamp = ZonedDateTime.now().truncatedTo(ChronoUnit.MILLIS);
         event.setDateStamp(datestamp);
         withDatestamp.add(event);
 
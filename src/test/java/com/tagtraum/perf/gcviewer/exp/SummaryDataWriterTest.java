@@ -77,6 +77,8 @@ public class SummaryDataWriterTest {
         String csv = output.toString();
 
         assertThat("totalHeapAllocMax", csv, Matchers.containsString("totalHeapAllocMax; 999; K"));
+        assertThat("p99Pause", csv, Matchers.containsString("p99Pause; " + NumberFormat.getInstance().format(0.4) + "; s"));
+        assertThat("p999GCPause", csv, Matchers.containsString("p999GCPause; " + NumberFormat.getInstance().format(0.4) + "; s"));
     }
 
     @Test
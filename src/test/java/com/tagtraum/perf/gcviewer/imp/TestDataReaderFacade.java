@@ -6,21 +6,41 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
 import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiPredicate;
 import java.util.logging.Level;
 
 import com.tagtraum.perf.gcviewer.UnittestHelper;
 import com.tagtraum.perf.gcviewer.UnittestHelper.FOLDER;
+import com.tagtraum.perf.gcviewer.exp.AbstractDataWriter;
+import com.tagtraum.perf.gcviewer.exp.impl.CSVDataWriter;
+import com.tagtraum.perf.gcviewer.exp.impl.CSVTSDataWriter;
+import com.tagtraum.perf.gcviewer.exp.impl.PlainDataWriter;
+import com.tagtraum.perf.gcviewer.exp.impl.SimpleGcWriter;
+import com.tagtraum.perf.gcviewer.exp.impl.SummaryDataWriter;
+import com.tagtraum.perf.gcviewer.model.GCEventSink;
 import com.tagtraum.perf.gcviewer.model.GCModel;
 import com.tagtraum.perf.gcviewer.model.GCResource;
 import com.tagtraum.perf.gcviewer.model.GcResourceFile;
 import com.tagtraum.perf.gcviewer.model.GcResourceSeries;
+import com.tagtraum.perf.gcviewer.model.GcResourceStream;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * Tests the implementation of {@link DataReaderFacade}.
@@ -34,6 +54,9 @@ public class TestDataReaderFacade {
     
     private static final String PARENT_PATH = "src/test/resources/" + FOLDER.OPENJDK.getFolderName() + "/";
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private DataReaderFacade dataReaderFacade;
     
     @Before
@@ -164,4 +187,272 @@ public class TestDataReaderFacade {
         GCModel result = dataReaderFacade.loadModel(series);
         assertThat(result.toString(), is(expectedModel.toString()));
     }
+
+    @Test
+    public void loadModelIncrementSun1_8_0() throws Exception {
+        testLoadModelIncrement(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt");
+    }
+
+    @Test
+    public void loadModelIncrementSun1_8_0G1() throws Exception {
+        testLoadModelIncrement(FOLDER.OPENJDK, "SampleSun1_8_0G1_ConcurrentCycle.txt");
+    }
+
+    @Test
+    public void loadModelIncrementSun1_8_0G1InsideEvent() throws Exception {
+        // increment starts with the heap sizing details of a "GC pause" event
+        testLoadModelIncrement(FOLDER.OPENJDK, "SampleSun1_8_0G1_ConcurrentCycle.txt",
+                (previousLine, line) -> line.trim().startsWith("[Eden"));
+    }
+
+    @Test
+    public void loadModelIncrementSun1_7_0G1InsideFullGc() throws Exception {
+        // increment starts with the heap sizing details of a "Full GC" event
+        testLoadModelIncrement(FOLDER.OPENJDK, "SampleSun1_7_0G1TenuringDistribution.txt",
+                (previousLine, line) -> previousLine.contains("Full GC") && line.trim().startsWith("[Eden"));
+    }
+
+    @Test
+    public void loadModelIncrementUnifiedJvmLogging() throws Exception {
+        testLoadModelIncrement(FOLDER.OPENJDK_UJL, "sample-ujl-g1-gc-all,safepoint,os+cpu.txt");
+    }
+
+    @Test
+    public void loadModelIncrementFileTruncated() throws Exception {
+        List<String> lines = Files.readAllLines(Paths.get(UnittestHelper.getResource(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt").toURI()), StandardCharsets.ISO_8859_1);
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), lines, StandardCharsets.ISO_8859_1);
+
+        GcResourceFile gcResource = new GcResourceFile(file);
+        gcResource.setWatched(true);
+        gcResource.setModel(dataReaderFacade.loadModel(gcResource));
+        Files.write(file.toPath(), lines.subList(0, lines.size() / 2), StandardCharsets.ISO_8859_1);
+        gcResource.setIsReload(true);
+
+        assertThat("truncated file must be read completely", dataReaderFacade.loadModelIncrement(gcResource), is((GCModel) null));
+    }
+
+    @Test
+    public void loadModelIncrementNotWatched() throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.copy(Paths.get(UnittestHelper.getResource(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt").toURI()), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        GcResourceFile gcResource = new GcResourceFile(file);
+        gcResource.setModel(dataReaderFacade.loadModel(gcResource));
+        assertThat("no state kept for resource not watched", gcResource.getTailState(), is((Object) null));
+        gcResource.setIsReload(true);
+        assertThat("increment of resource not watched", dataReaderFacade.loadModelIncrement(gcResource), is((GCModel) null));
+
+        gcResource.setWatched(true);
+        gcResource.setModel(dataReaderFacade.loadModel(gcResource));
+        assertThat("state kept for watched resource", gcResource.getTailState() != null, is(true));
+        gcResource.setWatched(false);
+        assertThat("state dropped, when watching stops", gcResource.getTailState(), is((Object) null));
+    }
+
+    @Test
+    public void loadModelNotWatchedContainsLastEvent() throws Exception {
+        // a full gc at the end of a G1 log with "[Times ..." lines might still be followed by its heap sizing
+        // information -> it is only complete, when the end of the file is reached
+        List<String> lines = Files.readAllLines(Paths.get(UnittestHelper.getResource(FOLDER.OPENJDK, "SampleSun1_7_0G1TenuringDistribution.txt").toURI()), StandardCharsets.ISO_8859_1);
+        int fullGcIndex = 0;
+        while (!lines.get(fullGcIndex).contains("Full GC")) {
+            ++fullGcIndex;
+        }
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), lines.subList(0, fullGcIndex + 1), StandardCharsets.ISO_8859_1);
+        GCModel expectedModel = new DataReaderFactory().getDataReader(new GcResourceFile(file), Files.newInputStream(file.toPath())).read();
+
+        GCModelCache cache = new GCModelCache(temporaryFolder.newFolder(), Long.MAX_VALUE);
+        dataReaderFacade.setModelCache(cache);
+        GcResourceFile watchedResource = new GcResourceFile(file);
+        watchedResource.setWatched(true);
+        dataReaderFacade.loadModel(watchedResource);
+        cache.awaitPendingWrites();
+        assertThat("watched model not cached", dataReaderFacade.loadModel(new GcResourceFile(file)).size(), is(expectedModel.size()));
+        cache.awaitPendingWrites();
+
+        GCModel cachedModel = dataReaderFacade.loadModel(new GcResourceFile(file));
+        assertThat("number of events read from cache", cachedModel.size(), is(expectedModel.size()));
+        assertThat("model read from cache", cachedModel.toString(), is(expectedModel.toString()));
+    }
+
+    @Test
+    public void loadModelWithEventSinkCsv() throws Exception {
+        testLoadModelWithEventSink(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt", CSVDataWriter::new);
+    }
+
+    @Test
+    public void loadModelWithEventSinkCsvTs() throws Exception {
+        testLoadModelWithEventSink(FOLDER.OPENJDK, "SampleSun1_7_0G1-ApplicationStopped.txt", CSVTSDataWriter::new);
+    }
+
+    @Test
+    public void loadModelWithEventSinkPlain() throws Exception {
+        testLoadModelWithEventSink(FOLDER.OPENJDK_UJL, "sample-ujl-g1-gc-all,safepoint,os+cpu.txt", PlainDataWriter::new);
+    }
+
+    @Test
+    public void loadModelWithEventSinkSimple() throws Exception {
+        testLoadModelWithEventSink(FOLDER.OPENJDK, "SampleSun1_6_0CMSAdaptiveSizePolicy.txt", SimpleGcWriter::new);
+    }
+
+    @Test
+    public void loadStatisticsSummaryCms() throws Exception {
+        testLoadStatistics(FOLDER.OPENJDK, "SampleSun1_6_0CMSAdaptiveSizePolicy.txt");
+    }
+
+    @Test
+    public void loadStatisticsSummaryG1() throws Exception {
+        testLoadStatistics(FOLDER.OPENJDK, "SampleSun1_7_0G1-ApplicationStopped.txt");
+    }
+
+    /**
+     * A model containing only statistics must result in the same summary as the complete model.
+     */
+    private void testLoadStatistics(FOLDER folder, String fileName) throws Exception {
+        File file = new File(UnittestHelper.getResource(folder, fileName).toURI());
+        GCModel expectedModel = new DataReaderFacade().loadModel(new GcResourceFile(file));
+        ByteArrayOutputStream expectedOutput = new ByteArrayOutputStream();
+        try (SummaryDataWriter writer = new SummaryDataWriter(expectedOutput)) {
+            writer.write(expectedModel);
+        }
+
+        GCModel model = new DataReaderFacade().loadStatistics(new GcResourceFile(file));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (SummaryDataWriter writer = new SummaryDataWriter(output)) {
+            assertThat("needs events", writer.needsEvents(), is(false));
+            writer.write(model);
+        }
+
+        assertThat("events in log", expectedModel.size() > 10, is(true));
+        assertThat("events kept", model.size() <= 2, is(true));
+        assertThat("summary", output.toString(), is(expectedOutput.toString()));
+    }
+
+    /**
+     * Events passed to a writer while reading must result in the same export as writing the whole model; the model
+     * returned must have the same statistics without keeping the events.
+     */
+    private void testLoadModelWithEventSink(FOLDER folder, String fileName, WriterFactory writerFactory) throws Exception {
+        File file = new File(UnittestHelper.getResource(folder, fileName).toURI());
+        GCModel expectedModel = new DataReaderFacade().loadModel(new GcResourceFile(file));
+        ByteArrayOutputStream expectedOutput = new ByteArrayOutputStream();
+        try (AbstractDataWriter writer = writerFactory.create(expectedOutput)) {
+            writer.write(expectedModel);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        GCModel model;
+        try (AbstractDataWriter writer = writerFactory.create(output)) {
+            model = new DataReaderFacade().loadModel(new GcResourceFile(file), (GCEventSink) writer);
+        }
+
+        assertThat("events in log", expectedModel.size() > 10, is(true));
+        assertThat("export", output.toString(), is(expectedOutput.toString()));
+        assertThat("events kept", model.size() <= 2, is(true));
+        assertThat("pause", model.getPause().getN(), is(expectedModel.getPause().getN()));
+        assertThat("pause sum", model.getPause().getSum(), is(expectedModel.getPause().getSum()));
+        assertThat("freed memory", model.getFreedMemory(), is(expectedModel.getFreedMemory()));
+        assertThat("footprint", model.getFootprint(), is(expectedModel.getFootprint()));
+    }
+
+    private interface WriterFactory {
+        AbstractDataWriter create(java.io.OutputStream outputStream);
+    }
+
+    private void testLoadModelIncrement(FOLDER folder, String fileName) throws Exception {
+        // split before the start of an event (line starting with date- or timestamp)
+        testLoadModelIncrement(folder, fileName,
+                (previousLine, line) -> line.length() >= 20 && (Character.isDigit(line.charAt(0)) || line.startsWith("[")));
+    }
+
+    /**
+     * Writes the first half of a log file, loads it, appends the rest and reads the increment. The result must be
+     * the same as if the whole file was read at once.
+     *
+     * @param isSplitLine tests previous line and line, where the file should be split (searched from the middle of
+     * the file)
+     */
+    private void testLoadModelIncrement(FOLDER folder, String fileName, BiPredicate<String, String> isSplitLine) throws Exception {
+        List<String> lines = Files.readAllLines(Paths.get(UnittestHelper.getResource(folder, fileName).toURI()), StandardCharsets.ISO_8859_1);
+        int splitIndex = lines.size() / 2;
+        while (!isSplitLine.test(lines.get(splitIndex - 1), lines.get(splitIndex))) {
+            ++splitIndex;
+        }
+
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), lines.subList(0, splitIndex), StandardCharsets.ISO_8859_1);
+        // last line without line feed must not be read yet
+        Files.write(file.toPath(), lines.get(splitIndex).substring(0, 10).getBytes("ASCII"), StandardOpenOption.APPEND);
+
+        GcResourceFile gcResource = new GcResourceFile(file);
+        gcResource.setWatched(true);
+        gcResource.setModel(dataReaderFacade.loadModel(gcResource));
+        int firstSize = gcResource.getModel().size();
+
+        Files.write(file.toPath(), (lines.get(splitIndex).substring(10) + "\n").getBytes("ASCII"), StandardOpenOption.APPEND);
+        Files.write(file.toPath(), lines.subList(splitIndex + 1, lines.size()), StandardCharsets.ISO_8859_1, StandardOpenOption.APPEND);
+        gcResource.setIsReload(true);
+        GCModel increment = dataReaderFacade.loadModelIncrement(gcResource);
+        assertNotNull("increment", increment);
+        gcResource.getModel().append(increment);
+
+        GCModel expectedModel = new DataReaderFacade().loadModel(new GcResourceFile(file));
+        assertThat("events in first part", firstSize > 0, is(true));
+        assertThat("number of events", gcResource.getModel().size(), is(expectedModel.size()));
+        assertThat("model", gcResource.getModel().toString(), is(expectedModel.toString()));
+        assertThat("file has changed", gcResource.hasUnderlyingResourceChanged(), is(false));
+    }
+
+    @Test
+    public void readStreamIncremental() throws Exception {
+        List<GCModel> increments = testReadStream(FOLDER.OPENJDK_UJL, "sample-ujl-g1-gc-all,safepoint,os+cpu.txt");
+        assertThat("events arrive in several increments", increments.size() > 2, is(true));
+    }
+
+    @Test
+    public void readStreamNotIncremental() throws Exception {
+        List<GCModel> increments = testReadStream(FOLDER.IBM, "SampleIBMJ9_R28_af_global.txt");
+        assertThat("all events at the end", increments.size(), is(1));
+    }
+
+    /**
+     * Writes a log in small chunks into a pipe while it is read by {@link DataReaderFacade#readStream}. The
+     * increments together must contain the same events as the file.
+     */
+    private List<GCModel> testReadStream(FOLDER folder, String fileName) throws Exception {
+        byte[] log = Files.readAllBytes(Paths.get(UnittestHelper.getResource(folder, fileName).toURI()));
+        PipedOutputStream writer = new PipedOutputStream();
+        PipedInputStream source = new PipedInputStream(writer, 8 * 1024);
+        Thread producer = new Thread(() -> {
+            try {
+                for (int offset = 0; offset < log.length; offset += 4096) {
+                    writer.write(log, offset, Math.min(4096, log.length - offset));
+                    writer.flush();
+                    Thread.sleep(5);
+                }
+                writer.close();
+            }
+            catch (IOException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        producer.start();
+
+        List<GCModel> increments = new ArrayList<>();
+        GcResourceStream gcResource = new GcResourceStream(GcResourceStream.STDIN);
+        try (LiveInputStream in = new LiveInputStream(() -> source, null, 16 * 1024)) {
+            dataReaderFacade.readStream(gcResource, in, increments::add);
+        }
+        producer.join(5000);
+
+        GCModel model = increments.get(0);
+        increments.subList(1, increments.size()).forEach(model::append);
+        GCModel expectedModel = new DataReaderFacade().loadModel(new GcResourceFile(PARENT_PATH.replace(FOLDER.OPENJDK.getFolderName(), folder.getFolderName()) + fileName));
+        assertThat("number of events", model.size(), is(expectedModel.size()));
+        assertThat("total pause", model.getPause().getSum(), is(expectedModel.getPause().getSum()));
+
+        return increments;
+    }
 }
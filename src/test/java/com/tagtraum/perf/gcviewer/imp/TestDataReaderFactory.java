@@ -1,6 +1,9 @@
 package com.tagtraum.perf.gcviewer.imp;
 
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -74,6 +77,18 @@ public class TestDataReaderFactory {
         }
     }
 
+    @Test
+    public void getDataReaderZstdWithoutCodec() throws Exception {
+        byte[] zstdHeader = {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0x00, 0x58};
+        try (InputStream in = new ByteArrayInputStream(zstdHeader)) {
+            new DataReaderFactory().getDataReader(new GcResourceFile("byteArray"), in);
+            fail("IOException expected");
+        }
+        catch (IOException e) {
+            assertThat("message", e.getMessage(), startsWith("zstd compressed logs can only be read"));
+        }
+    }
+
     @Test
     public void getDataReaderG1() throws Exception {
         String sampleFile = "SampleSun1_7_0G1-ApplicationStopped.txt";
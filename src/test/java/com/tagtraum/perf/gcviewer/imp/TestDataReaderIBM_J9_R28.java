@@ -6,8 +6,10 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.number.IsCloseTo.closeTo;
 import static org.junit.Assert.assertThat;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.logging.Level;
 
 import com.tagtraum.perf.gcviewer.UnittestHelper;
@@ -136,4 +138,48 @@ public class TestDataReaderIBM_J9_R28 {
         assertThat("number of errors", handler.getCount(), is(0));
     }
 
+    @Test
+    public void testIgnoredElementsAreSkipped() throws Exception {
+        // "mem-info" / "mem" outside of gc-start / gc-end must not change the event
+        String log = "<?xml version=\"1.0\" ?>\n"
+                + "<verbosegc xmlns=\"http://www.ibm.com/j9/verbosegc\" version=\"R28\">\n"
+                + "<exclusive-start id=\"2\" timestamp=\"2015-12-31T15:22:46.957\" intervalms=\"3955.367\" />\n"
+                + "<af-start id=\"3\" totalBytesRequested=\"16392\" />\n"
+                + "<gc-start id=\"5\" type=\"scavenge\">\n"
+                + "  <mem-info id=\"6\" free=\"1024\" total=\"4096\" percent=\"25\">\n"
+                + "    <remembered-set count=\"11317\"><mem type=\"nursery\" free=\"0\" total=\"1\" /></remembered-set>\n"
+                + "    <mem type=\"nursery\" free=\"0\" total=\"2048\" percent=\"0\" />\n"
+                + "  </mem-info>\n"
+                + "</gc-start>\n"
+                + "<gc-op id=\"7\" type=\"scavenge\" timems=\"24.782\">\n"
+                + "  <mem-info id=\"99\" free=\"0\" total=\"1\"><mem type=\"nursery\" free=\"0\" total=\"1\" /></mem-info>\n"
+                + "  <warning details=\"text content\">some text</warning>\n"
+                + "</gc-op>\n"
+                + "<gc-end id=\"8\" type=\"scavenge\" durationms=\"25.007\">\n"
+                + "  <mem-info id=\"9\" free=\"3072\" total=\"4096\" percent=\"75\">\n"
+                + "    <mem type=\"nursery\" free=\"1024\" total=\"2048\" percent=\"50\" />\n"
+                + "  </mem-info>\n"
+                + "</gc-end>\n"
+                + "<exclusive-end id=\"13\" timestamp=\"2015-12-31T15:22:46.982\" durationms=\"25.388\" />\n"
+                + "</verbosegc>\n";
+
+        TestLogHandler handler = new TestLogHandler();
+        handler.setLevel(Level.WARNING);
+        GCResource gcResource = new GcResourceFile("byteArray");
+        gcResource.getLogger().addHandler(handler);
+
+        DataReader reader = new DataReaderIBM_J9_R28(gcResource, new ByteArrayInputStream(log.getBytes(StandardCharsets.US_ASCII)));
+        GCModel model = reader.read();
+
+        assertThat("model size", model.size(), is(1));
+        GCEvent event = (GCEvent) model.get(0);
+        assertThat("type", event.getTypeAsString(), equalTo("af scavenge; nursery"));
+        assertThat("total", event.getTotal(), is(4));
+        assertThat("used before", event.getPreUsed(), is(3));
+        assertThat("used after", event.getPostUsed(), is(1));
+        assertThat("young total", event.getYoung().getTotal(), is(2));
+        assertThat("young used after", event.getYoung().getPostUsed(), is(1));
+        assertThat("pause", event.getPause(), closeTo(0.025388, 0.0000001));
+        assertThat("number of errors", handler.getCount(), is(0));
+    }
 }
@@ -0,0 +1,226 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import com.tagtraum.perf.gcviewer.UnittestHelper;
+import com.tagtraum.perf.gcviewer.UnittestHelper.FOLDER;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the class {@link GCModelCache}.
+ */
+public class TestGCModelCache {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private GCModelCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new GCModelCache(temporaryFolder.newFolder("cache"), 100 * 1024 * 1024, "1.0");
+    }
+
+    @Test
+    public void reopenSun1_8_0() throws Exception {
+        testReopen(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt");
+    }
+
+    @Test
+    public void reopenSun1_8_0G1() throws Exception {
+        testReopen(FOLDER.OPENJDK, "SampleSun1_8_0G1_ConcurrentCycle.txt");
+    }
+
+    @Test
+    public void reopenUnifiedJvmLogging() throws Exception {
+        testReopen(FOLDER.OPENJDK_UJL, "sample-ujl-g1-gc-all,safepoint,os+cpu.txt");
+    }
+
+    @Test
+    public void reopenIbm() throws Exception {
+        testReopen(FOLDER.IBM, "SampleIBMJ9_R28_af_global.txt");
+    }
+
+    @Test
+    public void reopenAppendedFile() throws Exception {
+        List<String> lines = readLines(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt");
+        int splitIndex = lines.size() / 2;
+        while (!Character.isDigit(lines.get(splitIndex).charAt(0))) {
+            ++splitIndex;
+        }
+
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), lines.subList(0, splitIndex), StandardCharsets.ISO_8859_1);
+        GCModel firstPart = load(file, cache);
+        assertThat("events in first part", firstPart.size() > 0, is(true));
+
+        Files.write(file.toPath(), lines.subList(splitIndex, lines.size()), StandardCharsets.ISO_8859_1, StandardOpenOption.APPEND);
+        TestLogHandler handler = new TestLogHandler();
+        GcResourceFile gcResource = new GcResourceFile(file);
+        gcResource.getLogger().addHandler(handler);
+        DataReaderFacade facade = new DataReaderFacade();
+        facade.setModelCache(cache);
+        GCModel model = facade.loadModel(gcResource);
+        cache.awaitPendingWrites();
+
+        GCModel expectedModel = load(file, null);
+        assertThat("only appended data parsed", handler.getLogRecords().stream().anyMatch(record -> record.getMessage().contains("reading appended data")), is(true));
+        assertThat("number of events", model.size(), is(expectedModel.size()));
+        assertThat("model", model.toString(), is(expectedModel.toString()));
+        assertThat("pause", model.getPause().getSum(), is(expectedModel.getPause().getSum()));
+        assertThat("cache updated", cache.load(file).getModel().size(), is(expectedModel.size()));
+    }
+
+    @Test
+    public void changedFileIsNotLoaded() throws Exception {
+        List<String> lines = readLines(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt");
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), lines, StandardCharsets.ISO_8859_1);
+        load(file, cache);
+        assertThat("cached", cache.load(file), notNullValue());
+
+        // same length, but different content
+        byte[] content = Files.readAllBytes(file.toPath());
+        content[0] = (byte) (content[0] == '1' ? '2' : '1');
+        Files.write(file.toPath(), content);
+
+        assertThat("changed file", cache.load(file), nullValue());
+    }
+
+    @Test
+    public void truncatedFileIsNotLoaded() throws Exception {
+        List<String> lines = readLines(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt");
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), lines, StandardCharsets.ISO_8859_1);
+        load(file, cache);
+
+        Files.write(file.toPath(), lines.subList(0, lines.size() / 2), StandardCharsets.ISO_8859_1);
+
+        assertThat("truncated file", cache.load(file), nullValue());
+    }
+
+    @Test
+    public void corruptCacheFileIsIgnored() throws Exception {
+        List<String> lines = readLines(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt");
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), lines, StandardCharsets.ISO_8859_1);
+        load(file, cache);
+
+        File cacheFile = cache.getCacheFile(file);
+        byte[] content = Files.readAllBytes(cacheFile.toPath());
+        Files.write(cacheFile.toPath(), Arrays.copyOf(content, content.length / 2));
+
+        assertThat("corrupt cache file", cache.load(file), nullValue());
+        assertThat("model", load(file, cache).size(), is(load(file, null).size()));
+    }
+
+    @Test
+    public void cacheOfOtherParserVersionIsIgnored() throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.write(file.toPath(), readLines(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt"), StandardCharsets.ISO_8859_1);
+        load(file, cache);
+        assertThat("same version", cache.load(file), notNullValue());
+
+        GCModelCache otherVersion = new GCModelCache(cache.getCacheFile(file).getParentFile(), 100 * 1024 * 1024, "1.1");
+        assertThat("other version", otherVersion.load(file), nullValue());
+    }
+
+    @Test
+    public void leastRecentlyUsedEntriesAreEvicted() throws Exception {
+        List<String> lines = readLines(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt");
+        File cacheDirectory = temporaryFolder.newFolder("small-cache");
+        File[] files = new File[3];
+        for (int i = 0; i < files.length; ++i) {
+            files[i] = temporaryFolder.newFile();
+            Files.write(files[i].toPath(), lines, StandardCharsets.ISO_8859_1);
+        }
+
+        GCModelCache unlimited = new GCModelCache(cacheDirectory, Long.MAX_VALUE, "1.0");
+        load(files[0], unlimited);
+        long entrySize = unlimited.getCacheFile(files[0]).length();
+        GCModelCache smallCache = new GCModelCache(cacheDirectory, entrySize * 5 / 2, "1.0");
+        load(files[1], smallCache);
+        // files[0] is used again -> files[1] is the least recently used entry
+        assertThat("touch cache file of file[0]", unlimited.getCacheFile(files[0]).setLastModified(System.currentTimeMillis() + 10000), is(true));
+        assertThat("touch cache file of file[1]", unlimited.getCacheFile(files[1]).setLastModified(System.currentTimeMillis() - 10000), is(true));
+        load(files[2], smallCache);
+
+        assertThat("file[0] cached", smallCache.getCacheFile(files[0]).exists(), is(true));
+        assertThat("file[1] evicted", smallCache.getCacheFile(files[1]).exists(), is(false));
+        assertThat("file[2] cached", smallCache.getCacheFile(files[2]).exists(), is(true));
+    }
+
+    @Test
+    public void disabledByDefault() {
+        String enabled = System.clearProperty(GCModelCache.CACHE_ENABLED_PROPERTY);
+        try {
+            assertThat("default cache", GCModelCache.getDefault(), nullValue());
+            System.setProperty(GCModelCache.CACHE_ENABLED_PROPERTY, "true");
+            assertThat("enabled cache", GCModelCache.getDefault(), notNullValue());
+        }
+        finally {
+            if (enabled != null) {
+                System.setProperty(GCModelCache.CACHE_ENABLED_PROPERTY, enabled);
+            }
+            else {
+                System.clearProperty(GCModelCache.CACHE_ENABLED_PROPERTY);
+            }
+        }
+    }
+
+    private void testReopen(FOLDER folder, String fileName) throws Exception {
+        File file = temporaryFolder.newFile();
+        Files.copy(Paths.get(UnittestHelper.getResource(folder, fileName).toURI()), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+
+        GCModel expectedModel = load(file, cache);
+        GCModelCache.Entry entry = cache.load(file);
+        assertThat("cache entry", entry, notNullValue());
+        // a last line without line feed is not parsed
+        assertThat("parsed length", entry.getParsedLength() > file.length() - 100, is(true));
+
+        GCModel model = load(file, cache);
+        assertThat("number of events", model.size(), is(expectedModel.size()));
+        assertThat("model", model, is(expectedModel));
+        assertThat("model as string", model.toString(), is(expectedModel.toString()));
+        assertThat("format", model.getFormat(), is(expectedModel.getFormat()));
+        assertThat("pause", model.getPause().getSum(), is(expectedModel.getPause().getSum()));
+        assertThat("gc pause", model.getGCPause().getN(), is(expectedModel.getGCPause().getN()));
+        assertThat("full gc pause", model.getFullGCPause().getN(), is(expectedModel.getFullGCPause().getN()));
+        assertThat("vm operation pause", model.getVmOperationPause().getN(), is(expectedModel.getVmOperationPause().getN()));
+        assertThat("freed memory", model.getFreedMemory(), is(expectedModel.getFreedMemory()));
+        assertThat("footprint", model.getFootprint(), is(expectedModel.getFootprint()));
+    }
+
+    private GCModel load(File file, GCModelCache modelCache) throws DataReaderException, InterruptedException {
+        DataReaderFacade facade = new DataReaderFacade();
+        facade.setModelCache(modelCache);
+        GCModel model = facade.loadModel(new GcResourceFile(file));
+        if (modelCache != null) {
+            modelCache.awaitPendingWrites();
+        }
+
+        return model;
+    }
+
+    private List<String> readLines(FOLDER folder, String fileName) throws Exception {
+        return Files.readAllLines(Paths.get(UnittestHelper.getResource(folder, fileName).toURI()), StandardCharsets.ISO_8859_1);
+    }
+}
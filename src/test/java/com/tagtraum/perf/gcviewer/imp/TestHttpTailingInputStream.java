@@ -0,0 +1,196 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tagtraum.perf.gcviewer.UnittestHelper;
+import com.tagtraum.perf.gcviewer.UnittestHelper.FOLDER;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link HttpTailingInputStream} against an embedded http server.
+ */
+public class TestHttpTailingInputStream {
+
+    private HttpServer server;
+    private URL url;
+
+    private volatile byte[] content = new byte[0];
+    /** changed with every change of the content like ETag and Last-Modified of a real server */
+    private volatile int version;
+    private volatile boolean supportsRanges = true;
+    private volatile long bytesSent;
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/gc.log", this::handle);
+        server.start();
+        url = new URL("http://localhost:" + server.getAddress().getPort() + "/gc.log");
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] data = content;
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+        String eTag = "\"" + version + "\"";
+        String lastModified = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                Instant.parse("2026-10-16T12:00:00Z").plusSeconds(version).atOffset(ZoneOffset.UTC));
+        exchange.getResponseHeaders().set("ETag", eTag);
+        exchange.getResponseHeaders().set("Last-Modified", lastModified);
+
+        int offset = 0;
+        int status = 200;
+        if (supportsRanges && range != null && (ifRange == null || ifRange.equals(eTag) || ifRange.equals(lastModified))) {
+            offset = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+            if (offset >= data.length) {
+                exchange.getResponseHeaders().set("Content-Range", "bytes */" + data.length);
+                exchange.sendResponseHeaders(416, -1);
+                exchange.close();
+                return;
+            }
+
+            status = 206;
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + offset + "-" + (data.length - 1) + "/" + data.length);
+        }
+
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(data.length));
+            exchange.sendResponseHeaders(status, -1);
+        }
+        else {
+            exchange.sendResponseHeaders(status, data.length - offset);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(data, offset, data.length - offset);
+            }
+            bytesSent += data.length - offset;
+        }
+        exchange.close();
+    }
+
+    private void setContent(String content) {
+        setContent(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void setContent(byte[] content) {
+        this.content = content;
+        ++version;
+    }
+
+    @Test
+    public void readAppendedLines() throws Exception {
+        setContent("line 1\nline 2\nline");
+        HttpTailingInputStream in = new HttpTailingInputStream(url);
+        assertThat("first part", readAll(in), is("line 1\nline 2\n"));
+
+        setContent("line 1\nline 2\nline 3\nline 4\n");
+        bytesSent = 0;
+        assertThat("refresh", in.refresh(), is(true));
+        assertThat("second part", readAll(in), is("line 3\nline 4\n"));
+        assertThat("bytes sent", bytesSent, is((long) "line 1\nline 2\nline 3\nline 4\n".length()));
+        assertThat("position", in.getPosition(), is((long) content.length));
+
+        assertThat("refresh without new data", in.refresh(), is(true));
+        assertThat("no new data", readAll(in), is(""));
+    }
+
+    @Test
+    public void serverWithoutRangeSupport() throws Exception {
+        supportsRanges = false;
+        setContent("line 1\n");
+        HttpTailingInputStream in = new HttpTailingInputStream(url);
+        readAll(in);
+
+        setContent("line 1\nline 2\n");
+        assertThat("refresh", in.refresh(), is(false));
+    }
+
+    @Test
+    public void replacedLog() throws Exception {
+        setContent("line 1\n");
+        HttpTailingInputStream in = new HttpTailingInputStream(url);
+        readAll(in);
+
+        setContent("other 1\nother 2\n");
+        assertThat("refresh", in.refresh(), is(false));
+    }
+
+    @Test
+    public void truncatedLog() throws Exception {
+        setContent("line 1\nline 2\n");
+        HttpTailingInputStream in = new HttpTailingInputStream(url);
+        readAll(in);
+
+        setContent("line 1\n");
+        assertThat("refresh", in.refresh(), is(false));
+    }
+
+    @Test
+    public void loadModelIncrement() throws Exception {
+        List<String> lines = Files.readAllLines(Paths.get(UnittestHelper.getResource(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt").toURI()), StandardCharsets.ISO_8859_1);
+        int splitIndex = lines.size() / 2;
+        while (!Character.isDigit(lines.get(splitIndex).charAt(0))) {
+            ++splitIndex;
+        }
+        byte[] log = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.ISO_8859_1);
+        setContent((String.join("\n", lines.subList(0, splitIndex)) + "\n").getBytes(StandardCharsets.ISO_8859_1));
+
+        GcResourceFile gcResource = new GcResourceFile(url.toString());
+        gcResource.setWatched(true);
+        DataReaderFacade facade = new DataReaderFacade();
+        gcResource.setModel(facade.loadModel(gcResource));
+        int firstSize = gcResource.getModel().size();
+
+        int firstLength = content.length;
+        setContent(log);
+        bytesSent = 0;
+        gcResource.setIsReload(true);
+        GCModel increment = facade.loadModelIncrement(gcResource);
+        long incrementBytesSent = bytesSent;
+        gcResource.getModel().append(increment);
+
+        GCModel expectedModel = new DataReaderFacade().loadModel(new GcResourceFile(url.toString()));
+        assertThat("events in first part", firstSize > 0, is(true));
+        assertThat("only new bytes sent", incrementBytesSent, is((long) (log.length - firstLength + HttpTailingInputStream.CHECK_LENGTH)));
+        assertThat("number of events", gcResource.getModel().size(), is(expectedModel.size()));
+        assertThat("model", gcResource.getModel().toString(), is(expectedModel.toString()));
+    }
+
+    private String readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[5];
+        int length;
+        while ((length = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, length);
+        }
+        in.close();
+
+        return new String(out.toByteArray(), StandardCharsets.US_ASCII);
+    }
+}
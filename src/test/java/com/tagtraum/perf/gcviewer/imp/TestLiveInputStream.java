@@ -0,0 +1,199 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link LiveInputStream}.
+ */
+public class TestLiveInputStream {
+
+    private PipedOutputStream writer;
+    private PipedInputStream source;
+
+    @Before
+    public void setUp() throws IOException {
+        writer = new PipedOutputStream();
+        source = new PipedInputStream(writer, 64 * 1024);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        writer.close();
+    }
+
+    private LiveInputStream open(int capacity) {
+        return new LiveInputStream(() -> source, null, capacity);
+    }
+
+    private void write(String text) throws IOException {
+        writer.write(text.getBytes(StandardCharsets.UTF_8));
+        writer.flush();
+    }
+
+    private static String readAvailable(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[16];
+        int length;
+        while ((length = in.read(buf)) >= 0) {
+            out.write(buf, 0, length);
+        }
+
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void onlyCompleteLines() throws Exception {
+        try (LiveInputStream in = open(1024)) {
+            write("line 1\nline 2\nline");
+
+            assertThat("has data", in.awaitData(5000), is(true));
+            assertThat("complete lines", readAvailable(in), is("line 1\nline 2\n"));
+            assertThat("position", in.getPosition(), is(14L));
+
+            write(" 3\nline 4");
+            assertThat("has more data", in.awaitData(5000), is(true));
+            assertThat("next line", readAvailable(in), is("line 3\n"));
+
+            writer.close();
+            assertThat("has last line", in.awaitData(5000), is(true));
+            assertThat("incomplete last line", readAvailable(in), is("line 4"));
+            assertThat("finished", in.isFinished(), is(true));
+        }
+    }
+
+    @Test
+    public void awaitDataTimeout() throws Exception {
+        try (LiveInputStream in = open(1024)) {
+            write("incomplete");
+
+            assertThat("no complete line", in.awaitData(50), is(false));
+            assertThat("not finished", in.isFinished(), is(false));
+            assertThat("nothing to read", in.read(), is(-1));
+        }
+    }
+
+    @Test
+    public void bufferIsBounded() throws Exception {
+        AtomicInteger maxAvailable = new AtomicInteger();
+        try (LiveInputStream in = open(64)) {
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 100; ++i) {
+                        write("line " + (i % 10) + "\n");
+                    }
+                    writer.close();
+                }
+                catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            producer.start();
+
+            int total = 0;
+            while (!in.isFinished()) {
+                if (in.awaitData(5000)) {
+                    maxAvailable.set(Math.max(maxAvailable.get(), in.available()));
+                    total += readAvailable(in).length();
+                }
+            }
+            producer.join(5000);
+
+            assertThat("all data read", total, is(700));
+            assertThat("never more than the capacity buffered", maxAvailable.get() <= 64, is(true));
+        }
+    }
+
+    @Test
+    public void lineLongerThanBuffer() throws Exception {
+        try (LiveInputStream in = open(8)) {
+            Thread producer = new Thread(() -> {
+                try {
+                    write("0123456789abcdef\nx\n");
+                    writer.close();
+                }
+                catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            producer.start();
+
+            StringBuilder text = new StringBuilder();
+            while (!in.isFinished()) {
+                if (in.awaitData(5000)) {
+                    text.append(readAvailable(in));
+                }
+            }
+            producer.join(5000);
+
+            assertThat(text.toString(), is("0123456789abcdef\nx\n"));
+        }
+    }
+
+    @Test
+    public void markReset() throws Exception {
+        try (LiveInputStream in = open(1024)) {
+            write("line 1\nline 2\n");
+            in.awaitData(5000);
+
+            in.mark(1024);
+            assertThat("first read", readAvailable(in), is("line 1\nline 2\n"));
+            in.reset();
+            assertThat("position after reset", in.getPosition(), is(0L));
+
+            write("line 3\n");
+            in.awaitData(15, 5000);
+            assertThat("second read", readAvailable(in), is("line 1\nline 2\nline 3\n"));
+        }
+    }
+
+    @Test
+    public void blockingReadsUntilSourceIsClosed() throws Exception {
+        try (LiveInputStream in = open(1024)) {
+            in.setBlocking(true);
+            CountDownLatch firstLineRead = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                try {
+                    write("line 1\n");
+                    firstLineRead.await(5, TimeUnit.SECONDS);
+                    write("line 2\n");
+                    writer.close();
+                }
+                catch (IOException | InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            producer.start();
+
+            byte[] buf = new byte[7];
+            assertThat("first line", in.read(buf), is(7));
+            firstLineRead.countDown();
+            assertThat("waits for second line", readAvailable(in), is("line 2\n"));
+            producer.join(5000);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void sourceFailure() throws Exception {
+        try (LiveInputStream in = new LiveInputStream(() -> {
+                throw new IOException("connection refused");
+            }, null, 1024)) {
+
+            in.awaitData(5000);
+        }
+    }
+}
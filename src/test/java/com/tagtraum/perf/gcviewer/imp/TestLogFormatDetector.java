@@ -0,0 +1,79 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+
+import com.tagtraum.perf.gcviewer.imp.LogFormatDetector.Detection;
+import com.tagtraum.perf.gcviewer.imp.LogFormatDetector.LogFormat;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link LogFormatDetector}.
+ */
+public class TestLogFormatDetector {
+
+    private LogFormatDetector scan(String... chunks) {
+        LogFormatDetector detector = new LogFormatDetector();
+        for (String chunk : chunks) {
+            byte[] bytes = chunk.getBytes(StandardCharsets.US_ASCII);
+            detector.scan(bytes, 0, bytes.length);
+        }
+
+        return detector;
+    }
+
+    @Test
+    public void sun1_6() {
+        Detection detection = scan("0.167: [GC [PSYoungGen: 2048K->320K(2368K)] 2048K->1052K(7872K), 0.0046 secs] [Times: user=0.01 sys=0.00, real=0.01 secs] \n")
+                .detect();
+
+        assertThat("format", detection.getFormat(), Matchers.is(LogFormat.SUN_1_6));
+        assertThat("confidence", detection.getConfidence(), Matchers.closeTo(1.0, 0.0001));
+    }
+
+    @Test
+    public void markerAcrossChunks() {
+        LogFormatDetector detector = scan("0.167: [GC 2048K->1052K(7872K), 0.0046 secs] [Tim", "es: user=0.01 sys=0.00, real=0.01 secs]\n");
+
+        assertThat("format", detector.detect().getFormat(), Matchers.is(LogFormat.SUN_1_6));
+    }
+
+    @Test
+    public void incompleteLineIgnored() {
+        LogFormatDetector detector = scan("0.167: [GC 2048K->1052K(7872K), 0.0046 secs]");
+
+        assertThat("incomplete line", detector.detect(), Matchers.nullValue());
+
+        detector.finish();
+        assertThat("after finish", detector.detect().getFormat(), Matchers.is(LogFormat.SUN_1_4));
+    }
+
+    @Test
+    public void mixedFamiliesLowerConfidence() {
+        Detection detection = scan("[0.010s][info][gc] Using G1\n",
+                "[0.011s][info][gc] GC(0) Pause Young (Normal) 10M->2M(64M) 1.0ms\n",
+                "1.0: [GC 2048K->1052K(7872K), 0.0046 secs]\n")
+                .detect();
+
+        assertThat("format", detection.getFormat(), Matchers.is(LogFormat.UNIFIED_JVM_LOGGING));
+        assertThat("confidence", detection.getConfidence(), Matchers.closeTo(2.0 / 3, 0.0001));
+    }
+
+    @Test
+    public void jrockitWaitsForRealLog() {
+        LogFormatDetector detector = scan("[memory ] <start>-<end>: <type> <before>KB-><after>KB (<heap>KB), <time> ms\n");
+
+        assertThat("only report header", detector.detect(), Matchers.nullValue());
+
+        detector = scan("[memory ] <start>-<end>: <type> <before>KB-><after>KB (<heap>KB), <time> ms\n",
+                "[memory ] [YC#1] 2.120-2.122: YC 33728KB->6010KB (65536KB), 0.002 s, sum of pauses 2.180 ms\n");
+        assertThat("real log", detector.detect().getFormat(), Matchers.is(LogFormat.JROCKIT_1_6));
+    }
+
+    @Test
+    public void unknown() {
+        assertThat(scan("hello world\n").detect(), Matchers.nullValue());
+    }
+}
@@ -0,0 +1,57 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link MultiPatternMatcher}.
+ */
+public class TestMultiPatternMatcher {
+
+    private List<String> findAll(MultiPatternMatcher matcher, String text) {
+        List<String> result = new ArrayList<>();
+        int state = MultiPatternMatcher.START;
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < bytes.length; ++i) {
+            state = matcher.next(state, bytes[i]);
+            for (int pattern : matcher.getMatches(state)) {
+                result.add(matcher.getPattern(pattern) + "@" + (i - matcher.getPattern(pattern).length() + 1));
+            }
+        }
+
+        return result;
+    }
+
+    @Test
+    public void overlappingPatterns() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("[GC", ": [GC", "[Full GC", "GC");
+
+        assertThat(findAll(matcher, "1.0: [GC 1.1: [Full GC"),
+                Matchers.contains(": [GC@3", "[GC@5", "GC@6", "[Full GC@14", "GC@20"));
+    }
+
+    @Test
+    public void noMatch() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("[memory ]", "<AF");
+
+        assertThat(findAll(matcher, "[memory] <Af ä"), Matchers.empty());
+    }
+
+    @Test
+    public void failureLinks() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("abcd", "bce", "c");
+
+        assertThat(findAll(matcher, "abce"), Matchers.contains("c@2", "bce@1"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyPattern() {
+        new MultiPatternMatcher("a", "");
+    }
+}
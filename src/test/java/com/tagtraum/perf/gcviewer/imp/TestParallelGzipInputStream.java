@@ -0,0 +1,241 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import com.tagtraum.perf.gcviewer.UnittestHelper;
+import com.tagtraum.perf.gcviewer.UnittestHelper.FOLDER;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the classes {@link ParallelGzipInputStream} and {@link DecompressionPipe}.
+ */
+public class TestParallelGzipInputStream {
+
+    private byte[] log;
+
+    @Before
+    public void setUp() throws Exception {
+        log = Files.readAllBytes(Paths.get(UnittestHelper.getResource(FOLDER.OPENJDK, "SampleSun1_8_0Series-ManuallyMerged.txt").toURI()));
+    }
+
+    @Test
+    public void multipleMembers() throws Exception {
+        byte[] compressed = gzipInMembers(log, 37, Deflater.DEFAULT_COMPRESSION);
+
+        assertThat("content", readAll(new ParallelGzipInputStream(new ByteArrayInputStream(compressed), 4)), is(log));
+    }
+
+    @Test
+    public void singleMember() throws Exception {
+        byte[] compressed = gzipInMembers(log, 1, Deflater.DEFAULT_COMPRESSION);
+
+        assertThat("content", readAll(new ParallelGzipInputStream(new ByteArrayInputStream(compressed), 4)), is(log));
+    }
+
+    @Test
+    public void headerPatternInsideMember() throws Exception {
+        // stored (uncompressed) deflate blocks contain the gzip magic number of the data as it is
+        byte[] data = Arrays.copyOf(log, log.length * 2);
+        byte[] compressedLog = gzipInMembers(log, 3, Deflater.DEFAULT_COMPRESSION);
+        System.arraycopy(compressedLog, 0, data, log.length, Math.min(compressedLog.length, log.length));
+        byte[] compressed = gzipInMembers(data, 5, Deflater.NO_COMPRESSION);
+
+        assertThat("content", readAll(new ParallelGzipInputStream(new ByteArrayInputStream(compressed), 4)), is(data));
+    }
+
+    @Test
+    public void corruptMember() throws Exception {
+        byte[] compressed = gzipInMembers(log, 7, Deflater.DEFAULT_COMPRESSION);
+        // crc of last member
+        compressed[compressed.length - 6] ^= 0xff;
+
+        try {
+            readAll(new ParallelGzipInputStream(new ByteArrayInputStream(compressed), 4));
+            fail("ZipException expected");
+        }
+        catch (ZipException e) {
+            assertThat("message", e.getMessage(), is("Corrupt GZIP trailer"));
+        }
+    }
+
+    @Test
+    public void bgzf() throws Exception {
+        byte[] compressed = bgzip(log, 1000, Deflater.DEFAULT_COMPRESSION);
+
+        assertThat("content", readAll(new ParallelGzipInputStream(new ByteArrayInputStream(compressed), 4)), is(log));
+    }
+
+    @Test
+    public void bgzfHeaderPatternInsideBlock() throws Exception {
+        // stored (uncompressed) deflate blocks contain the gzip magic number of the data as it is
+        byte[] data = Arrays.copyOf(log, log.length * 2);
+        byte[] compressedLog = bgzip(log, 1000, Deflater.DEFAULT_COMPRESSION);
+        System.arraycopy(compressedLog, 0, data, log.length, Math.min(compressedLog.length, log.length));
+        byte[] compressed = bgzip(data, 20000, Deflater.NO_COMPRESSION);
+
+        assertThat("content", readAll(new ParallelGzipInputStream(new ByteArrayInputStream(compressed), 4)), is(data));
+    }
+
+    @Test
+    public void bgzfFollowedByOtherGzipMembers() throws Exception {
+        byte[] firstPart = bgzip(Arrays.copyOf(log, log.length / 2), 1000, Deflater.DEFAULT_COMPRESSION);
+        byte[] secondPart = gzipInMembers(Arrays.copyOfRange(log, log.length / 2, log.length), 3, Deflater.DEFAULT_COMPRESSION);
+        byte[] compressed = Arrays.copyOf(firstPart, firstPart.length + secondPart.length);
+        System.arraycopy(secondPart, 0, compressed, firstPart.length, secondPart.length);
+
+        assertThat("content", readAll(new ParallelGzipInputStream(new ByteArrayInputStream(compressed), 4)), is(log));
+    }
+
+    @Test
+    public void bgzfCorruptBlock() throws Exception {
+        byte[] compressed = bgzip(log, 1000, Deflater.DEFAULT_COMPRESSION);
+        // crc of some block in the middle
+        int blockStart = 0;
+        for (int i = 0; i < 10; ++i) {
+            blockStart += ((compressed[blockStart + 16] & 0xff) | (compressed[blockStart + 17] & 0xff) << 8) + 1;
+        }
+        compressed[blockStart - 8] ^= 0xff;
+
+        try {
+            readAll(new ParallelGzipInputStream(new ByteArrayInputStream(compressed), 4));
+            fail("ZipException expected");
+        }
+        catch (ZipException e) {
+            assertThat("message", e.getMessage(), is("Corrupt GZIP trailer"));
+        }
+    }
+
+    @Test
+    public void bgzfTruncated() throws Exception {
+        byte[] compressed = bgzip(log, 1000, Deflater.DEFAULT_COMPRESSION);
+
+        try {
+            readAll(new ParallelGzipInputStream(new ByteArrayInputStream(Arrays.copyOf(compressed, compressed.length / 2)), 4));
+            fail("EOFException expected");
+        }
+        catch (EOFException e) {
+            assertThat("message", e.getMessage(), is("Unexpected end of ZLIB input stream"));
+        }
+    }
+
+    @Test
+    public void pipe() throws Exception {
+        byte[] compressed = gzipInMembers(log, 11, Deflater.DEFAULT_COMPRESSION);
+
+        assertThat("content", readAll(new DecompressionPipe(new ParallelGzipInputStream(new ByteArrayInputStream(compressed), 4), 1000)), is(log));
+    }
+
+    @Test
+    public void pipeForwardsException() throws Exception {
+        InputStream failingIn = new InputStream() {
+            private int count;
+
+            @Override
+            public int read() throws IOException {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (count > 5000) {
+                    throw new IOException("read failed");
+                }
+                count += Math.min(len, 100);
+                return Math.min(len, 100);
+            }
+        };
+
+        try {
+            readAll(new DecompressionPipe(failingIn, 1000));
+            fail("IOException expected");
+        }
+        catch (IOException e) {
+            assertThat("message", e.getMessage(), is("read failed"));
+        }
+    }
+
+    private byte[] gzipInMembers(byte[] data, int memberCount, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int memberSize = data.length / memberCount + 1;
+        for (int offset = 0; offset < data.length; offset += memberSize) {
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out) {
+                    {
+                        def.setLevel(level);
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        // keep out open
+                        finish();
+                    }
+                }) {
+
+                gzipOut.write(data, offset, Math.min(memberSize, data.length - offset));
+            }
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Compresses <code>data</code> in the blocked gzip format (like bgzip) including the empty last block.
+     */
+    private byte[] bgzip(byte[] data, int blockSize, int level) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int offset = 0; offset <= data.length; offset += blockSize) {
+            int length = Math.min(blockSize, data.length - offset);
+            Deflater deflater = new Deflater(level, true);
+            deflater.setInput(data, offset, length);
+            deflater.finish();
+            byte[] deflated = new byte[length + 1024];
+            int deflatedLength = deflater.deflate(deflated);
+            deflater.end();
+            CRC32 crc = new CRC32();
+            crc.update(data, offset, length);
+
+            int size = 18 + deflatedLength + 8;
+            out.write(new byte[] {0x1f, (byte) 0x8b, 8, 4, 0, 0, 0, 0, 0, (byte) 0xff, 6, 0, 'B', 'C', 2, 0});
+            writeInt(out, size - 1, 2);
+            out.write(deflated, 0, deflatedLength);
+            writeInt(out, crc.getValue(), 4);
+            writeInt(out, length, 4);
+        }
+
+        return out.toByteArray();
+    }
+
+    private void writeInt(ByteArrayOutputStream out, long value, int length) {
+        for (int i = 0; i < length; ++i) {
+            out.write((int) (value >> (i * 8)) & 0xff);
+        }
+    }
+
+    private byte[] readAll(InputStream in) throws IOException {
+        try (InputStream input = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[777];
+            int length;
+            while ((length = input.read(buffer)) >= 0) {
+                out.write(buffer, 0, length);
+            }
+
+            return out.toByteArray();
+        }
+    }
+}
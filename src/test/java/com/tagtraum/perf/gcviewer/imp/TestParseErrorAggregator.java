@@ -0,0 +1,139 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import com.tagtraum.perf.gcviewer.model.GCResource;
+import com.tagtraum.perf.gcviewer.model.GcResourceFile;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link ParseErrorAggregator} and its use by the readers.
+ */
+public class TestParseErrorAggregator {
+
+    private Logger getLogger(TestLogHandler handler) {
+        Logger logger = Logger.getLogger("TestParseErrorAggregator" + System.nanoTime());
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+        return logger;
+    }
+
+    @Test
+    public void getSignature() {
+        assertThat(ParseErrorAggregator.getSignature("2018-01-02T14:08:07.123+0100: 12,5: [GC (Unknown) 1024K->512K(2048K), 0.0123 secs]"),
+                is("#-#-#T#:#:#+#: #: [GC (Unknown) #K->#K(#K), # secs]"));
+        assertThat(ParseErrorAggregator.getSignature("end of sentence. 1. 2"), is("end of sentence. #. #"));
+        assertThat(ParseErrorAggregator.getSignature(""), is(""));
+    }
+
+    @Test
+    public void similarLinesAreGrouped() {
+        TestLogHandler handler = new TestLogHandler();
+        handler.setLevel(Level.WARNING);
+        ParseErrorAggregator aggregator = new ParseErrorAggregator();
+        for (int i = 0; i < 1000; ++i) {
+            aggregator.add(new ParseException("unknown line", i + ".123: [Unknown " + i + "K]"), i + ".123: [Unknown " + i + "K]");
+        }
+        aggregator.add(new ParseException("other line", "something else"), "something else");
+        aggregator.add(new UnknownGcTypeException("Unknown", "0.5: [Unknown 1K]"), "0.5: [Unknown 1K]");
+        assertThat("count", aggregator.getCount(), is(1002));
+
+        aggregator.report(getLogger(handler));
+
+        assertThat("one warning per group", handler.getCount(), is(3));
+        assertThat("count in report", handler.getLogRecords().get(0).getMessage(), containsString("1000 lines like"));
+        assertThat("first line in report", handler.getLogRecords().get(0).getMessage(), containsString("0.123: [Unknown 0K]"));
+        assertThat("single line as before", handler.getLogRecords().get(1).getMessage(), is(new ParseException("other line", "something else").toString()));
+        assertThat("count after report", aggregator.getCount(), is(0));
+    }
+
+    @Test
+    public void numberOfGroupsIsLimited() {
+        TestLogHandler handler = new TestLogHandler();
+        handler.setLevel(Level.WARNING);
+        ParseErrorAggregator aggregator = new ParseErrorAggregator();
+        for (int i = 0; i < ParseErrorAggregator.MAX_SIGNATURES + 10; ++i) {
+            String line = "unknown line type " + (char) ('a' + i % 26) + (char) ('a' + i / 26);
+            aggregator.add(new ParseException("unknown", line), line);
+        }
+
+        aggregator.report(getLogger(handler));
+
+        assertThat("groups + rest", handler.getCount(), is(ParseErrorAggregator.MAX_SIGNATURES + 1));
+        assertThat("rest", handler.getLogRecords().get(ParseErrorAggregator.MAX_SIGNATURES).getMessage(), containsString("10 more lines"));
+    }
+
+    @Test
+    public void parseExceptionIsStackless() {
+        assertThat(new ParseException("unknown", "line").getStackTrace().length, is(0));
+    }
+
+    @Test
+    public void readerReportsOncePerKindOfLine() throws Exception {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 500; ++i) {
+            log.append(i).append(".123: [GC 1024K->512K(2048K), 0.0123 secs]\n");
+            log.append(i).append(".456: [Unknown collection ").append(i).append("K->").append(i).append("K(2048K), 0.0123 secs]\n");
+        }
+
+        TestLogHandler handler = new TestLogHandler();
+        handler.setLevel(Level.WARNING);
+        GCResource gcResource = new GcResourceFile("byteArray");
+        gcResource.getLogger().addHandler(handler);
+        DataReader reader = new DataReaderSun1_6_0(gcResource,
+                new ByteArrayInputStream(log.toString().getBytes(StandardCharsets.US_ASCII)), GcLogType.SUN1_6);
+        GCModel model = reader.read();
+
+        assertThat("number of events", model.size(), is(500));
+        assertThat("number of warnings", handler.getCount(), is(1));
+        assertThat("warning", handler.getLogRecords().get(0).getMessage(), containsString("500 lines like"));
+    }
+
+    @Test
+    public void unifiedJvmLoggingReportsTailsOncePerKindOfLine() throws Exception {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 500; ++i) {
+            log.append("[").append(i).append(".227s][info][gc           ] GC(").append(i)
+                    .append(") Pause Young (Allocation Failure) 41M->38M(150M) ").append(i).append(" something\n");
+        }
+
+        TestLogHandler handler = new TestLogHandler();
+        handler.setLevel(Level.WARNING);
+        GCResource gcResource = new GcResourceFile("byteArray");
+        gcResource.getLogger().addHandler(handler);
+        DataReader reader = new DataReaderUnifiedJvmLogging(gcResource,
+                new ByteArrayInputStream(log.toString().getBytes(StandardCharsets.US_ASCII)));
+        reader.read();
+
+        assertThat("number of warnings", handler.getCount(), is(1));
+        assertThat("warning", handler.getLogRecords().get(0).getMessage(), containsString("500 lines like"));
+    }
+
+    @Test
+    public void jRockitReportsMalformedLinesOncePerKindOfLine() throws Exception {
+        StringBuilder log = new StringBuilder();
+        for (int i = 0; i < 500; ++i) {
+            log.append("[memory ] [YC#").append(i).append("] ").append(i).append(".287-").append(i)
+                    .append(".351 YC 460781KB->214044KB (524288KB), 0.064 s\n");
+        }
+
+        TestLogHandler handler = new TestLogHandler();
+        handler.setLevel(Level.WARNING);
+        GCResource gcResource = new GcResourceFile("byteArray");
+        gcResource.getLogger().addHandler(handler);
+        DataReader reader = new DataReaderJRockit1_6_0(gcResource,
+                new ByteArrayInputStream(log.toString().getBytes(StandardCharsets.US_ASCII)));
+        reader.read();
+
+        assertThat("number of warnings", handler.getCount(), is(1));
+        assertThat("warning", handler.getLogRecords().get(0).getMessage(), containsString("500 lines like"));
+    }
+}
@@ -0,0 +1,156 @@
+package com.tagtraum.perf.gcviewer.imp;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.tagtraum.perf.gcviewer.UnittestHelper;
+import com.tagtraum.perf.gcviewer.UnittestHelper.FOLDER;
+import org.junit.Test;
+
+/**
+ * Compares {@link UnifiedJvmLoggingTokenizer} with the regular expressions it replaces.
+ */
+public class TestUnifiedJvmLoggingTokenizer {
+
+    private static final Pattern PATTERN_DECORATORS = Pattern.compile(
+            "^(?:\\[(?<time>[0-9-T:.+]*)])?(?:\\[(?<uptime>[^s]*)s])?\\[(?<level>[^]]+)]\\[(?:(?<tags>[^] ]+)[ ]*)][ ]GC\\((?<gcnumber>[0-9]+)\\)[ ](?<type>[-.a-zA-Z: ()]+|[a-zA-Z1 ()]+)(?:(?:[ ](?<tail>[0-9]{1}.*))|$)");
+    private static final Pattern PATTERN_PAUSE = Pattern.compile("^([0-9]+[.,][0-9]+)ms");
+    private static final Pattern PATTERN_MEMORY = Pattern.compile("^([0-9]+)([BKMG])->([0-9]+)([BKMG])\\(([0-9]+)([BKMG])\\)");
+    private static final Pattern PATTERN_REGION = Pattern.compile("^([0-9]+)->([0-9]+)(?:\\(([0-9]+)\\))?");
+
+    private static final List<String> LINES = Arrays.asList(
+            "[0.731s][info][gc           ] GC(0) Pause Init Mark 1.021ms",
+            "[2018-01-02T14:08:07.123+0100][0.731s][info][gc] GC(0) Pause Young (G1 Evacuation Pause) 24M->4M(256M) 8.125ms",
+            "[2018-01-02T14:08:07.123+0100][info][gc,start] GC(12) Pause Young (Allocation Failure)",
+            "[info][gc] GC(3) Concurrent Cycle",
+            "[0.731s][info][gc] GC(3) Pause Young (G1 Evacuation Pause) 12M->4M(256M) 8.125ms",
+            "[0.731s][info][gc] GC(3) Pause Young (G1 Humongous Allocation) 1",
+            "[0.731s][info][gc] GC(3) Pause Young ",
+            "[0.731s][info][gc] GC(3) Pause Young x",
+            "[0.731s][info][gc] GC(3) Pause Young 1x",
+            "[0.731s][info][gc] GC(3)  1",
+            "[0.731s][info][gc] GC(3) ",
+            "[0.731s][info][gc] GC() Pause",
+            "[0.731s][info][] GC(3) Pause",
+            "[0.731s][][gc] GC(3) Pause",
+            "[0.731s][info][gc ]GC(3) Pause",
+            "[][0.731s][info][gc] GC(3) Pause",
+            "[][info][gc] GC(3) Pause",
+            "[1s][info][gcs] GC(3) Pause",
+            "[info][gcs] GC(3) Pause",
+            "[info s][gc] GC(3) Pause",
+            "[2018-01-02T14:08:07.123+0100][info s][gc] GC(3) Pause",
+            "[0.731s][info][gc] GC(3) Pause: Full 1.0ms",
+            "[0.731s][info][gc] GC(3) Pause-1 1.0ms",
+            "[0.731s][info][gc] GC(3) Pause 1 Young 1.0ms",
+            "[0.731s][info][gc",
+            "",
+            "[");
+
+    private final UnifiedJvmLoggingTokenizer tokenizer = new UnifiedJvmLoggingTokenizer();
+
+    private void assertSameAsRegex(String line) {
+        Matcher matcher = PATTERN_DECORATORS.matcher(line);
+        boolean found = matcher.find();
+        assertThat(line, tokenizer.tokenize(line), is(found));
+        if (found) {
+            assertThat("time: " + line, part(line, tokenizer.getTimeStart(), tokenizer.getTimeEnd()), is(matcher.group("time")));
+            assertThat("uptime: " + line, part(line, tokenizer.getUptimeStart(), tokenizer.getUptimeEnd()), is(matcher.group("uptime")));
+            assertThat("level: " + line, part(line, tokenizer.getLevelStart(), tokenizer.getLevelEnd()), is(matcher.group("level")));
+            assertThat("tags: " + line, part(line, tokenizer.getTagsStart(), tokenizer.getTagsEnd()), is(matcher.group("tags")));
+            assertThat("gcnumber: " + line, part(line, tokenizer.getGcNumberStart(), tokenizer.getGcNumberEnd()), is(matcher.group("gcnumber")));
+            assertThat("type: " + line, part(line, tokenizer.getTypeStart(), tokenizer.getTypeEnd()), is(matcher.group("type")));
+            assertThat("tail: " + line, part(line, tokenizer.getTailStart(), line.length()), is(matcher.group("tail")));
+            assertThat("hasTags: " + line, tokenizer.hasTags(matcher.group("tags")), is(true));
+
+            if (matcher.group("tail") != null) {
+                assertTailSameAsRegex(line, tokenizer.getTailStart());
+            }
+        }
+    }
+
+    private void assertTailSameAsRegex(String line, int start) {
+        String tail = line.substring(start);
+        Matcher pauseMatcher = PATTERN_PAUSE.matcher(tail);
+        int pauseEnd = UnifiedJvmLoggingTokenizer.matchPause(line, start);
+        assertThat("pause: " + tail, part(line, start, pauseEnd), is(pauseMatcher.find() ? pauseMatcher.group(1) : null));
+
+        Matcher memoryMatcher = PATTERN_MEMORY.matcher(tail);
+        int memoryEnd = UnifiedJvmLoggingTokenizer.matchMemory(line, start);
+        assertThat("memory: " + tail, part(line, start, memoryEnd), is(memoryMatcher.find() ? memoryMatcher.group() : null));
+
+        Matcher regionMatcher = PATTERN_REGION.matcher(tail);
+        int regionsEnd = UnifiedJvmLoggingTokenizer.matchRegions(line, start);
+        assertThat("regions: " + tail, part(line, start, regionsEnd), is(regionMatcher.find() ? regionMatcher.group() : null));
+    }
+
+    private static String part(String line, int start, int end) {
+        return start == UnifiedJvmLoggingTokenizer.NONE || end == UnifiedJvmLoggingTokenizer.NONE ? null : line.substring(start, end);
+    }
+
+    @Test
+    public void tokenizeEdgeCases() {
+        for (String line : LINES) {
+            assertSameAsRegex(line);
+        }
+    }
+
+    @Test
+    public void tokenizeSampleLogs() throws Exception {
+        File folder = new File(Thread.currentThread().getContextClassLoader()
+                .getResource(FOLDER.OPENJDK_UJL.getFolderName()).toURI());
+        File[] files = folder.listFiles();
+        assertThat("number of sample logs", files.length, greaterThan(0));
+
+        int matches = 0;
+        for (File file : files) {
+            matches += assertSameAsRegex(file);
+        }
+        assertThat("number of gc event lines", matches, greaterThan(1000));
+    }
+
+    private int assertSameAsRegex(File file) throws IOException {
+        int matches = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                UnittestHelper.getResourceAsStream(FOLDER.OPENJDK_UJL, file.getName()), StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                assertSameAsRegex(line);
+                if (tokenizer.tokenize(line)) {
+                    ++matches;
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    @Test
+    public void matchTails() {
+        for (String tail : Arrays.asList("1.070ms", "1,070ms", "1.070m", "1.ms", ".5ms", "12ms", "4848M->4855M(4998M) 2.872ms",
+                "4848M->4855M(4998M", "4848M->4855X(4998M)", "7->3(2)", "7->3(", "7->3(x)", "7->", "->3", "")) {
+
+            assertTailSameAsRegex(tail, 0);
+        }
+    }
+
+    @Test
+    public void noTail() {
+        assertThat(tokenizer.tokenize("[0.731s][info][gc] GC(3) Concurrent Cycle"), is(true));
+        assertThat(tokenizer.getTailStart(), is(UnifiedJvmLoggingTokenizer.NONE));
+        assertThat(part(tokenizer.getLine(), tokenizer.getTimeStart(), tokenizer.getTimeEnd()), nullValue());
+    }
+}
@@ -0,0 +1,99 @@
+package com.tagtraum.perf.gcviewer.math;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link Histogram}.
+ */
+public class TestHistogram {
+
+    @Test
+    public void percentiles() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; ++i) {
+            histogram.add(i / 1000.0);
+        }
+
+        assertThat("count", histogram.getTotalCount(), is(1000L));
+        assertThat("p50", histogram.getValueAtPercentile(50), closeTo(0.5, 0.5 / 64));
+        assertThat("p99", histogram.getValueAtPercentile(99), closeTo(0.99, 0.99 / 64));
+        assertThat("p99.9", histogram.getValueAtPercentile(99.9), closeTo(0.999, 0.999 / 64));
+        assertThat("p100", histogram.getValueAtPercentile(100), is(1.0));
+        assertThat("p0", histogram.getValueAtPercentile(0), closeTo(0.001, 0.001 / 64));
+    }
+
+    @Test
+    public void percentileNeverBelowValue() {
+        Histogram histogram = new Histogram();
+        histogram.add(0.0123);
+        histogram.add(0.0456);
+
+        assertThat("p50 >= smaller value", histogram.getValueAtPercentile(50) >= 0.0123, is(true));
+        assertThat("p50 < larger value", histogram.getValueAtPercentile(50) < 0.0456, is(true));
+        assertThat("p99 == max", histogram.getValueAtPercentile(99), is(0.0456));
+    }
+
+    @Test
+    public void outOfRange() {
+        Histogram histogram = new Histogram();
+        histogram.add(0);
+        histogram.add(100000);
+
+        assertThat("p50", histogram.getValueAtPercentile(50), is(0.0));
+        assertThat("p100", histogram.getValueAtPercentile(100), is(100000.0));
+    }
+
+    @Test
+    public void weight() {
+        Histogram histogram = new Histogram();
+        histogram.add(1.0, 99);
+        histogram.add(2.0);
+
+        assertThat("p99", histogram.getValueAtPercentile(99), closeTo(1.0, 1.0 / 64));
+        assertThat("p99.5", histogram.getValueAtPercentile(99.5), is(2.0));
+    }
+
+    @Test
+    public void merge() {
+        Histogram histogram1 = new Histogram();
+        Histogram histogram2 = new Histogram();
+        Histogram expected = new Histogram();
+        for (int i = 1; i <= 100; ++i) {
+            (i % 2 == 0 ? histogram1 : histogram2).add(i / 10.0);
+            expected.add(i / 10.0);
+        }
+
+        histogram1.add(histogram2);
+        assertThat("merged", histogram1, is(expected));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void empty() {
+        new Histogram().getValueAtPercentile(50);
+    }
+
+    @Test
+    public void reset() {
+        Histogram histogram = new Histogram();
+        histogram.add(1.0);
+        histogram.reset();
+
+        assertThat("reset", histogram, is(new Histogram()));
+    }
+
+    @Test
+    public void doubleDataPercentiles() {
+        DoubleData doubleData = new DoubleData(true);
+        for (int i = 1; i <= 100; ++i) {
+            doubleData.add(i / 100.0);
+        }
+
+        assertThat("has percentiles", doubleData.hasPercentiles(), is(true));
+        assertThat("p90", doubleData.percentile(90), closeTo(0.9, 0.9 / 64));
+        assertThat("without percentiles", new DoubleData().hasPercentiles(), is(false));
+    }
+}
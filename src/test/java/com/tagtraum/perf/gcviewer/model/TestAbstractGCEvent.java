@@ -3,6 +3,15 @@ package com.tagtraum.perf.gcviewer.model;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.ExtendedType;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Generation;
 import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Type;
@@ -115,4 +124,62 @@ public class TestAbstractGCEvent {
         event.setType(Type.UJL_PAUSE_FULL);
         assertThat("should be full gc", event.isFull(), Matchers.is(true));
     }
+
+    @Test
+    public void lookupTypeFromCharRange() {
+        String line = "2.345: [ParNew: 1610619K->7990K(22649280K)";
+        int start = line.indexOf('[') + 1;
+
+        assertThat("ParNew", Type.lookup(line, start, line.indexOf(':', start)), Matchers.sameInstance(Type.PAR_NEW));
+        assertThat("with whitespace", Type.lookup(new StringBuilder("  Full GC "), 0, 10), Matchers.sameInstance(Type.FULL_GC));
+        assertThat("prefix only", Type.lookup(line, start, start + 3), Matchers.nullValue());
+        assertThat("empty", Type.lookup(line, start, start), Matchers.nullValue());
+    }
+
+    @Test
+    public void lookupExtendedTypeFromCharRange() {
+        String line = "2.345: [GC (Allocation Failure) 1610619K->7990K(22649280K)";
+        int start = line.indexOf('[') + 1;
+        int end = line.indexOf(')') + 1;
+
+        ExtendedType extendedType = ExtendedType.lookup(Type.GC, line, start, end);
+        assertThat("name", extendedType.getName(), Matchers.is("GC (Allocation Failure)"));
+        assertThat("same as lookup by name", extendedType, Matchers.sameInstance(ExtendedType.lookup(Type.GC, "GC (Allocation Failure)")));
+        assertThat("found again", ExtendedType.lookup(Type.GC, new StringBuilder(line), start, end), Matchers.sameInstance(extendedType));
+    }
+
+    @Test
+    public void lookupTypeDuplicateName() {
+        assertThat("last type with the same name wins",
+                Type.lookup("jrockit.parallel nursery GC"),
+                Matchers.sameInstance(Type.JROCKIT_16_PARALLEL_NURSERY_GC));
+    }
+
+    @Test
+    public void lookupConcurrently() throws Exception {
+        int threadCount = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<Set<ExtendedType>>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; ++i) {
+                futures.add(executor.submit(() -> {
+                    Set<ExtendedType> result = Collections.newSetFromMap(new IdentityHashMap<>());
+                    for (int j = 0; j < 1000; ++j) {
+                        Type type = Type.lookup("GC");
+                        result.add(ExtendedType.lookup(type, "GC (concurrent lookup " + j % 10 + ")"));
+                    }
+                    return result;
+                }));
+            }
+
+            Set<ExtendedType> all = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Future<Set<ExtendedType>> future : futures) {
+                all.addAll(future.get());
+            }
+            assertThat("one instance per name", all.size(), Matchers.is(10));
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
 }
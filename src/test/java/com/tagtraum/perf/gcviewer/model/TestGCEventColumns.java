@@ -0,0 +1,124 @@
+package com.tagtraum.perf.gcviewer.model;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import com.tagtraum.perf.gcviewer.UnittestHelper;
+import com.tagtraum.perf.gcviewer.UnittestHelper.FOLDER;
+import com.tagtraum.perf.gcviewer.imp.DataReaderSun1_6_0;
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.ExtendedType;
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Type;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link GCEventColumns}.
+ */
+public class TestGCEventColumns {
+
+    @Test
+    public void columnsOfModel() throws Exception {
+        GCModel model = UnittestHelper.getGCModelFromLogFile("SampleSun1_6_0CMS.txt", FOLDER.OPENJDK, DataReaderSun1_6_0.class);
+        GCEventColumns columns = model.getColumns();
+
+        assertThat("size", columns.size(), is(model.size()));
+        for (int i = 0; i < model.size(); ++i) {
+            AbstractGCEvent<?> event = model.get(i);
+            assertThat("timestamp " + i, columns.getTimestamp(i), is(event.getTimestamp()));
+            assertThat("pause " + i, columns.getPause(i), is(event.getPause()));
+            assertThat("preUsed " + i, columns.getPreUsed(i), is(event.getPreUsed()));
+            assertThat("postUsed " + i, columns.getPostUsed(i), is(event.getPostUsed()));
+            assertThat("total " + i, columns.getTotal(i), is(event.getTotal()));
+            assertThat("type " + i, columns.getExtendedType(i), sameInstance(event.getExtendedType()));
+            assertThat("stop the world " + i, columns.is(i, GCEventColumns.STOP_THE_WORLD), is(event.isStopTheWorld()));
+            assertThat("full " + i, columns.is(i, GCEventColumns.FULL), is(event.isFull()));
+        }
+    }
+
+    @Test
+    public void columnsUpdatedByAdd() {
+        GCModel model = new GCModel();
+        model.add(new GCEvent(1.0, 10, 5, 100, 0.1, Type.GC));
+        assertThat("size before add", model.getColumns().size(), is(1));
+
+        model.add(new GCEvent(2.0, 10, 5, 100, 0.2, Type.FULL_GC));
+        assertThat("size after add", model.getColumns().size(), is(2));
+        assertThat("pause of added event", model.getColumns().getPause(1), closeTo(0.2, 0.00001));
+    }
+
+    @Test
+    public void indexesOf() {
+        GCEventColumns columns = new GCEventColumns();
+        columns.add(new GCEvent(1.0, 10, 5, 100, 0.1, Type.GC));
+        columns.add(new GCEvent(2.0, 10, 5, 100, 0.1, Type.FULL_GC));
+        columns.add(new GCEvent(3.0, 10, 5, 100, 0.1, Type.GC));
+        columns.add(new GCEvent(4.0, 10, 5, 100, 0.1, Type.FULL_GC));
+
+        assertThat("full gcs", columns.indexesOf(GCEventColumns.FULL), is(new int[] {1, 3}));
+        assertThat("stop the world", columns.indexesOf(GCEventColumns.STOP_THE_WORLD), is(new int[] {0, 1, 2, 3}));
+        assertThat("interned types", columns.getTypeCount(), is(2));
+        assertThat("type id", columns.getTypeForId(columns.getTypeId(2)), is(ExtendedType.lookup(Type.GC)));
+    }
+
+    @Test
+    public void indexOfTimestamp() {
+        GCEventColumns columns = new GCEventColumns();
+        for (int i = 0; i < 2000; ++i) {
+            columns.add(new GCEvent(i * 0.5, 10, 5, 100, 0.1, Type.GC));
+        }
+
+        assertThat("before first", columns.indexOfTimestamp(-1), is(0));
+        assertThat("exact", columns.indexOfTimestamp(10.0), is(20));
+        assertThat("in between", columns.indexOfTimestamp(10.2), is(21));
+        assertThat("after last", columns.indexOfTimestamp(5000), is(2000));
+    }
+
+    @Test
+    public void getEventCreatesEventWithDetails() {
+        GCEventColumns columns = new GCEventColumns();
+        GCEvent event = new GCEvent(1.0, 1534, 276, 16256, 0.0084, Type.GC);
+        event.add(new GCEvent(1.0, 1534, 128, 1664, 0.0082, Type.DEF_NEW));
+        columns.add(event);
+
+        AbstractGCEvent<?> createdEvent = columns.getEvent(0);
+        assertThat("equal to added event", createdEvent, is(event));
+        assertThat("new instance", createdEvent, not(sameInstance(columns.getEvent(0))));
+        assertThat("details", createdEvent.details().next(), is(event.details().next()));
+    }
+
+    @Test
+    public void snapshotDoesNotChange() {
+        GCEventColumns columns = new GCEventColumns();
+        columns.add(new GCEvent(1.0, 10, 5, 100, 0.1, Type.GC));
+        GCEventColumns snapshot = columns.snapshot();
+        for (int i = 0; i < 2000; ++i) {
+            columns.add(new GCEvent(2.0 + i, 10, 5, 100, 0.1, Type.FULL_GC));
+        }
+
+        assertThat("size of snapshot", snapshot.size(), is(1));
+        assertThat("timestamp in snapshot", snapshot.getTimestamp(0), is(1.0));
+        assertThat("size of columns", columns.size(), is(2001));
+    }
+
+    @Test
+    public void columnarModelEqualsObjectModel() throws Exception {
+        GCModel model = UnittestHelper.getGCModelFromLogFile("SampleSun1_6_0CMS.txt", FOLDER.OPENJDK, DataReaderSun1_6_0.class);
+        GCModel columnarModel = new GCModel(true);
+        for (int i = 0; i < model.size(); ++i) {
+            columnarModel.add(model.get(i));
+        }
+
+        assertThat("columnar", columnarModel.isColumnar(), is(true));
+        assertThat("size", columnarModel.size(), is(model.size()));
+        for (int i = 0; i < model.size(); ++i) {
+            assertThat("event " + i, columnarModel.get(i), is(model.get(i)));
+        }
+        assertThat("full gc pause", columnarModel.getFullGCPause().getSum(), closeTo(model.getFullGCPause().getSum(), 0.000001));
+        assertThat("gc pause", columnarModel.getGCPause().getSum(), closeTo(model.getGCPause().getSum(), 0.000001));
+        assertThat("footprint", columnarModel.getFootprint(), is(model.getFootprint()));
+        assertThat("snapshot size", columnarModel.getEventSnapshot().size(), is(model.size()));
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.tagtraum.perf.gcviewer.model;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Type;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link TimestampIndex} and the time range accessors of {@link GCModel} using it.
+ */
+public class TestTimestampIndex {
+
+    @Test
+    public void indexOf() {
+        TimestampIndex index = new TimestampIndex();
+        for (int i = 0; i < 1000; ++i) {
+            index.add(i / 2);
+        }
+
+        assertThat("size", index.size(), is(1000));
+        assertThat("sorted", index.isSorted(), is(true));
+        assertThat("first at or after 10", index.indexOfFirstAtOrAfter(10), is(20));
+        assertThat("first after 10", index.indexOfFirstAfter(10), is(22));
+        assertThat("first at or after -1", index.indexOfFirstAtOrAfter(-1), is(0));
+        assertThat("first after 1000", index.indexOfFirstAfter(1000), is(1000));
+    }
+
+    @Test
+    public void notSorted() {
+        TimestampIndex index = new TimestampIndex();
+        index.add(2.0);
+        index.add(1.0);
+
+        assertThat("sorted", index.isSorted(), is(false));
+    }
+
+    @Test
+    public void snapshotDoesNotChange() {
+        TimestampIndex index = new TimestampIndex();
+        index.add(1.0, 0.5, 10, 1);
+        TimestampIndex snapshot = index.snapshot();
+        for (int i = 2; i < 1000; ++i) {
+            index.add(i, 0.5, 10, 1);
+        }
+        index.clear();
+        index.add(5.0, 2.0, 20, 2);
+
+        assertThat("size", snapshot.size(), is(1));
+        assertThat("count", snapshot.count(0, 2000), is(1));
+        assertThat("pause", snapshot.getPauseSum(0, 2000), closeTo(0.5, 0.0001));
+        assertThat("size of index", index.size(), is(1));
+        assertThat("pause of index", index.getPauseSum(0, 2000), closeTo(2.0, 0.0001));
+    }
+
+    @Test
+    public void modelSnapshotDoesNotChange() {
+        GCModel model = new GCModel();
+        model.add(new GCEvent(1.0, 10, 5, 100, 0.1, Type.GC));
+        GCModel snapshot = model.getEventSnapshot();
+        for (int i = 2; i < 1000; ++i) {
+            model.add(new GCEvent(i, 10, 5, 100, 0.1, Type.GC));
+        }
+
+        assertThat("size", snapshot.size(), is(1));
+        assertThat("gc", timestamps(snapshot.getGCEvents(0.0, 2000.0)), is(list(1.0)));
+        assertThat("size of model", model.size(), is(999));
+    }
+
+    @Test
+    public void modelEventsInRange() {
+        GCModel model = new GCModel();
+        for (int i = 0; i < 10; ++i) {
+            model.add(new GCEvent(i, 10, 5, 100, 0.1, i % 3 == 0 ? Type.FULL_GC : Type.GC));
+        }
+
+        assertThat("stop the world", timestamps(model.getStopTheWorldEvents(2.0, 5.0)), is(list(2.0, 3.0, 4.0, 5.0)));
+        assertThat("gc", timestamps(model.getGCEvents(2.0, 5.5)), is(list(2.0, 4.0, 5.0)));
+        assertThat("full gc", timestamps(model.getFullGCEvents(2.0, 6.0)), is(list(3.0, 6.0)));
+        assertThat("empty range", timestamps(model.getGCEvents(20.0, 30.0)), is(list()));
+    }
+
+    @Test
+    public void modelEventsNotSorted() {
+        GCModel model = new GCModel();
+        model.add(new GCEvent(3.0, 10, 5, 100, 0.1, Type.GC));
+        model.add(new GCEvent(1.0, 10, 5, 100, 0.1, Type.GC));
+
+        assertThat("all events", timestamps(model.getGCEvents(2.0, 2.5)), is(list(3.0, 1.0)));
+    }
+
+    @Test
+    public void prefixSums() {
+        TimestampIndex index = new TimestampIndex();
+        for (int i = 0; i < 1000; ++i) {
+            index.add(i, 0.5, 10, i % 2);
+        }
+
+        assertThat("count", index.count(100, 199.5), is(100));
+        assertThat("pause", index.getPauseSum(100, 199.5), closeTo(50, 0.0001));
+        assertThat("freed", index.getFreedMemory(100, 199.5), is(1000L));
+        assertThat("promotion", index.getPromotion(100, 199.5), is(50L));
+        assertThat("outside", index.count(1000, 2000), is(0));
+        assertThat("reversed", index.getPauseSum(200, 100), closeTo(0, 0.0001));
+    }
+
+    @Test
+    public void prefixSumsNotSorted() {
+        TimestampIndex index = new TimestampIndex();
+        index.add(2.0, 0.2, 20, 0);
+        index.add(1.0, 0.1, 10, 0);
+        index.add(3.0, 0.3, 30, 0);
+
+        assertThat("count", index.count(1.5, 3.0), is(2));
+        assertThat("pause", index.getPauseSum(1.5, 3.0), closeTo(0.5, 0.0001));
+        assertThat("freed", index.getFreedMemory(0, 2.0), is(30L));
+    }
+
+    @Test
+    public void modelStatistics() {
+        GCModel model = new GCModel();
+        for (int i = 1; i <= 10; ++i) {
+            model.add(new GCEvent(i, 100, 60, 200, 0.1, i % 5 == 0 ? Type.FULL_GC : Type.GC));
+        }
+
+        TimeRangeStatistics statistics = model.getStatistics(2.0, 5.0);
+        assertThat("pause count", statistics.getPauseCount(), is(4));
+        assertThat("pause sum", statistics.getPauseSum(), closeTo(0.4, 0.0001));
+        assertThat("gc pause count", statistics.getGcPauseCount(), is(3));
+        assertThat("full gc pause count", statistics.getFullGcPauseCount(), is(1));
+        assertThat("freed by gc", statistics.getFreedMemoryByGC(), is(120L));
+        assertThat("freed", statistics.getFreedMemory(), is(160L));
+        assertThat("throughput", statistics.getThroughput(), closeTo(100 * (3 - 0.4) / 3, 0.0001));
+
+        TimeRangeStatistics all = model.getStatistics(0, Double.MAX_VALUE);
+        assertThat("all pauses", all.getPauseSum(), closeTo(model.getPause().getSum(), 0.0001));
+        assertThat("whole log throughput", all.getThroughput(), closeTo(model.getThroughput(), 0.0001));
+    }
+
+    private List<Double> timestamps(Iterator<? extends AbstractGCEvent<?>> iterator) {
+        List<Double> timestamps = new ArrayList<>();
+        while (iterator.hasNext()) {
+            timestamps.add(iterator.next().getTimestamp());
+        }
+
+        return timestamps;
+    }
+
+    private List<Double> list(Double... values) {
+        List<Double> list = new ArrayList<>();
+        for (Double value : values) {
+            list.add(value);
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,68 @@
+package com.tagtraum.perf.gcviewer.util;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.junit.Test;
+
+/**
+ * Tests the class {@link DateHelper}.
+ */
+public class TestDateHelper {
+
+    private void assertSameAsFormatter(String datestamp) {
+        ZonedDateTime expected = ZonedDateTime.parse(datestamp, DateHelper.DATE_TIME_FORMATTER);
+
+        assertThat(datestamp, DateHelper.parseDate(datestamp), is(expected));
+        assertThat(datestamp + " millis", DateHelper.parseEpochMillis("x" + datestamp, 1), is(expected.toInstant().toEpochMilli()));
+        assertThat(datestamp + " offset", DateHelper.parseOffset(datestamp, 0), is(expected.getOffset()));
+    }
+
+    @Test
+    public void parseDate() {
+        assertSameAsFormatter("2012-04-18T14:23:59.890+0200");
+        assertSameAsFormatter("1970-01-01T00:00:00.000+0000");
+        assertSameAsFormatter("1969-12-31T23:59:59.999-0100");
+        assertSameAsFormatter("2016-02-29T12:00:00.001+0530");
+        assertSameAsFormatter("2000-03-01T00:00:00.000-0945");
+        assertSameAsFormatter("2100-12-31T23:59:59.999+1800");
+    }
+
+    @Test
+    public void parseOffsetCached() {
+        assertThat(DateHelper.parseOffset("2012-04-18T14:23:59.890+0200", 0),
+                sameInstance(DateHelper.parseOffset("2013-05-19T15:24:00.000+0200", 0)));
+        assertThat(DateHelper.parseOffset("2012-04-18T14:23:59.890+0207", 0), is(ZoneOffset.ofHoursMinutes(2, 7)));
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void parseDateOtherLength() {
+        // not the fixed layout -> parsed by the formatter
+        DateHelper.parseDate("2012-04-18T14:23:59.890+02:00");
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void invalidDay() {
+        DateHelper.parseDate("2015-02-29T14:23:59.890+0200");
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void invalidDigit() {
+        DateHelper.parseEpochMillis("2015-02-2xT14:23:59.890+0200", 0);
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void invalidOffset() {
+        DateHelper.parseDate("2015-02-20T14:23:59.890 0200");
+    }
+
+    @Test(expected = DateTimeParseException.class)
+    public void tooShort() {
+        DateHelper.parseEpochMillis("2015-02-20T14:23:59.890+020", 0);
+    }
+}
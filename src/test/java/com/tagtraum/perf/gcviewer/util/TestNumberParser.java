@@ -63,4 +63,31 @@ public class TestNumberParser {
         Assert.assertThat("char negative long", result, Matchers.is(-6442450944L));
     }
 
+    @Test
+    public void testParseDoubleCharSequence() throws Exception {
+        StringBuilder sb = new StringBuilder("[GC 0.0012345 secs]");
+        double result = NumberParser.parseDouble(sb, 4, 9);
+        Assert.assertThat("char sequence double", result, Matchers.is(0.0012345));
+    }
+
+    @Test
+    public void testParseDoubleComma() throws Exception {
+        double result = NumberParser.parseDouble("-12,5");
+        Assert.assertThat("double with comma", result, Matchers.is(-12.5));
+    }
+
+    @Test
+    public void testParseDoubleSameAsJdk() throws Exception {
+        String[] values = {"0", "1.", "0.1", "0.3", "1.0000001", "8.0600619", "123456789.123456", "0.000000000000001",
+                "12345678901234567890", "1.5e3", "-0.0", "9007199254740993", "0.1234567890123456789"};
+        for (String value : values) {
+            Assert.assertThat(value, NumberParser.parseDouble(value), Matchers.is(Double.parseDouble(value)));
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testParseDoubleIllegal() throws Exception {
+        NumberParser.parseDouble("1.2.3");
+    }
+
 }
@@ -0,0 +1,165 @@
+package com.tagtraum.perf.gcviewer.view;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JPanel;
+
+import com.tagtraum.perf.gcviewer.model.AbstractGCEvent.Type;
+import com.tagtraum.perf.gcviewer.model.GCEvent;
+import com.tagtraum.perf.gcviewer.model.GCModel;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link ChartTileCache}.
+ */
+public class ChartTileCacheTest {
+
+    private static final int WIDTH = 600;
+    private static final int HEIGHT = 50;
+
+    private JPanel chart;
+    private ChartTileCache tileCache;
+    private GCModel model;
+    /** model seen by the renderer when it was painted last */
+    private volatile GCModel renderedModel;
+
+    @Before
+    public void setUp() {
+        chart = new JPanel(null);
+        chart.setBackground(Color.WHITE);
+        chart.setSize(WIDTH, HEIGHT);
+
+        ChartRenderer renderer = new ChartRenderer(new ModelChartImpl()) {
+            @Override
+            public void paintComponent(Graphics2D g2d) {
+                renderedModel = getModel();
+                g2d.setColor(Color.RED);
+                g2d.fillRect(0, 0, getWidth(), getHeight() / 2);
+            }
+        };
+        renderer.setBounds(0, 0, WIDTH, HEIGHT);
+        chart.add(renderer);
+
+        model = new GCModel();
+        model.add(new GCEvent(1.0, 1024, 512, 2048, 0.1, Type.GC));
+        tileCache = new ChartTileCache(chart, () -> model);
+    }
+
+    @Test
+    public void placeholderUntilRendered() throws Exception {
+        BufferedImage image = paint();
+        assertThat("placeholder", image.getRGB(10, 10) == Color.RED.getRGB(), is(false));
+
+        image = paintUntilRendered();
+        assertThat("renderer in first tile", image.getRGB(10, 10), is(Color.RED.getRGB()));
+        assertThat("renderer in last tile", image.getRGB(WIDTH - 1, 10), is(Color.RED.getRGB()));
+        assertThat("background", image.getRGB(WIDTH - 1, HEIGHT - 1), is(Color.WHITE.getRGB()));
+    }
+
+    @Test
+    public void invalidate() throws Exception {
+        paintUntilRendered();
+
+        tileCache.invalidate();
+        BufferedImage image = paint();
+        assertThat("placeholder after invalidate", image.getRGB(10, 10) == Color.RED.getRGB(), is(false));
+    }
+
+    @Test
+    public void hiddenRenderer() throws Exception {
+        paintUntilRendered();
+
+        chart.getComponent(0).setVisible(false);
+        BufferedImage image = paintUntilRendered(Color.WHITE);
+        assertThat("hidden renderer not painted", image.getRGB(10, 10), is(Color.WHITE.getRGB()));
+    }
+
+    @Test
+    public void appendedEventsAreRenderedFromSnapshot() throws Exception {
+        paintUntilRendered();
+        assertThat("snapshot instead of model", renderedModel, not(sameInstance(model)));
+        assertThat("events in snapshot", renderedModel.size(), is(1));
+
+        model.add(new GCEvent(2.0, 1024, 512, 2048, 0.1, Type.GC));
+        assertThat("snapshot unchanged by append", renderedModel.size(), is(1));
+        BufferedImage image = paint();
+        assertThat("placeholder after append", image.getRGB(10, 10) == Color.RED.getRGB(), is(false));
+
+        paintUntilRendered();
+        assertThat("events in new snapshot", renderedModel.size(), is(2));
+    }
+
+    @Test
+    public void appendedEventsDiscardOnlyTilesAfterPreviousEnd() throws Exception {
+        model.add(new GCEvent(301.0, 1024, 512, 2048, 0.1, Type.GC));
+        paintUntilRendered();
+
+        model.add(new GCEvent(302.0, 1024, 512, 2048, 0.1, Type.GC));
+        BufferedImage image = paint();
+        assertThat("tile before previous end kept", image.getRGB(10, 10), is(Color.RED.getRGB()));
+        assertThat("placeholder after previous end", image.getRGB(WIDTH - 1, 10) == Color.RED.getRGB(), is(false));
+
+        paintUntilRendered();
+        assertThat("events in new snapshot", renderedModel.size(), is(3));
+    }
+
+    @Test
+    public void numberOfTilesIsBounded() throws Exception {
+        int tileCount = 2 * ChartTileCache.MAX_TILES;
+        chart.setSize(tileCount * ChartTileCache.TILE_WIDTH, HEIGHT);
+        chart.getComponent(0).setBounds(0, 0, tileCount * ChartTileCache.TILE_WIDTH, HEIGHT);
+        for (int tileIndex = 0; tileIndex < tileCount; ++tileIndex) {
+            BufferedImage image = new BufferedImage(ChartTileCache.TILE_WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+            for (int i = 0; i < 500 && image.getRGB(10, 10) != Color.RED.getRGB(); ++i) {
+                Graphics2D g2d = image.createGraphics();
+                try {
+                    g2d.translate(-tileIndex * ChartTileCache.TILE_WIDTH, 0);
+                    g2d.setClip(tileIndex * ChartTileCache.TILE_WIDTH, 0, ChartTileCache.TILE_WIDTH, HEIGHT);
+                    tileCache.paint(g2d);
+                }
+                finally {
+                    g2d.dispose();
+                }
+                Thread.sleep(1);
+            }
+        }
+
+        assertThat("tiles kept", tileCache.getTileCount(), is(ChartTileCache.MAX_TILES));
+    }
+
+    private BufferedImage paint() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setClip(0, 0, WIDTH, HEIGHT);
+            tileCache.paint(g2d);
+        }
+        finally {
+            g2d.dispose();
+        }
+
+        return image;
+    }
+
+    private BufferedImage paintUntilRendered() throws InterruptedException {
+        return paintUntilRendered(Color.RED);
+    }
+
+    private BufferedImage paintUntilRendered(Color expectedColor) throws InterruptedException {
+        BufferedImage image = paint();
+        for (int i = 0; i < 500 && image.getRGB(WIDTH - 1, 10) != expectedColor.getRGB(); ++i) {
+            Thread.sleep(10);
+            image = paint();
+        }
+
+        return image;
+    }
+}
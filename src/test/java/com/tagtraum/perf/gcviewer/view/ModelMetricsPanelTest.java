@@ -96,4 +96,19 @@ public class ModelMetricsPanelTest {
         panel.setModel(model);
     }
 
+    @Test
+    public void testVisibleRange() {
+        GCModel model = new GCModel();
+        for (int i = 0; i < 10; ++i) {
+            model.add(new GCEvent(i, 900, 400, 1024, 0.245, i % 3 == 0 ? Type.FULL_GC : Type.GC));
+        }
+
+        ModelMetricsPanel panel = new ModelMetricsPanel();
+        panel.setVisibleRange(2.0, 5.0);
+        panel.setModel(new GCModel());
+        panel.setModel(model);
+        panel.setVisibleRange(-10.0, 100.0);
+        panel.setVisibleRange(20.0, 30.0);
+    }
+
 }
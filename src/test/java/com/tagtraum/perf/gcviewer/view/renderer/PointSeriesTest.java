@@ -0,0 +1,81 @@
+package com.tagtraum.perf.gcviewer.view.renderer;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.Random;
+
+import com.tagtraum.perf.gcviewer.view.renderer.PolygonChartRenderer.ScaledPolygon;
+import org.junit.Test;
+
+/**
+ * Tests the class {@link PointSeries}.
+ */
+public class PointSeriesTest {
+
+    private static final int POINT_COUNT = 1000000;
+
+    private PointSeries createSeries(double[] yValues) {
+        PointSeries series = new PointSeries();
+        for (int i = 0; i < yValues.length; ++i) {
+            series.addPoint(i, yValues[i]);
+        }
+        series.addPointNotOptimised(yValues.length, 0);
+
+        return series;
+    }
+
+    private double[] createRandomValues() {
+        Random random = new Random(17);
+        double[] yValues = new double[POINT_COUNT];
+        for (int i = 0; i < yValues.length; ++i) {
+            yValues[i] = random.nextInt(1000);
+        }
+
+        return yValues;
+    }
+
+    @Test
+    public void atMostFourPointsPerPixel() {
+        double[] yValues = createRandomValues();
+        yValues[123456] = 5000; // single peak must survive downsampling
+
+        PointSeries series = createSeries(yValues);
+        for (int width : new int[] {200, 1000, 10000}) {
+            double xScaleFactor = width / (double) POINT_COUNT;
+            ScaledPolygon polygon = new ScaledPolygon(xScaleFactor, 1, 10000);
+            series.addTo(polygon, xScaleFactor);
+
+            assertThat("number of points for width " + width, polygon.npoints, lessThanOrEqualTo(4 * (width + 1) + 2));
+            int minY = Integer.MAX_VALUE;
+            for (int i = 0; i < polygon.npoints; ++i) {
+                minY = Math.min(minY, polygon.ypoints[i]);
+            }
+            assertThat("peak for width " + width, minY, is(10000 - 5000));
+            assertThat("last point x for width " + width, polygon.xpoints[polygon.npoints - 1], is(width));
+        }
+    }
+
+    @Test
+    public void sameAsWithoutDownsamplingForFewPoints() {
+        double[] yValues = new double[] {1, 5, 3, 8, 2, 9, 4};
+        PointSeries series = createSeries(yValues);
+
+        ScaledPolygon expected = new ScaledPolygon(10, 1, 100);
+        for (int i = 0; i < yValues.length; ++i) {
+            expected.addPoint(i, yValues[i]);
+        }
+        expected.addPointNotOptimised(yValues.length, 0);
+
+        ScaledPolygon actual = new ScaledPolygon(10, 1, 100);
+        series.addTo(actual, 10);
+
+        assertThat("npoints", actual.npoints, is(expected.npoints));
+        for (int i = 0; i < expected.npoints; ++i) {
+            assertThat("x " + i, actual.xpoints[i], is(expected.xpoints[i]));
+            assertThat("y " + i, actual.ypoints[i], is(expected.ypoints[i]));
+        }
+    }
+
+}